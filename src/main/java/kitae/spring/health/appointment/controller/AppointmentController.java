@@ -2,14 +2,33 @@ package kitae.spring.health.appointment.controller;
 
 import jakarta.validation.Valid;
 import kitae.spring.health.appointment.dto.AppointmentDTO;
+import kitae.spring.health.appointment.dto.AppointmentPageDTO;
+import kitae.spring.health.appointment.dto.AppointmentSearchDTO;
+import kitae.spring.health.appointment.dto.AppointmentSeriesDTO;
+import kitae.spring.health.appointment.dto.BulkAppointmentRequestDTO;
+import kitae.spring.health.appointment.dto.BulkAppointmentResultDTO;
+import kitae.spring.health.appointment.dto.CancelRangeRequestDTO;
+import kitae.spring.health.appointment.dto.CancelRangeResultDTO;
+import kitae.spring.health.appointment.dto.RescheduleRequestDTO;
+import kitae.spring.health.appointment.service.AppointmentCalendarService;
+import kitae.spring.health.appointment.service.AppointmentSearchService;
+import kitae.spring.health.appointment.service.AppointmentSeriesService;
 import kitae.spring.health.appointment.service.AppointmentService;
+import kitae.spring.health.enums.AppointmentScope;
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.enums.Specialization;
 import kitae.spring.health.response.Response;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 @RestController
 @RequiredArgsConstructor
@@ -17,15 +36,122 @@ import java.util.List;
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final AppointmentCalendarService appointmentCalendarService;
+    private final AppointmentSearchService appointmentSearchService;
+    private final AppointmentSeriesService appointmentSeriesService;
 
     @PostMapping
     public ResponseEntity<Response<AppointmentDTO>> bookAppointment(@RequestBody @Valid AppointmentDTO appointmentDTO) {
         return ResponseEntity.ok(appointmentService.bookAppointment(appointmentDTO));
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'DOCTOR')")
+    public ResponseEntity<Response<BulkAppointmentResultDTO>> bookAppointments(@RequestBody @Valid BulkAppointmentRequestDTO requestDTO) {
+        return ResponseEntity.ok(appointmentService.bookAppointments(requestDTO));
+    }
+
+    @PostMapping("/cancel-range")
+    @PreAuthorize("hasAuthority('DOCTOR')")
+    public ResponseEntity<Response<CancelRangeResultDTO>> cancelAppointmentsInRange(@RequestBody @Valid CancelRangeRequestDTO requestDTO) {
+        return ResponseEntity.ok(appointmentService.cancelAppointmentsInRange(requestDTO));
+    }
+
+    @PostMapping("/series")
+    @PreAuthorize("hasAuthority('PATIENT')")
+    public ResponseEntity<Response<AppointmentSeriesDTO>> createSeries(@RequestBody @Valid AppointmentSeriesDTO seriesDTO) {
+        return ResponseEntity.ok(appointmentSeriesService.createSeries(seriesDTO));
+    }
+
+    @GetMapping("/series/{seriesId}")
+    public ResponseEntity<Response<AppointmentSeriesDTO>> getSeries(@PathVariable Long seriesId) {
+        return ResponseEntity.ok(appointmentSeriesService.getSeries(seriesId));
+    }
+
+    @PutMapping("/series/{seriesId}")
+    public ResponseEntity<Response<AppointmentSeriesDTO>> updateSeries(@PathVariable Long seriesId,
+                                                                       @RequestBody AppointmentSeriesDTO seriesDTO) {
+        return ResponseEntity.ok(appointmentSeriesService.updateSeries(seriesId, seriesDTO));
+    }
+
+    @PutMapping("/series/{seriesId}/cancel")
+    public ResponseEntity<Response<AppointmentSeriesDTO>> cancelSeries(
+            @PathVariable Long seriesId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from) {
+        return ResponseEntity.ok(appointmentSeriesService.cancelSeries(seriesId, from));
+    }
+
     @GetMapping
-    public ResponseEntity<Response<List<AppointmentDTO>>> getMyAppointments() {
-        return ResponseEntity.ok(appointmentService.getMyAppointments());
+    public ResponseEntity<Response<AppointmentPageDTO>> getMyAppointments(
+            @RequestParam(defaultValue = "ALL") AppointmentScope scope,
+            @RequestParam(required = false) AppointmentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(appointmentService.getMyAppointments(scope, status, cursor, size));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response<AppointmentPageDTO>> searchAppointments(
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) Long patientId,
+            @RequestParam(required = false) Specialization specialization,
+            @RequestParam(required = false) AppointmentStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        AppointmentSearchDTO condition = AppointmentSearchDTO.builder()
+                .doctorId(doctorId)
+                .patientId(patientId)
+                .specialization(specialization)
+                .status(status)
+                .from(from)
+                .to(to)
+                .build();
+        return ResponseEntity.ok(appointmentSearchService.searchAppointments(condition, cursor, size));
+    }
+
+    @GetMapping("/search/count")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response<Long>> countAppointments(
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) Long patientId,
+            @RequestParam(required = false) Specialization specialization,
+            @RequestParam(required = false) AppointmentStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        AppointmentSearchDTO condition = AppointmentSearchDTO.builder()
+                .doctorId(doctorId)
+                .patientId(patientId)
+                .specialization(specialization)
+                .status(status)
+                .from(from)
+                .to(to)
+                .build();
+        return ResponseEntity.ok(appointmentSearchService.countAppointments(condition));
+    }
+
+    @GetMapping("/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> getCalendar(WebRequest webRequest) {
+        AppointmentCalendarService.CalendarFeed feed = appointmentCalendarService.getCalendarFeed();
+
+        // If-None-Match 가 현재 ETag 와 같으면 304 (본문 없음)
+        if(webRequest.checkNotModified(feed.etag())){
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/calendar;charset=UTF-8"))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(feed.etag())
+                .body(out -> appointmentCalendarService.writeCalendar(feed, out));
+    }
+
+    @PutMapping("/{appointmentId}/reschedule")
+    public ResponseEntity<Response<AppointmentDTO>> rescheduleAppointment(@PathVariable Long appointmentId,
+                                                                          @RequestBody @Valid RescheduleRequestDTO requestDTO) {
+        return ResponseEntity.ok(appointmentService.rescheduleAppointment(appointmentId, requestDTO));
     }
 
     @PutMapping("/cancel/{appointmentId}")
@@ -3,6 +3,8 @@ package kitae.spring.health.appointment.dto;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import kitae.spring.health.doctor.dto.DoctorDTO;
 import kitae.spring.health.enums.AppointmentStatus;
@@ -39,6 +41,10 @@ public class AppointmentDTO {
 
     private LocalDateTime endTime;  // 예약 종료 시간
 
+    @Min(value = 15, message = "진료 시간은 최소 15분 이상이어야 합니다.")
+    @Max(value = 240, message = "진료 시간은 최대 240분까지 가능합니다.")
+    private Integer durationMinutes; // 진료 시간(분), 생략 시 60분
+
     private String meetingLink; // 온라인 미팅 링크
 
     private AppointmentStatus status; // 예약 상태
@@ -0,0 +1,25 @@
+package kitae.spring.health.appointment.dto;
+
+import kitae.spring.health.enums.AppointmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 반복 예약의 회차 (조회용)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AppointmentOccurrenceDTO {
+
+    private Long appointmentId; // 예약 ID
+
+    private LocalDateTime startTime;    // 시작 시간
+
+    private LocalDateTime endTime;  // 종료 시간
+
+    private AppointmentStatus status;   // 예약 상태
+}
@@ -0,0 +1,31 @@
+package kitae.spring.health.appointment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AppointmentPageDTO {
+
+    private List<AppointmentDTO> content; // 현재 페이지 예약 목록
+
+    private int size; // 요청한 페이지 크기
+
+    private boolean hasNext; // 다음 페이지 존재 여부
+
+    private boolean hasPrevious; // 이전 페이지 존재 여부
+
+    private String nextCursor; // 다음 페이지 커서 (불투명 토큰)
+
+    private String prevCursor; // 이전 페이지 커서 (불투명 토큰)
+}
@@ -0,0 +1,32 @@
+package kitae.spring.health.appointment.dto;
+
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.enums.Specialization;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 관리자 예약 검색 조건
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AppointmentSearchDTO {
+
+    private Long doctorId; // 의사 ID
+
+    private Long patientId; // 환자 ID
+
+    private Specialization specialization; // 의사 전문 분야
+
+    private AppointmentStatus status; // 예약 상태
+
+    private LocalDateTime from; // 시작 시간 하한 (포함)
+
+    private LocalDateTime to; // 시작 시간 상한 (미포함)
+}
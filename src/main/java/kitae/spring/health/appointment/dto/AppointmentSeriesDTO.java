@@ -0,0 +1,57 @@
+package kitae.spring.health.appointment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import kitae.spring.health.enums.AppointmentSeriesStatus;
+import kitae.spring.health.enums.RecurrenceFrequency;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AppointmentSeriesDTO {
+
+    private Long id; // 아이디
+
+    @NotNull(message = "Doctor ID는 필수 입력 값입니다.")
+    private Long doctorId; // 의사 ID
+
+    @NotNull(message = "첫 회차 시작 시간은 필수 입력 값입니다.")
+    private LocalDateTime firstStartTime;   // 첫 회차 시작 시간
+
+    @Min(value = 15, message = "진료 시간은 최소 15분 이상이어야 합니다.")
+    @Max(value = 240, message = "진료 시간은 최대 240분까지 가능합니다.")
+    private Integer durationMinutes; // 회차별 진료 시간(분), 생략 시 60분
+
+    @NotNull(message = "반복 주기는 필수 입력 값입니다.")
+    private RecurrenceFrequency frequency;  // 반복 주기
+
+    @Min(value = 1, message = "반복 간격은 1 이상이어야 합니다.")
+    @Max(value = 12, message = "반복 간격은 최대 12까지 가능합니다.")
+    private Integer repeatInterval; // 반복 간격, 생략 시 1
+
+    @Min(value = 1, message = "회차 수는 1 이상이어야 합니다.")
+    private Integer occurrenceCount;    // 회차 수 (untilTime 과 둘 중 하나)
+
+    private LocalDateTime untilTime;    // 이 시각 전에 시작하는 회차까지
+
+    private String purposeOfConsultation;   // 상담 목적
+
+    private String initialSymptoms; // 초기 증상 설명
+
+    private AppointmentSeriesStatus status; // 반복 예약 상태
+
+    private List<AppointmentOccurrenceDTO> occurrences; // 회차 목록 (시작 시간 순)
+}
@@ -0,0 +1,24 @@
+package kitae.spring.health.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약 시간대 정보만 담는 경량 조회용 DTO (엔티티 전체를 로딩하지 않기 위해 사용)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AppointmentSlot {
+
+    private Long appointmentId; // 예약 ID
+
+    private Long doctorId; // 의사 ID
+
+    private LocalDateTime startTime; // 예약 시작 시간
+
+    private LocalDateTime endTime; // 예약 종료 시간
+}
@@ -0,0 +1,39 @@
+package kitae.spring.health.appointment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BulkAppointmentItemDTO {
+
+    @NotNull(message = "Doctor ID는 필수 입력 값입니다.")
+    private Long doctorId; // 의사 ID
+
+    @NotNull(message = "Patient ID는 필수 입력 값입니다.")
+    private Long patientId; // 환자 ID
+
+    @NotNull(message = "예약을 위한 시작 시간은 필수 입력 값입니다.")
+    private LocalDateTime startTime;    // 예약 시작 시간
+
+    @Min(value = 15, message = "진료 시간은 최소 15분 이상이어야 합니다.")
+    @Max(value = 240, message = "진료 시간은 최대 240분까지 가능합니다.")
+    private Integer durationMinutes; // 진료 시간(분), 생략 시 60분
+
+    private String purposeOfConsultation;   // 상담 목적
+
+    private String initialSymptoms; // 초기 증상 설명
+}
@@ -0,0 +1,35 @@
+package kitae.spring.health.appointment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BulkAppointmentItemResultDTO {
+
+    private int index; // 요청 목록에서의 위치 (0부터 시작)
+
+    private boolean success; // 예약 성공 여부
+
+    private Long appointmentId; // 생성된 예약 ID (성공 시)
+
+    private Long doctorId; // 의사 ID
+
+    private Long patientId; // 환자 ID
+
+    private LocalDateTime startTime; // 예약 시작 시간
+
+    private LocalDateTime endTime; // 예약 종료 시간
+
+    private String message; // 실패 사유
+}
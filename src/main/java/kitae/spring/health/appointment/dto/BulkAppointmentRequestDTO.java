@@ -0,0 +1,25 @@
+package kitae.spring.health.appointment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BulkAppointmentRequestDTO {
+
+    @NotEmpty(message = "예약 요청 목록은 비어 있을 수 없습니다.")
+    @Size(max = 200, message = "한 번에 최대 200건까지 예약할 수 있습니다.")
+    private List<@Valid @NotNull BulkAppointmentItemDTO> items; // 예약 요청 목록
+}
@@ -0,0 +1,27 @@
+package kitae.spring.health.appointment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BulkAppointmentResultDTO {
+
+    private int requested; // 요청 건수
+
+    private int succeeded; // 성공 건수
+
+    private int failed; // 실패 건수
+
+    private List<BulkAppointmentItemResultDTO> results; // 요청 순서대로의 처리 결과
+}
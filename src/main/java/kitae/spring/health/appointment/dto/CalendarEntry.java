@@ -0,0 +1,35 @@
+package kitae.spring.health.appointment.dto;
+
+import kitae.spring.health.enums.AppointmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 캘린더(ICS) 피드 한 건에 필요한 값만 담는 조회용 DTO (엔티티를 영속성 컨텍스트에 쌓지 않고 스트리밍하기 위해 사용)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CalendarEntry {
+
+    private Long appointmentId; // 예약 ID
+
+    private LocalDateTime startTime; // 예약 시작 시간
+
+    private LocalDateTime endTime; // 예약 종료 시간
+
+    private AppointmentStatus status; // 예약 상태
+
+    private String purposeOfConsultation; // 상담 목적
+
+    private String meetingLink; // 화상 회의 링크
+
+    private String doctorName; // 의사 이름
+
+    private String patientName; // 환자 이름
+
+    private LocalDateTime updatedAt; // 최종 수정 시각
+}
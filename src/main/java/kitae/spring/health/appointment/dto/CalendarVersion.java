@@ -0,0 +1,22 @@
+package kitae.spring.health.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 캘린더(ICS) 피드 버전 (ETag 계산용)
+ * - 최종 수정 시각은 상태 변경을, 건수는 삭제로 빠진 예약을 반영
+ * - appointments 와 보관 테이블을 합쳐 계산하므로 보관으로 옮겨진 예약은 버전을 바꾸지 않음
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CalendarVersion {
+
+    private LocalDateTime lastUpdatedAt; // 가장 최근 수정 시각
+
+    private long count; // 예약 건수
+}
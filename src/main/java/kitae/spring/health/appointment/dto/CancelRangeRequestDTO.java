@@ -0,0 +1,24 @@
+package kitae.spring.health.appointment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CancelRangeRequestDTO {
+
+    @NotNull(message = "취소 시작 시간은 필수입니다.")
+    private LocalDateTime from; // 이 시각 이후에 시작하는 예약부터 취소
+
+    @NotNull(message = "취소 종료 시간은 필수입니다.")
+    private LocalDateTime to;   // 이 시각 전에 시작하는 예약까지 취소
+}
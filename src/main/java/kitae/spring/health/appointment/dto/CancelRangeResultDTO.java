@@ -0,0 +1,28 @@
+package kitae.spring.health.appointment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CancelRangeResultDTO {
+
+    private LocalDateTime from; // 취소 범위 시작
+
+    private LocalDateTime to;   // 취소 범위 종료
+
+    private int cancelled;  // 취소된 예약 수
+
+    private List<Long> appointmentIds;  // 취소된 예약 ID 목록
+}
@@ -0,0 +1,29 @@
+package kitae.spring.health.appointment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RescheduleRequestDTO {
+
+    @NotNull(message = "변경할 예약 시간은 필수입니다.")
+    private LocalDateTime startTime;    // 새 예약 시작 시간
+
+    @Min(value = 15, message = "진료 시간은 최소 15분 이상이어야 합니다.")
+    @Max(value = 240, message = "진료 시간은 최대 240분까지 가능합니다.")
+    private Integer durationMinutes;    // 새 진료 시간 (없으면 기존 진료 시간 유지)
+
+    private Long version;   // 조회 시점의 예약 버전 (지정하면 그 사이 변경된 예약은 409로 거절)
+}
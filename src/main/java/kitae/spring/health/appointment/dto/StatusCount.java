@@ -0,0 +1,19 @@
+package kitae.spring.health.appointment.dto;
+
+import kitae.spring.health.enums.AppointmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 상태별 예약 수 (통계 집계용 조회 결과)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StatusCount {
+
+    private AppointmentStatus status;   // 예약 상태
+
+    private Long count; // 예약 수
+}
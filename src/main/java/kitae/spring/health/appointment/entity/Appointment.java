@@ -20,11 +20,24 @@ import java.time.LocalDateTime;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        @Index(name = "idx_appointments_doctor_start", columnList = "doctor_id, start_time, id"),    // 의사 예약 목록 키셋 페이지
+        @Index(name = "idx_appointments_patient_start", columnList = "patient_id, start_time, id"),  // 환자 예약 목록 키셋 페이지
+        @Index(name = "idx_appointments_patient_status_start", columnList = "patient_id, status, start_time, id"), // 관리자 검색 (환자 + 상태)
+        @Index(name = "idx_appointments_start", columnList = "start_time, id"), // 관리자 검색 (기간)
+        @Index(name = "idx_appointments_doctor_status_start", columnList = "doctor_id, status, start_time"), // 충돌 검사
+        @Index(name = "idx_appointments_status_end", columnList = "status, end_time"), // 지난 예약 NO_SHOW 처리
+        @Index(name = "idx_appointments_status_start", columnList = "status, start_time"), // 리마인더 구간 적재
+        @Index(name = "idx_appointments_doctor_updated", columnList = "doctor_id, updated_at"),    // 의사 캘린더 ETag
+        @Index(name = "idx_appointments_patient_updated", columnList = "patient_id, updated_at"),   // 환자 캘린더 ETag
+        @Index(name = "idx_appointments_series_start", columnList = "series_id, start_time")   // 반복 예약 회차
+})
 public class Appointment extends BaseEntity{
 
+    // 시퀀스(pooled, 50개 단위 할당)로 ID 를 미리 받아 INSERT 를 JDBC 배치로 묶을 수 있도록 함 (IDENTITY 는 배치 불가)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointments_seq")
+    @SequenceGenerator(name = "appointments_seq", sequenceName = "appointments_seq", allocationSize = 50)
     private Long id;    // 아이디
 
     @Column(nullable = false)
@@ -37,7 +50,11 @@ public class Appointment extends BaseEntity{
     private String initialSymptoms; // 초기 증상
 
     @Enumerated(EnumType.STRING)
-    private AppointmentStatus status;   // 예약 상태
+    private AppointmentStatus status;   // 예약 상태 (변경은 AppointmentStateMachine 을 통해서만)
+
+    @Version
+    @Column(nullable = false)
+    private long version;   // 낙관적 잠금 버전 (동시 변경 검출)
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
@@ -47,6 +64,10 @@ public class Appointment extends BaseEntity{
     @JoinColumn(name = "patient_id", nullable = false)
     private Patient patient; // 환자
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id")
+    private AppointmentSeries series;   // 반복 예약 (단건 예약이면 null)
+
     @OneToOne(mappedBy = "appointment", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Consultation consultation;  // 상담 기록
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package kitae.spring.health.appointment.entity;
+
+import jakarta.persistence.*;
+import kitae.spring.health.enums.AppointmentEventType;
+import kitae.spring.health.enums.AppointmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약 상태 변경 이벤트 (트랜잭션 아웃박스)
+ * - 예약 변경과 같은 트랜잭션에서 저장되고, 릴레이가 모든 소비자에게 전달한 뒤 삭제함
+ * - 전달에 실패하면 남은 소비자와 다음 전달 시각을 기록하고 남겨 둠
+ * - 이벤트 시점의 시작 시간과 상태를 함께 저장하므로, 전달 전에 예약이 다시 바뀌어도 소비자는 이벤트 당시 값으로 처리함
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "appointment_events")
+public class AppointmentEvent {
+
+    // 일괄 예약/NO_SHOW 처리 시 이벤트 INSERT 도 배치로 묶이도록 시퀀스 사용
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_events_seq")
+    @SequenceGenerator(name = "appointment_events_seq", sequenceName = "appointment_events_seq", allocationSize = 50)
+    private Long id;    // 아이디 (발생 순서)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AppointmentEventType type;  // 이벤트 종류
+
+    // 예약은 보관 테이블로 이동될 수 있으므로 외래 키 없이 ID 만 보관
+    @Column(nullable = false)
+    private Long appointmentId; // 예약 ID
+
+    @Column(nullable = false)
+    private Long doctorId;  // 의사 ID
+
+    private Long actorUserId;   // 변경한 사용자 ID (스케줄러에 의한 변경이면 null)
+
+    private LocalDateTime startTime;    // 이벤트 시점의 시작 시간
+
+    @Enumerated(EnumType.STRING)
+    private AppointmentStatus status;   // 이벤트 시점의 예약 상태
+
+    private LocalDateTime previousStartTime;    // 변경 전 시작 시간 (RESCHEDULED 이벤트만)
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;   // 발생 시각
+
+    @Column(nullable = false)
+    private int attempts;   // 전달 실패 횟수
+
+    private LocalDateTime nextAttemptAt;    // 다음 전달 시각 (null 이면 바로 전달)
+
+    @Column(length = 500)
+    private String pendingConsumers;    // 아직 처리하지 못한 소비자 이름 (쉼표 구분, null 이면 모든 소비자)
+}
@@ -0,0 +1,69 @@
+package kitae.spring.health.appointment.entity;
+
+import jakarta.persistence.*;
+import kitae.spring.health.audit.BaseEntity;
+import kitae.spring.health.doctor.entity.Doctor;
+import kitae.spring.health.enums.AppointmentSeriesStatus;
+import kitae.spring.health.enums.RecurrenceFrequency;
+import kitae.spring.health.patient.entity.Patient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 반복 예약 (정기 진료)
+ * - 첫 회차 시작 시간 + 반복 규칙(주기, 간격, 횟수 또는 종료 시각)만 저장하고, 회차는 규칙에서 차례로 계산
+ * - 계산된 회차는 series_id 를 가진 예약(appointments)으로 저장되어 일반 예약과 같은 충돌 검사/리마인더/취소 흐름을 따름
+ */
+@Entity
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "appointment_series", indexes = {
+        @Index(name = "idx_appointment_series_patient", columnList = "patient_id, id")   // 내 반복 예약 목록
+})
+public class AppointmentSeries extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;    // 아이디
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecurrenceFrequency frequency;  // 반복 주기
+
+    @Column(nullable = false)
+    private Integer repeatInterval; // 반복 간격 (예: 2 + WEEKLY = 2주마다)
+
+    private Integer occurrenceCount;    // 회차 수 (untilTime 과 둘 중 하나)
+
+    private LocalDateTime untilTime;    // 이 시각 전에 시작하는 회차까지 (미포함)
+
+    @Column(nullable = false)
+    private LocalDateTime firstStartTime;   // 첫 회차 시작 시간
+
+    @Column(nullable = false)
+    private Integer durationMinutes;    // 회차별 진료 시간(분)
+
+    private String purposeOfConsultation;   // 상담 목적
+
+    private String initialSymptoms; // 초기 증상
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AppointmentSeriesStatus status; // 반복 예약 상태
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor; // 의사
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "patient_id", nullable = false)
+    private Patient patient; // 환자
+}
@@ -0,0 +1,57 @@
+package kitae.spring.health.appointment.entity;
+
+import jakarta.persistence.*;
+import kitae.spring.health.audit.BaseEntity;
+import kitae.spring.health.doctor.entity.Doctor;
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.patient.entity.Patient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관(archive) 예약
+ * - 보관 기간(horizon)이 지난 종료 상태 예약을 appointments 에서 옮겨 저장 (ID 는 원래 예약 ID 유지)
+ * - 조회 전용이며, 이력(PAST/ALL) 조회 시에만 appointments 와 합쳐서 조회
+ */
+@Entity
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "appointments_archive", indexes = {
+        @Index(name = "idx_appointments_archive_doctor_start", columnList = "doctor_id, start_time, id"),    // 의사 이력 키셋 페이지
+        @Index(name = "idx_appointments_archive_patient_start", columnList = "patient_id, start_time, id")   // 환자 이력 키셋 페이지
+})
+public class ArchivedAppointment extends BaseEntity {
+
+    @Id
+    private Long id;    // 원래 예약 아이디
+
+    @Column(nullable = false)
+    private LocalDateTime startTime; // 시작 시간
+    private LocalDateTime endTime; // 종료 시간
+    private String meetingLink; // 화상 회의 링크
+
+    private String purposeOfConsultation; // 상담 목적
+
+    private String initialSymptoms; // 초기 증상
+
+    @Enumerated(EnumType.STRING)
+    private AppointmentStatus status;   // 예약 상태
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor; // 의사
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "patient_id", nullable = false)
+    private Patient patient; // 환자
+
+    private LocalDateTime archivedAt; // 보관 일시
+}
@@ -0,0 +1,32 @@
+package kitae.spring.health.appointment.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import kitae.spring.health.appointment.entity.AppointmentEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface AppointmentEventRepository extends JpaRepository<AppointmentEvent, Long> {
+
+    // 전달 시각이 된 이벤트를 발생 순서대로 한 묶음 잠궈 조회, 다른 노드가 잠근 행은 건너뜀 (lock.timeout = -2 -> SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM AppointmentEvent e " +
+            "WHERE e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now " +
+            "ORDER BY e.id")
+    List<AppointmentEvent> findBatchForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // 전달이 끝난 이벤트 삭제
+    @Modifying
+    @Query("DELETE FROM AppointmentEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
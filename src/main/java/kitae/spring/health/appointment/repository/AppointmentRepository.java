@@ -1,31 +1,304 @@
 package kitae.spring.health.appointment.repository;
 
+import jakarta.persistence.QueryHint;
+import kitae.spring.health.appointment.dto.AppointmentOccurrenceDTO;
+import kitae.spring.health.appointment.dto.AppointmentSlot;
+import kitae.spring.health.appointment.dto.CalendarEntry;
+import kitae.spring.health.appointment.dto.CalendarVersion;
+import kitae.spring.health.appointment.dto.StatusCount;
 import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.enums.AppointmentStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, JpaSpecificationExecutor<Appointment> {
 
-    // 의사 ID로 예약 목록을 내림차순으로 반환하는 메서드
-    List<Appointment> findByDoctor_User_IdOrderByIdDesc(Long userId);
+    // 예약 조회 시 DTO 매핑에 필요한 연관 엔티티(의사/환자 및 각 사용자, 상담 기록)를 한 번에 조회
+    @EntityGraph(attributePaths = {"doctor.user", "patient.user", "consultation"})
+    Optional<Appointment> findWithParticipantsById(Long id);
 
-    // 환자 ID로 예약 목록을 내림차순으로 반환하는 메서드
-    List<Appointment> findByPatient_User_IdOrderByIdDesc(Long userId);
+    // 이벤트 묶음 처리 시 여러 예약의 의사/환자 및 각 사용자를 한 번에 조회
+    @EntityGraph(attributePaths = {"doctor.user", "patient.user"})
+    List<Appointment> findWithParticipantsByIdIn(Collection<Long> ids);
 
+    // 예약의 의사 ID 만 조회 (트랜잭션 시작 전 의사 락을 잡기 위해 사용)
+    @Query("SELECT a.doctor.id FROM Appointment a WHERE a.id = :appointmentId")
+    Optional<Long> findDoctorIdById(@Param("appointmentId") Long appointmentId);
+
+    // 의사 예약 키셋 페이지 (시작 시간, ID) 오름차순 - idx_appointments_doctor_start 사용
+    @EntityGraph(attributePaths = {"doctor.user", "patient.user", "consultation"})
+    @Query("SELECT a FROM Appointment a " +
+            "WHERE a.doctor.id = :doctorId " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "AND a.startTime >= :from AND a.startTime < :to " +
+            "AND (a.startTime > :cursorTime OR (a.startTime = :cursorTime AND a.id > :cursorId)) " +
+            "ORDER BY a.startTime ASC, a.id ASC")
+    List<Appointment> findDoctorPageAscending(
+            @Param("doctorId") Long doctorId,
+            @Param("status") AppointmentStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("cursorTime") LocalDateTime cursorTime,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    // 의사 예약 키셋 페이지 (시작 시간, ID) 내림차순 - idx_appointments_doctor_start 사용
+    @EntityGraph(attributePaths = {"doctor.user", "patient.user", "consultation"})
+    @Query("SELECT a FROM Appointment a " +
+            "WHERE a.doctor.id = :doctorId " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "AND a.startTime >= :from AND a.startTime < :to " +
+            "AND (a.startTime < :cursorTime OR (a.startTime = :cursorTime AND a.id < :cursorId)) " +
+            "ORDER BY a.startTime DESC, a.id DESC")
+    List<Appointment> findDoctorPageDescending(
+            @Param("doctorId") Long doctorId,
+            @Param("status") AppointmentStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("cursorTime") LocalDateTime cursorTime,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    // 환자 예약 키셋 페이지 (시작 시간, ID) 오름차순 - idx_appointments_patient_start 사용
+    @EntityGraph(attributePaths = {"doctor.user", "patient.user", "consultation"})
+    @Query("SELECT a FROM Appointment a " +
+            "WHERE a.patient.id = :patientId " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "AND a.startTime >= :from AND a.startTime < :to " +
+            "AND (a.startTime > :cursorTime OR (a.startTime = :cursorTime AND a.id > :cursorId)) " +
+            "ORDER BY a.startTime ASC, a.id ASC")
+    List<Appointment> findPatientPageAscending(
+            @Param("patientId") Long patientId,
+            @Param("status") AppointmentStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("cursorTime") LocalDateTime cursorTime,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    // 환자 예약 키셋 페이지 (시작 시간, ID) 내림차순 - idx_appointments_patient_start 사용
+    @EntityGraph(attributePaths = {"doctor.user", "patient.user", "consultation"})
     @Query("SELECT a FROM Appointment a " +
+            "WHERE a.patient.id = :patientId " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "AND a.startTime >= :from AND a.startTime < :to " +
+            "AND (a.startTime < :cursorTime OR (a.startTime = :cursorTime AND a.id < :cursorId)) " +
+            "ORDER BY a.startTime DESC, a.id DESC")
+    List<Appointment> findPatientPageDescending(
+            @Param("patientId") Long patientId,
+            @Param("status") AppointmentStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("cursorTime") LocalDateTime cursorTime,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    // 충돌 예약 존재 여부만 확인 (엔티티를 로딩하지 않음)
+    @Query("SELECT COUNT(a) > 0 FROM Appointment a " +
             "WHERE a.doctor.id = :doctorId " +
             "AND a.status = 'SCHEDULED' " +
-            "AND (" +
-            "   (a.startTime < :newEndTime AND a.endTime > :newStartTime)" +
-            ")")
-    List<Appointment> findConflictingAppointments(
+            "AND a.startTime < :newEndTime AND a.endTime > :newStartTime")
+    boolean existsConflictingAppointment(
             @Param("doctorId") Long doctorId,
             @Param("newStartTime") LocalDateTime newStartTime,
             @Param("newEndTime") LocalDateTime newEndTime
     );
 
+    // 특정 예약을 제외한 충돌 예약 존재 여부 (같은 트랜잭션에서 상태를 바꾼 예약 제외)
+    @Query("SELECT COUNT(a) > 0 FROM Appointment a " +
+            "WHERE a.doctor.id = :doctorId " +
+            "AND a.status = 'SCHEDULED' " +
+            "AND a.id <> :excludeId " +
+            "AND a.startTime < :newEndTime AND a.endTime > :newStartTime")
+    boolean existsConflictingAppointmentExcluding(
+            @Param("doctorId") Long doctorId,
+            @Param("newStartTime") LocalDateTime newStartTime,
+            @Param("newEndTime") LocalDateTime newEndTime,
+            @Param("excludeId") Long excludeId
+    );
+
+    // 의사의 SCHEDULED 예약 시간대 목록 (충돌 인덱스 적재용)
+    @Query("SELECT new kitae.spring.health.appointment.dto.AppointmentSlot(a.id, a.doctor.id, a.startTime, a.endTime) " +
+            "FROM Appointment a " +
+            "WHERE a.doctor.id = :doctorId " +
+            "AND a.status = 'SCHEDULED'")
+    List<AppointmentSlot> findScheduledSlotsByDoctorId(@Param("doctorId") Long doctorId);
+
+    // 여러 의사의 SCHEDULED 예약 중 [rangeStart, rangeEnd) 와 겹치는 시간대 목록 (일괄 예약 충돌 검사용)
+    @Query("SELECT new kitae.spring.health.appointment.dto.AppointmentSlot(a.id, a.doctor.id, a.startTime, a.endTime) " +
+            "FROM Appointment a " +
+            "WHERE a.doctor.id IN :doctorIds " +
+            "AND a.status = 'SCHEDULED' " +
+            "AND a.startTime < :rangeEnd AND a.endTime > :rangeStart")
+    List<AppointmentSlot> findScheduledSlotsInRange(
+            @Param("doctorIds") Collection<Long> doctorIds,
+            @Param("rangeStart") LocalDateTime rangeStart,
+            @Param("rangeEnd") LocalDateTime rangeEnd
+    );
+
+    // 의사의 [from, to) 에 시작하는 SCHEDULED 예약 (일괄 취소 대상) - idx_appointments_doctor_status_start 사용
+    @Query("SELECT new kitae.spring.health.appointment.dto.AppointmentSlot(a.id, a.doctor.id, a.startTime, a.endTime) " +
+            "FROM Appointment a " +
+            "WHERE a.doctor.id = :doctorId " +
+            "AND a.status = 'SCHEDULED' " +
+            "AND a.startTime >= :from AND a.startTime < :to " +
+            "ORDER BY a.startTime")
+    List<AppointmentSlot> findScheduledSlotsByDoctorIdStartingBetween(
+            @Param("doctorId") Long doctorId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // 반복 예약에서 from 이후에 시작하는 SCHEDULED 회차 - idx_appointments_series_start 사용
+    @Query("SELECT new kitae.spring.health.appointment.dto.AppointmentSlot(a.id, a.doctor.id, a.startTime, a.endTime) " +
+            "FROM Appointment a " +
+            "WHERE a.series.id = :seriesId " +
+            "AND a.startTime >= :from " +
+            "AND a.status = 'SCHEDULED'")
+    List<AppointmentSlot> findScheduledSlotsBySeriesIdStartingFrom(
+            @Param("seriesId") Long seriesId,
+            @Param("from") LocalDateTime from
+    );
+
+    // 반복 예약의 회차 목록 (시작 시간 순)
+    @Query("SELECT new kitae.spring.health.appointment.dto.AppointmentOccurrenceDTO(a.id, a.startTime, a.endTime, a.status) " +
+            "FROM Appointment a " +
+            "WHERE a.series.id = :seriesId " +
+            "ORDER BY a.startTime")
+    List<AppointmentOccurrenceDTO> findOccurrencesBySeriesId(@Param("seriesId") Long seriesId);
+
+    // 반복 예약에서 from 이후의 SCHEDULED 회차 내용 일괄 변경
+    @Modifying
+    @Query("UPDATE Appointment a " +
+            "SET a.purposeOfConsultation = :purposeOfConsultation, a.initialSymptoms = :initialSymptoms, " +
+            "a.version = a.version + 1, a.updatedAt = :now " +
+            "WHERE a.series.id = :seriesId " +
+            "AND a.startTime >= :from " +
+            "AND a.status = 'SCHEDULED'")
+    int updateSeriesDetails(
+            @Param("seriesId") Long seriesId,
+            @Param("from") LocalDateTime from,
+            @Param("purposeOfConsultation") String purposeOfConsultation,
+            @Param("initialSymptoms") String initialSymptoms,
+            @Param("now") LocalDateTime now
+    );
+
+    // 종료 시간이 지났는데 SCHEDULED 로 남아 있는 예약 (NO_SHOW 처리 대상) - idx_appointments_status_end 사용
+    @Query("SELECT new kitae.spring.health.appointment.dto.AppointmentSlot(a.id, a.doctor.id, a.startTime, a.endTime) " +
+            "FROM Appointment a " +
+            "WHERE a.status = 'SCHEDULED' " +
+            "AND a.endTime < :cutoff " +
+            "ORDER BY a.endTime ASC")
+    List<AppointmentSlot> findExpiredScheduledSlots(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // 조건부 일괄 상태 전이: 지정한 예약 중 아직 from 상태인 예약만 한 번의 UPDATE 로 변경
+    @Modifying
+    @Query("UPDATE Appointment a " +
+            "SET a.status = :to, a.version = a.version + 1, a.updatedAt = :now " +
+            "WHERE a.id IN :ids " +
+            "AND a.status = :from")
+    int transitionAllStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("from") AppointmentStatus from,
+            @Param("to") AppointmentStatus to,
+            @Param("now") LocalDateTime now
+    );
+
+    // 지정한 예약들을 한 번의 UPDATE 로 NO_SHOW 처리 (그 사이 상태가 바뀐 예약은 조건에서 제외됨)
+    @Modifying
+    @Query("UPDATE Appointment a " +
+            "SET a.status = kitae.spring.health.enums.AppointmentStatus.NO_SHOW, a.version = a.version + 1, a.updatedAt = :now " +
+            "WHERE a.id IN :ids " +
+            "AND a.status = 'SCHEDULED' " +
+            "AND a.endTime < :cutoff")
+    int markNoShow(
+            @Param("ids") Collection<Long> ids,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("now") LocalDateTime now
+    );
+
+    // 주어진 예약 중 특정 상태인 예약 ID
+    @Query("SELECT a.id FROM Appointment a WHERE a.id IN :ids AND a.status = :status")
+    List<Long> findIdsByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") AppointmentStatus status);
+
+    // [from, to) 에 시작하는 SCHEDULED 예약 시간대 (리마인더 적재용) - idx_appointments_status_start 사용
+    @Query("SELECT new kitae.spring.health.appointment.dto.AppointmentSlot(a.id, a.doctor.id, a.startTime, a.endTime) " +
+            "FROM Appointment a " +
+            "WHERE a.status = 'SCHEDULED' " +
+            "AND a.startTime >= :from AND a.startTime < :to")
+    List<AppointmentSlot> findScheduledSlotsStartingBetween(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // 보관 대상 예약 ID (보관 기간이 지난 종료 상태 예약 중 상담 기록이 없는 예약) - idx_appointments_status_start 사용
+    @Query("SELECT a.id FROM Appointment a " +
+            "WHERE a.status IN :statuses " +
+            "AND a.startTime < :cutoff " +
+            "AND NOT EXISTS (SELECT c.id FROM Consultation c WHERE c.appointment = a) " +
+            "ORDER BY a.startTime ASC")
+    List<Long> findArchivableIds(
+            @Param("statuses") Collection<AppointmentStatus> statuses,
+            @Param("cutoff") LocalDateTime cutoff,
+            Pageable pageable
+    );
+
+    // 보관 테이블로 복사한 예약 삭제
+    @Modifying
+    @Query("DELETE FROM Appointment a WHERE a.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    // 의사 캘린더 버전 (최종 수정 시각, 건수) - idx_appointments_doctor_updated 만으로 계산
+    @Query("SELECT new kitae.spring.health.appointment.dto.CalendarVersion(MAX(a.updatedAt), COUNT(a.id)) " +
+            "FROM Appointment a " +
+            "WHERE a.doctor.id = :doctorId")
+    CalendarVersion findDoctorCalendarVersion(@Param("doctorId") Long doctorId);
+
+    // 환자 캘린더 버전 (최종 수정 시각, 건수) - idx_appointments_patient_updated 만으로 계산
+    @Query("SELECT new kitae.spring.health.appointment.dto.CalendarVersion(MAX(a.updatedAt), COUNT(a.id)) " +
+            "FROM Appointment a " +
+            "WHERE a.patient.id = :patientId")
+    CalendarVersion findPatientCalendarVersion(@Param("patientId") Long patientId);
+
+    // 의사 캘린더 피드 (엔티티 대신 필요한 컬럼만 스트리밍, 트랜잭션 안에서 사용 후 닫아야 함)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "200"))
+    @Query("SELECT new kitae.spring.health.appointment.dto.CalendarEntry(a.id, a.startTime, a.endTime, a.status, " +
+            "a.purposeOfConsultation, a.meetingLink, du.name, pu.name, a.updatedAt) " +
+            "FROM Appointment a JOIN a.doctor d JOIN d.user du JOIN a.patient p JOIN p.user pu " +
+            "WHERE d.id = :doctorId " +
+            "ORDER BY a.startTime ASC, a.id ASC")
+    Stream<CalendarEntry> streamDoctorCalendar(@Param("doctorId") Long doctorId);
+
+    // 환자 캘린더 피드 (엔티티 대신 필요한 컬럼만 스트리밍, 트랜잭션 안에서 사용 후 닫아야 함)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "200"))
+    @Query("SELECT new kitae.spring.health.appointment.dto.CalendarEntry(a.id, a.startTime, a.endTime, a.status, " +
+            "a.purposeOfConsultation, a.meetingLink, du.name, pu.name, a.updatedAt) " +
+            "FROM Appointment a JOIN a.doctor d JOIN d.user du JOIN a.patient p JOIN p.user pu " +
+            "WHERE p.id = :patientId " +
+            "ORDER BY a.startTime ASC, a.id ASC")
+    Stream<CalendarEntry> streamPatientCalendar(@Param("patientId") Long patientId);
+
+
+    // 의사의 상태별 예약 수 (의사 통계 최초 집계용) - idx_appointments_doctor_status_start 사용
+    @Query("SELECT new kitae.spring.health.appointment.dto.StatusCount(a.status, COUNT(a.id)) " +
+            "FROM Appointment a " +
+            "WHERE a.doctor.id = :doctorId " +
+            "GROUP BY a.status")
+    List<StatusCount> countByStatusForDoctor(@Param("doctorId") Long doctorId);
 }
@@ -0,0 +1,20 @@
+package kitae.spring.health.appointment.repository;
+
+import kitae.spring.health.appointment.entity.AppointmentSeries;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface AppointmentSeriesRepository extends JpaRepository<AppointmentSeries, Long> {
+
+    // 권한 확인용으로 의사/환자 사용자를 함께 조회
+    @EntityGraph(attributePaths = {"doctor.user", "patient.user"})
+    Optional<AppointmentSeries> findWithParticipantsById(Long id);
+
+    // 시리즈의 의사 ID 만 조회 (트랜잭션 시작 전 의사 락을 잡기 위해 사용)
+    @Query("SELECT s.doctor.id FROM AppointmentSeries s WHERE s.id = :seriesId")
+    Optional<Long> findDoctorIdById(@Param("seriesId") Long seriesId);
+}
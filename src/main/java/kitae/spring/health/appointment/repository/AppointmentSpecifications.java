@@ -0,0 +1,109 @@
+package kitae.spring.health.appointment.repository;
+
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.enums.Specialization;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약 검색 조건 (관리자 검색용)
+ * - 각 조건은 조합 가능한 Specification 으로 제공하며, 어떤 조합을 허용할지는 AppointmentSearchService 에서 결정
+ */
+public final class AppointmentSpecifications {
+
+    private AppointmentSpecifications() {
+    }
+
+    public static Specification<Appointment> doctorIdEquals(Long doctorId) {
+        return (root, query, cb) -> cb.equal(root.get("doctor").get("id"), doctorId);
+    }
+
+    public static Specification<Appointment> patientIdEquals(Long patientId) {
+        return (root, query, cb) -> cb.equal(root.get("patient").get("id"), patientId);
+    }
+
+    public static Specification<Appointment> statusEquals(AppointmentStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * 의사 전문 분야 (doctors 와 조인, fetchParticipants 가 먼저 적용되었으면 그 조인을 재사용)
+     * @param specialization
+     * @return
+     */
+    public static Specification<Appointment> specializationEquals(Specialization specialization) {
+        return (root, query, cb) -> cb.equal(doctorJoin(root).get("specialization"), specialization);
+    }
+
+    /**
+     * 시작 시간 >= from
+     * @param from
+     * @return
+     */
+    public static Specification<Appointment> startsAtOrAfter(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("startTime"), from);
+    }
+
+    /**
+     * 시작 시간 < to
+     * @param to
+     * @return
+     */
+    public static Specification<Appointment> startsBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("startTime"), to);
+    }
+
+    /**
+     * 의사/환자 및 각 사용자, 상담 기록을 함께 조회 (DTO 매핑 시 N+1 방지, 건수 조회에는 적용하지 않음)
+     * - 상담 기록은 연관관계의 주인이 아니어서 지연 로딩되지 않으므로 함께 조회하지 않으면 행마다 조회됨
+     * @return
+     */
+    public static Specification<Appointment> fetchParticipants() {
+        return (root, query, cb) -> {
+            if(query.getResultType() != Long.class && query.getResultType() != long.class){
+                root.fetch("doctor").fetch("user");
+                root.fetch("patient").fetch("user");
+                root.fetch("consultation", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * 이미 있는 의사 조인(fetch 조인 포함)을 찾고, 없으면 새로 조인 (doctors 를 두 번 조인하지 않도록)
+     * @param root
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private static Join<Appointment, ?> doctorJoin(Root<Appointment> root) {
+        for(Fetch<Appointment, ?> fetch : root.getFetches()){
+            if("doctor".equals(fetch.getAttribute().getName()) && fetch instanceof Join<?, ?> join){
+                return (Join<Appointment, ?>) join;
+            }
+        }
+        for(Join<Appointment, ?> join : root.getJoins()){
+            if("doctor".equals(join.getAttribute().getName())){
+                return join;
+            }
+        }
+        return root.join("doctor");
+    }
+
+    /**
+     * (시작 시간, ID) 내림차순 키셋 조건: 커서보다 앞선(더 이른) 예약
+     * @param cursorTime
+     * @param cursorId
+     * @return
+     */
+    public static Specification<Appointment> before(LocalDateTime cursorTime, Long cursorId) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("startTime"), cursorTime),
+                cb.and(cb.equal(root.get("startTime"), cursorTime), cb.lessThan(root.get("id"), cursorId)));
+    }
+}
@@ -0,0 +1,142 @@
+package kitae.spring.health.appointment.repository;
+
+import jakarta.persistence.QueryHint;
+import kitae.spring.health.appointment.dto.CalendarEntry;
+import kitae.spring.health.appointment.dto.CalendarVersion;
+import kitae.spring.health.appointment.dto.StatusCount;
+import kitae.spring.health.appointment.entity.ArchivedAppointment;
+import kitae.spring.health.enums.AppointmentStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ArchivedAppointmentRepository extends JpaRepository<ArchivedAppointment, Long> {
+
+    // 지정한 예약들을 한 번의 INSERT ... SELECT 로 보관 테이블에 복사
+    @Modifying
+    @Query("INSERT INTO ArchivedAppointment (id, startTime, endTime, meetingLink, purposeOfConsultation, initialSymptoms, " +
+            "status, doctor, patient, createdAt, updatedAt, createdBy, modifiedBy, archivedAt) " +
+            "SELECT a.id, a.startTime, a.endTime, a.meetingLink, a.purposeOfConsultation, a.initialSymptoms, " +
+            "a.status, a.doctor, a.patient, a.createdAt, a.updatedAt, a.createdBy, a.modifiedBy, :archivedAt " +
+            "FROM Appointment a " +
+            "WHERE a.id IN :ids")
+    int copyFromAppointments(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // 의사 보관 예약 키셋 페이지 (시작 시간, ID) 오름차순 - idx_appointments_archive_doctor_start 사용
+    @EntityGraph(attributePaths = {"doctor.user", "patient.user"})
+    @Query("SELECT a FROM ArchivedAppointment a " +
+            "WHERE a.doctor.id = :doctorId " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "AND a.startTime >= :from AND a.startTime < :to " +
+            "AND (a.startTime > :cursorTime OR (a.startTime = :cursorTime AND a.id > :cursorId)) " +
+            "ORDER BY a.startTime ASC, a.id ASC")
+    List<ArchivedAppointment> findDoctorPageAscending(
+            @Param("doctorId") Long doctorId,
+            @Param("status") AppointmentStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("cursorTime") LocalDateTime cursorTime,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    // 의사 보관 예약 키셋 페이지 (시작 시간, ID) 내림차순 - idx_appointments_archive_doctor_start 사용
+    @EntityGraph(attributePaths = {"doctor.user", "patient.user"})
+    @Query("SELECT a FROM ArchivedAppointment a " +
+            "WHERE a.doctor.id = :doctorId " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "AND a.startTime >= :from AND a.startTime < :to " +
+            "AND (a.startTime < :cursorTime OR (a.startTime = :cursorTime AND a.id < :cursorId)) " +
+            "ORDER BY a.startTime DESC, a.id DESC")
+    List<ArchivedAppointment> findDoctorPageDescending(
+            @Param("doctorId") Long doctorId,
+            @Param("status") AppointmentStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("cursorTime") LocalDateTime cursorTime,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    // 환자 보관 예약 키셋 페이지 (시작 시간, ID) 오름차순 - idx_appointments_archive_patient_start 사용
+    @EntityGraph(attributePaths = {"doctor.user", "patient.user"})
+    @Query("SELECT a FROM ArchivedAppointment a " +
+            "WHERE a.patient.id = :patientId " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "AND a.startTime >= :from AND a.startTime < :to " +
+            "AND (a.startTime > :cursorTime OR (a.startTime = :cursorTime AND a.id > :cursorId)) " +
+            "ORDER BY a.startTime ASC, a.id ASC")
+    List<ArchivedAppointment> findPatientPageAscending(
+            @Param("patientId") Long patientId,
+            @Param("status") AppointmentStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("cursorTime") LocalDateTime cursorTime,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    // 환자 보관 예약 키셋 페이지 (시작 시간, ID) 내림차순 - idx_appointments_archive_patient_start 사용
+    @EntityGraph(attributePaths = {"doctor.user", "patient.user"})
+    @Query("SELECT a FROM ArchivedAppointment a " +
+            "WHERE a.patient.id = :patientId " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "AND a.startTime >= :from AND a.startTime < :to " +
+            "AND (a.startTime < :cursorTime OR (a.startTime = :cursorTime AND a.id < :cursorId)) " +
+            "ORDER BY a.startTime DESC, a.id DESC")
+    List<ArchivedAppointment> findPatientPageDescending(
+            @Param("patientId") Long patientId,
+            @Param("status") AppointmentStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("cursorTime") LocalDateTime cursorTime,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    // 의사의 상태별 보관 예약 수 (의사 통계 최초 집계용)
+    @Query("SELECT new kitae.spring.health.appointment.dto.StatusCount(a.status, COUNT(a.id)) " +
+            "FROM ArchivedAppointment a " +
+            "WHERE a.doctor.id = :doctorId " +
+            "GROUP BY a.status")
+    List<StatusCount> countByStatusForDoctor(@Param("doctorId") Long doctorId);
+
+    // 의사 캘린더 버전 중 보관 예약 몫 (최종 수정 시각, 건수) - 보관 시 수정 시각을 그대로 옮기므로 보관 전후 합계가 같음
+    @Query("SELECT new kitae.spring.health.appointment.dto.CalendarVersion(MAX(a.updatedAt), COUNT(a.id)) " +
+            "FROM ArchivedAppointment a " +
+            "WHERE a.doctor.id = :doctorId")
+    CalendarVersion findDoctorCalendarVersion(@Param("doctorId") Long doctorId);
+
+    // 환자 캘린더 버전 중 보관 예약 몫 (최종 수정 시각, 건수)
+    @Query("SELECT new kitae.spring.health.appointment.dto.CalendarVersion(MAX(a.updatedAt), COUNT(a.id)) " +
+            "FROM ArchivedAppointment a " +
+            "WHERE a.patient.id = :patientId")
+    CalendarVersion findPatientCalendarVersion(@Param("patientId") Long patientId);
+
+    // 의사 캘린더 피드 중 보관 예약 (필요한 컬럼만 스트리밍, 트랜잭션 안에서 사용 후 닫아야 함)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "200"))
+    @Query("SELECT new kitae.spring.health.appointment.dto.CalendarEntry(a.id, a.startTime, a.endTime, a.status, " +
+            "a.purposeOfConsultation, a.meetingLink, du.name, pu.name, a.updatedAt) " +
+            "FROM ArchivedAppointment a JOIN a.doctor d JOIN d.user du JOIN a.patient p JOIN p.user pu " +
+            "WHERE d.id = :doctorId " +
+            "ORDER BY a.startTime ASC, a.id ASC")
+    Stream<CalendarEntry> streamDoctorCalendar(@Param("doctorId") Long doctorId);
+
+    // 환자 캘린더 피드 중 보관 예약 (필요한 컬럼만 스트리밍, 트랜잭션 안에서 사용 후 닫아야 함)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "200"))
+    @Query("SELECT new kitae.spring.health.appointment.dto.CalendarEntry(a.id, a.startTime, a.endTime, a.status, " +
+            "a.purposeOfConsultation, a.meetingLink, du.name, pu.name, a.updatedAt) " +
+            "FROM ArchivedAppointment a JOIN a.doctor d JOIN d.user du JOIN a.patient p JOIN p.user pu " +
+            "WHERE p.id = :patientId " +
+            "ORDER BY a.startTime ASC, a.id ASC")
+    Stream<CalendarEntry> streamPatientCalendar(@Param("patientId") Long patientId);
+}
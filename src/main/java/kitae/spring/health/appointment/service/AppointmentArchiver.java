@@ -0,0 +1,124 @@
+package kitae.spring.health.appointment.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.appointment.repository.ArchivedAppointmentRepository;
+import kitae.spring.health.enums.AppointmentStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오래된 예약을 보관 테이블(appointments_archive)로 옮기는 스케줄러
+ * - 시작 시간이 보관 기간(horizon)보다 오래된 종료 상태(완료/취소/NO_SHOW) 예약을 batch-size 건씩 이동
+ * - 한 묶음마다 INSERT ... SELECT 와 DELETE 를 하나의 트랜잭션으로 실행하므로 엔티티를 로딩하지 않음
+ * - 상담 기록이 있는 예약은 consultations 의 외래 키 때문에 이동하지 않음
+ * - appointments 에는 최근/예정 예약만 남으므로 충돌 검사와 예정 예약 조회 대상이 일정하게 유지됨
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "appointment.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class AppointmentArchiver {
+
+    private static final Set<AppointmentStatus> TERMINAL_STATUSES =
+            EnumSet.of(AppointmentStatus.COMPLETED, AppointmentStatus.CANCELLED, AppointmentStatus.NO_SHOW);
+
+    private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer archiveTimer;
+    private final Counter archivedTotal;
+
+    @Value("${appointment.archive.horizon:P90D}")
+    private Duration horizon;
+
+    @Value("${appointment.archive.batch-size:1000}")
+    private int batchSize;
+
+    public AppointmentArchiver(AppointmentRepository appointmentRepository,
+                               ArchivedAppointmentRepository archivedAppointmentRepository,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry) {
+        this.appointmentRepository = appointmentRepository;
+        this.archivedAppointmentRepository = archivedAppointmentRepository;
+        this.transactionTemplate = transactionTemplate;
+
+        this.archiveTimer = Timer.builder("appointment.archive.run.duration")
+                .description("예약 보관 1회 실행 소요 시간")
+                .register(meterRegistry);
+        this.archivedTotal = Counter.builder("appointment.archive.moved")
+                .description("보관 테이블로 이동한 예약 누적 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 보관 기간이 지난 예약 이동 (이전 실행이 끝난 뒤 interval 만큼 쉬고 다시 실행)
+     * @return 이번 실행에서 이동한 예약 수
+     */
+    @Scheduled(initialDelayString = "${appointment.archive.interval:PT1H}",
+            fixedDelayString = "${appointment.archive.interval:PT1H}")
+    public int archive() {
+        long begin = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minus(horizon);
+
+        int moved = 0;
+        int batches = 0;
+        while(true){
+            BatchResult batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            moved += batch.moved();
+            batches++;
+            // 조회 건수가 batch-size 보다 적으면 남은 대상이 없음
+            if(batch.selected() < batchSize){
+                break;
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - begin;
+        archiveTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        archivedTotal.increment(moved);
+
+        if(moved > 0){
+            log.info("예약 보관 완료: {}건 ({}회, 기준 시각 {}, {} ms)", moved, batches, cutoff, elapsedNanos / 1_000_000);
+        } else {
+            log.debug("보관 대상 예약 없음 ({} ms)", elapsedNanos / 1_000_000);
+        }
+        return moved;
+    }
+
+    /**
+     * 한 묶음 처리 (트랜잭션 안에서 호출)
+     * @param cutoff
+     * @return
+     */
+    private BatchResult archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = appointmentRepository.findArchivableIds(TERMINAL_STATUSES, cutoff, PageRequest.of(0, batchSize));
+        if(ids.isEmpty()){
+            return new BatchResult(0, 0);
+        }
+
+        int copied = archivedAppointmentRepository.copyFromAppointments(ids, LocalDateTime.now());
+        int deleted = appointmentRepository.deleteByIds(ids);
+        if(copied != deleted){
+            // 같은 트랜잭션 안에서 복사/삭제 건수가 다르면 중간에 변경된 것이므로 되돌림
+            throw new IllegalStateException("예약 보관 건수 불일치 (복사 " + copied + "건, 삭제 " + deleted + "건)");
+        }
+        return new BatchResult(ids.size(), deleted);
+    }
+
+    private record BatchResult(int selected, int moved) {
+    }
+}
@@ -0,0 +1,147 @@
+package kitae.spring.health.appointment.service;
+
+import kitae.spring.health.appointment.dto.CalendarEntry;
+import kitae.spring.health.appointment.dto.CalendarVersion;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.appointment.repository.ArchivedAppointmentRepository;
+import kitae.spring.health.doctor.entity.Doctor;
+import kitae.spring.health.doctor.repository.DoctorRepository;
+import kitae.spring.health.exceptions.NotFoundException;
+import kitae.spring.health.patient.entity.Patient;
+import kitae.spring.health.patient.repository.PatientRepository;
+import kitae.spring.health.users.entity.User;
+import kitae.spring.health.users.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 예약 캘린더(ICS) 피드
+ * - 캘린더 앱이 몇 분마다 폴링하므로, 먼저 (최종 수정 시각, 건수) 한 번의 인덱스 조회로 ETag 를 만들어 변경이 없으면 304 로 응답
+ * - 변경이 있으면 필요한 컬럼만 스트리밍 조회하여 응답 스트림에 바로 기록 (엔티티/DTO 목록을 만들지 않음)
+ * - 보관 테이블(appointments_archive)로 옮겨진 지난 예약도 함께 내보내고 ETag 에도 포함하므로,
+ *   보관 작업만으로는 구독 중인 캘린더에서 예약이 사라지거나 ETag 가 바뀌지 않음
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentCalendarService {
+
+    private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+    private final UserService userService;
+
+    /**
+     * 현재 사용자의 캘린더 피드 정보 (소유자, ETag)
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public CalendarFeed getCalendarFeed() {
+
+        User user = userService.getCurrentUser();
+
+        // "DOCTOR" 권한이 있는지 확인
+        boolean isDoctor = user.getRoles().stream()
+                .anyMatch(role -> role.getName().equals("DOCTOR"));
+
+        Long ownerId;
+        CalendarVersion version;
+        if(isDoctor){
+            Doctor doctor = doctorRepository.findByUser(user)
+                    .orElseThrow(() -> new NotFoundException("해당 의사를 찾을 수 없습니다."));
+            ownerId = doctor.getId();
+            version = combine(appointmentRepository.findDoctorCalendarVersion(ownerId),
+                    archivedAppointmentRepository.findDoctorCalendarVersion(ownerId));
+        } else {
+            Patient patient = patientRepository.findByUser(user)
+                    .orElseThrow(() -> new NotFoundException("해당 환자를 찾을 수 없습니다."));
+            ownerId = patient.getId();
+            version = combine(appointmentRepository.findPatientCalendarVersion(ownerId),
+                    archivedAppointmentRepository.findPatientCalendarVersion(ownerId));
+        }
+
+        long lastUpdated = version.getLastUpdatedAt() != null
+                ? version.getLastUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0L;
+        String etag = "\"" + (isDoctor ? "d" : "p") + ownerId + "-" + lastUpdated + "-" + version.getCount() + "\"";
+
+        return new CalendarFeed(isDoctor, ownerId, etag);
+    }
+
+    /**
+     * 캘린더 피드를 응답 스트림에 기록 (스트리밍 조회가 끝날 때까지 트랜잭션/커넥션 유지)
+     * @param feed
+     * @param out
+     * @throws IOException
+     */
+    @Transactional(readOnly = true)
+    public void writeCalendar(CalendarFeed feed, OutputStream out) throws IOException {
+
+        IcsCalendarWriter writer = new IcsCalendarWriter(out);
+        writer.begin("TeleMed 헬스케어 예약");
+
+        int count = 0;
+        // 보관된 지난 예약 먼저, 이어서 appointments 의 예약 (스트림은 하나씩 열고 닫음)
+        try(Stream<CalendarEntry> entries = feed.doctor()
+                ? archivedAppointmentRepository.streamDoctorCalendar(feed.ownerId())
+                : archivedAppointmentRepository.streamPatientCalendar(feed.ownerId())){
+            count += writeEvents(feed, entries, writer);
+        }
+        try(Stream<CalendarEntry> entries = feed.doctor()
+                ? appointmentRepository.streamDoctorCalendar(feed.ownerId())
+                : appointmentRepository.streamPatientCalendar(feed.ownerId())){
+            count += writeEvents(feed, entries, writer);
+        }
+
+        writer.end();
+        log.debug("캘린더 피드 전송 완료 ({}): {}건", feed.etag(), count);
+    }
+
+    private int writeEvents(CalendarFeed feed, Stream<CalendarEntry> entries, IcsCalendarWriter writer) throws IOException {
+        int count = 0;
+        Iterator<CalendarEntry> iterator = entries.iterator();
+        while(iterator.hasNext()){
+            CalendarEntry entry = iterator.next();
+            String summary = feed.doctor()
+                    ? "진료 - " + entry.getPatientName() + " 환자"
+                    : "진료 - Dr. " + entry.getDoctorName();
+            writer.event(entry, summary);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * appointments 와 보관 테이블의 버전을 합침 (최종 수정 시각은 큰 쪽, 건수는 합계)
+     * - 보관은 두 테이블 사이에서 행을 옮길 뿐이므로 합친 버전은 그대로 유지됨
+     * @param hot
+     * @param archived
+     * @return
+     */
+    private static CalendarVersion combine(CalendarVersion hot, CalendarVersion archived) {
+        LocalDateTime lastUpdatedAt = hot.getLastUpdatedAt();
+        if(archived.getLastUpdatedAt() != null && (lastUpdatedAt == null || archived.getLastUpdatedAt().isAfter(lastUpdatedAt))){
+            lastUpdatedAt = archived.getLastUpdatedAt();
+        }
+        return new CalendarVersion(lastUpdatedAt, hot.getCount() + archived.getCount());
+    }
+
+    /**
+     * 캘린더 피드 정보
+     * @param doctor 의사 캘린더 여부 (false 이면 환자 캘린더)
+     * @param ownerId 의사 또는 환자 ID
+     * @param etag
+     */
+    public record CalendarFeed(boolean doctor, Long ownerId, String etag) {
+    }
+}
@@ -0,0 +1,226 @@
+package kitae.spring.health.appointment.service;
+
+import kitae.spring.health.appointment.dto.AppointmentSlot;
+import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.support.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 의사별 SCHEDULED 예약 시간대를 메모리에 유지하는 충돌 검사 인덱스
+ * - 의사 ID 별로 시작 시간 기준 정렬 집합을 두고, 겹침 여부를 O(log n + k)로 판단
+ * - 의사별 인덱스는 최초 조회 시 DB에서 한 번만 적재(lazy)
+ * - 예약 등록/취소/완료 시 add/remove 로 동기화 (remove 는 트랜잭션 커밋 이후 반영)
+ * - DB 조회는 인덱스 비활성화(fallback) 또는 검증(verify) 모드에서만 사용
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentConflictIndex {
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final Map<Long, DoctorSchedule> schedules = new ConcurrentHashMap<>();
+
+    @Value("${appointment.conflict-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${appointment.conflict-index.verify:false}")
+    private boolean verify;
+
+    /**
+     * 주어진 구간 [start, end)와 겹치는 SCHEDULED 예약이 있는지 확인
+     * @param doctorId
+     * @param start
+     * @param end
+     * @return
+     */
+    public boolean hasConflict(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        return hasConflict(doctorId, start, end, null);
+    }
+
+    /**
+     * 주어진 구간 [start, end)와 겹치는 SCHEDULED 예약이 있는지 확인 (특정 예약 제외)
+     * - 같은 트랜잭션에서 상태를 바꾼 예약은 커밋 전까지 인덱스에 남아 있으므로 제외할 때 사용
+     * @param doctorId
+     * @param start
+     * @param end
+     * @param excludeAppointmentId 검사에서 제외할 예약 ID (없으면 null)
+     * @return
+     */
+    public boolean hasConflict(Long doctorId, LocalDateTime start, LocalDateTime end, Long excludeAppointmentId) {
+
+        if(!enabled){
+            return existsInDatabase(doctorId, start, end, excludeAppointmentId);
+        }
+
+        boolean conflict = schedule(doctorId).overlaps(start, end, excludeAppointmentId);
+
+        if(verify){
+            boolean dbConflict = existsInDatabase(doctorId, start, end, excludeAppointmentId);
+            if(dbConflict != conflict){
+                // 다른 노드에서 변경되었거나 동기화가 누락된 경우: DB 결과를 신뢰하고 인덱스를 다시 적재
+                log.warn("충돌 인덱스 불일치 감지 (의사 ID: {}, index: {}, db: {}). 인덱스를 다시 적재합니다.",
+                        doctorId, conflict, dbConflict);
+                evict(doctorId);
+                return dbConflict;
+            }
+        }
+
+        return conflict;
+    }
+
+    /**
+     * 의사의 SCHEDULED 예약 중 [from, to) 구간과 겹치는 시간대 목록 반환
+     * @param doctorId
+     * @param from
+     * @param to
+     * @return
+     */
+    public List<AppointmentSlot> findSlots(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        return schedule(doctorId).between(doctorId, from, to);
+    }
+
+    /**
+     * 새로 저장된 SCHEDULED 예약을 인덱스에 반영
+     * @param appointment
+     */
+    public void add(Appointment appointment) {
+        Long doctorId = appointment.getDoctor().getId();
+        // 아직 적재되지 않은 의사는 다음 조회 시 DB에서 함께 적재되므로 건너뜀
+        schedules.computeIfPresent(doctorId, (id, schedule) -> {
+            schedule.add(appointment.getId(), appointment.getStartTime(), appointment.getEndTime());
+            return schedule;
+        });
+    }
+
+    /**
+     * 취소/완료 등으로 SCHEDULED 상태가 아니게 된 예약을 인덱스에서 제거
+     * @param appointment
+     */
+    public void remove(Appointment appointment) {
+        remove(appointment.getDoctor().getId(), appointment.getId());
+    }
+
+    public void remove(Long doctorId, Long appointmentId) {
+        // 트랜잭션 안에서 호출되면 커밋 이후에 제거 (롤백 시 인덱스가 DB와 어긋나지 않도록)
+        TransactionHooks.afterCommit(() -> schedules.computeIfPresent(doctorId, (id, schedule) -> {
+            schedule.remove(appointmentId);
+            return schedule;
+        }));
+    }
+
+    /**
+     * 의사 인덱스 폐기 (다음 조회 시 DB에서 다시 적재)
+     * @param doctorId
+     */
+    public void evict(Long doctorId) {
+        schedules.remove(doctorId);
+    }
+
+    private boolean existsInDatabase(Long doctorId, LocalDateTime start, LocalDateTime end, Long excludeAppointmentId) {
+        if(excludeAppointmentId == null){
+            return appointmentRepository.existsConflictingAppointment(doctorId, start, end);
+        }
+        return appointmentRepository.existsConflictingAppointmentExcluding(doctorId, start, end, excludeAppointmentId);
+    }
+
+    private DoctorSchedule schedule(Long doctorId) {
+        return schedules.computeIfAbsent(doctorId, this::load);
+    }
+
+    private DoctorSchedule load(Long doctorId) {
+        DoctorSchedule schedule = new DoctorSchedule();
+        List<AppointmentSlot> slots = appointmentRepository.findScheduledSlotsByDoctorId(doctorId);
+        for(AppointmentSlot slot : slots){
+            schedule.add(slot.getAppointmentId(), slot.getStartTime(), slot.getEndTime());
+        }
+        log.info("의사 ID {}의 예약 인덱스 적재 완료: {}건", doctorId, slots.size());
+        return schedule;
+    }
+
+    /**
+     * 한 의사의 예약 시간대 집합 (시작 시간, 예약 ID 순 정렬)
+     */
+    private static final class DoctorSchedule {
+
+        private static final Comparator<Entry> ORDER =
+                Comparator.comparing(Entry::start).thenComparingLong(Entry::id);
+
+        private final NavigableSet<Entry> entries = new TreeSet<>(ORDER);
+        private final Map<Long, Entry> byId = new HashMap<>();
+
+        // 지금까지 적재된 예약 중 가장 긴 예약 길이 (겹침 후보 범위를 좁히는 데 사용)
+        private Duration maxDuration = Duration.ZERO;
+
+        synchronized void add(Long id, LocalDateTime start, LocalDateTime end) {
+            if(end == null){
+                end = start.plusMinutes(SchedulingRules.DEFAULT_DURATION_MINUTES);
+            }
+            Entry entry = new Entry(id, start, end);
+            Entry previous = byId.put(id, entry);
+            if(previous != null){
+                entries.remove(previous);
+            }
+            entries.add(entry);
+
+            Duration duration = Duration.between(start, end);
+            if(duration.compareTo(maxDuration) > 0){
+                maxDuration = duration;
+            }
+        }
+
+        synchronized void remove(Long id) {
+            Entry entry = byId.remove(id);
+            if(entry != null){
+                entries.remove(entry);
+            }
+        }
+
+        synchronized boolean overlaps(LocalDateTime start, LocalDateTime end, Long excludeId) {
+            // 시작 시간이 [start - maxDuration, end) 인 예약만 겹칠 가능성이 있음
+            for(Entry entry : candidates(start, end)){
+                if(entry.end().isAfter(start) && (excludeId == null || entry.id() != excludeId)){
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized List<AppointmentSlot> between(Long doctorId, LocalDateTime from, LocalDateTime to) {
+            List<AppointmentSlot> result = new ArrayList<>();
+            for(Entry entry : candidates(from, to)){
+                if(entry.end().isAfter(from)){
+                    result.add(new AppointmentSlot(entry.id(), doctorId, entry.start(), entry.end()));
+                }
+            }
+            return result;
+        }
+
+        private NavigableSet<Entry> candidates(LocalDateTime start, LocalDateTime end) {
+            Entry lower = new Entry(Long.MIN_VALUE, start.minus(maxDuration), null);
+            Entry upper = new Entry(Long.MIN_VALUE, end, null);
+            if(ORDER.compare(lower, upper) >= 0){
+                return new TreeSet<>(ORDER);
+            }
+            return entries.subSet(lower, true, upper, false);
+        }
+    }
+
+    private record Entry(long id, LocalDateTime start, LocalDateTime end) {
+    }
+}
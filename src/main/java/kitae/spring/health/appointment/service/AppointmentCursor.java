@@ -0,0 +1,51 @@
+package kitae.spring.health.appointment.service;
+
+import kitae.spring.health.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * (startTime, id) 키셋 페이지네이션 커서
+ * - 클라이언트에는 Base64(URL-safe) 문자열로만 노출되어 내부 구조에 의존하지 않도록 함
+ * - filter: 커서를 발급한 조회 조건(범위/상태), 다른 조건으로 재사용하는 것을 막음
+ * - forward: 다음 페이지(정렬 방향대로), backward: 이전 페이지(정렬 반대 방향)
+ */
+public record AppointmentCursor(String filter, boolean forward, LocalDateTime startTime, long id) {
+
+    private static final String VERSION = "v1";
+
+    /**
+     * 커서를 불투명 문자열로 인코딩
+     * @return
+     */
+    public String encode() {
+        String raw = String.join("|", VERSION, filter, forward ? "N" : "P", startTime.toString(), Long.toString(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 문자열 커서를 해석 (형식이 잘못되었거나 다른 조회 조건에서 발급된 커서이면 BadRequestException)
+     * @param token
+     * @param expectedFilter
+     * @return
+     */
+    public static AppointmentCursor decode(String token, String expectedFilter) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if(parts.length != 5 || !VERSION.equals(parts[0])){
+                throw new IllegalArgumentException(raw);
+            }
+            if(!parts[1].equals(expectedFilter)){
+                throw new BadRequestException("다른 조회 조건에서 발급된 커서입니다.");
+            }
+            return new AppointmentCursor(parts[1], "N".equals(parts[2]), LocalDateTime.parse(parts[3]), Long.parseLong(parts[4]));
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("유효하지 않은 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package kitae.spring.health.appointment.service;
+
+import kitae.spring.health.appointment.entity.AppointmentEvent;
+
+import java.util.List;
+
+/**
+ * 예약 이벤트 소비자 (아웃박스 릴레이가 커밋된 이벤트를 묶음 단위로 전달)
+ * - 같은 묶음 안에서는 발생 순서대로 전달되며, 한 묶음이 두 번 이상 전달될 수 있으므로 중복에 안전하게 구현해야 함
+ * - 소비자마다 별도 트랜잭션에서 호출되며, 이벤트 묶음이 잠겨 있는 동안 실행되므로 오래 걸리는 작업(메일 발송 등)은 비동기로 넘겨야 함
+ */
+public interface AppointmentEventConsumer {
+
+    /**
+     * 이벤트 묶음 처리
+     * @param events
+     */
+    void consume(List<AppointmentEvent> events);
+}
@@ -0,0 +1,227 @@
+package kitae.spring.health.appointment.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kitae.spring.health.appointment.entity.AppointmentEvent;
+import kitae.spring.health.appointment.repository.AppointmentEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 아웃박스 릴레이 (appointment_events 를 묶음 단위로 읽어 소비자에게 전달)
+ * - 한 묶음마다 조회(FOR UPDATE SKIP LOCKED) -> 소비자 전달 -> 삭제를 하나의 트랜잭션으로 실행
+ * - 여러 노드에서 동시에 실행되어도 서로 다른 묶음을 가져가므로 같은 이벤트를 동시에 처리하지 않음
+ * - 소비자마다 별도 트랜잭션(REQUIRES_NEW)에서 실행하여, 한 소비자가 실패해도 다른 소비자는 계속 처리함
+ * - 묶음 전달에 실패한 소비자에게는 이벤트를 한 건씩 다시 전달하여 실패한 이벤트만 골라냄
+ * - 모든 소비자가 처리한 이벤트만 삭제하고, 실패한 이벤트는 실패한 소비자 이름과 다음 전달 시각을 기록해 남겨 둠
+ *   (다음 전달 때는 실패한 소비자에게만 전달, 간격은 retry.initial-delay 부터 두 배씩 늘어나며 최대 retry.max-delay)
+ * - retry.max-attempts 번 실패한 이벤트는 로그를 남기고 삭제 (처리할 수 없는 이벤트가 계속 재시도되지 않도록)
+ * - 재시도 중인 이벤트는 뒤에 발생한 이벤트보다 늦게 전달될 수 있음
+ * - 전달 후 삭제 전에 중단되면 다음 실행에서 다시 전달됨 (at-least-once)
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "appointment.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class AppointmentEventRelay {
+
+    private final AppointmentEventRepository appointmentEventRepository;
+    private final List<AppointmentEventConsumer> consumers;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate consumerTransaction;
+
+    private final Timer relayTimer;
+    private final Counter relayedTotal;
+    private final Counter consumerFailures;
+    private final Counter retriedTotal;
+    private final Counter droppedTotal;
+
+    @Value("${appointment.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${appointment.outbox.retry.initial-delay:PT10S}")
+    private Duration initialRetryDelay;
+
+    @Value("${appointment.outbox.retry.max-delay:PT10M}")
+    private Duration maxRetryDelay;
+
+    @Value("${appointment.outbox.retry.max-attempts:10}")
+    private int maxAttempts;
+
+    public AppointmentEventRelay(AppointmentEventRepository appointmentEventRepository,
+                                 List<AppointmentEventConsumer> consumers,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.appointmentEventRepository = appointmentEventRepository;
+        this.consumers = consumers;
+        this.transactionTemplate = transactionTemplate;
+        this.consumerTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.consumerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.relayTimer = Timer.builder("appointment.outbox.relay.duration")
+                .description("아웃박스 릴레이 1회 실행 소요 시간")
+                .register(meterRegistry);
+        this.relayedTotal = Counter.builder("appointment.outbox.relayed")
+                .description("소비자에게 전달한 예약 이벤트 누적 수")
+                .register(meterRegistry);
+        this.consumerFailures = Counter.builder("appointment.outbox.consumer.failures")
+                .description("예약 이벤트 소비자 처리 실패 누적 수")
+                .register(meterRegistry);
+        this.retriedTotal = Counter.builder("appointment.outbox.retried")
+                .description("처리에 실패하여 재전달 대기로 남긴 예약 이벤트 누적 수")
+                .register(meterRegistry);
+        this.droppedTotal = Counter.builder("appointment.outbox.dropped")
+                .description("최대 시도 횟수를 넘겨 삭제한 예약 이벤트 누적 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 쌓인 이벤트 전달 (이전 실행이 끝난 뒤 interval 만큼 쉬고 다시 실행)
+     * @return 이번 실행에서 전달한 이벤트 수
+     */
+    @Scheduled(initialDelayString = "${appointment.outbox.interval:PT1S}",
+            fixedDelayString = "${appointment.outbox.interval:PT1S}")
+    public int relay() {
+        long begin = System.nanoTime();
+
+        int relayed = 0;
+        while(true){
+            int batch = transactionTemplate.execute(status -> relayBatch());
+            relayed += batch;
+            // 조회 건수가 batch-size 보다 적으면 남은 이벤트가 없음 (다른 노드가 잠근 행 제외)
+            if(batch < batchSize){
+                break;
+            }
+        }
+
+        if(relayed > 0){
+            long elapsedNanos = System.nanoTime() - begin;
+            relayTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            relayedTotal.increment(relayed);
+            log.debug("예약 이벤트 전달 완료: {}건 ({} ms)", relayed, elapsedNanos / 1_000_000);
+        }
+        return relayed;
+    }
+
+    /**
+     * 한 묶음 처리 (트랜잭션 안에서 호출)
+     * @return 전달한 이벤트 수
+     */
+    private int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<AppointmentEvent> events = appointmentEventRepository.findBatchForUpdate(now, PageRequest.of(0, batchSize));
+        if(events.isEmpty()){
+            return 0;
+        }
+
+        // 이벤트 ID -> 처리에 실패한 소비자 이름
+        Map<Long, Set<String>> failed = new LinkedHashMap<>();
+        for(AppointmentEventConsumer consumer : consumers){
+            String name = consumerName(consumer);
+            List<AppointmentEvent> targets = events.stream()
+                    .filter(event -> isPendingFor(event, name))
+                    .toList();
+            if(targets.isEmpty()){
+                continue;
+            }
+
+            RuntimeException error = deliver(consumer, targets);
+            if(error == null){
+                continue;
+            }
+            log.error("예약 이벤트 묶음 처리 실패, 한 건씩 다시 전달합니다. (소비자: {}, 이벤트 ID: {} ~ {})", name,
+                    targets.get(0).getId(), targets.get(targets.size() - 1).getId(), error);
+            for(AppointmentEvent event : targets){
+                if(deliver(consumer, List.of(event)) != null){
+                    failed.computeIfAbsent(event.getId(), id -> new LinkedHashSet<>()).add(name);
+                }
+            }
+        }
+
+        List<Long> done = new ArrayList<>(events.size());
+        for(AppointmentEvent event : events){
+            Set<String> failedConsumers = failed.get(event.getId());
+            if(failedConsumers == null){
+                done.add(event.getId());
+                continue;
+            }
+
+            int attempts = event.getAttempts() + 1;
+            if(attempts >= maxAttempts){
+                droppedTotal.increment();
+                log.error("예약 이벤트 전달 포기 ({}회 실패, 이벤트 ID: {}, 종류: {}, 예약 ID: {}, 소비자: {})",
+                        attempts, event.getId(), event.getType(), event.getAppointmentId(), failedConsumers);
+                done.add(event.getId());
+                continue;
+            }
+            // 잠근 엔티티를 변경하므로 커밋 시 UPDATE
+            event.setAttempts(attempts);
+            event.setNextAttemptAt(now.plus(backoff(attempts)));
+            event.setPendingConsumers(String.join(",", failedConsumers));
+            retriedTotal.increment();
+        }
+
+        if(!done.isEmpty()){
+            appointmentEventRepository.deleteByIds(done);
+        }
+        if(!failed.isEmpty()){
+            log.warn("예약 이벤트 {}건을 다음 실행에서 다시 전달합니다. (전체 {}건)", failed.size(), events.size());
+        }
+        return events.size();
+    }
+
+    /**
+     * 소비자 한 곳에 전달 (별도 트랜잭션)
+     * @param consumer
+     * @param events
+     * @return 실패 시 예외, 성공 시 null
+     */
+    private RuntimeException deliver(AppointmentEventConsumer consumer, List<AppointmentEvent> events) {
+        try {
+            consumerTransaction.executeWithoutResult(status -> consumer.consume(events));
+            return null;
+        } catch (RuntimeException e) {
+            consumerFailures.increment();
+            return e;
+        }
+    }
+
+    private boolean isPendingFor(AppointmentEvent event, String consumerName) {
+        String pending = event.getPendingConsumers();
+        return pending == null || Arrays.asList(pending.split(",")).contains(consumerName);
+    }
+
+    /**
+     * n 번째 실패 후 다음 전달까지의 간격 (initial-delay * 2^(n-1), 최대 max-delay)
+     * @param attempts 지금까지의 실패 횟수 (1 이상)
+     * @return
+     */
+    private Duration backoff(int attempts) {
+        long initialMillis = initialRetryDelay.toMillis();
+        long maxMillis = maxRetryDelay.toMillis();
+        int shift = Math.min(attempts - 1, 30);
+        return Duration.ofMillis(initialMillis > (maxMillis >> shift) ? maxMillis : Math.min(initialMillis << shift, maxMillis));
+    }
+
+    private static String consumerName(AppointmentEventConsumer consumer) {
+        return ClassUtils.getUserClass(consumer).getSimpleName();
+    }
+}
@@ -0,0 +1,150 @@
+package kitae.spring.health.appointment.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kitae.spring.health.appointment.dto.AppointmentSlot;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.doctor.service.DoctorStatsRecorder;
+import kitae.spring.health.enums.AppointmentEventType;
+import kitae.spring.health.enums.AppointmentStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지난 SCHEDULED 예약을 NO_SHOW 로 정리하는 스케줄러
+ * - 종료 시간 + 유예 시간이 지난 예약을 chunk-size 건씩 ID 로 조회한 뒤, 한 번의 UPDATE 로 상태 변경
+ * - 엔티티를 로딩/저장하지 않으므로 건수가 많아도 한 번에 잠그는 행 수와 트랜잭션 길이가 제한됨
+ * - 변경한 예약마다 NO_SHOW 이벤트를 같은 트랜잭션에서 아웃박스에 배치로 기록하고, 의사 통계 증감분을 커밋 이후 누적
+ * - 실행마다 처리 건수와 소요 시간을 로그와 메트릭(appointment.no_show.sweep.*)으로 남김
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "appointment.no-show.enabled", havingValue = "true", matchIfMissing = true)
+public class AppointmentNoShowSweeper {
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentConflictIndex appointmentConflictIndex;
+    private final AppointmentOutbox appointmentOutbox;
+    private final DoctorStatsRecorder doctorStatsRecorder;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer sweepTimer;
+    private final DistributionSummary sweepRows;
+    private final Counter sweptTotal;
+
+    @Value("${appointment.no-show.grace-minutes:30}")
+    private int graceMinutes;
+
+    @Value("${appointment.no-show.chunk-size:500}")
+    private int chunkSize;
+
+    public AppointmentNoShowSweeper(AppointmentRepository appointmentRepository,
+                                    AppointmentConflictIndex appointmentConflictIndex,
+                                    AppointmentOutbox appointmentOutbox,
+                                    DoctorStatsRecorder doctorStatsRecorder,
+                                    TransactionTemplate transactionTemplate,
+                                    MeterRegistry meterRegistry) {
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentConflictIndex = appointmentConflictIndex;
+        this.appointmentOutbox = appointmentOutbox;
+        this.doctorStatsRecorder = doctorStatsRecorder;
+        this.transactionTemplate = transactionTemplate;
+
+        this.sweepTimer = Timer.builder("appointment.no_show.sweep.duration")
+                .description("NO_SHOW 스윕 1회 실행 소요 시간")
+                .register(meterRegistry);
+        this.sweepRows = DistributionSummary.builder("appointment.no_show.sweep.rows")
+                .description("NO_SHOW 스윕 1회 실행에서 변경한 예약 수")
+                .register(meterRegistry);
+        this.sweptTotal = Counter.builder("appointment.no_show.swept")
+                .description("NO_SHOW 로 변경된 예약 누적 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 지난 예약 NO_SHOW 처리 (이전 실행이 끝난 뒤 interval 만큼 쉬고 다시 실행)
+     * @return 이번 실행에서 변경한 예약 수
+     */
+    @Scheduled(initialDelayString = "${appointment.no-show.interval:PT5M}",
+            fixedDelayString = "${appointment.no-show.interval:PT5M}")
+    public int sweep() {
+        long begin = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(graceMinutes);
+
+        int updated = 0;
+        int chunks = 0;
+        while(true){
+            ChunkResult chunk = transactionTemplate.execute(status -> sweepChunk(cutoff));
+            updated += chunk.updated();
+            chunks++;
+            // 조회 건수가 chunk-size 보다 적으면 남은 대상이 없음
+            if(chunk.selected() < chunkSize){
+                break;
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - begin;
+        sweepTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        sweepRows.record(updated);
+        sweptTotal.increment(updated);
+
+        if(updated > 0){
+            log.info("NO_SHOW 처리 완료: {}건 ({}회 UPDATE, {} ms)", updated, chunks, elapsedNanos / 1_000_000);
+        } else {
+            log.debug("NO_SHOW 처리 대상 없음 ({} ms)", elapsedNanos / 1_000_000);
+        }
+        return updated;
+    }
+
+    /**
+     * 한 묶음 처리 (트랜잭션 안에서 호출)
+     * @param cutoff
+     * @return
+     */
+    private ChunkResult sweepChunk(LocalDateTime cutoff) {
+        List<AppointmentSlot> expired = appointmentRepository.findExpiredScheduledSlots(cutoff, PageRequest.of(0, chunkSize));
+        if(expired.isEmpty()){
+            return new ChunkResult(0, 0);
+        }
+
+        List<Long> ids = expired.stream()
+                .map(AppointmentSlot::getAppointmentId)
+                .toList();
+        int updated = appointmentRepository.markNoShow(ids, cutoff, LocalDateTime.now());
+
+        // 조회 이후 다른 트랜잭션에서 상태가 바뀐 예약이 있으면 실제로 변경된 예약만 이벤트로 기록
+        List<AppointmentSlot> changed = expired;
+        if(updated != expired.size()){
+            Set<Long> noShowIds = new HashSet<>(appointmentRepository.findIdsByIdInAndStatus(ids, AppointmentStatus.NO_SHOW));
+            changed = expired.stream()
+                    .filter(slot -> noShowIds.contains(slot.getAppointmentId()))
+                    .toList();
+        }
+        appointmentOutbox.recordSlots(changed, AppointmentEventType.NO_SHOW, AppointmentStatus.NO_SHOW);
+        for(AppointmentSlot slot : changed){
+            doctorStatsRecorder.statusChanged(slot.getDoctorId(), AppointmentStatus.SCHEDULED, AppointmentStatus.NO_SHOW);
+        }
+
+        // 커밋 이후 충돌 인덱스에서 제거 (이미 다른 상태로 바뀐 예약도 인덱스에 남아 있을 이유가 없음)
+        for(AppointmentSlot slot : expired){
+            appointmentConflictIndex.remove(slot.getDoctorId(), slot.getAppointmentId());
+        }
+        return new ChunkResult(expired.size(), updated);
+    }
+
+    private record ChunkResult(int selected, int updated) {
+    }
+}
@@ -0,0 +1,269 @@
+package kitae.spring.health.appointment.service;
+
+import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.appointment.entity.AppointmentEvent;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.enums.AppointmentEventType;
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.notification.dto.NotificationDTO;
+import kitae.spring.health.notification.service.NotificationService;
+import kitae.spring.health.users.entity.User;
+import kitae.spring.health.users.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 예약 이벤트 알림 소비자 (예약 등록/취소/시간 변경 시 환자와 의사에게 이메일 발송)
+ * - 묶음에 포함된 예약과 사용자를 한 번에 조회한 뒤, 이벤트 순서대로 비동기 메일 발송을 요청
+ * - 의사의 일괄 취소(RANGE_CANCELLED)는 환자에게만 알림 (취소한 의사에게 건별 메일을 보내지 않음)
+ * - 시간 변경(RESCHEDULED)은 기존/새 시간을 함께 담은 메일 한 통씩만 환자와 의사에게 발송
+ * - 예약 시간과 상태는 이벤트에 저장된 값으로 렌더링 (전달 전에 예약이 다시 변경되어도 이벤트 당시 내용으로 알림)
+ * - 참여자 이름/이메일 등은 예약에서 조회하며, 이벤트 처리 시점에 예약이 보관 테이블로 이동되어 없으면 건너뜀
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentNotificationConsumer implements AppointmentEventConsumer {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss ", Locale.KOREAN);
+
+    private final AppointmentRepository appointmentRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+
+    @Override
+    public void consume(List<AppointmentEvent> events) {
+
+        List<AppointmentEvent> notifiable = events.stream()
+                .filter(event -> event.getType() == AppointmentEventType.BOOKED
+                        || event.getType() == AppointmentEventType.CANCELLED
+                        || event.getType() == AppointmentEventType.RESCHEDULED
+                        || event.getType() == AppointmentEventType.RANGE_CANCELLED)
+                .toList();
+        if(notifiable.isEmpty()){
+            return;
+        }
+
+        Map<Long, Appointment> appointments = appointmentRepository.findWithParticipantsByIdIn(
+                        notifiable.stream().map(AppointmentEvent::getAppointmentId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Appointment::getId, Function.identity()));
+
+        Map<Long, User> actors = userRepository.findAllById(notifiable.stream()
+                        .map(AppointmentEvent::getActorUserId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        for(AppointmentEvent event : notifiable){
+            Appointment appointment = appointments.get(event.getAppointmentId());
+            if(appointment == null){
+                log.warn("알림 대상 예약을 찾을 수 없습니다. (이벤트 ID: {}, 예약 ID: {})", event.getId(), event.getAppointmentId());
+                continue;
+            }
+
+            if(event.getType() == AppointmentEventType.BOOKED){
+                sendAppointmentConfirmation(appointment, event);  // 예약 확인 알림 전송
+            } else if(event.getType() == AppointmentEventType.RESCHEDULED){
+                sendAppointmentRescheduled(appointment, event, actors.get(event.getActorUserId()));  // 예약 변경 알림 전송
+            } else {
+                User cancelingUser = actors.get(event.getActorUserId());
+                if(cancelingUser == null){
+                    log.warn("예약 취소 알림 전송 실패: 취소한 사용자를 찾을 수 없습니다. (예약 ID: {})", appointment.getId());
+                    continue;
+                }
+                // 참고: 알림은 상대방(환자/의사)에게 보내야 합니다.
+                boolean notifyDoctor = event.getType() == AppointmentEventType.CANCELLED;
+                sendAppointmentCancellation(appointment, event, cancelingUser, notifyDoctor);  // 예약 취소 알림 전송
+            }
+        }
+    }
+
+    /**
+     * 이벤트 시점의 예약 시간 (이벤트에 시간이 없는 이전 형식의 이벤트는 현재 예약 시간 사용)
+     * @param appointment
+     * @param event
+     * @return
+     */
+    private String appointmentTime(Appointment appointment, AppointmentEvent event) {
+        LocalDateTime startTime = event.getStartTime() != null ? event.getStartTime() : appointment.getStartTime();
+        return startTime.format(FORMATTER);
+    }
+
+    /**
+     * 이벤트 시점의 예약 상태 (이벤트에 상태가 없는 이전 형식의 이벤트는 현재 예약 상태 사용)
+     * @param appointment
+     * @param event
+     * @return
+     */
+    private AppointmentStatus appointmentStatus(Appointment appointment, AppointmentEvent event) {
+        return event.getStatus() != null ? event.getStatus() : appointment.getStatus();
+    }
+
+    /**
+     * 예약 취소 알림 전송
+     * @param appointment
+     * @param event
+     * @param cancelingUser
+     * @param notifyDoctor 의사에게도 보낼지 여부
+     */
+    private void sendAppointmentCancellation(Appointment appointment, AppointmentEvent event, User cancelingUser, boolean notifyDoctor) {
+
+        User patientUser = appointment.getPatient().getUser();  // 환자 사용자 정보
+        User doctorUser = appointment.getDoctor().getUser(); // 의사 사용자 정보
+
+        // 취소하는 사용자가 참여하고 있는지 확인하기 위한 안전 점검
+        boolean isOwner = patientUser.getId().equals(cancelingUser.getId()) ||
+                doctorUser.getId().equals(cancelingUser.getId());
+
+        if(!isOwner){
+            log.error("예약 취소 알림 전송 실패: 사용자가 예약의 당사자가 아닙니다. 사용자 ID: " + cancelingUser.getId());
+            return;
+        }
+
+        String formattedTime = appointmentTime(appointment, event); // 예약 시간 포맷팅
+        String cancellingPartyName = cancelingUser.getName(); // 취소하는 사람의 이름
+
+        // 템플릿에서 공통으로 사용되는 변수
+        Map<String, Object> baseVars = new HashMap<>();
+        baseVars.put("cancellingPartyName", cancellingPartyName);
+        baseVars.put("appointmentTime", formattedTime);
+        baseVars.put("appointmentStatus", appointmentStatus(appointment, event).name());
+        baseVars.put("doctorName", appointment.getDoctor().getLastName());
+        baseVars.put("patientFullName", patientUser.getName());
+
+        // 의사에게 이메일 발송
+        if(notifyDoctor){
+            Map<String, Object> doctorVars = new HashMap<>(baseVars);
+            doctorVars.put("recipientName", doctorUser.getName());
+
+            NotificationDTO doctorNotification = NotificationDTO.builder()
+                    .recipient(doctorUser.getEmail())
+                    .subject("TeleMed 헬스케어 - 예약 취소 알림")
+                    .templateName("appointment-cancellation")
+                    .templateVariables(doctorVars)
+                    .build();
+
+            notificationService.sendEmail(doctorNotification, doctorUser);
+            log.info("의사에게 예약 취소 알림 전송 완료: " + doctorUser.getEmail());
+        }
+
+        // 환자에게 이메일 발송
+        Map<String, Object> patientVars = new HashMap<>(baseVars);
+        patientVars.put("recipientName", patientUser.getName());
+
+        NotificationDTO patientNotification = NotificationDTO.builder()
+                .recipient(patientUser.getEmail())
+                .subject("TeleMed 헬스케어 - 예약 취소 알림(ID : " + appointment.getId() + ")")
+                .templateName("appointment-cancellation")
+                .templateVariables(patientVars)
+                .build();
+
+        notificationService.sendEmail(patientNotification, patientUser);
+        log.info("환자에게 예약 취소 알림 전송 완료: {}", patientUser.getEmail());
+    }
+
+    /**
+     * 예약 시간 변경 알림 전송 (환자/의사에게 각각 한 통)
+     * @param appointment
+     * @param event
+     * @param reschedulingUser 변경한 사용자 (찾을 수 없으면 null)
+     */
+    private void sendAppointmentRescheduled(Appointment appointment, AppointmentEvent event, User reschedulingUser) {
+
+        User patientUser = appointment.getPatient().getUser();  // 환자 사용자 정보
+        User doctorUser = appointment.getDoctor().getUser(); // 의사 사용자 정보
+
+        // 템플릿에서 공통으로 사용되는 변수
+        Map<String, Object> baseVars = new HashMap<>();
+        baseVars.put("reschedulingPartyName", reschedulingUser != null ? reschedulingUser.getName() : "TeleMed 헬스케어");
+        baseVars.put("previousAppointmentTime", event.getPreviousStartTime() != null
+                ? event.getPreviousStartTime().format(FORMATTER) : "-");
+        baseVars.put("appointmentTime", appointmentTime(appointment, event));
+        baseVars.put("appointmentStatus", appointmentStatus(appointment, event).name());
+        baseVars.put("doctorName", appointment.getDoctor().getLastName());
+        baseVars.put("patientFullName", patientUser.getName());
+        baseVars.put("meetingLink", appointment.getMeetingLink());
+        baseVars.put("purposeOfConsultation", appointment.getPurposeOfConsultation());
+
+        for(User recipient : List.of(patientUser, doctorUser)){
+            Map<String, Object> vars = new HashMap<>(baseVars);
+            vars.put("recipientName", recipient.getName());
+
+            NotificationDTO notification = NotificationDTO.builder()
+                    .recipient(recipient.getEmail())
+                    .subject("TeleMed 헬스케어 - 예약 시간 변경 알림(ID : " + appointment.getId() + ")")
+                    .templateName("appointment-rescheduled")
+                    .templateVariables(vars)
+                    .build();
+
+            notificationService.sendEmail(notification, recipient);
+            log.info("예약 시간 변경 알림 전송 완료: {}", recipient.getEmail());
+        }
+    }
+
+    /**
+     * 예약 확인 알림 전송
+     * @param appointment
+     * @param event
+     */
+    private void sendAppointmentConfirmation(Appointment appointment, AppointmentEvent event) {
+
+        User patientUser = appointment.getPatient().getUser();  // 환자 사용자 정보
+        String formattedTime = appointmentTime(appointment, event); // 예약 시간 포맷팅
+        String status = appointmentStatus(appointment, event).name(); // 예약 상태
+
+        // 환자에게 이메일 발송
+        Map<String, Object> patientVars = new HashMap<>();
+        patientVars.put("patientName", patientUser.getName());
+        patientVars.put("doctorName", appointment.getDoctor().getUser().getName());
+        patientVars.put("appointmentTime", formattedTime);
+        patientVars.put("appointmentStatus", status);
+        patientVars.put("isVirtual", true);
+        patientVars.put("meetingLink", appointment.getMeetingLink());
+        patientVars.put("purposeOfConsultation", appointment.getPurposeOfConsultation());
+
+        NotificationDTO patientNotification = NotificationDTO.builder()
+                .recipient(patientUser.getEmail())
+                .subject("TeleMed 헬스케어 - 예약 확인 알림")
+                .templateName("patient-appointment")
+                .templateVariables(patientVars)
+                .build();
+
+        notificationService.sendEmail(patientNotification, patientUser);
+        log.info("환자에게 예약 확인 알림 전송 완료: {}", patientUser.getEmail());
+
+        // 의사에게 이메일 발송
+        User doctorUser = appointment.getDoctor().getUser(); // 의사 사용자 정보
+
+        Map<String, Object> doctorVars = new HashMap<>();
+        doctorVars.put("doctorName", doctorUser.getName());
+        doctorVars.put("patientFullName", patientUser.getName());
+        doctorVars.put("appointmentTime", formattedTime);
+        doctorVars.put("appointmentStatus", status);
+        doctorVars.put("isVirtual", true);
+        doctorVars.put("meetingLink", appointment.getMeetingLink());
+        doctorVars.put("initialSymptoms", appointment.getInitialSymptoms());
+        doctorVars.put("purposeOfConsultation", appointment.getPurposeOfConsultation());
+
+        NotificationDTO doctorNotification = NotificationDTO.builder()
+                .recipient(doctorUser.getEmail())
+                .subject("TeleMed 헬스케어 - 새로운 예약 알림")
+                .templateName("doctor-appointment")
+                .templateVariables(doctorVars)
+                .build();
+
+        notificationService.sendEmail(doctorNotification, doctorUser);
+        log.info("의사에게 새로운 예약 알림 전송 완료: " + doctorUser.getEmail());
+    }
+}
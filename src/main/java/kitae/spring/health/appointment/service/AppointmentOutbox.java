@@ -0,0 +1,101 @@
+package kitae.spring.health.appointment.service;
+
+import kitae.spring.health.appointment.dto.AppointmentSlot;
+import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.appointment.entity.AppointmentEvent;
+import kitae.spring.health.appointment.repository.AppointmentEventRepository;
+import kitae.spring.health.enums.AppointmentEventType;
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.users.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 예약 이벤트 기록 (트랜잭션 아웃박스)
+ * - 예약 변경과 같은 트랜잭션에서 appointment_events 에 INSERT 만 수행 (롤백되면 이벤트도 함께 사라짐)
+ * - 알림 등 후속 처리는 AppointmentEventRelay 가 커밋된 이벤트를 읽어 소비자에게 전달
+ * - 변경 직후의 시작 시간과 상태를 이벤트에 함께 저장 (전달 시점의 예약이 아니라 이벤트 당시 값으로 알림을 만들도록)
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentOutbox {
+
+    private final AppointmentEventRepository appointmentEventRepository;
+
+    /**
+     * 예약 한 건의 이벤트 기록
+     * @param appointment
+     * @param type
+     * @param actor 변경한 사용자 (없으면 null)
+     */
+    public void record(Appointment appointment, AppointmentEventType type, User actor) {
+        appointmentEventRepository.save(event(appointment, type, actor));
+    }
+
+    /**
+     * 예약 시간 변경 이벤트 기록 (알림에 기존/새 시간을 함께 안내할 수 있도록 이전 시작 시간 보관)
+     * @param appointment
+     * @param previousStartTime 변경 전 시작 시간
+     * @param actor 변경한 사용자
+     */
+    public void recordRescheduled(Appointment appointment, LocalDateTime previousStartTime, User actor) {
+        AppointmentEvent event = event(appointment, AppointmentEventType.RESCHEDULED, actor);
+        event.setPreviousStartTime(previousStartTime);
+        appointmentEventRepository.save(event);
+    }
+
+    /**
+     * 여러 예약의 이벤트 기록 (시퀀스 ID 로 INSERT 가 배치로 묶임)
+     * @param appointments
+     * @param type
+     * @param actor
+     */
+    public void recordAll(List<Appointment> appointments, AppointmentEventType type, User actor) {
+        appointmentEventRepository.saveAll(appointments.stream()
+                .map(appointment -> event(appointment, type, actor))
+                .toList());
+    }
+
+    /**
+     * 엔티티를 로딩하지 않은 예약 시간대 목록의 이벤트 기록 (스케줄러용)
+     * @param slots
+     * @param type
+     * @param status 변경된 상태
+     */
+    public void recordSlots(List<AppointmentSlot> slots, AppointmentEventType type, AppointmentStatus status) {
+        recordSlots(slots, type, status, null);
+    }
+
+    /**
+     * 엔티티를 로딩하지 않은 예약 시간대 목록의 이벤트 기록 (일괄 변경용)
+     * @param slots
+     * @param type
+     * @param status 변경된 상태
+     * @param actor 변경한 사용자 (없으면 null)
+     */
+    public void recordSlots(List<AppointmentSlot> slots, AppointmentEventType type, AppointmentStatus status, User actor) {
+        appointmentEventRepository.saveAll(slots.stream()
+                .map(slot -> event(slot.getAppointmentId(), slot.getDoctorId(), slot.getStartTime(), status, type, actor))
+                .toList());
+    }
+
+    private AppointmentEvent event(Appointment appointment, AppointmentEventType type, User actor) {
+        return event(appointment.getId(), appointment.getDoctor().getId(), appointment.getStartTime(), appointment.getStatus(), type, actor);
+    }
+
+    private AppointmentEvent event(Long appointmentId, Long doctorId, LocalDateTime startTime, AppointmentStatus status,
+                                   AppointmentEventType type, User actor) {
+        return AppointmentEvent.builder()
+                .type(type)
+                .appointmentId(appointmentId)
+                .doctorId(doctorId)
+                .actorUserId(actor != null ? actor.getId() : null)
+                .startTime(startTime)
+                .status(status)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,236 @@
+package kitae.spring.health.appointment.service;
+
+import jakarta.annotation.PreDestroy;
+import kitae.spring.health.appointment.dto.AppointmentSlot;
+import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.notification.dto.NotificationDTO;
+import kitae.spring.health.notification.service.NotificationService;
+import kitae.spring.health.support.TransactionHooks;
+import kitae.spring.health.users.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 예약 리마인더 (예: 시작 24시간 전, 15분 전 환자에게 이메일 발송)
+ * - 발송 예정 작업은 메모리의 해시 타이밍 휠에 보관하고, 휠 스레드가 tick 마다 해당 버킷만 확인
+ * - DB 는 앞으로 window 만큼의 구간만 시작 시간 범위 조회로 적재하고, load-interval 마다 다음 구간을 이어서 적재
+ * - 재시작 시 현재 시각부터 다시 적재하여 휠을 재구성 (중단된 동안 지나간 리마인더는 발송하지 않음)
+ * - 예약 등록 시 이미 적재된 구간에 속하는 리마인더는 바로 휠에 등록, 취소/완료 시 O(1)로 제거
+ * - 노드별로 휠을 유지하므로 여러 노드로 운영할 경우 한 노드에서만 활성화해야 함
+ */
+@Service
+@Slf4j
+public class AppointmentReminderService {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss ", Locale.KOREAN);
+
+    private final AppointmentRepository appointmentRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+
+    @Value("${appointment.reminder.enabled:true}")
+    private boolean enabled;
+
+    @Value("${appointment.reminder.offsets:PT24H,PT15M}")
+    private List<Duration> offsets;
+
+    @Value("${appointment.reminder.window:PT30M}")
+    private Duration window;
+
+    @Value("${appointment.reminder.tick:PT1S}")
+    private Duration tick;
+
+    @Value("${appointment.reminder.wheel-size:4096}")
+    private int wheelSize;
+
+    private volatile HashedTimingWheel<ReminderKey> wheel;
+    private LocalDateTime loadedUntil; // 이 시각 이전의 리마인더는 모두 휠에 적재됨
+
+    public AppointmentReminderService(AppointmentRepository appointmentRepository,
+                                      NotificationService notificationService,
+                                      TransactionTemplate transactionTemplate,
+                                      @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.appointmentRepository = appointmentRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * 애플리케이션 시작 후 휠을 만들고 첫 구간을 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if(!enabled || wheel != null){
+            return;
+        }
+        HashedTimingWheel<ReminderKey> timingWheel = new HashedTimingWheel<>(tick.toMillis(), wheelSize,
+                (key, deadline) -> taskExecutor.execute(() -> send(key)));
+        loadedUntil = LocalDateTime.now();
+        wheel = timingWheel;
+        loadUntil(loadedUntil.plus(window));
+        timingWheel.start("appointment-reminder-wheel");
+    }
+
+    @PreDestroy
+    public void stop() {
+        HashedTimingWheel<ReminderKey> timingWheel = wheel;
+        if(timingWheel != null){
+            timingWheel.stop();
+        }
+    }
+
+    /**
+     * 다음 구간 적재 (load-interval 은 window 보다 짧아야 발송 시각 전에 적재됨)
+     */
+    @Scheduled(initialDelayString = "${appointment.reminder.load-interval:PT10M}",
+            fixedDelayString = "${appointment.reminder.load-interval:PT10M}")
+    public void loadNextWindow() {
+        if(wheel == null){
+            return;
+        }
+        loadUntil(LocalDateTime.now().plus(window));
+    }
+
+    /**
+     * 새로 등록된 예약의 리마인더를 휠에 등록 (아직 적재되지 않은 구간은 이후 적재 시 포함됨)
+     * @param appointment
+     */
+    public synchronized void schedule(Appointment appointment) {
+        if(wheel == null){
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for(int i = 0; i < offsets.size(); i++){
+            LocalDateTime remindAt = appointment.getStartTime().minus(offsets.get(i));
+            if(!remindAt.isBefore(now) && remindAt.isBefore(loadedUntil)){
+                wheel.schedule(new ReminderKey(appointment.getId(), i), toEpochMillis(remindAt));
+            }
+        }
+    }
+
+    /**
+     * 예약의 대기 중인 리마인더 제거 (트랜잭션 안에서 호출되면 커밋 이후 반영)
+     * @param appointmentId
+     */
+    public void cancel(Long appointmentId) {
+        if(wheel == null){
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            for(int i = 0; i < offsets.size(); i++){
+                wheel.cancel(new ReminderKey(appointmentId, i));
+            }
+        });
+    }
+
+    public int pendingCount() {
+        HashedTimingWheel<ReminderKey> timingWheel = wheel;
+        return timingWheel != null ? timingWheel.size() : 0;
+    }
+
+    /**
+     * [loadedUntil, horizon) 에 발송될 리마인더 적재
+     * - 리마인더 발송 시각 = 시작 시간 - offset 이므로, offset 별로 시작 시간 범위 조회 (idx_appointments_status_start 사용)
+     * @param horizon
+     */
+    private synchronized void loadUntil(LocalDateTime horizon) {
+        LocalDateTime from = loadedUntil;
+        if(!horizon.isAfter(from)){
+            return;
+        }
+
+        int loaded = 0;
+        for(int i = 0; i < offsets.size(); i++){
+            Duration offset = offsets.get(i);
+            List<AppointmentSlot> slots = appointmentRepository.findScheduledSlotsStartingBetween(
+                    from.plus(offset), horizon.plus(offset));
+            for(AppointmentSlot slot : slots){
+                wheel.schedule(new ReminderKey(slot.getAppointmentId(), i), toEpochMillis(slot.getStartTime().minus(offset)));
+            }
+            loaded += slots.size();
+        }
+        loadedUntil = horizon;
+        log.debug("리마인더 적재: {} ~ {} ({}건, 대기 {}건)", from, horizon, loaded, wheel.size());
+    }
+
+    /**
+     * 리마인더 발송 (휠 스레드가 아닌 작업 스레드에서 실행)
+     * @param key
+     */
+    private void send(ReminderKey key) {
+        Reminder reminder = transactionTemplate.execute(status -> {
+            Appointment appointment = appointmentRepository.findWithParticipantsById(key.appointmentId()).orElse(null);
+
+            // 적재 이후 취소/완료되었거나 이미 시작된 예약은 발송하지 않음
+            if(appointment == null
+                    || appointment.getStatus() != AppointmentStatus.SCHEDULED
+                    || !appointment.getStartTime().isAfter(LocalDateTime.now())){
+                return null;
+            }
+            return buildReminder(appointment, offsets.get(key.offsetIndex()));
+        });
+
+        if(reminder != null){
+            notificationService.sendEmail(reminder.notification(), reminder.recipient());
+            log.info("예약 리마인더 전송 요청 완료 (예약 ID: {}, 수신자: {})", key.appointmentId(), reminder.recipient().getEmail());
+        }
+    }
+
+    private Reminder buildReminder(Appointment appointment, Duration offset) {
+        User patientUser = appointment.getPatient().getUser();  // 환자 사용자 정보
+
+        Map<String, Object> patientVars = new HashMap<>();
+        patientVars.put("patientName", patientUser.getName());
+        patientVars.put("doctorName", appointment.getDoctor().getUser().getName());
+        patientVars.put("appointmentTime", appointment.getStartTime().format(FORMATTER));
+        patientVars.put("remainingTime", formatOffset(offset));
+        patientVars.put("meetingLink", appointment.getMeetingLink());
+        patientVars.put("purposeOfConsultation", appointment.getPurposeOfConsultation());
+
+        NotificationDTO patientNotification = NotificationDTO.builder()
+                .recipient(patientUser.getEmail())
+                .subject("TeleMed 헬스케어 - 예약 " + formatOffset(offset) + " 전 알림")
+                .templateName("appointment-reminder")
+                .templateVariables(patientVars)
+                .build();
+        return new Reminder(patientNotification, patientUser);
+    }
+
+    private String formatOffset(Duration offset) {
+        long minutes = offset.toMinutes();
+        return minutes % 60 == 0 ? (minutes / 60) + "시간" : minutes + "분";
+    }
+
+    private long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 휠 작업 키 (예약 ID + 리마인더 순번)
+     */
+    private record ReminderKey(Long appointmentId, int offsetIndex) {
+    }
+
+    private record Reminder(NotificationDTO notification, User recipient) {
+    }
+}
@@ -0,0 +1,210 @@
+package kitae.spring.health.appointment.service;
+
+import kitae.spring.health.appointment.dto.AppointmentDTO;
+import kitae.spring.health.appointment.dto.AppointmentPageDTO;
+import kitae.spring.health.appointment.dto.AppointmentSearchDTO;
+import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.appointment.repository.AppointmentSpecifications;
+import kitae.spring.health.exceptions.BadRequestException;
+import kitae.spring.health.response.Response;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 관리자 예약 검색
+ * - 조건 조합(shape)마다 사용할 복합 인덱스를 정해두고, 인덱스로 범위를 좁힐 수 없는 조합은 전체 스캔 대신 400 으로 거절
+ *   1. doctorId (+ status, 기간)          -> idx_appointments_doctor_status_start / idx_appointments_doctor_start
+ *   2. patientId (+ status, 기간)         -> idx_appointments_patient_status_start / idx_appointments_patient_start
+ *   3. specialization + 기간(최대 max-range) -> idx_doctors_specialization + idx_appointments_doctor_start
+ *   4. status (+ 기간)                    -> idx_appointments_status_start
+ *   5. 기간(최대 max-range)                 -> idx_appointments_start
+ * - 정렬은 (시작 시간, ID) 내림차순이며, 다음 페이지는 키셋 커서로 조회 (OFFSET 을 사용하지 않음)
+ * - 건수 조회는 같은 조건의 COUNT 만 실행하므로, 조건 컬럼이 모두 포함된 인덱스만 읽고 예약 행은 읽지 않음
+ * - 보관 테이블(appointments_archive)로 이동된 예약은 검색하지 않음
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100; // 검색 최대 페이지 크기
+    private static final Sort ORDER = Sort.by(Sort.Order.desc("startTime"), Sort.Order.desc("id"));
+
+    private final AppointmentRepository appointmentRepository;
+    private final ModelMapper modelMapper;
+
+    @Value("${appointment.search.max-range:P31D}")
+    private Duration maxRange;  // 의사/환자/상태 조건 없이 검색할 때 허용하는 최대 기간
+
+    /**
+     * 예약 검색 (키셋 페이지)
+     * @param condition
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     * @param size
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public Response<AppointmentPageDTO> searchAppointments(AppointmentSearchDTO condition, String cursor, int size) {
+
+        SearchShape shape = shapeOf(condition);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        String filter = filterOf(condition);
+
+        Specification<Appointment> specification = specificationOf(condition);
+        boolean hasCursor = cursor != null && !cursor.isBlank();
+        if(hasCursor){
+            AppointmentCursor position = AppointmentCursor.decode(cursor, filter);
+            specification = specification.and(AppointmentSpecifications.before(position.startTime(), position.id()));
+        }
+
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회 (의사/환자 및 각 사용자 정보를 함께 조회)
+        // fetch 조인을 먼저 만들어 두어 전문 분야 조건이 의사 조인을 재사용하게 함
+        List<Appointment> appointments = appointmentRepository.findBy(
+                AppointmentSpecifications.fetchParticipants().and(specification),
+                query -> query.sortBy(ORDER).limit(pageSize + 1).all());
+
+        boolean hasNext = appointments.size() > pageSize;
+        List<AppointmentDTO> page = (hasNext ? appointments.subList(0, pageSize) : appointments).stream()
+                .map(appointment -> modelMapper.map(appointment, AppointmentDTO.class))
+                .toList();
+
+        String nextCursor = null;
+        if(hasNext){
+            AppointmentDTO last = page.get(page.size() - 1);
+            nextCursor = new AppointmentCursor(filter, true, last.getStartTime(), last.getId()).encode();
+        }
+        log.debug("관리자 예약 검색 (조건: {}, 인덱스: {}) {}건", shape, shape.index, page.size());
+
+        AppointmentPageDTO pageDTO = AppointmentPageDTO.builder()
+                .content(page)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .hasPrevious(hasCursor)
+                .nextCursor(nextCursor)
+                .build();
+
+        return Response.<AppointmentPageDTO>builder()
+                .statusCode(200)
+                .data(pageDTO)
+                .message("예약 검색에 성공했습니다.")
+                .build();
+    }
+
+    /**
+     * 검색 조건에 맞는 예약 수
+     * @param condition
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public Response<Long> countAppointments(AppointmentSearchDTO condition) {
+
+        SearchShape shape = shapeOf(condition);
+        long count = appointmentRepository.count(specificationOf(condition));
+        log.debug("관리자 예약 건수 조회 (조건: {}, 인덱스: {}) {}건", shape, shape.index, count);
+
+        return Response.<Long>builder()
+                .statusCode(200)
+                .data(count)
+                .message("예약 건수 조회에 성공했습니다.")
+                .build();
+    }
+
+    /**
+     * 조건 조합 판정 (인덱스로 범위를 좁힐 수 없는 조합이면 BadRequestException)
+     * @param condition
+     * @return
+     */
+    private SearchShape shapeOf(AppointmentSearchDTO condition) {
+
+        if(condition.getFrom() != null && condition.getTo() != null && !condition.getFrom().isBefore(condition.getTo())){
+            throw new BadRequestException("검색 기간의 시작은 종료보다 이전이어야 합니다.");
+        }
+
+        boolean boundedRange = condition.getFrom() != null && condition.getTo() != null
+                && Duration.between(condition.getFrom(), condition.getTo()).compareTo(maxRange) <= 0;
+
+        if(condition.getDoctorId() != null){
+            return SearchShape.DOCTOR;
+        }
+        if(condition.getPatientId() != null){
+            return SearchShape.PATIENT;
+        }
+        if(condition.getSpecialization() != null && boundedRange){
+            return SearchShape.SPECIALIZATION;
+        }
+        if(condition.getStatus() != null){
+            return SearchShape.STATUS;
+        }
+        if(boundedRange){
+            return SearchShape.RANGE;
+        }
+        throw new BadRequestException("인덱스를 사용할 수 없는 검색 조건입니다. 의사 ID, 환자 ID, 예약 상태 중 하나 또는 "
+                + maxRange.toDays() + "일 이내의 검색 기간(from, to)을 지정해주세요.");
+    }
+
+    private Specification<Appointment> specificationOf(AppointmentSearchDTO condition) {
+        List<Specification<Appointment>> specifications = new ArrayList<>();
+        if(condition.getDoctorId() != null){
+            specifications.add(AppointmentSpecifications.doctorIdEquals(condition.getDoctorId()));
+        }
+        if(condition.getPatientId() != null){
+            specifications.add(AppointmentSpecifications.patientIdEquals(condition.getPatientId()));
+        }
+        if(condition.getSpecialization() != null){
+            specifications.add(AppointmentSpecifications.specializationEquals(condition.getSpecialization()));
+        }
+        if(condition.getStatus() != null){
+            specifications.add(AppointmentSpecifications.statusEquals(condition.getStatus()));
+        }
+        if(condition.getFrom() != null){
+            specifications.add(AppointmentSpecifications.startsAtOrAfter(condition.getFrom()));
+        }
+        if(condition.getTo() != null){
+            specifications.add(AppointmentSpecifications.startsBefore(condition.getTo()));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    /**
+     * 커서에 담을 검색 조건 (다른 조건으로 커서를 재사용하는 것을 막음)
+     * @param condition
+     * @return
+     */
+    private String filterOf(AppointmentSearchDTO condition) {
+        return String.join(":", "SEARCH",
+                String.valueOf(condition.getDoctorId()),
+                String.valueOf(condition.getPatientId()),
+                String.valueOf(condition.getSpecialization()),
+                String.valueOf(condition.getStatus()),
+                String.valueOf(condition.getFrom()),
+                String.valueOf(condition.getTo()));
+    }
+
+    /**
+     * 허용하는 검색 조건 조합과 사용하는 인덱스
+     */
+    private enum SearchShape {
+        DOCTOR("idx_appointments_doctor_status_start"),
+        PATIENT("idx_appointments_patient_status_start"),
+        SPECIALIZATION("idx_doctors_specialization"),
+        STATUS("idx_appointments_status_start"),
+        RANGE("idx_appointments_start");
+
+        private final String index;
+
+        SearchShape(String index) {
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package kitae.spring.health.appointment.service;
+
+import kitae.spring.health.appointment.dto.AppointmentSeriesDTO;
+import kitae.spring.health.appointment.dto.AppointmentSlot;
+import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.appointment.entity.AppointmentSeries;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.appointment.repository.AppointmentSeriesRepository;
+import kitae.spring.health.doctor.entity.Doctor;
+import kitae.spring.health.doctor.repository.DoctorRepository;
+import kitae.spring.health.doctor.service.DoctorStatsRecorder;
+import kitae.spring.health.enums.AppointmentEventType;
+import kitae.spring.health.enums.AppointmentSeriesStatus;
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.exceptions.BadRequestException;
+import kitae.spring.health.exceptions.NotFoundException;
+import kitae.spring.health.patient.entity.Patient;
+import kitae.spring.health.patient.repository.PatientRepository;
+import kitae.spring.health.response.Response;
+import kitae.spring.health.users.entity.User;
+import kitae.spring.health.users.service.UserService;
+import kitae.spring.health.waitlist.service.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 반복 예약 (정기 진료)
+ * - 반복 규칙에서 회차를 차례로 계산한 뒤, 전체 기간의 의사 예약을 한 번의 범위 조회로 가져와 모든 회차를 메모리에서 충돌 검사
+ * - 충돌이 하나라도 있으면 전체를 거절하고, 없으면 회차 예약을 한 번의 배치 INSERT 로 저장
+ * - 이후 회차의 내용 변경/취소는 series_id 조건의 일괄 UPDATE 로 처리
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentSeriesService {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final int MAX_REPORTED_CONFLICTS = 5;    // 오류 메시지에 표시할 최대 충돌 회차 수
+
+    private final AppointmentSeriesRepository appointmentSeriesRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+    private final UserService userService;
+    private final AppointmentConflictIndex appointmentConflictIndex;
+    private final AppointmentReminderService appointmentReminderService;
+    private final AppointmentStateMachine appointmentStateMachine;
+    private final AppointmentOutbox appointmentOutbox;
+    private final DoctorStatsRecorder doctorStatsRecorder;
+    private final WaitlistService waitlistService;
+    private final DoctorLockStripes doctorLockStripes;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${appointment.series.max-occurrences:52}")
+    private int maxOccurrences; // 반복 예약 최대 회차 수
+
+    @Value("${appointment.series.max-horizon:P366D}")
+    private Duration maxHorizon;    // 첫 회차부터 마지막 회차까지 최대 기간
+
+    /**
+     * 반복 예약 등록
+     * @param seriesDTO
+     * @return
+     */
+    public Response<AppointmentSeriesDTO> createSeries(AppointmentSeriesDTO seriesDTO) {
+
+        User currentUser = userService.getCurrentUser();
+
+        Long doctorId = seriesDTO.getDoctorId();
+        LocalDateTime firstStart = seriesDTO.getFirstStartTime();
+        int durationMinutes = SchedulingRules.durationOrDefault(seriesDTO.getDurationMinutes());
+
+        if(firstStart.isBefore(LocalDateTime.now().plusMinutes(SchedulingRules.MIN_LEAD_MINUTES))){
+            throw new BadRequestException("예약은 최소 1시간 이전에 해야 합니다.");
+        }
+        if((seriesDTO.getOccurrenceCount() == null) == (seriesDTO.getUntilTime() == null)){
+            throw new BadRequestException("회차 수와 종료 시각 중 하나만 지정해야 합니다.");
+        }
+
+        RecurrenceRule rule = new RecurrenceRule(seriesDTO.getFrequency(),
+                seriesDTO.getRepeatInterval() != null ? seriesDTO.getRepeatInterval() : 1,
+                seriesDTO.getOccurrenceCount(), seriesDTO.getUntilTime());
+        List<LocalDateTime> starts = expand(rule, firstStart);
+
+        // 같은 의사에 대한 예약만 직렬화 (노드 내부: 스트라이프 락, 노드 간: doctors 행 잠금)
+        Created created = doctorLockStripes.withLock(doctorId, () -> {
+            Created result = transactionTemplate.execute(status -> {
+
+                // 행 잠금을 트랜잭션의 첫 조회로 수행해야 이후 조회가 다른 노드의 커밋 결과를 볼 수 있음
+                Doctor doctor = doctorRepository.findByIdForUpdate(doctorId)
+                        .orElseThrow(() -> new NotFoundException("해당 의사를 찾을 수 없습니다."));
+
+                Patient patient = patientRepository.findByUser(currentUser)
+                        .orElseThrow(() -> new NotFoundException("해당 환자를 찾을 수 없습니다."));
+
+                validateNoConflicts(doctorId, starts, durationMinutes);
+
+                AppointmentSeries series = appointmentSeriesRepository.save(AppointmentSeries.builder()
+                        .frequency(rule.frequency())
+                        .repeatInterval(rule.interval())
+                        .occurrenceCount(rule.count())
+                        .untilTime(rule.until())
+                        .firstStartTime(firstStart)
+                        .durationMinutes(durationMinutes)
+                        .purposeOfConsultation(seriesDTO.getPurposeOfConsultation())
+                        .initialSymptoms(seriesDTO.getInitialSymptoms())
+                        .status(AppointmentSeriesStatus.ACTIVE)
+                        .doctor(doctor)
+                        .patient(patient)
+                        .build());
+
+                List<Appointment> appointments = new ArrayList<>(starts.size());
+                for(LocalDateTime start : starts){
+                    appointments.add(Appointment.builder()
+                            .startTime(start)
+                            .endTime(start.plusMinutes(durationMinutes))
+                            .meetingLink(MeetingLinks.create())
+                            .initialSymptoms(series.getInitialSymptoms())
+                            .purposeOfConsultation(series.getPurposeOfConsultation())
+                            .status(AppointmentStatus.SCHEDULED)
+                            .doctor(doctor)
+                            .patient(patient)
+                            .series(series)
+                            .build());
+                }
+
+                // 시퀀스로 ID 를 미리 할당받으므로 INSERT 는 flush 시점에 배치로 실행됨
+                List<Appointment> saved = appointmentRepository.saveAll(appointments);
+
+                // 예약 확인 알림은 첫 회차만 전송 (이후 회차는 리마인더로 안내)
+                appointmentOutbox.record(saved.get(0), AppointmentEventType.BOOKED, currentUser);
+                saved.forEach(appointment -> doctorStatsRecorder.statusChanged(doctorId, null, AppointmentStatus.SCHEDULED));
+                return new Created(series, saved);
+            });
+
+            // 커밋이 끝난 뒤(락을 쥔 상태에서) 충돌 인덱스 동기화
+            result.appointments().forEach(appointmentConflictIndex::add);
+            result.appointments().forEach(appointmentReminderService::schedule);  // 리마인더 등록
+            return result;
+        });
+
+        log.info("반복 예약 등록: 시리즈 ID {}, 의사 ID {}, {}회", created.series().getId(), doctorId, created.appointments().size());
+
+        return Response.<AppointmentSeriesDTO>builder()
+                .statusCode(200)
+                .message("반복 예약 " + created.appointments().size() + "회가 성공적으로 등록되었습니다.")
+                .data(toDTO(created.series(), doctorId))
+                .build();
+    }
+
+    /**
+     * 반복 예약 조회 (회차 목록 포함)
+     * @param seriesId
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public Response<AppointmentSeriesDTO> getSeries(Long seriesId) {
+
+        User user = userService.getCurrentUser();
+        AppointmentSeries series = findOwnedSeries(seriesId, user);
+
+        return Response.<AppointmentSeriesDTO>builder()
+                .statusCode(200)
+                .message("반복 예약 조회를 성공했습니다.")
+                .data(toDTO(series, series.getDoctor().getId()))
+                .build();
+    }
+
+    /**
+     * 반복 예약 내용 변경 (상담 목적/초기 증상, 아직 시작하지 않은 SCHEDULED 회차에 일괄 반영)
+     * @param seriesId
+     * @param seriesDTO
+     * @return
+     */
+    @Transactional
+    public Response<AppointmentSeriesDTO> updateSeries(Long seriesId, AppointmentSeriesDTO seriesDTO) {
+
+        User user = userService.getCurrentUser();
+        AppointmentSeries series = findOwnedSeries(seriesId, user);
+
+        if(series.getStatus() == AppointmentSeriesStatus.CANCELLED){
+            throw new BadRequestException("취소된 반복 예약은 변경할 수 없습니다.");
+        }
+
+        series.setPurposeOfConsultation(seriesDTO.getPurposeOfConsultation());
+        series.setInitialSymptoms(seriesDTO.getInitialSymptoms());
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = appointmentRepository.updateSeriesDetails(seriesId, now,
+                series.getPurposeOfConsultation(), series.getInitialSymptoms(), now);
+
+        log.info("반복 예약 변경: 시리즈 ID {}, 이후 회차 {}건", seriesId, updated);
+
+        return Response.<AppointmentSeriesDTO>builder()
+                .statusCode(200)
+                .message("반복 예약의 이후 회차 " + updated + "건이 변경되었습니다.")
+                .data(toDTO(series, series.getDoctor().getId()))
+                .build();
+    }
+
+    /**
+     * 반복 예약 취소 (from 이후에 시작하는 SCHEDULED 회차를 조건부 UPDATE 한 번으로 취소)
+     * - from 이 첫 회차 이전이면 시리즈 전체 취소, 아니면 from 을 시리즈 종료 시각으로 변경
+     * - 단건 취소와 같이 취소된 회차의 시간대는 같은 트랜잭션에서 의사의 대기자에게 배정
+     * @param seriesId
+     * @param from 생략 시 현재 시각
+     * @return
+     */
+    public Response<AppointmentSeriesDTO> cancelSeries(Long seriesId, LocalDateTime from) {
+
+        User user = userService.getCurrentUser();
+        LocalDateTime cancelFrom = from != null && from.isAfter(LocalDateTime.now()) ? from : LocalDateTime.now();
+
+        Long doctorId = appointmentSeriesRepository.findDoctorIdById(seriesId)
+                .orElseThrow(() -> new NotFoundException("해당 반복 예약을 찾을 수 없습니다."));
+
+        // 대기자 배정으로 새 예약이 생길 수 있으므로 예약 등록과 같은 순서로 의사 락 -> 트랜잭션 -> 행 잠금
+        AppointmentSeries series = doctorLockStripes.withLock(doctorId, () -> {
+            List<Appointment> refilled = new ArrayList<>();
+            AppointmentSeries result = transactionTemplate.execute(status -> {
+
+                Doctor doctor = doctorRepository.findByIdForUpdate(doctorId)
+                        .orElseThrow(() -> new NotFoundException("해당 의사를 찾을 수 없습니다."));
+
+                AppointmentSeries owned = findOwnedSeries(seriesId, user);
+                if(owned.getStatus() == AppointmentSeriesStatus.CANCELLED){
+                    throw new BadRequestException("이미 취소된 반복 예약입니다.");
+                }
+
+                List<AppointmentSlot> slots = appointmentRepository.findScheduledSlotsBySeriesIdStartingFrom(seriesId, cancelFrom);
+                List<Long> ids = slots.stream()
+                        .map(AppointmentSlot::getAppointmentId)
+                        .toList();
+                int updated = appointmentStateMachine.transitionAll(ids, AppointmentStatus.SCHEDULED, AppointmentStatus.CANCELLED);
+
+                // 조회 이후 완료/취소된 회차는 제외
+                List<AppointmentSlot> cancelled = slots;
+                if(updated != slots.size()){
+                    Set<Long> cancelledIds = new HashSet<>(appointmentRepository.findIdsByIdInAndStatus(ids, AppointmentStatus.CANCELLED));
+                    cancelled = slots.stream()
+                            .filter(slot -> cancelledIds.contains(slot.getAppointmentId()))
+                            .toList();
+                }
+
+                appointmentOutbox.recordSlots(cancelled, AppointmentEventType.CANCELLED, AppointmentStatus.CANCELLED, user);  // 예약 취소 알림은 아웃박스 릴레이가 전송
+                for(AppointmentSlot slot : cancelled){
+                    appointmentConflictIndex.remove(slot.getDoctorId(), slot.getAppointmentId());    // 충돌 인덱스 동기화
+                    appointmentReminderService.cancel(slot.getAppointmentId());  // 대기 중인 리마인더 제거
+                    doctorStatsRecorder.statusChanged(slot.getDoctorId(), AppointmentStatus.SCHEDULED, AppointmentStatus.CANCELLED);
+                }
+
+                // 비워진 회차 시간대를 대기자에게 배정 (시작 시간 순)
+                if(!cancelled.isEmpty()){
+                    List<Appointment> cancelledAppointments = new ArrayList<>(appointmentRepository.findAllById(cancelled.stream()
+                            .map(AppointmentSlot::getAppointmentId)
+                            .toList()));
+                    cancelledAppointments.sort(Comparator.comparing(Appointment::getStartTime));
+                    for(Appointment appointment : cancelledAppointments){
+                        Appointment assigned = waitlistService.assignCancelledSlot(appointment, doctor);
+                        if(assigned != null){
+                            refilled.add(assigned);
+                        }
+                    }
+                }
+
+                if(!cancelFrom.isAfter(owned.getFirstStartTime())){
+                    owned.setStatus(AppointmentSeriesStatus.CANCELLED);
+                } else if(owned.getUntilTime() == null || cancelFrom.isBefore(owned.getUntilTime())){
+                    owned.setUntilTime(cancelFrom);
+                }
+                log.info("반복 예약 취소: 시리즈 ID {}, {} 이후 회차 {}건 (대기자 배정 {}건)",
+                        seriesId, cancelFrom, cancelled.size(), refilled.size());
+                return owned;
+            });
+
+            // 커밋이 끝난 뒤(락을 쥔 상태에서) 배정된 예약을 충돌 인덱스/리마인더에 반영
+            for(Appointment appointment : refilled){
+                appointmentConflictIndex.add(appointment);
+                appointmentReminderService.schedule(appointment);
+            }
+            return result;
+        });
+
+        return Response.<AppointmentSeriesDTO>builder()
+                .statusCode(200)
+                .message("반복 예약이 성공적으로 취소되었습니다.")
+                .data(toDTO(series, series.getDoctor().getId()))
+                .build();
+    }
+
+    /**
+     * 반복 규칙에서 회차 시작 시간 계산 (최대 회차 수/기간 초과 시 거절)
+     */
+    private List<LocalDateTime> expand(RecurrenceRule rule, LocalDateTime firstStart) {
+        LocalDateTime horizon = firstStart.plus(maxHorizon);
+        List<LocalDateTime> starts = new ArrayList<>();
+        for(LocalDateTime start : rule.occurrences(firstStart)){
+            if(starts.size() >= maxOccurrences){
+                throw new BadRequestException("반복 예약은 최대 " + maxOccurrences + "회까지 가능합니다.");
+            }
+            if(start.isAfter(horizon)){
+                throw new BadRequestException("반복 예약은 첫 회차부터 최대 " + maxHorizon.toDays() + "일 이내여야 합니다.");
+            }
+            starts.add(start);
+        }
+        if(starts.isEmpty()){
+            throw new BadRequestException("반복 규칙에 해당하는 회차가 없습니다.");
+        }
+        return starts;
+    }
+
+    /**
+     * 전체 회차 기간의 의사 예약을 한 번에 조회하여 모든 회차의 충돌 검사 (트랜잭션 안에서 호출)
+     * - 단건 예약과 같은 규칙: 기존 예약이 [시작 1시간 전, 종료) 구간과 겹치면 불가
+     */
+    private void validateNoConflicts(Long doctorId, List<LocalDateTime> starts, int durationMinutes) {
+        LocalDateTime rangeStart = starts.get(0).minusMinutes(SchedulingRules.BUFFER_MINUTES);
+        LocalDateTime rangeEnd = starts.get(starts.size() - 1).plusMinutes(durationMinutes);
+
+        // 시작 시간 기준 정렬 (기존 예약의 길이는 최대 진료 시간 이내이므로 그만큼 앞에서부터만 확인)
+        NavigableMap<LocalDateTime, List<LocalDateTime>> busy = new TreeMap<>();
+        for(AppointmentSlot slot : appointmentRepository.findScheduledSlotsInRange(Set.of(doctorId), rangeStart, rangeEnd)){
+            LocalDateTime slotEnd = slot.getEndTime() != null
+                    ? slot.getEndTime()
+                    : slot.getStartTime().plusMinutes(SchedulingRules.DEFAULT_DURATION_MINUTES);
+            busy.computeIfAbsent(slot.getStartTime(), start -> new ArrayList<>()).add(slotEnd);
+        }
+
+        List<LocalDateTime> conflicts = new ArrayList<>();
+        for(LocalDateTime start : starts){
+            LocalDateTime end = start.plusMinutes(durationMinutes);
+            LocalDateTime checkStart = start.minusMinutes(SchedulingRules.BUFFER_MINUTES);
+            boolean conflict = busy.subMap(checkStart.minusMinutes(SchedulingRules.MAX_DURATION_MINUTES), true, end, false)
+                    .values().stream()
+                    .flatMap(List::stream)
+                    .anyMatch(slotEnd -> slotEnd.isAfter(checkStart));
+            if(conflict){
+                conflicts.add(start);
+            }
+        }
+
+        if(!conflicts.isEmpty()){
+            String times = conflicts.stream()
+                    .limit(MAX_REPORTED_CONFLICTS)
+                    .map(FORMATTER::format)
+                    .collect(Collectors.joining(", "));
+            throw new BadRequestException("예약이 불가능한 회차가 " + conflicts.size() + "건 있습니다: " + times
+                    + (conflicts.size() > MAX_REPORTED_CONFLICTS ? " 외" : ""));
+        }
+    }
+
+    /**
+     * 반복 예약 조회 (환자 본인 또는 담당 의사만 가능)
+     */
+    private AppointmentSeries findOwnedSeries(Long seriesId, User user) {
+        AppointmentSeries series = appointmentSeriesRepository.findWithParticipantsById(seriesId)
+                .orElseThrow(() -> new NotFoundException("해당 반복 예약을 찾을 수 없습니다."));
+
+        boolean isOwner = series.getPatient().getUser().getId().equals(user.getId()) ||
+                series.getDoctor().getUser().getId().equals(user.getId());
+        if(!isOwner){
+            throw new BadRequestException("당신은 이 반복 예약에 대한 권한이 없습니다.");
+        }
+        return series;
+    }
+
+    private AppointmentSeriesDTO toDTO(AppointmentSeries series, Long doctorId) {
+        return AppointmentSeriesDTO.builder()
+                .id(series.getId())
+                .doctorId(doctorId)
+                .firstStartTime(series.getFirstStartTime())
+                .durationMinutes(series.getDurationMinutes())
+                .frequency(series.getFrequency())
+                .repeatInterval(series.getRepeatInterval())
+                .occurrenceCount(series.getOccurrenceCount())
+                .untilTime(series.getUntilTime())
+                .purposeOfConsultation(series.getPurposeOfConsultation())
+                .initialSymptoms(series.getInitialSymptoms())
+                .status(series.getStatus())
+                .occurrences(appointmentRepository.findOccurrencesBySeriesId(series.getId()))
+                .build();
+    }
+
+    private record Created(AppointmentSeries series, List<Appointment> appointments) {
+    }
+}
@@ -1,29 +1,49 @@
 package kitae.spring.health.appointment.service;
 
 import kitae.spring.health.appointment.dto.AppointmentDTO;
+import kitae.spring.health.appointment.dto.AppointmentPageDTO;
+import kitae.spring.health.appointment.dto.AppointmentSlot;
+import kitae.spring.health.appointment.dto.BulkAppointmentItemDTO;
+import kitae.spring.health.appointment.dto.BulkAppointmentItemResultDTO;
+import kitae.spring.health.appointment.dto.BulkAppointmentRequestDTO;
+import kitae.spring.health.appointment.dto.BulkAppointmentResultDTO;
+import kitae.spring.health.appointment.dto.CancelRangeRequestDTO;
+import kitae.spring.health.appointment.dto.CancelRangeResultDTO;
+import kitae.spring.health.appointment.dto.RescheduleRequestDTO;
 import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.appointment.entity.ArchivedAppointment;
 import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.appointment.repository.ArchivedAppointmentRepository;
 import kitae.spring.health.doctor.entity.Doctor;
 import kitae.spring.health.doctor.repository.DoctorRepository;
+import kitae.spring.health.doctor.service.DoctorStatsRecorder;
+import kitae.spring.health.enums.AppointmentEventType;
+import kitae.spring.health.enums.AppointmentScope;
 import kitae.spring.health.enums.AppointmentStatus;
 import kitae.spring.health.exceptions.BadRequestException;
+import kitae.spring.health.exceptions.ConflictException;
 import kitae.spring.health.exceptions.NotFoundException;
-import kitae.spring.health.notification.dto.NotificationDTO;
-import kitae.spring.health.notification.service.NotificationService;
 import kitae.spring.health.patient.entity.Patient;
 import kitae.spring.health.patient.repository.PatientRepository;
 import kitae.spring.health.response.Response;
 import kitae.spring.health.users.entity.User;
 import kitae.spring.health.users.repository.UserRepository;
 import kitae.spring.health.users.service.UserService;
+import kitae.spring.health.waitlist.service.WaitlistService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -31,15 +51,31 @@ import java.util.*;
 public class AppointmentService {
 
     private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
     private final UserRepository userRepository;
     private final ModelMapper modelMapper;
-    private final NotificationService notificationService;
-
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss ", Locale.KOREAN);
+    private final AppointmentConflictIndex appointmentConflictIndex;
+    private final AppointmentReminderService appointmentReminderService;
+    private final DoctorLockStripes doctorLockStripes;
+    private final TransactionTemplate transactionTemplate;
+    private final AppointmentOutbox appointmentOutbox;
+    private final WaitlistService waitlistService;
+    private final DoctorStatsRecorder doctorStatsRecorder;
+    private final AppointmentStateMachine appointmentStateMachine;
+
+    private static final int MAX_PAGE_SIZE = 100; // 내 예약 조회 최대 페이지 크기
+    private static final LocalDateTime FAR_PAST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime FAR_FUTURE = LocalDateTime.of(9999, 12, 31, 0, 0);
     private final UserService userService;
 
+    @Value("${appointment.archive.horizon:P90D}")
+    private Duration archiveHorizon; // 이 기간보다 오래된 종료 예약은 보관 테이블로 이동됨
+
+    @Value("${appointment.cancel-range.max-range:P7D}")
+    private Duration cancelRangeMaxRange; // 한 번에 일괄 취소할 수 있는 최대 기간
+
     /**
      * 예약 등록
      * @param appointmentDTO
@@ -49,267 +85,671 @@ public class AppointmentService {
 
         User currentUser = userService.getCurrentUser();
 
-        Patient patient = patientRepository.findByUser(currentUser)
-                .orElseThrow(() -> new NotFoundException("해당 환자를 찾을 수 없습니다."));
-
-        Doctor doctor = doctorRepository.findById(appointmentDTO.getDoctorId())
-                .orElseThrow(() -> new NotFoundException("해당 의사를 찾을 수 없습니다."));
-
+        Long doctorId = appointmentDTO.getDoctorId();
         LocalDateTime startTime = appointmentDTO.getStartTime(); // 예약 시작 시간
-        LocalDateTime endTime = startTime.plusMinutes(60); // 예약 종료 시간 (1시간 후)
+        int durationMinutes = SchedulingRules.durationOrDefault(appointmentDTO.getDurationMinutes()); // 진료 시간 (기본 1시간)
+        LocalDateTime endTime = startTime.plusMinutes(durationMinutes); // 예약 종료 시간
 
         // 예약 시간 유효성 검사
-        if(startTime.isBefore(LocalDateTime.now().plusHours(1))){
+        if(startTime.isBefore(LocalDateTime.now().plusMinutes(SchedulingRules.MIN_LEAD_MINUTES))){
             throw new BadRequestException("예약은 최소 1시간 이전에 해야 합니다.");
         }
 
-        // 새로운 예약 전에 의사에게 1시간의 휴식 시간(또는 버퍼)을 의무적으로 부여하는 로직.
-        LocalDateTime checkStart = startTime.minusMinutes(60); // 예약 시작 시간 1시간 전
+        // 같은 의사에 대한 예약만 직렬화 (노드 내부: 스트라이프 락, 노드 간: doctors 행 잠금)
+        // 락은 커밋 이후에 해제되어야 하므로 트랜잭션을 락 안쪽에서 시작
+        doctorLockStripes.withLock(doctorId, () -> {
+            Appointment savedAppointment = transactionTemplate.execute(status -> {
+
+                // 행 잠금을 트랜잭션의 첫 조회로 수행해야 이후 조회가 다른 노드의 커밋 결과를 볼 수 있음
+                Doctor doctor = doctorRepository.findByIdForUpdate(doctorId)
+                        .orElseThrow(() -> new NotFoundException("해당 의사를 찾을 수 없습니다."));
+
+                Patient patient = patientRepository.findByUser(currentUser)
+                        .orElseThrow(() -> new NotFoundException("해당 환자를 찾을 수 없습니다."));
+
+                // 새로운 예약 전에 의사에게 1시간의 휴식 시간(또는 버퍼)을 의무적으로 부여하는 로직.
+                LocalDateTime checkStart = startTime.minusMinutes(SchedulingRules.BUFFER_MINUTES); // 예약 시작 시간 1시간 전
+
+                // 기존 예약 중 종료 시간이 제안된 시작 시간과 겹치거나, 시작 시간이 제안된 종료 시간과 겹치는 예약만 확인하면 됩니다.
+                // (의사별 메모리 인덱스로 확인, DB 조회는 인덱스 비활성화/검증 모드에서만 수행)
+                if(appointmentConflictIndex.hasConflict(doctor.getId(), checkStart, endTime)){
+                    throw new BadRequestException("해당 시간대에 예약이 불가능합니다. 다른 시간을 선택해주세요.");
+                }
+
+                Appointment appointment = Appointment.builder()
+                        .startTime(startTime)
+                        .endTime(endTime)
+                        .meetingLink(MeetingLinks.create())
+                        .initialSymptoms(appointmentDTO.getInitialSymptoms())
+                        .purposeOfConsultation(appointmentDTO.getPurposeOfConsultation())
+                        .status(AppointmentStatus.SCHEDULED)
+                        .doctor(doctor)
+                        .patient(patient)
+                        .build();
+
+                Appointment saved = appointmentRepository.save(appointment);
+
+                appointmentOutbox.record(saved, AppointmentEventType.BOOKED, currentUser);  // 예약 확인 알림은 아웃박스 릴레이가 전송
+                doctorStatsRecorder.statusChanged(doctor.getId(), null, AppointmentStatus.SCHEDULED);
+                return saved;
+            });
+
+            // 커밋이 끝난 뒤(락을 쥔 상태에서) 충돌 인덱스 동기화
+            appointmentConflictIndex.add(savedAppointment);
+            appointmentReminderService.schedule(savedAppointment);  // 리마인더 등록
+            return savedAppointment;
+        });
+
+        return Response.<AppointmentDTO>builder()
+                .statusCode(200)
+//                .data(modelMapper.map(savedAppointment, AppointmentDTO.class))
+                .message("예약이 성공적으로 등록되었습니다.")
+                .build();
+    }
 
-        // 기존 예약 중 종료 시간이 제안된 시작 시간과 겹치거나, 시작 시간이 제안된 종료 시간과 겹치는 예약만 확인하면 됩니다.
-        List<Appointment> conflicts = appointmentRepository.findConflictingAppointments(
-                doctor.getId(), checkStart, endTime);
+    /**
+     * 일괄 예약 등록 (코디네이터/관리자용)
+     * - 요청한 모든 시간대를 한 번의 범위 조회로 충돌 검사하고, 하나의 트랜잭션에서 JDBC 배치로 저장
+     * - 건별로 성공/실패를 판정하며, 실패한 건이 있어도 나머지 건은 저장됨
+     * - 요청 목록 안에서 서로 겹치는 건은 앞선 건을 우선함
+     * @param requestDTO
+     * @return
+     */
+    public Response<BulkAppointmentResultDTO> bookAppointments(BulkAppointmentRequestDTO requestDTO) {
 
-        if(!conflicts.isEmpty()){
-            throw new BadRequestException("해당 시간대에 예약이 불가능합니다. 다른 시간을 선택해주세요.");
+        User currentUser = userService.getCurrentUser();
+        List<BulkAppointmentItemDTO> items = requestDTO.getItems();
+        BulkAppointmentItemResultDTO[] results = new BulkAppointmentItemResultDTO[items.size()];
+
+        // 관리자가 아닌 의사는 본인 예약만 일괄 등록 가능
+        boolean isAdmin = currentUser.getRoles().stream()
+                .anyMatch(role -> role.getName().equals("ADMIN"));
+        Long ownDoctorId = isAdmin ? null : doctorRepository.findByUser(currentUser)
+                .map(Doctor::getId)
+                .orElseThrow(() -> new NotFoundException("해당 의사를 찾을 수 없습니다."));
+
+        // 1. DB 조회 없이 판정 가능한 건부터 걸러냄
+        LocalDateTime minStartTime = LocalDateTime.now().plusMinutes(SchedulingRules.MIN_LEAD_MINUTES);
+        List<Integer> candidates = new ArrayList<>();
+        for(int i = 0; i < items.size(); i++){
+            BulkAppointmentItemDTO item = items.get(i);
+            if(ownDoctorId != null && !ownDoctorId.equals(item.getDoctorId())){
+                results[i] = failure(i, item, "본인의 예약만 등록할 수 있습니다.");
+            } else if(item.getStartTime().isBefore(minStartTime)){
+                results[i] = failure(i, item, "예약은 최소 1시간 이전에 해야 합니다.");
+            } else {
+                candidates.add(i);
+            }
         }
 
-        String uuid = UUID.randomUUID().toString().replace("-", "");
-        String uniqueRoomName = "health-" + uuid.substring(0, 10);
-
-        String meetingLink = "https://meet.jit.si/" + uniqueRoomName;
-        log.info("미팅 링크 생성: " + meetingLink);
-
-        Appointment appointment = Appointment.builder()
-                .startTime(appointmentDTO.getStartTime())
-                .endTime(appointmentDTO.getStartTime().plusMinutes(60))
-                .meetingLink(meetingLink)
-                .initialSymptoms(appointmentDTO.getInitialSymptoms())
-                .purposeOfConsultation(appointmentDTO.getPurposeOfConsultation())
-                .status(AppointmentStatus.SCHEDULED)
-                .doctor(doctor)
-                .patient(patient)
-                .build();
+        if(!candidates.isEmpty()){
+            Set<Long> doctorIds = candidates.stream()
+                    .map(i -> items.get(i).getDoctorId())
+                    .collect(Collectors.toCollection(TreeSet::new));
+
+            // 관련된 모든 의사의 락을 잡고 (노드 내부: 스트라이프 락, 노드 간: doctors 행 잠금) 하나의 트랜잭션으로 처리
+            doctorLockStripes.withLocks(doctorIds, () -> {
+                List<Appointment> savedAppointments = transactionTemplate.execute(status -> {
+                    List<Appointment> saved = saveBulkAppointments(items, candidates, doctorIds, results);
+                    appointmentOutbox.recordAll(saved, AppointmentEventType.BOOKED, currentUser);  // 예약 확인 알림은 아웃박스 릴레이가 전송
+                    saved.forEach(a -> doctorStatsRecorder.statusChanged(a.getDoctor().getId(), null, AppointmentStatus.SCHEDULED));
+                    return saved;
+                });
+
+                // 커밋이 끝난 뒤(락을 쥔 상태에서) 충돌 인덱스 동기화
+                savedAppointments.forEach(appointmentConflictIndex::add);
+                savedAppointments.forEach(appointmentReminderService::schedule);  // 리마인더 등록
+                return savedAppointments;
+            });
+        }
 
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        List<BulkAppointmentItemResultDTO> resultList = Arrays.asList(results);
+        int succeeded = (int) resultList.stream().filter(BulkAppointmentItemResultDTO::isSuccess).count();
 
-        sendAppointmentConfirmation(savedAppointment);  // 예약 확인 알림 전송
+        BulkAppointmentResultDTO resultDTO = BulkAppointmentResultDTO.builder()
+                .requested(items.size())
+                .succeeded(succeeded)
+                .failed(items.size() - succeeded)
+                .results(resultList)
+                .build();
 
-        return Response.<AppointmentDTO>builder()
+        return Response.<BulkAppointmentResultDTO>builder()
                 .statusCode(200)
-//                .data(modelMapper.map(savedAppointment, AppointmentDTO.class))
-                .message("예약이 성공적으로 등록되었습니다.")
+                .data(resultDTO)
+                .message("일괄 예약 처리가 완료되었습니다. (성공 " + succeeded + "건, 실패 " + (items.size() - succeeded) + "건)")
                 .build();
     }
 
     /**
-     * 내 예약 조회
+     * 일괄 예약 저장 (트랜잭션 안에서 호출)
+     * @param items
+     * @param candidates 사전 검사를 통과한 요청 위치 목록 (요청 순서)
+     * @param doctorIds
+     * @param results 건별 처리 결과 (이 메서드에서 candidates 위치를 채움)
+     * @return 저장된 예약 목록
+     */
+    private List<Appointment> saveBulkAppointments(List<BulkAppointmentItemDTO> items, List<Integer> candidates,
+                                                   Set<Long> doctorIds, BulkAppointmentItemResultDTO[] results) {
+
+        // 행 잠금을 트랜잭션의 첫 조회로 수행해야 이후 조회가 다른 노드의 커밋 결과를 볼 수 있음
+        Map<Long, Doctor> doctors = doctorRepository.findAllByIdForUpdate(doctorIds).stream()
+                .collect(Collectors.toMap(Doctor::getId, doctor -> doctor));
+
+        Set<Long> patientIds = candidates.stream()
+                .map(i -> items.get(i).getPatientId())
+                .collect(Collectors.toSet());
+        Map<Long, Patient> patients = patientRepository.findAllWithUserByIdIn(patientIds).stream()
+                .collect(Collectors.toMap(Patient::getId, patient -> patient));
+
+        // 요청 전체를 덮는 시간 범위의 기존 예약을 한 번에 조회 (버퍼 포함)
+        LocalDateTime rangeStart = null;
+        LocalDateTime rangeEnd = null;
+        for(int i : candidates){
+            BulkAppointmentItemDTO item = items.get(i);
+            LocalDateTime checkStart = item.getStartTime().minusMinutes(SchedulingRules.BUFFER_MINUTES);
+            LocalDateTime endTime = item.getStartTime().plusMinutes(SchedulingRules.durationOrDefault(item.getDurationMinutes()));
+            rangeStart = rangeStart == null || checkStart.isBefore(rangeStart) ? checkStart : rangeStart;
+            rangeEnd = rangeEnd == null || endTime.isAfter(rangeEnd) ? endTime : rangeEnd;
+        }
+
+        Map<Long, List<LocalDateTime[]>> busy = new HashMap<>();
+        for(AppointmentSlot slot : appointmentRepository.findScheduledSlotsInRange(doctorIds, rangeStart, rangeEnd)){
+            LocalDateTime slotEnd = slot.getEndTime() != null
+                    ? slot.getEndTime()
+                    : slot.getStartTime().plusMinutes(SchedulingRules.DEFAULT_DURATION_MINUTES);
+            busy.computeIfAbsent(slot.getDoctorId(), id -> new ArrayList<>())
+                    .add(new LocalDateTime[]{slot.getStartTime(), slotEnd});
+        }
+
+        List<Appointment> appointments = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+
+        for(int i : candidates){
+            BulkAppointmentItemDTO item = items.get(i);
+            Doctor doctor = doctors.get(item.getDoctorId());
+            Patient patient = patients.get(item.getPatientId());
+
+            if(doctor == null){
+                results[i] = failure(i, item, "해당 의사를 찾을 수 없습니다.");
+                continue;
+            }
+            if(patient == null){
+                results[i] = failure(i, item, "해당 환자를 찾을 수 없습니다.");
+                continue;
+            }
+
+            LocalDateTime startTime = item.getStartTime();
+            LocalDateTime endTime = startTime.plusMinutes(SchedulingRules.durationOrDefault(item.getDurationMinutes()));
+            LocalDateTime checkStart = startTime.minusMinutes(SchedulingRules.BUFFER_MINUTES);
+
+            // 단건 예약과 같은 규칙: 기존 예약이 [시작 1시간 전, 종료) 구간과 겹치면 불가
+            List<LocalDateTime[]> doctorBusy = busy.computeIfAbsent(doctor.getId(), id -> new ArrayList<>());
+            boolean conflict = doctorBusy.stream()
+                    .anyMatch(slot -> slot[0].isBefore(endTime) && slot[1].isAfter(checkStart));
+            if(conflict){
+                results[i] = failure(i, item, "해당 시간대에 예약이 불가능합니다. 다른 시간을 선택해주세요.");
+                continue;
+            }
+            doctorBusy.add(new LocalDateTime[]{startTime, endTime}); // 같은 요청의 뒤쪽 건과의 충돌 검사용
+
+            appointments.add(Appointment.builder()
+                    .startTime(startTime)
+                    .endTime(endTime)
+                    .meetingLink(MeetingLinks.create())
+                    .initialSymptoms(item.getInitialSymptoms())
+                    .purposeOfConsultation(item.getPurposeOfConsultation())
+                    .status(AppointmentStatus.SCHEDULED)
+                    .doctor(doctor)
+                    .patient(patient)
+                    .build());
+            positions.add(i);
+        }
+
+        // 시퀀스로 ID 를 미리 할당받으므로 INSERT 는 flush 시점에 배치로 실행됨
+        List<Appointment> savedAppointments = appointmentRepository.saveAll(appointments);
+
+        for(int k = 0; k < savedAppointments.size(); k++){
+            Appointment saved = savedAppointments.get(k);
+            int i = positions.get(k);
+            results[i] = BulkAppointmentItemResultDTO.builder()
+                    .index(i)
+                    .success(true)
+                    .appointmentId(saved.getId())
+                    .doctorId(saved.getDoctor().getId())
+                    .patientId(saved.getPatient().getId())
+                    .startTime(saved.getStartTime())
+                    .endTime(saved.getEndTime())
+                    .build();
+        }
+
+        return savedAppointments;
+    }
+
+    private BulkAppointmentItemResultDTO failure(int index, BulkAppointmentItemDTO item, String message) {
+        return BulkAppointmentItemResultDTO.builder()
+                .index(index)
+                .success(false)
+                .doctorId(item.getDoctorId())
+                .patientId(item.getPatientId())
+                .startTime(item.getStartTime())
+                .message(message)
+                .build();
+    }
+
+    /**
+     * 내 예약 조회 (키셋 페이지네이션)
+     * - (시작 시간, ID) 기준으로 커서 이후/이전 size 건만 조회하므로 이력이 늘어나도 응답 시간이 일정함
+     * - UPCOMING 은 시작 시간 오름차순, PAST/ALL 은 시작 시간 내림차순
+     * @param scope
+     * @param status
+     * @param cursor
+     * @param size
      * @return
      */
-    public Response<List<AppointmentDTO>> getMyAppointments() {
+    @Transactional(readOnly = true)
+    public Response<AppointmentPageDTO> getMyAppointments(AppointmentScope scope, AppointmentStatus status,
+                                                          String cursor, int size) {
 
         User user = userService.getCurrentUser();
 
-        Long userId = user.getId();
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        String filter = scope.name() + ":" + (status != null ? status.name() : "ANY");
 
-        List<Appointment> appointments;
+        // 조회 범위 (UPCOMING: 현재 이후, PAST: 현재 이전)
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = scope == AppointmentScope.UPCOMING ? now : FAR_PAST;
+        LocalDateTime to = scope == AppointmentScope.PAST ? now : FAR_FUTURE;
+        boolean naturalAscending = scope == AppointmentScope.UPCOMING;
+
+        AppointmentCursor position = cursor != null && !cursor.isBlank()
+                ? AppointmentCursor.decode(cursor, filter)
+                : null;
+        boolean forward = position == null || position.forward();
+        // 다음 페이지는 정렬 방향 그대로, 이전 페이지는 반대 방향으로 조회한 뒤 뒤집음
+        boolean ascending = forward == naturalAscending;
+
+        // 커서가 없으면 범위의 시작(오름차순) 또는 끝(내림차순)을 커서로 사용
+        LocalDateTime cursorTime = position != null ? position.startTime() : (ascending ? from : to);
+        long cursorId = position != null ? position.id() : (ascending ? -1L : Long.MIN_VALUE);
+
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        Pageable limit = PageRequest.of(0, pageSize + 1);
 
         // "DOCTOR" 권한이 있는지 확인
         boolean isDoctor = user.getRoles().stream()
                 .anyMatch(role -> role.getName().equals("DOCTOR"));
 
+        List<Appointment> appointments;
+        List<ArchivedAppointment> archivedAppointments = List.of();
+
+        // 보관 테이블에는 보관 기준 시각 이전에 시작한 예약만 있으므로, 조회 구간이 그 이전까지 내려가는 경우에만 함께 조회
+        LocalDateTime archiveBoundary = now.minus(archiveHorizon);
+
         if(isDoctor){
-            doctorRepository.findByUser(user)
+            Doctor doctor = doctorRepository.findByUser(user)
                     .orElseThrow(() -> new NotFoundException("해당 의사를 찾을 수 없습니다."));
 
-            appointments = appointmentRepository.findByDoctor_User_IdOrderByIdDesc(userId);
+            appointments = ascending
+                    ? appointmentRepository.findDoctorPageAscending(doctor.getId(), status, from, to, cursorTime, cursorId, limit)
+                    : appointmentRepository.findDoctorPageDescending(doctor.getId(), status, from, to, cursorTime, cursorId, limit);
+
+            if(reachesArchive(appointments, pageSize, ascending, from, cursorTime, archiveBoundary)){
+                archivedAppointments = ascending
+                        ? archivedAppointmentRepository.findDoctorPageAscending(doctor.getId(), status, from, to, cursorTime, cursorId, limit)
+                        : archivedAppointmentRepository.findDoctorPageDescending(doctor.getId(), status, from, to, cursorTime, cursorId, limit);
+            }
         } else {
-            patientRepository.findByUser(user)
+            Patient patient = patientRepository.findByUser(user)
                     .orElseThrow(() -> new NotFoundException("해당 환자를 찾을 수 없습니다."));
 
-            appointments = appointmentRepository.findByPatient_User_IdOrderByIdDesc(userId);
+            appointments = ascending
+                    ? appointmentRepository.findPatientPageAscending(patient.getId(), status, from, to, cursorTime, cursorId, limit)
+                    : appointmentRepository.findPatientPageDescending(patient.getId(), status, from, to, cursorTime, cursorId, limit);
+
+            if(reachesArchive(appointments, pageSize, ascending, from, cursorTime, archiveBoundary)){
+                archivedAppointments = ascending
+                        ? archivedAppointmentRepository.findPatientPageAscending(patient.getId(), status, from, to, cursorTime, cursorId, limit)
+                        : archivedAppointmentRepository.findPatientPageDescending(patient.getId(), status, from, to, cursorTime, cursorId, limit);
+            }
+        }
+
+        List<AppointmentDTO> rows = new ArrayList<>();
+        appointments.forEach(appointment -> rows.add(modelMapper.map(appointment, AppointmentDTO.class)));
+
+        if(!archivedAppointments.isEmpty()){
+            // 두 테이블의 결과를 (시작 시간, ID) 순서로 합침 (ID 는 보관 후에도 유지되므로 커서가 그대로 유효함)
+            archivedAppointments.forEach(appointment -> rows.add(modelMapper.map(appointment, AppointmentDTO.class)));
+            Comparator<AppointmentDTO> order = Comparator.comparing(AppointmentDTO::getStartTime)
+                    .thenComparing(AppointmentDTO::getId);
+            rows.sort(ascending ? order : order.reversed());
         }
 
-        List<AppointmentDTO> appointmentDTOList = appointments.stream()
-                .map(appointment -> modelMapper.map(appointment, AppointmentDTO.class))
-                .toList();
+        boolean hasMore = rows.size() > pageSize;
+        List<AppointmentDTO> page = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        if(!forward){
+            Collections.reverse(page);
+        }
 
-        return Response.<List<AppointmentDTO>>builder()
+        // 앞으로 이동한 경우 이전 페이지는 커서가 있을 때만, 뒤로 이동한 경우 다음 페이지는 항상 존재
+        boolean hasNext = !forward || hasMore;
+        boolean hasPrevious = forward ? position != null : hasMore;
+
+        String nextCursor = null;
+        String prevCursor = null;
+        if(!page.isEmpty()){
+            AppointmentDTO first = page.get(0);
+            AppointmentDTO last = page.get(page.size() - 1);
+            if(hasNext){
+                nextCursor = new AppointmentCursor(filter, true, last.getStartTime(), last.getId()).encode();
+            }
+            if(hasPrevious){
+                prevCursor = new AppointmentCursor(filter, false, first.getStartTime(), first.getId()).encode();
+            }
+        }
+
+        AppointmentPageDTO pageDTO = AppointmentPageDTO.builder()
+                .content(page)
+                .size(pageSize)
+                .hasNext(hasNext && nextCursor != null)
+                .hasPrevious(hasPrevious && prevCursor != null)
+                .nextCursor(nextCursor)
+                .prevCursor(prevCursor)
+                .build();
+
+        return Response.<AppointmentPageDTO>builder()
                 .statusCode(200)
-                .data(appointmentDTOList)
+                .data(pageDTO)
                 .message("내 예약 조회에 성공했습니다.")
                 .build();
 
     }
 
     /**
-     * 예약 취소
+     * 이번 페이지의 조회 구간이 보관 기준 시각 이전까지 내려가는지 확인
+     * - 오름차순: 커서 시각부터 올라가므로 커서가 기준 시각 이전이면 보관 예약이 섞일 수 있음
+     * - 내림차순: 운영 테이블에서 한 페이지를 다 채우지 못했거나, 마지막 건이 기준 시각 이전이면 보관 예약이 섞일 수 있음
+     * @param appointments 운영 테이블 조회 결과 (size + 1 건까지)
+     * @param pageSize
+     * @param ascending
+     * @param from
+     * @param cursorTime
+     * @param archiveBoundary
+     * @return
+     */
+    private boolean reachesArchive(List<Appointment> appointments, int pageSize, boolean ascending,
+                                   LocalDateTime from, LocalDateTime cursorTime, LocalDateTime archiveBoundary) {
+        if(!from.isBefore(archiveBoundary)){
+            return false;
+        }
+        if(ascending){
+            return cursorTime.isBefore(archiveBoundary);
+        }
+        return appointments.size() <= pageSize
+                || appointments.get(appointments.size() - 1).getStartTime().isBefore(archiveBoundary);
+    }
+
+    /**
+     * 예약 시간 변경
+     * - 취소 후 재예약 대신 같은 예약 행의 시간만 한 트랜잭션에서 변경 (기존 시간대를 잃는 구간이 없음)
+     * - 충돌 검사는 자기 자신을 제외하고 한 번만 수행, 알림은 기존/새 시간을 담은 메일을 당사자별로 한 통씩 발송
+     * - 예약 ID, 미팅 링크, 상담 내용은 그대로 유지
      * @param appointmentId
+     * @param requestDTO
      * @return
      */
-    public Response<AppointmentDTO> cancelAppointment(Long appointmentId) {
+    public Response<AppointmentDTO> rescheduleAppointment(Long appointmentId, RescheduleRequestDTO requestDTO) {
 
         User user = userService.getCurrentUser();
 
-        Appointment appointment = appointmentRepository.findById(appointmentId)
-                .orElseThrow(() -> new NotFoundException("해당 예약을 찾을 수 없습니다."));
-
-        boolean isOwner = appointment.getPatient().getUser().getId().equals(user.getId()) ||
-                appointment.getDoctor().getId().equals(user.getId());
-
-        if(!isOwner){
-            throw new BadRequestException("당신은 예약을 취소할 권한이 없습니다.");
+        LocalDateTime startTime = requestDTO.getStartTime(); // 새 예약 시작 시간
+        if(startTime.isBefore(LocalDateTime.now().plusMinutes(SchedulingRules.MIN_LEAD_MINUTES))){
+            throw new BadRequestException("예약은 최소 1시간 이전에 해야 합니다.");
         }
 
-        appointment.setStatus(AppointmentStatus.CANCELLED);
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        Long doctorId = appointmentRepository.findDoctorIdById(appointmentId)
+                .orElseThrow(() -> new NotFoundException("해당 예약을 찾을 수 없습니다."));
 
-        // 참고: 알림은 상대방(환자/의사)에게 보내야 합니다.
-        sendAppointmentCancellation(savedAppointment, user);  // 예약 취소 알림 전송
+        // 예약 등록과 같은 순서로 의사 락 -> 트랜잭션 -> 행 잠금
+        Appointment rescheduled = doctorLockStripes.withLock(doctorId, () -> {
+            Appointment savedAppointment = transactionTemplate.execute(status -> {
+
+                doctorRepository.findByIdForUpdate(doctorId)
+                        .orElseThrow(() -> new NotFoundException("해당 의사를 찾을 수 없습니다."));
+
+                Appointment appointment = appointmentRepository.findWithParticipantsById(appointmentId)
+                        .orElseThrow(() -> new NotFoundException("해당 예약을 찾을 수 없습니다."));
+
+                boolean isOwner = appointment.getPatient().getUser().getId().equals(user.getId()) ||
+                        appointment.getDoctor().getUser().getId().equals(user.getId());
+
+                if(!isOwner){
+                    throw new BadRequestException("당신은 예약을 변경할 권한이 없습니다.");
+                }
+
+                // 조회 이후 다른 요청이 먼저 변경한 예약이면 거절 (버전을 보내지 않으면 커밋 시 버전 검사만 수행)
+                if(requestDTO.getVersion() != null && requestDTO.getVersion() != appointment.getVersion()){
+                    throw new ConflictException("예약이 다른 요청에 의해 변경되었습니다. 다시 조회한 뒤 시도해주세요.");
+                }
+                if(appointment.getStatus() != AppointmentStatus.SCHEDULED){
+                    throw new ConflictException("예정된 예약만 시간을 변경할 수 있습니다. (현재 상태: " + appointment.getStatus() + ")");
+                }
+                if(!appointment.getStartTime().isAfter(LocalDateTime.now())){
+                    throw new BadRequestException("이미 시작된 예약은 시간을 변경할 수 없습니다.");
+                }
+
+                // 진료 시간을 지정하지 않으면 기존 진료 시간 유지
+                int durationMinutes = requestDTO.getDurationMinutes() != null
+                        ? requestDTO.getDurationMinutes()
+                        : appointment.getEndTime() != null
+                                ? (int) Duration.between(appointment.getStartTime(), appointment.getEndTime()).toMinutes()
+                                : SchedulingRules.DEFAULT_DURATION_MINUTES;
+                LocalDateTime endTime = startTime.plusMinutes(durationMinutes);
+
+                // 새 시간대에 대해 자기 자신을 제외하고 한 번만 충돌 검사 (버퍼 규칙은 예약 등록과 동일)
+                LocalDateTime checkStart = startTime.minusMinutes(SchedulingRules.BUFFER_MINUTES);
+                if(appointmentConflictIndex.hasConflict(doctorId, checkStart, endTime, appointmentId)){
+                    throw new BadRequestException("해당 시간대에 예약이 불가능합니다. 다른 시간을 선택해주세요.");
+                }
+
+                LocalDateTime previousStartTime = appointment.getStartTime();
+                appointment.setStartTime(startTime);
+                appointment.setEndTime(endTime);
+
+                // 동시에 취소/완료된 경우 커밋 시 버전 충돌로 409
+                Appointment saved = appointmentRepository.save(appointment);
+                appointmentReminderService.cancel(saved.getId());  // 기존 시간 기준 리마인더 제거 (커밋 이후)
+
+                appointmentOutbox.recordRescheduled(saved, previousStartTime, user);  // 예약 변경 알림은 아웃박스 릴레이가 전송
+                log.info("예약 시간 변경: 예약 ID {}, {} -> {}", saved.getId(), previousStartTime, startTime);
+                return saved;
+            });
+
+            // 커밋이 끝난 뒤(락을 쥔 상태에서) 충돌 인덱스의 시간대를 교체하고 새 시간 기준 리마인더 등록
+            appointmentConflictIndex.add(savedAppointment);
+            appointmentReminderService.schedule(savedAppointment);
+            return savedAppointment;
+        });
 
         return Response.<AppointmentDTO>builder()
                 .statusCode(200)
-//                .data(modelMapper.map(savedAppointment, AppointmentDTO.class))
-                .message("예약이 성공적으로 취소되었습니다.")
+                .message("예약 시간이 성공적으로 변경되었습니다.")
+                .data(AppointmentDTO.builder()
+                        .id(rescheduled.getId())
+                        .doctorId(doctorId)
+                        .startTime(rescheduled.getStartTime())
+                        .endTime(rescheduled.getEndTime())
+                        .meetingLink(rescheduled.getMeetingLink())
+                        .status(rescheduled.getStatus())
+                        .build())
                 .build();
     }
 
     /**
-     * 예약 완료
+     * 예약 취소
+     * - 취소된 시간대는 같은 트랜잭션에서 해당 의사의 대기열 첫 대기자에게 바로 배정
      * @param appointmentId
      * @return
      */
-    public Response<?> completeAppointment(Long appointmentId) {
+    public Response<AppointmentDTO> cancelAppointment(Long appointmentId) {
 
-        User currentUser = userService.getCurrentUser();
+        User user = userService.getCurrentUser();
 
-        Appointment appointment = appointmentRepository.findById(appointmentId)
+        Long doctorId = appointmentRepository.findDoctorIdById(appointmentId)
                 .orElseThrow(() -> new NotFoundException("해당 예약을 찾을 수 없습니다."));
 
-        if(!appointment.getDoctor().getUser().getId().equals(currentUser.getId())){
-            throw new BadRequestException("당신은 이 예약을 완료할 권한이 없습니다.");
-        }
+        // 대기자 배정으로 새 예약이 생길 수 있으므로 예약 등록과 같은 순서로 의사 락 -> 트랜잭션 -> 행 잠금
+        doctorLockStripes.withLock(doctorId, () -> {
+            Appointment refilledAppointment = transactionTemplate.execute(status -> {
 
-        appointment.setStatus(AppointmentStatus.COMPLETED);
-        appointment.setEndTime(LocalDateTime.now());
+                Doctor doctor = doctorRepository.findByIdForUpdate(doctorId)
+                        .orElseThrow(() -> new NotFoundException("해당 의사를 찾을 수 없습니다."));
 
-        Appointment updatedAppointment = appointmentRepository.save(appointment);
+                Appointment appointment = appointmentRepository.findWithParticipantsById(appointmentId)
+                        .orElseThrow(() -> new NotFoundException("해당 예약을 찾을 수 없습니다."));
 
-        modelMapper.map(updatedAppointment, AppointmentDTO.class);
+                boolean isOwner = appointment.getPatient().getUser().getId().equals(user.getId()) ||
+                        appointment.getDoctor().getUser().getId().equals(user.getId());
 
-        return Response.builder()
+                if(!isOwner){
+                    throw new BadRequestException("당신은 예약을 취소할 권한이 없습니다.");
+                }
+
+                // 예정된 예약만 취소 가능 (동시에 완료/취소된 경우 커밋 시 버전 충돌로 409)
+                AppointmentStatus previousStatus = appointmentStateMachine.transition(appointment, AppointmentStatus.CANCELLED);
+                Appointment savedAppointment = appointmentRepository.save(appointment);
+                appointmentConflictIndex.remove(savedAppointment);    // 충돌 인덱스 동기화
+                appointmentReminderService.cancel(savedAppointment.getId());  // 대기 중인 리마인더 제거
+
+                appointmentOutbox.record(savedAppointment, AppointmentEventType.CANCELLED, user);  // 예약 취소 알림은 아웃박스 릴레이가 전송
+                doctorStatsRecorder.statusChanged(doctor.getId(), previousStatus, AppointmentStatus.CANCELLED);
+
+                // 비워진 시간대를 대기자에게 배정
+                return waitlistService.assignCancelledSlot(savedAppointment, doctor);
+            });
+
+            // 커밋이 끝난 뒤(락을 쥔 상태에서) 배정된 예약을 충돌 인덱스/리마인더에 반영
+            if(refilledAppointment != null){
+                appointmentConflictIndex.add(refilledAppointment);
+                appointmentReminderService.schedule(refilledAppointment);
+            }
+            return refilledAppointment;
+        });
+
+        return Response.<AppointmentDTO>builder()
                 .statusCode(200)
-                .message("진료 예약이 성공적으로 완료되었습니다. 이제 진료 기록을 작성하실 수 있습니다.")
+//                .data(modelMapper.map(savedAppointment, AppointmentDTO.class))
+                .message("예약이 성공적으로 취소되었습니다.")
                 .build();
     }
 
     /**
-     * 예약 취소 알림 전송
-     * @param appointment
-     * @param cancelingUser
+     * 의사 일정 일괄 취소 (예: 병가로 하루 진료를 모두 취소)
+     * - [from, to) 에 시작하는 내 SCHEDULED 예약을 조건부 UPDATE 한 번으로 CANCELLED 처리 (엔티티를 로딩하지 않음)
+     * - 취소 이벤트는 같은 트랜잭션에서 아웃박스에 배치로 기록하고, 릴레이가 한 묶음으로 환자들에게 알림
+     * - 의사가 진료할 수 없는 시간대이므로 대기자 배정은 하지 않음
+     * @param requestDTO
+     * @return
      */
-    private void sendAppointmentCancellation(Appointment appointment, User cancelingUser) {
+    public Response<CancelRangeResultDTO> cancelAppointmentsInRange(CancelRangeRequestDTO requestDTO) {
 
-        User patientUser = appointment.getPatient().getUser();  // 환자 사용자 정보
-        User doctorUser = appointment.getDoctor().getUser(); // 의사 사용자 정보
+        User user = userService.getCurrentUser();
 
-        // 취소하는 사용자가 참여하고 있는지 확인하기 위한 안전 점검
-        boolean isOwner = patientUser.getId().equals(cancelingUser.getId()) ||
-                doctorUser.getId().equals(cancelingUser.getId());
+        Long doctorId = doctorRepository.findByUser(user)
+                .map(Doctor::getId)
+                .orElseThrow(() -> new NotFoundException("의사 프로필을 찾을 수 없습니다."));
 
-        if(!isOwner){
-            log.error("예약 취소 알림 전송 실패: 사용자가 예약의 당사자가 아닙니다. 사용자 ID: " + cancelingUser.getId());
-            return;
+        LocalDateTime from = requestDTO.getFrom();
+        LocalDateTime to = requestDTO.getTo();
+        if(!to.isAfter(from)){
+            throw new BadRequestException("취소 종료 시간은 시작 시간 이후여야 합니다.");
+        }
+        if(Duration.between(from, to).compareTo(cancelRangeMaxRange) > 0){
+            throw new BadRequestException("일괄 취소는 최대 " + cancelRangeMaxRange.toDays() + "일 범위까지 가능합니다.");
         }
 
-        String formattedTime = appointment.getStartTime().format(FORMATTER); // 예약 시간 포맷팅
-        String cancellingPartyName = cancelingUser.getName(); // 취소하는 사람의 이름
-
-        // 템플릿에서 공통으로 사용되는 변수
-        Map<String, Object> baseVars = new HashMap<>();
-        baseVars.put("cancelingPartyName", cancellingPartyName);
-        baseVars.put("appointmentTime", formattedTime);
-        baseVars.put("doctorName", appointment.getDoctor().getLastName());
-        baseVars.put("patientFullName", patientUser.getName());
-
-        // 의사에게 이메일 발송
-        Map<String, Object> doctorVars = new HashMap<>(baseVars);
-        doctorVars.put("recipientName", doctorUser.getName());
-
-        NotificationDTO doctorNotification = NotificationDTO.builder()
-                .recipient(doctorUser.getEmail())
-                .subject("TeleMed 헬스케어 - 예약 취소 알림")
-                .templateName("appointment-cancellation")
-                .templateVariables(doctorVars)
+        // 예약 등록과 같은 순서로 의사 락 -> 트랜잭션 -> 행 잠금 (취소 도중 같은 범위에 새 예약이 들어오지 않음)
+        List<AppointmentSlot> cancelled = doctorLockStripes.withLock(doctorId, () ->
+            transactionTemplate.execute(status -> {
+
+                doctorRepository.findByIdForUpdate(doctorId)
+                        .orElseThrow(() -> new NotFoundException("해당 의사를 찾을 수 없습니다."));
+
+                List<AppointmentSlot> slots = appointmentRepository.findScheduledSlotsByDoctorIdStartingBetween(doctorId, from, to);
+                if(slots.isEmpty()){
+                    return slots;
+                }
+
+                List<Long> ids = slots.stream()
+                        .map(AppointmentSlot::getAppointmentId)
+                        .toList();
+                int updated = appointmentStateMachine.transitionAll(ids, AppointmentStatus.SCHEDULED, AppointmentStatus.CANCELLED);
+
+                // 조회 이후 완료/NO_SHOW 처리된 예약은 제외
+                List<AppointmentSlot> result = slots;
+                if(updated != slots.size()){
+                    Set<Long> cancelledIds = new HashSet<>(appointmentRepository.findIdsByIdInAndStatus(ids, AppointmentStatus.CANCELLED));
+                    result = slots.stream()
+                            .filter(slot -> cancelledIds.contains(slot.getAppointmentId()))
+                            .toList();
+                }
+
+                appointmentOutbox.recordSlots(result, AppointmentEventType.RANGE_CANCELLED, AppointmentStatus.CANCELLED, user);  // 환자 알림은 아웃박스 릴레이가 한 묶음으로 전송
+                for(AppointmentSlot slot : result){
+                    appointmentConflictIndex.remove(doctorId, slot.getAppointmentId());    // 충돌 인덱스 동기화
+                    appointmentReminderService.cancel(slot.getAppointmentId());  // 대기 중인 리마인더 제거
+                    doctorStatsRecorder.statusChanged(doctorId, AppointmentStatus.SCHEDULED, AppointmentStatus.CANCELLED);
+                }
+                return result;
+            }));
+
+        log.info("의사 일정 일괄 취소: 의사 ID {}, {} ~ {}, {}건", doctorId, from, to, cancelled.size());
+
+        CancelRangeResultDTO resultDTO = CancelRangeResultDTO.builder()
+                .from(from)
+                .to(to)
+                .cancelled(cancelled.size())
+                .appointmentIds(cancelled.stream().map(AppointmentSlot::getAppointmentId).toList())
                 .build();
 
-        notificationService.sendEmail(doctorNotification, doctorUser);
-        log.info("의사에게 예약 취소 알림 전송 완료: " + doctorUser.getEmail());
-
-        // 환자에게 이메일 발송
-        Map<String, Object> patientVars = new HashMap<>(baseVars);
-        patientVars.put("recipientName", patientUser.getName());
-
-        NotificationDTO patientNotification = NotificationDTO.builder()
-                .recipient(patientUser.getEmail())
-                .subject("TeleMed 헬스케어 - 예약 취소 알림(ID : " + appointment.getId() + ")")
-                .templateName("appointment-cancellation")
-                .templateVariables(patientVars)
+        return Response.<CancelRangeResultDTO>builder()
+                .statusCode(200)
+                .message(cancelled.isEmpty()
+                        ? "취소할 예약이 없습니다."
+                        : "예약 " + cancelled.size() + "건이 성공적으로 취소되었습니다.")
+                .data(resultDTO)
                 .build();
-
-        notificationService.sendEmail(patientNotification, patientUser);
-        log.info("환자에게 예약 취소 알림 전송 완료: {}", patientUser.getEmail());
     }
 
     /**
-     * 예약 확인 알림 전송
-     * @param appointment
+     * 예약 완료
+     * @param appointmentId
+     * @return
      */
-    private void sendAppointmentConfirmation(Appointment appointment) {
-
-        User patientUser = appointment.getPatient().getUser();  // 환자 사용자 정보
-        String formattedTime = appointment.getStartTime().format(FORMATTER); // 예약 시간 포맷팅
-
-        // 환자에게 이메일 발송
-        Map<String, Object> patientVars = new HashMap<>();
-        patientVars.put("patientName", patientUser.getName());
-        patientVars.put("doctorName", appointment.getDoctor().getUser().getName());
-        patientVars.put("appointmentTime", formattedTime);
-        patientVars.put("isVirtual", true);
-        patientVars.put("meetingLink", appointment.getMeetingLink());
-        patientVars.put("purposeOfConsultation", appointment.getPurposeOfConsultation());
-
-        NotificationDTO patientNotification = NotificationDTO.builder()
-                .recipient(patientUser.getEmail())
-                .subject("TeleMed 헬스케어 - 예약 확인 알림")
-                .templateName("patient-appointment")
-                .templateVariables(patientVars)
-                .build();
+    @Transactional
+    public Response<?> completeAppointment(Long appointmentId) {
 
-        notificationService.sendEmail(patientNotification, patientUser);
-        log.info("환자에게 예약 확인 알림 전송 완료: {}", patientUser.getEmail());
-
-        // 의사에게 이메일 발송
-        User doctorUser = appointment.getDoctor().getUser(); // 의사 사용자 정보
-
-        Map<String, Object> doctorVars = new HashMap<>();
-        doctorVars.put("doctorName", doctorUser.getName());
-        doctorVars.put("patientFullName", patientUser.getName());
-        doctorVars.put("appointmentTime", formattedTime);
-        doctorVars.put("isVirtual", true);
-        doctorVars.put("meetingLink", appointment.getMeetingLink());
-        doctorVars.put("initialSymptoms", appointment.getInitialSymptoms());
-        doctorVars.put("purposeOfConsultation", appointment.getPurposeOfConsultation());
-
-        NotificationDTO doctorNotification = NotificationDTO.builder()
-                .recipient(doctorUser.getEmail())
-                .subject("TeleMed 헬스케어 - 새로운 예약 알림")
-                .templateName("doctor-appointment")
-                .templateVariables(doctorVars)
-                .build();
+        User currentUser = userService.getCurrentUser();
+
+        Appointment appointment = appointmentRepository.findWithParticipantsById(appointmentId)
+                .orElseThrow(() -> new NotFoundException("해당 예약을 찾을 수 없습니다."));
+
+        if(!appointment.getDoctor().getUser().getId().equals(currentUser.getId())){
+            throw new BadRequestException("당신은 이 예약을 완료할 권한이 없습니다.");
+        }
 
-        notificationService.sendEmail(doctorNotification, doctorUser);
-        log.info("의사에게 새로운 예약 알림 전송 완료: " + doctorUser.getEmail());
+        AppointmentStatus previousStatus = appointmentStateMachine.transition(appointment, AppointmentStatus.COMPLETED);
+        appointment.setEndTime(LocalDateTime.now());
+
+        Appointment updatedAppointment = appointmentRepository.save(appointment);
+        appointmentConflictIndex.remove(updatedAppointment);    // 충돌 인덱스 동기화
+        appointmentReminderService.cancel(updatedAppointment.getId());  // 대기 중인 리마인더 제거
+        appointmentOutbox.record(updatedAppointment, AppointmentEventType.COMPLETED, currentUser);
+        doctorStatsRecorder.statusChanged(updatedAppointment.getDoctor().getId(), previousStatus, AppointmentStatus.COMPLETED);
+
+        return Response.builder()
+                .statusCode(200)
+                .message("진료 예약이 성공적으로 완료되었습니다. 이제 진료 기록을 작성하실 수 있습니다.")
+                .build();
     }
 
 }
@@ -0,0 +1,95 @@
+package kitae.spring.health.appointment.service;
+
+import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.exceptions.ConflictException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 예약 상태 전이 규칙
+ * - SCHEDULED -> COMPLETED / CANCELLED / NO_SHOW
+ * - NO_SHOW -> COMPLETED (종료 후 늦게 진료 기록을 작성하는 경우)
+ * - COMPLETED -> COMPLETED (진료 완료 후 상담 기록 작성, 상태 변화 없음)
+ * - CANCELLED 는 종료 상태
+ * - 엔티티 전이는 Appointment.version(@Version)으로, 일괄 조건부 UPDATE 는 WHERE status 조건으로 동시 변경을 검출하므로
+ *   예약 행을 비관적으로 잠그지 않음 (일괄 전이는 변경한 행의 버전을 올려 이후의 엔티티 전이가 충돌을 검출하도록 함)
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentStateMachine {
+
+    private static final Map<AppointmentStatus, Set<AppointmentStatus>> TRANSITIONS = new EnumMap<>(AppointmentStatus.class);
+
+    static {
+        TRANSITIONS.put(AppointmentStatus.SCHEDULED,
+                EnumSet.of(AppointmentStatus.COMPLETED, AppointmentStatus.CANCELLED, AppointmentStatus.NO_SHOW));
+        TRANSITIONS.put(AppointmentStatus.NO_SHOW, EnumSet.of(AppointmentStatus.COMPLETED));
+        TRANSITIONS.put(AppointmentStatus.COMPLETED, EnumSet.of(AppointmentStatus.COMPLETED));
+        TRANSITIONS.put(AppointmentStatus.CANCELLED, EnumSet.noneOf(AppointmentStatus.class));
+    }
+
+    private final AppointmentRepository appointmentRepository;
+
+    /**
+     * 전이 가능 여부
+     * @param from
+     * @param to
+     * @return
+     */
+    public static boolean canTransition(AppointmentStatus from, AppointmentStatus to) {
+        return from != null && TRANSITIONS.get(from).contains(to);
+    }
+
+    /**
+     * 엔티티 상태 전이 (커밋 시 버전이 다르면 OptimisticLockingFailureException)
+     * @param appointment 영속 상태의 예약
+     * @param to
+     * @return 이전 상태
+     */
+    public AppointmentStatus transition(Appointment appointment, AppointmentStatus to) {
+        AppointmentStatus from = appointment.getStatus();
+        if(!canTransition(from, to)){
+            throw new ConflictException(message(from, to));
+        }
+        appointment.setStatus(to);
+        return from;
+    }
+
+    /**
+     * 조건부 일괄 전이 (UPDATE ... WHERE id IN (?) AND status = ?, 변경된 행은 버전 증가)
+     * @param appointmentIds
+     * @param from
+     * @param to
+     * @return 변경된 예약 수 (그 사이 상태가 바뀐 예약은 제외됨)
+     */
+    public int transitionAll(Collection<Long> appointmentIds, AppointmentStatus from, AppointmentStatus to) {
+        if(!canTransition(from, to)){
+            throw new ConflictException(message(from, to));
+        }
+        if(appointmentIds.isEmpty()){
+            return 0;
+        }
+        return appointmentRepository.transitionAllStatus(appointmentIds, from, to, LocalDateTime.now());
+    }
+
+    private String message(AppointmentStatus from, AppointmentStatus to) {
+        return switch(to){
+            case CANCELLED -> from == AppointmentStatus.CANCELLED
+                    ? "이미 취소된 예약입니다."
+                    : "예정된 예약만 취소할 수 있습니다. (현재 상태: " + from + ")";
+            case COMPLETED -> from == AppointmentStatus.CANCELLED
+                    ? "취소된 예약은 완료할 수 없습니다."
+                    : "예약 상태를 " + from + "에서 " + to + "(으)로 변경할 수 없습니다.";
+            default -> "예약 상태를 " + from + "에서 " + to + "(으)로 변경할 수 없습니다.";
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package kitae.spring.health.appointment.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 의사 ID 기준 스트라이프 락
+ * - 같은 의사에 대한 예약 변경만 직렬화하고, 서로 다른 의사는 (해시가 겹치지 않는 한) 경합하지 않음
+ * - 락 개수는 고정(2의 거듭제곱)이므로 의사 수가 늘어도 메모리가 증가하지 않음
+ * - 단일 노드 안에서의 경합만 줄여주며, 노드 간 직렬화는 doctors 행 잠금(SELECT ... FOR UPDATE)이 담당
+ */
+@Component
+public class DoctorLockStripes {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public DoctorLockStripes(@Value("${appointment.booking.lock-stripes:64}") int stripeCount) {
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1; // 2의 거듭제곱으로 올림
+        this.stripes = new ReentrantLock[size];
+        for(int i = 0; i < size; i++){
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * 의사 락을 잡은 상태로 작업 실행
+     * @param doctorId
+     * @param action
+     * @return
+     */
+    public <T> T withLock(Long doctorId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(doctorId);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 여러 의사의 락을 모두 잡은 상태로 작업 실행 (일괄 예약용)
+     * - 스트라이프 번호 오름차순으로 잠궈 동시에 실행되는 일괄 요청끼리 교착되지 않도록 함
+     * @param doctorIds
+     * @param action
+     * @return
+     */
+    public <T> T withLocks(Collection<Long> doctorIds, Supplier<T> action) {
+        int[] indexes = doctorIds.stream()
+                .mapToInt(this::indexFor)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        int locked = 0;
+        try {
+            for(int index : indexes){
+                stripes[index].lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for(int i = locked - 1; i >= 0; i--){
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    private ReentrantLock stripeFor(Long doctorId) {
+        return stripes[indexFor(doctorId)];
+    }
+
+    private int indexFor(Long doctorId) {
+        int h = doctorId.hashCode();
+        h ^= (h >>> 16); // 상위 비트를 섞어 연속된 ID가 고르게 분산되도록 함
+        return h & mask;
+    }
+}
@@ -0,0 +1,222 @@
+package kitae.spring.health.appointment.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 해시 타이밍 휠 (키 단위 예약 작업 타이머)
+ * - 시간을 tick 단위로 나눈 원형 버킷 배열에 작업을 넣고, 전용 스레드가 tick 마다 한 버킷만 확인
+ * - 등록/취소는 O(1), tick 처리 비용은 해당 버킷의 작업 수에만 비례 (전체 작업 수와 무관)
+ * - 휠 한 바퀴보다 먼 작업은 남은 바퀴 수(rounds)를 함께 저장
+ * - 같은 키로 다시 등록하면 기존 작업을 대체
+ * @param <K> 작업 키
+ */
+@Slf4j
+public final class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final Bucket<K>[] wheel;
+    private final int mask;
+    private final Map<K, Timeout<K>> timeouts = new HashMap<>();
+    private final BiConsumer<K, Long> onExpire;
+
+    private long tick; // 다음에 처리할 tick 번호
+    private volatile Thread worker;
+
+    /**
+     * @param tickMillis tick 간격(ms)
+     * @param wheelSize 버킷 수 (2의 거듭제곱으로 올림)
+     * @param onExpire 만료된 작업 처리 (키, 예정 시각 epoch ms) - 휠 스레드에서 호출되므로 오래 걸리는 작업은 다른 스레드로 넘겨야 함
+     */
+    public HashedTimingWheel(long tickMillis, int wheelSize, BiConsumer<K, Long> onExpire) {
+        this(tickMillis, wheelSize, System.currentTimeMillis(), onExpire);
+    }
+
+    /**
+     * 시작 시각을 지정하는 생성자 (tick 0 의 시작 시각, 테스트에서 advance() 로 직접 tick 을 진행할 때 사용)
+     * @param tickMillis
+     * @param wheelSize
+     * @param startMillis
+     * @param onExpire
+     */
+    HashedTimingWheel(long tickMillis, int wheelSize, long startMillis, BiConsumer<K, Long> onExpire) {
+        int size = wheelSize <= 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1; // 2의 거듭제곱으로 올림
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        @SuppressWarnings("unchecked")
+        Bucket<K>[] buckets = (Bucket<K>[]) new Bucket[size];
+        for(int i = 0; i < size; i++){
+            buckets[i] = new Bucket<>();
+        }
+        this.wheel = buckets;
+        this.mask = size - 1;
+        this.onExpire = onExpire;
+    }
+
+    /**
+     * 작업 등록 (같은 키가 있으면 대체, 이미 지난 시각이면 다음 tick 에 만료)
+     * @param key
+     * @param deadlineMillis 실행 예정 시각 (epoch ms)
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        Timeout<K> previous = timeouts.remove(key);
+        if(previous != null){
+            previous.unlink();
+        }
+
+        long target = Math.max((deadlineMillis - startMillis) / tickMillis, tick);
+        Timeout<K> timeout = new Timeout<>(key, deadlineMillis, (target - tick) / wheel.length);
+        wheel[(int) (target & mask)].add(timeout);
+        timeouts.put(key, timeout);
+    }
+
+    /**
+     * 작업 취소
+     * @param key
+     * @return 대기 중인 작업이 있었는지 여부
+     */
+    public synchronized boolean cancel(K key) {
+        Timeout<K> timeout = timeouts.remove(key);
+        if(timeout == null){
+            return false;
+        }
+        timeout.unlink();
+        return true;
+    }
+
+    public synchronized int size() {
+        return timeouts.size();
+    }
+
+    /**
+     * 휠 스레드 시작
+     * @param threadName
+     */
+    public synchronized void start(String threadName) {
+        if(worker != null){
+            return;
+        }
+        worker = new Thread(this::run, threadName);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if(thread != null){
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        while(worker == Thread.currentThread()){
+            // tick 이 끝나는 시각까지 대기 (실행이 밀렸으면 대기 없이 따라잡음)
+            long sleepMillis = startMillis + (tick + 1) * tickMillis - System.currentTimeMillis();
+            if(sleepMillis > 0){
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+
+            advance();
+        }
+    }
+
+    /**
+     * 현재 tick 처리 (만료된 작업을 실행하고 tick 을 한 칸 전진, 휠 스레드에서 호출)
+     * @return 만료된 작업 수
+     */
+    int advance() {
+        List<Timeout<K>> expired = expire();
+        for(Timeout<K> timeout : expired){
+            try {
+                onExpire.accept(timeout.key, timeout.deadlineMillis);
+            } catch (RuntimeException e) {
+                log.error("타이머 작업 처리 실패 (키: {})", timeout.key, e);
+            }
+        }
+        return expired.size();
+    }
+
+    /**
+     * 현재 tick 버킷에서 만료된 작업을 꺼내고 tick 을 한 칸 전진
+     * @return
+     */
+    private synchronized List<Timeout<K>> expire() {
+        List<Timeout<K>> expired = new ArrayList<>();
+        Timeout<K> node = wheel[(int) (tick & mask)].head;
+        while(node != null){
+            Timeout<K> next = node.next;
+            if(node.rounds <= 0){
+                node.unlink();
+                timeouts.remove(node.key);
+                expired.add(node);
+            } else {
+                node.rounds--;
+            }
+            node = next;
+        }
+        tick++;
+        return expired;
+    }
+
+    /**
+     * 버킷 (이중 연결 리스트, 노드가 직접 자신을 제거할 수 있어 취소가 O(1))
+     */
+    private static final class Bucket<K> {
+
+        private Timeout<K> head;
+
+        void add(Timeout<K> timeout) {
+            timeout.bucket = this;
+            timeout.next = head;
+            if(head != null){
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+    }
+
+    private static final class Timeout<K> {
+
+        private final K key;
+        private final long deadlineMillis;
+        private long rounds;
+
+        private Bucket<K> bucket;
+        private Timeout<K> prev;
+        private Timeout<K> next;
+
+        Timeout(K key, long deadlineMillis, long rounds) {
+            this.key = key;
+            this.deadlineMillis = deadlineMillis;
+            this.rounds = rounds;
+        }
+
+        void unlink() {
+            if(bucket == null){
+                return;
+            }
+            if(prev != null){
+                prev.next = next;
+            } else {
+                bucket.head = next;
+            }
+            if(next != null){
+                next.prev = prev;
+            }
+            bucket = null;
+            prev = null;
+            next = null;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package kitae.spring.health.appointment.service;
+
+import kitae.spring.health.appointment.dto.CalendarEntry;
+import kitae.spring.health.enums.AppointmentStatus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * iCalendar(RFC 5545) 형식 스트리밍 출력
+ * - 예약 한 건씩 VEVENT 로 바로 출력하므로 일정 수와 무관하게 메모리 사용량이 일정함
+ * - 시간은 서버 시간대 기준 LocalDateTime 을 UTC 로 변환하여 출력
+ * - 한 줄이 75 바이트를 넘으면 줄을 접음(folding)
+ */
+public final class IcsCalendarWriter {
+
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer writer;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    public IcsCalendarWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 캘린더 시작 (VCALENDAR 헤더)
+     * @param calendarName
+     * @throws IOException
+     */
+    public void begin(String calendarName) throws IOException {
+        line("BEGIN", "VCALENDAR");
+        line("VERSION", "2.0");
+        line("PRODID", "-//TeleMed Health//Appointments//KO");
+        line("CALSCALE", "GREGORIAN");
+        line("METHOD", "PUBLISH");
+        line("X-WR-CALNAME", escape(calendarName));
+    }
+
+    /**
+     * 예약 한 건 출력
+     * @param entry
+     * @param summary 일정 제목
+     * @throws IOException
+     */
+    public void event(CalendarEntry entry, String summary) throws IOException {
+        LocalDateTime endTime = entry.getEndTime() != null
+                ? entry.getEndTime()
+                : entry.getStartTime().plusMinutes(SchedulingRules.DEFAULT_DURATION_MINUTES);
+        LocalDateTime stamp = entry.getUpdatedAt() != null ? entry.getUpdatedAt() : LocalDateTime.now();
+
+        line("BEGIN", "VEVENT");
+        line("UID", "appointment-" + entry.getAppointmentId() + "@telemed-health");
+        line("DTSTAMP", utc(stamp));
+        line("LAST-MODIFIED", utc(stamp));
+        line("DTSTART", utc(entry.getStartTime()));
+        line("DTEND", utc(endTime));
+        line("SUMMARY", escape(summary));
+        if(entry.getPurposeOfConsultation() != null){
+            line("DESCRIPTION", escape(entry.getPurposeOfConsultation()));
+        }
+        if(entry.getMeetingLink() != null){
+            line("LOCATION", escape(entry.getMeetingLink()));
+            line("URL", entry.getMeetingLink());
+        }
+        line("STATUS", entry.getStatus() == AppointmentStatus.CANCELLED ? "CANCELLED" : "CONFIRMED");
+        line("END", "VEVENT");
+    }
+
+    /**
+     * 캘린더 종료 (남은 버퍼를 모두 출력)
+     * @throws IOException
+     */
+    public void end() throws IOException {
+        line("END", "VCALENDAR");
+        writer.flush();
+    }
+
+    private String utc(LocalDateTime time) {
+        return time.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).format(UTC_FORMAT);
+    }
+
+    /**
+     * 한 줄 출력 (75 바이트마다 CRLF + 공백으로 접음, 멀티바이트 문자는 나누지 않음)
+     * @param name
+     * @param value
+     * @throws IOException
+     */
+    private void line(String name, String value) throws IOException {
+        String content = name + ":" + value;
+        int octets = 0;
+        for(int i = 0; i < content.length(); ){
+            int codePoint = content.codePointAt(i);
+            int size = utf8Length(codePoint);
+            if(octets + size > MAX_LINE_OCTETS){
+                writer.write("\r\n ");
+                octets = 1; // 이어지는 줄의 선행 공백
+            }
+            writer.write(content, i, Character.charCount(codePoint));
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        writer.write("\r\n");
+    }
+
+    private static int utf8Length(int codePoint) {
+        if(codePoint < 0x80){
+            return 1;
+        }
+        if(codePoint < 0x800){
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+
+    /**
+     * TEXT 값 이스케이프 (역슬래시, 세미콜론, 쉼표, 줄바꿈)
+     * @param text
+     * @return
+     */
+    private static String escape(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 8);
+        for(int i = 0; i < text.length(); i++){
+            char c = text.charAt(i);
+            switch(c){
+                case '\\' -> sb.append("\\\\");
+                case ';' -> sb.append("\\;");
+                case ',' -> sb.append("\\,");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> { }
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
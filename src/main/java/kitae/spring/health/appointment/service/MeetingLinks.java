@@ -0,0 +1,24 @@
+package kitae.spring.health.appointment.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.UUID;
+
+/**
+ * 화상 회의 링크 생성 (Jitsi 방 이름을 무작위로 생성)
+ */
+@Slf4j
+public final class MeetingLinks {
+
+    private MeetingLinks() {
+    }
+
+    public static String create() {
+        String uuid = UUID.randomUUID().toString().replace("-", "");
+        String uniqueRoomName = "health-" + uuid.substring(0, 10);
+
+        String meetingLink = "https://meet.jit.si/" + uniqueRoomName;
+        log.info("미팅 링크 생성: " + meetingLink);
+        return meetingLink;
+    }
+}
@@ -0,0 +1,73 @@
+package kitae.spring.health.appointment.service;
+
+/**
+ * 하루(1440분)를 분 단위 비트로 표현한 점유 비트맵
+ * - 1비트 = 1분, long 23개(184 바이트)로 하루 전체를 표현
+ * - 구간 점유/빈 구간 확인을 워드(64분) 단위 마스크 연산으로 처리
+ */
+public final class OccupancyBitmap {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final long[] words = new long[(MINUTES_PER_DAY + 63) / 64];
+
+    /**
+     * [from, to) 분 구간을 점유 상태로 표시 (하루 범위를 벗어나는 부분은 잘라냄)
+     * @param from
+     * @param to
+     */
+    public void occupy(int from, int to) {
+        from = Math.max(0, from);
+        to = Math.min(MINUTES_PER_DAY, to);
+        if(from >= to){
+            return;
+        }
+
+        int startWord = from >>> 6;
+        int endWord = (to - 1) >>> 6;
+        long firstMask = -1L << (from & 63);
+        long lastMask = -1L >>> (63 - ((to - 1) & 63));
+
+        if(startWord == endWord){
+            words[startWord] |= firstMask & lastMask;
+            return;
+        }
+        words[startWord] |= firstMask;
+        for(int i = startWord + 1; i < endWord; i++){
+            words[i] = -1L;
+        }
+        words[endWord] |= lastMask;
+    }
+
+    /**
+     * [from, to) 분 구간이 모두 비어 있는지 확인 (하루 범위를 벗어나는 부분은 무시)
+     * @param from
+     * @param to
+     * @return
+     */
+    public boolean isFree(int from, int to) {
+        from = Math.max(0, from);
+        to = Math.min(MINUTES_PER_DAY, to);
+        if(from >= to){
+            return true;
+        }
+
+        int startWord = from >>> 6;
+        int endWord = (to - 1) >>> 6;
+        long firstMask = -1L << (from & 63);
+        long lastMask = -1L >>> (63 - ((to - 1) & 63));
+
+        if(startWord == endWord){
+            return (words[startWord] & firstMask & lastMask) == 0;
+        }
+        if((words[startWord] & firstMask) != 0){
+            return false;
+        }
+        for(int i = startWord + 1; i < endWord; i++){
+            if(words[i] != 0){
+                return false;
+            }
+        }
+        return (words[endWord] & lastMask) == 0;
+    }
+}
@@ -0,0 +1,56 @@
+package kitae.spring.health.appointment.service;
+
+import kitae.spring.health.enums.RecurrenceFrequency;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 반복 규칙 (RRULE 의 FREQ / INTERVAL / COUNT / UNTIL 에 해당)
+ * - 회차는 미리 만들지 않고 반복자로 하나씩 계산
+ * - k 번째 회차는 항상 첫 회차 기준으로 계산 (예: 1월 31일 매월 -> 2월 28일, 3월 31일 ...)
+ * @param frequency 반복 주기
+ * @param interval 반복 간격
+ * @param count 회차 수 (없으면 null)
+ * @param until 이 시각 전에 시작하는 회차까지 (없으면 null)
+ */
+public record RecurrenceRule(RecurrenceFrequency frequency, int interval, Integer count, LocalDateTime until) {
+
+    /**
+     * 첫 회차부터 규칙이 끝날 때까지의 시작 시간
+     * @param first 첫 회차 시작 시간
+     * @return
+     */
+    public Iterable<LocalDateTime> occurrences(LocalDateTime first) {
+        return () -> new Iterator<>() {
+            private int index = 0;
+            private LocalDateTime next = nth(first, 0);
+
+            @Override
+            public boolean hasNext() {
+                return (count == null || index < count) && (until == null || next.isBefore(until));
+            }
+
+            @Override
+            public LocalDateTime next() {
+                if(!hasNext()){
+                    throw new NoSuchElementException();
+                }
+                LocalDateTime current = next;
+                index++;
+                next = nth(first, index);
+                return current;
+            }
+        };
+    }
+
+    private LocalDateTime nth(LocalDateTime first, int index) {
+        long steps = (long) index * interval;
+        return switch(frequency){
+            case DAILY -> first.plusDays(steps);
+            case WEEKLY -> first.plusWeeks(steps);
+            case MONTHLY -> first.plusMonths(steps);
+        };
+    }
+}
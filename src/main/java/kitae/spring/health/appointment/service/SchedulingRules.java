@@ -0,0 +1,29 @@
+package kitae.spring.health.appointment.service;
+
+/**
+ * 예약 시간 관련 공통 규칙
+ */
+public final class SchedulingRules {
+
+    public static final int BUFFER_MINUTES = 60; // 새 예약 전 의사에게 보장하는 휴식(버퍼) 시간
+
+    public static final int DEFAULT_DURATION_MINUTES = 60; // 기본 진료 시간
+
+    public static final int MIN_DURATION_MINUTES = 15; // 최소 진료 시간
+
+    public static final int MAX_DURATION_MINUTES = 240; // 최대 진료 시간
+
+    public static final int MIN_LEAD_MINUTES = 60; // 예약은 최소 1시간 이전에 해야 함
+
+    private SchedulingRules() {
+    }
+
+    /**
+     * 요청된 진료 시간(분)을 반환, 없으면 기본값 사용
+     * @param durationMinutes
+     * @return
+     */
+    public static int durationOrDefault(Integer durationMinutes) {
+        return durationMinutes != null ? durationMinutes : DEFAULT_DURATION_MINUTES;
+    }
+}
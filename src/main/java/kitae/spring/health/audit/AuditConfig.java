@@ -1,4 +1,4 @@
-package kim.kitae.spring.audit;
+package kitae.spring.health.audit;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -1,4 +1,4 @@
-package kim.kitae.spring.audit;
+package kitae.spring.health.audit;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.AuditorAware;
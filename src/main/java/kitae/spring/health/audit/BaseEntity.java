@@ -1,4 +1,4 @@
-package kim.kitae.spring.audit;
+package kitae.spring.health.audit;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.EntityListeners;
@@ -1,13 +1,18 @@
 package kitae.spring.health.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.thymeleaf.cache.StandardCacheManager;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 
 @Configuration
 public class AppConfig {
 
+  @Value("${notification.template.cache-size:50}")
+  private int templateCacheSize;  // 파싱된 템플릿 캐시 최대 개수
+
   @Bean
   public SpringTemplateEngine templateEngine(){
     SpringTemplateEngine templateEngine = new SpringTemplateEngine();
@@ -16,8 +21,16 @@ public class AppConfig {
     templateResolver.setPrefix("templates/");
     templateResolver.setSuffix(".html");
     templateResolver.setCharacterEncoding("UTF-8");
+    // 템플릿은 배포 단위로만 바뀌므로 파싱 결과를 만료 없이 캐시
+    templateResolver.setCacheable(true);
+    templateResolver.setCacheTTLMs(null);
+
+    StandardCacheManager cacheManager = new StandardCacheManager();
+    cacheManager.setTemplateCacheMaxSize(templateCacheSize);
+    cacheManager.setTemplateCacheEnableCounters(true);  // 캐시 적중/미적중 수 (DEBUG 로그)
 
     templateEngine.setTemplateResolver(templateResolver);
+    templateEngine.setCacheManager(cacheManager);
     return templateEngine;
   }
 
@@ -0,0 +1,89 @@
+package kitae.spring.health.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+
+/**
+ * 알림(이메일) 발송 전용 스레드 풀 (메일 큐 발송 묶음 실행)
+ * - 스레드 수와 대기 큐 길이를 제한하여 SMTP 지연 시 스레드/대기 작업이 무한히 쌓이지 않도록 함
+ * - 동시에 발송하는 묶음 수는 이 풀(max-size + queue-capacity)로만 제한하며, 큐가 가득 차면 작업을 거절함
+ * - 거절된 묶음은 발송기가 영속 큐에 되돌려 다음 발송 주기에 다시 시도 (호출한 스케줄러 스레드에서 직접 발송하지 않음)
+ * - virtual-threads=true 이면 풀의 작업 스레드를 가상 스레드로 생성 (동시 발송 수 제한은 그대로 적용)
+ * - 대기 작업 수, 발송 중 작업 수, 거절 수를 메트릭(notification.executor.*)으로 노출
+ */
+@Configuration
+@Slf4j
+public class NotificationExecutorConfig {
+
+    public static final String EXECUTOR_NAME = "notificationExecutor";
+
+    @Value("${notification.executor.core-size:4}")
+    private int coreSize;
+
+    @Value("${notification.executor.max-size:8}")
+    private int maxSize;
+
+    @Value("${notification.executor.queue-capacity:8}")
+    private int queueCapacity;
+
+    @Value("${notification.executor.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${notification.executor.await-termination:PT30S}")
+    private Duration awaitTermination;
+
+    @Bean(name = EXECUTOR_NAME)
+    public ThreadPoolTaskExecutor notificationExecutor(MeterRegistry meterRegistry) {
+        Counter rejected = Counter.builder("notification.executor.rejected")
+                .description("큐가 가득 차서 거절된 알림 발송 작업 수")
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("notification-");
+        if(virtualThreads){
+            executor.setThreadFactory(Thread.ofVirtual().name("notification-", 0).factory());
+        }
+        executor.setRejectedExecutionHandler(rejectionHandler(rejected));
+        // 종료 시 대기 중인 발송 작업을 마칠 때까지 기다림
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(awaitTermination.toMillis());
+
+        // 내부 ThreadPoolExecutor 는 빈 초기화 시점에 생성되므로 래퍼 기준으로 측정
+        Gauge.builder("notification.executor.queue.size", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .description("발송 대기 중인 알림 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("notification.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("발송 중인 알림 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("notification.executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .description("알림 발송 스레드 수")
+                .register(meterRegistry);
+
+        log.info("알림 발송 스레드 풀 생성: core {}, max {}, queue {}, 가상 스레드 {}",
+                coreSize, maxSize, queueCapacity, virtualThreads);
+        return executor;
+    }
+
+    private RejectedExecutionHandler rejectionHandler(Counter rejected) {
+        return (task, pool) -> {
+            rejected.increment();
+            // 호출 측(발송기)이 TaskRejectedException 을 받아 메일을 대기 상태로 되돌림
+            throw new RejectedExecutionException(pool.isShutdown()
+                    ? "알림 발송 스레드 풀이 종료되었습니다."
+                    : "알림 발송 큐가 가득 찼습니다. (대기 " + pool.getQueue().size() + "건)");
+        };
+    }
+}
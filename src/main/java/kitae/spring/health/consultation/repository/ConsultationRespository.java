@@ -1,6 +1,7 @@
 package kitae.spring.health.consultation.repository;
 
 import kitae.spring.health.consultation.entity.Consultation;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -10,6 +11,11 @@ public interface ConsultationRespository extends JpaRepository<Consultation, Int
 
     Optional<Consultation> findByAppointmentId(Long appointmentId);
 
+    // 상담 기록과 예약을 한 번에 조회 (예약 단건 조회 N+1 방지)
+    @EntityGraph(attributePaths = "appointment")
     List<Consultation> findByAppointmentPatientIdOrderByConsultationDateDesc(Long patientId);
 
+    // 의사가 작성한 상담 기록 수 (의사 통계 최초 집계용)
+    long countByAppointmentDoctorId(Long doctorId);
+
 }
@@ -2,9 +2,15 @@ package kitae.spring.health.consultation.service;
 
 import kitae.spring.health.appointment.entity.Appointment;
 import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.appointment.service.AppointmentConflictIndex;
+import kitae.spring.health.appointment.service.AppointmentOutbox;
+import kitae.spring.health.appointment.service.AppointmentReminderService;
+import kitae.spring.health.appointment.service.AppointmentStateMachine;
 import kitae.spring.health.consultation.dto.ConsultationDTO;
 import kitae.spring.health.consultation.entity.Consultation;
 import kitae.spring.health.consultation.repository.ConsultationRespository;
+import kitae.spring.health.doctor.service.DoctorStatsRecorder;
+import kitae.spring.health.enums.AppointmentEventType;
 import kitae.spring.health.enums.AppointmentStatus;
 import kitae.spring.health.exceptions.BadRequestException;
 import kitae.spring.health.exceptions.NotFoundException;
@@ -17,6 +23,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -31,32 +38,41 @@ public class ConsultationService {
     private final UserService userService;
     private final ModelMapper modelMapper;
     private final PatientRepository patientRepository;
+    private final AppointmentConflictIndex appointmentConflictIndex;
+    private final AppointmentReminderService appointmentReminderService;
+    private final AppointmentOutbox appointmentOutbox;
+    private final DoctorStatsRecorder doctorStatsRecorder;
+    private final AppointmentStateMachine appointmentStateMachine;
 
     /**
      * 새로운 상담 기록을 생성
      * @param consultationDTO
      * @return
      */
+    @Transactional
     public Response<ConsultationDTO> createConsultation(ConsultationDTO consultationDTO) {
 
         User user = userService.getCurrentUser(); // 현재 인증된 사용자 가져오기
         Long appointmentId = consultationDTO.getAppointmentId();
 
-        Appointment appointment = appointmentRepository.findById(appointmentId)
+        Appointment appointment = appointmentRepository.findWithParticipantsById(appointmentId)
                 .orElseThrow(() -> new NotFoundException("예약을 찾을 수 없습니다. ID: " + appointmentId));
 
         if(!appointment.getDoctor().getUser().getId().equals(user.getId())) {
             throw new BadRequestException("당신은 본 진료에 대한 메모를 작성할 권한이 없습니다..");
         }
 
-        appointment.setStatus(AppointmentStatus.COMPLETED); // 예약 상태를 COMPLETED로 업데이트
-        appointmentRepository.save(appointment);    // 예약 상태 업데이트
-
         // 해당 예약에 대한 상담이 이미 진행 중인지 확인
         if(consultationRepository.findByAppointmentId(appointmentId).isPresent()) {
             throw new BadRequestException("이 예약에 대한 상담 기록이 이미 존재합니다. 예약 ID: " + appointmentId);
         }
 
+        AppointmentStatus previousStatus = appointmentStateMachine.transition(appointment, AppointmentStatus.COMPLETED); // 예약 상태를 COMPLETED로 업데이트
+        appointmentRepository.save(appointment);    // 예약 상태 업데이트
+        appointmentConflictIndex.remove(appointment);   // 충돌 인덱스 동기화
+        appointmentReminderService.cancel(appointment.getId());   // 대기 중인 리마인더 제거
+        appointmentOutbox.record(appointment, AppointmentEventType.COMPLETED, user);  // 예약 완료 이벤트 기록
+
         Consultation consultation = Consultation.builder()
                 .consultationDate(LocalDateTime.now()) // 상담 날짜
                 .subjectiveNotes(consultationDTO.getSubjectiveNotes()) // 주관적 소견
@@ -68,6 +84,10 @@ public class ConsultationService {
 
         consultationRepository.save(consultation);
 
+        // 의사 통계 증감분 기록 (커밋 이후 반영)
+        doctorStatsRecorder.statusChanged(appointment.getDoctor().getId(), previousStatus, AppointmentStatus.COMPLETED);
+        doctorStatsRecorder.consultationRecorded(appointment.getDoctor().getId());
+
         return Response.<ConsultationDTO>builder()
                 .statusCode(200)
                 .message("상담 기록이 성공적으로 생성되었습니다.")
@@ -80,6 +100,7 @@ public class ConsultationService {
      * @param appointmentId
      * @return
      */
+    @Transactional(readOnly = true)
     public Response<ConsultationDTO> getConsultationByAppointmentId(Long appointmentId) {
 
         User user = userService.getCurrentUser();   // 현재 인증된 사용자 가져오기
@@ -99,6 +120,7 @@ public class ConsultationService {
      * @param patientId
      * @return
      */
+    @Transactional(readOnly = true)
     public Response<List<ConsultationDTO>> getConsultationHistoryForPatient(Long patientId) {
 
         User user = userService.getCurrentUser();  // 현재 인증된 사용자 가져오기
@@ -1,14 +1,18 @@
 package kitae.spring.health.doctor.controller;
 
+import kitae.spring.health.doctor.dto.AvailabilitySlotDTO;
 import kitae.spring.health.doctor.dto.DoctorDTO;
+import kitae.spring.health.doctor.dto.DoctorStatsDTO;
 import kitae.spring.health.doctor.service.DoctorService;
 import kitae.spring.health.enums.Specialization;
 import kitae.spring.health.response.Response;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -30,6 +34,12 @@ public class DoctorController {
         return ResponseEntity.ok(doctorService.updateDoctorProfile(doctorDTO));
     }
 
+    @GetMapping("/me/stats")
+    @PreAuthorize("hasAuthority('DOCTOR')")
+    public ResponseEntity<Response<DoctorStatsDTO>> getMyStats() {
+        return ResponseEntity.ok(doctorService.getMyStats());
+    }
+
     @GetMapping
     public ResponseEntity<Response<List<DoctorDTO>>> getAllDoctors() {
         return ResponseEntity.ok(doctorService.getAllDoctors());
@@ -40,6 +50,16 @@ public class DoctorController {
         return ResponseEntity.ok(doctorService.getDoctorById(doctorId));
     }
 
+    @GetMapping("/{doctorId}/availability")
+    public ResponseEntity<Response<List<AvailabilitySlotDTO>>> getDoctorAvailability(
+            @PathVariable("doctorId") Long doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer durationMinutes,
+            @RequestParam(defaultValue = "30") int step) {
+        return ResponseEntity.ok(doctorService.getDoctorAvailability(doctorId, from, to, durationMinutes, step));
+    }
+
     @GetMapping("/filter")
     public ResponseEntity<Response<List<DoctorDTO>>> searchDoctorsBySpecialization(@RequestParam(required = true) Specialization specialization) {
         return ResponseEntity.ok(doctorService.searchDoctorsBySpecialization(specialization));
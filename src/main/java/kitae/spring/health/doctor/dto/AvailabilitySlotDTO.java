@@ -0,0 +1,23 @@
+package kitae.spring.health.doctor.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AvailabilitySlotDTO {
+
+    private LocalDateTime startTime; // 예약 가능한 시작 시간
+
+    private LocalDateTime endTime; // 예약 종료 시간 (시작 시간 + 진료 시간)
+}
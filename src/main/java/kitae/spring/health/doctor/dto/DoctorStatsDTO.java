@@ -0,0 +1,31 @@
+package kitae.spring.health.doctor.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DoctorStatsDTO {
+
+    private long upcoming;  // 예정(SCHEDULED) 예약 수
+
+    private long completed; // 완료 예약 수
+
+    private long cancelled; // 취소 예약 수
+
+    private long noShow;    // NO_SHOW 예약 수
+
+    private long consultations; // 작성한 상담 기록 수
+
+    private LocalDateTime updatedAt;    // 마지막 반영 시각
+}
@@ -19,7 +19,9 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "doctors")
+@Table(name = "doctors", indexes = {
+        @Index(name = "idx_doctors_specialization", columnList = "specialization") // 관리자 예약 검색 (전문 분야)
+})
 public class Doctor extends BaseEntity{
 
 
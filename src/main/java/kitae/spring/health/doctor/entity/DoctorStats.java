@@ -0,0 +1,47 @@
+package kitae.spring.health.doctor.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 의사별 예약/상담 통계 (대시보드용 누적 카운터)
+ * - 의사 ID 를 기본 키로 사용하여 한 번의 기본 키 조회로 응답
+ * - 처음 조회할 때 예약/보관/상담 테이블에서 집계하여 생성하고, 이후에는 DoctorStatsRecorder 가 증감분만 반영
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "doctor_stats")
+public class DoctorStats {
+
+    @Id
+    private Long doctorId;  // 의사 ID
+
+    @Column(nullable = false)
+    private long upcoming;  // 예정(SCHEDULED) 예약 수
+
+    @Column(nullable = false)
+    private long completed; // 완료 예약 수
+
+    @Column(nullable = false)
+    private long cancelled; // 취소 예약 수
+
+    @Column(nullable = false)
+    private long noShow;    // NO_SHOW 예약 수
+
+    @Column(nullable = false)
+    private long consultations; // 작성한 상담 기록 수
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;    // 마지막 반영 시각
+}
@@ -1,10 +1,16 @@
 package kitae.spring.health.doctor.repository;
 
+import jakarta.persistence.LockModeType;
 import kitae.spring.health.doctor.entity.Doctor;
 import kitae.spring.health.enums.Specialization;
 import kitae.spring.health.users.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +18,25 @@ public interface DoctorRepository extends JpaRepository<Doctor,Long> {
 
     Optional<Doctor> findByUser(User user);
 
+    // DTO 매핑 시 사용자 정보를 함께 조회 (N+1 방지)
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Doctor> findAll();
+
+    @EntityGraph(attributePaths = "user")
+    Optional<Doctor> findWithUserById(Long id);
+
     // 특정 분야의 의사 목록을 반환하는 메서드
+    @EntityGraph(attributePaths = "user")
     List<Doctor> findBySpecialization(Specialization specialization);
+
+    // 예약 변경 시 의사 행을 잠궈 여러 노드 간에도 같은 의사의 예약 처리를 직렬화
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Doctor d WHERE d.id = :doctorId")
+    Optional<Doctor> findByIdForUpdate(@Param("doctorId") Long doctorId);
+
+    // 일괄 예약 시 여러 의사 행을 ID 순서로 잠궈 노드 간 교착을 방지
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Doctor d WHERE d.id IN :doctorIds ORDER BY d.id")
+    List<Doctor> findAllByIdForUpdate(@Param("doctorIds") Collection<Long> doctorIds);
 }
@@ -0,0 +1,47 @@
+package kitae.spring.health.doctor.repository;
+
+import kitae.spring.health.doctor.entity.DoctorStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface DoctorStatsRepository extends JpaRepository<DoctorStats, Long> {
+
+    // 증감분을 더하는 UPDATE (행을 읽지 않으므로 여러 노드가 동시에 반영해도 값이 유실되지 않음)
+    @Modifying
+    @Query("UPDATE DoctorStats s " +
+            "SET s.upcoming = s.upcoming + :upcoming, " +
+            "s.completed = s.completed + :completed, " +
+            "s.cancelled = s.cancelled + :cancelled, " +
+            "s.noShow = s.noShow + :noShow, " +
+            "s.consultations = s.consultations + :consultations, " +
+            "s.updatedAt = :now " +
+            "WHERE s.doctorId = :doctorId")
+    int applyDeltas(
+            @Param("doctorId") Long doctorId,
+            @Param("upcoming") long upcoming,
+            @Param("completed") long completed,
+            @Param("cancelled") long cancelled,
+            @Param("noShow") long noShow,
+            @Param("consultations") long consultations,
+            @Param("now") LocalDateTime now
+    );
+
+    // 최초 집계 결과 저장 (이미 행이 있으면 아무것도 하지 않음, 동시에 처음 조회한 요청이 덮어쓰지 않도록)
+    @Modifying
+    @Query("INSERT INTO DoctorStats (doctorId, upcoming, completed, cancelled, noShow, consultations, updatedAt) " +
+            "VALUES (:doctorId, :upcoming, :completed, :cancelled, :noShow, :consultations, :now) " +
+            "ON CONFLICT DO NOTHING")
+    int insertIfAbsent(
+            @Param("doctorId") Long doctorId,
+            @Param("upcoming") long upcoming,
+            @Param("completed") long completed,
+            @Param("cancelled") long cancelled,
+            @Param("noShow") long noShow,
+            @Param("consultations") long consultations,
+            @Param("now") LocalDateTime now
+    );
+}
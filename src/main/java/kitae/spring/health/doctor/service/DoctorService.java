@@ -1,9 +1,23 @@
 package kitae.spring.health.doctor.service;
 
+import kitae.spring.health.appointment.dto.AppointmentSlot;
+import kitae.spring.health.appointment.dto.StatusCount;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.appointment.repository.ArchivedAppointmentRepository;
+import kitae.spring.health.appointment.service.AppointmentConflictIndex;
+import kitae.spring.health.appointment.service.OccupancyBitmap;
+import kitae.spring.health.appointment.service.SchedulingRules;
+import kitae.spring.health.consultation.repository.ConsultationRespository;
+import kitae.spring.health.doctor.dto.AvailabilitySlotDTO;
 import kitae.spring.health.doctor.dto.DoctorDTO;
+import kitae.spring.health.doctor.dto.DoctorStatsDTO;
 import kitae.spring.health.doctor.entity.Doctor;
+import kitae.spring.health.doctor.entity.DoctorStats;
 import kitae.spring.health.doctor.repository.DoctorRepository;
+import kitae.spring.health.doctor.repository.DoctorStatsRepository;
+import kitae.spring.health.enums.AppointmentStatus;
 import kitae.spring.health.enums.Specialization;
+import kitae.spring.health.exceptions.BadRequestException;
 import kitae.spring.health.exceptions.NotFoundException;
 import kitae.spring.health.response.Response;
 import kitae.spring.health.users.entity.User;
@@ -13,10 +27,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -27,11 +50,21 @@ public class DoctorService {
     private final DoctorRepository doctorRepository;
     private final UserService userService;
     private final ModelMapper modelMapper;
+    private final AppointmentConflictIndex appointmentConflictIndex;
+    private final DoctorStatsRepository doctorStatsRepository;
+    private final DoctorStatsRecorder doctorStatsRecorder;
+    private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final ConsultationRespository consultationRespository;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int MAX_AVAILABILITY_DAYS = 14; // 한 번에 조회 가능한 최대 기간(일)
 
     /**
      * 의사 프로필 가져오기
      * @return
      */
+    @Transactional(readOnly = true)
     public Response<DoctorDTO> getDoctorProfile() {
 
         User user = userService.getCurrentUser();
@@ -51,6 +84,7 @@ public class DoctorService {
      * @param doctorDTO
      * @return
      */
+    @Transactional
     public Response<?> updateDoctorProfile(DoctorDTO doctorDTO) {
 
         User user = userService.getCurrentUser();
@@ -76,10 +110,69 @@ public class DoctorService {
                 .build();
     }
 
+    /**
+     * 내 예약/상담 통계 조회
+     * - doctor_stats 에서 의사 ID 로 한 번 조회 (증감분은 DoctorStatsRecorder 가 주기적으로 반영)
+     * - 통계 행이 없으면(처음 조회) 예약/보관/상담 테이블에서 한 번 집계하여 생성
+     * @return
+     */
+    public Response<DoctorStatsDTO> getMyStats() {
+
+        User user = userService.getCurrentUser();
+
+        Long doctorId = doctorRepository.findByUser(user)
+                .map(Doctor::getId)
+                .orElseThrow(() -> new NotFoundException("의사 프로필을 찾을 수 없습니다."));
+
+        DoctorStats stats = doctorStatsRepository.findById(doctorId)
+                .orElseGet(() -> seedStats(doctorId));
+
+        return Response.<DoctorStatsDTO>builder()
+                .statusCode(200)
+                .message("의사 통계 조회를 성공했습니다.")
+                .data(modelMapper.map(stats, DoctorStatsDTO.class))
+                .build();
+    }
+
+    /**
+     * 의사 통계 최초 집계
+     * - 집계 직전에 반영 전 증감분을 꺼내 두고(집계 결과에 포함됨), 이후 증감분은 행이 생긴 뒤 반영
+     * - 행이 없을 때만 INSERT 하므로 동시에 처음 조회한 요청이 있으면 먼저 만든 행을 사용 (꺼낸 증감분은 되돌림)
+     * @param doctorId
+     * @return
+     */
+    private DoctorStats seedStats(Long doctorId) {
+        long[] snapshot = doctorStatsRecorder.beginSeed(doctorId);
+        boolean seeded = false;
+        try {
+            seeded = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                Map<AppointmentStatus, Long> counts = new HashMap<>();
+                List<StatusCount> rows = new ArrayList<>(appointmentRepository.countByStatusForDoctor(doctorId));
+                rows.addAll(archivedAppointmentRepository.countByStatusForDoctor(doctorId));
+                for(StatusCount row : rows){
+                    counts.merge(row.getStatus(), row.getCount(), Long::sum);
+                }
+
+                return doctorStatsRepository.insertIfAbsent(doctorId,
+                        counts.getOrDefault(AppointmentStatus.SCHEDULED, 0L),
+                        counts.getOrDefault(AppointmentStatus.COMPLETED, 0L),
+                        counts.getOrDefault(AppointmentStatus.CANCELLED, 0L),
+                        counts.getOrDefault(AppointmentStatus.NO_SHOW, 0L),
+                        consultationRespository.countByAppointmentDoctorId(doctorId),
+                        LocalDateTime.now()) > 0;
+            }));
+        } finally {
+            doctorStatsRecorder.finishSeed(doctorId, snapshot, seeded);
+        }
+        return doctorStatsRepository.findById(doctorId)
+                .orElseThrow(() -> new NotFoundException("의사 통계를 찾을 수 없습니다."));
+    }
+
     /**
      * 모든 의사 정보 가져오기
      * @return
      */
+    @Transactional(readOnly = true)
     public Response<List<DoctorDTO>> getAllDoctors() {
         List<Doctor> doctors = doctorRepository.findAll();
 
@@ -99,9 +192,10 @@ public class DoctorService {
      * @param doctorId
      * @return
      */
+    @Transactional(readOnly = true)
     public Response<DoctorDTO> getDoctorById(Long doctorId) {
 
-        Doctor doctor = doctorRepository.findById(doctorId)
+        Doctor doctor = doctorRepository.findWithUserById(doctorId)
                 .orElseThrow(() -> new NotFoundException("의사를 찾을 수 없습니다. ID: " + doctorId));
 
         return Response.<DoctorDTO>builder()
@@ -116,6 +210,7 @@ public class DoctorService {
      * @param specialization
      * @return
      */
+    @Transactional(readOnly = true)
     public Response<List<DoctorDTO>> searchDoctorsBySpecialization(Specialization specialization) {
 
         List<Doctor> doctors = doctorRepository.findBySpecialization(specialization);
@@ -149,4 +244,121 @@ public class DoctorService {
                 .data(specializations)
                 .build();
     }
+
+    /**
+     * 의사의 예약 가능 시간 조회
+     * - 의사별 예약 인덱스에서 기간 내 예약을 가져와 일 단위 분(minute) 비트맵에 (예약 + 버퍼) 구간을 표시
+     * - step 간격의 후보 시작 시간 중 [시작, 시작 + 진료 시간) 비트가 모두 비어 있는 시간만 반환
+     * @param doctorId
+     * @param from
+     * @param to
+     * @param durationMinutes
+     * @param stepMinutes
+     * @return
+     */
+    public Response<List<AvailabilitySlotDTO>> getDoctorAvailability(Long doctorId, LocalDateTime from, LocalDateTime to,
+                                                                    Integer durationMinutes, int stepMinutes) {
+
+        if(!doctorRepository.existsById(doctorId)){
+            throw new NotFoundException("의사를 찾을 수 없습니다. ID: " + doctorId);
+        }
+
+        int duration = SchedulingRules.durationOrDefault(durationMinutes);
+        if(duration < SchedulingRules.MIN_DURATION_MINUTES || duration > SchedulingRules.MAX_DURATION_MINUTES){
+            throw new BadRequestException("진료 시간은 " + SchedulingRules.MIN_DURATION_MINUTES + "분에서 "
+                    + SchedulingRules.MAX_DURATION_MINUTES + "분 사이여야 합니다.");
+        }
+        if(stepMinutes < 5 || stepMinutes > 240){
+            throw new BadRequestException("조회 간격은 5분에서 240분 사이여야 합니다.");
+        }
+
+        LocalDateTime rangeStart = from != null ? from : LocalDateTime.now();
+        LocalDateTime rangeEnd = to != null ? to : rangeStart.plusDays(7);
+        if(!rangeEnd.isAfter(rangeStart)){
+            throw new BadRequestException("조회 종료 시간은 시작 시간 이후여야 합니다.");
+        }
+        if(Duration.between(rangeStart, rangeEnd).compareTo(Duration.ofDays(MAX_AVAILABILITY_DAYS)) > 0){
+            throw new BadRequestException("예약 가능 시간은 최대 " + MAX_AVAILABILITY_DAYS + "일 범위까지 조회할 수 있습니다.");
+        }
+
+        // 기존 예약 e 에 대해 [e.start, e.end + 버퍼) 구간을 점유로 표시하면
+        // "새 예약 [t, t + d) 가 비어 있음" == 기존 충돌 규칙(e.start < t + d && e.end > t - 버퍼)을 만족하지 않음
+        Map<LocalDate, OccupancyBitmap> days = new HashMap<>();
+        List<AppointmentSlot> booked = appointmentConflictIndex.findSlots(doctorId,
+                rangeStart.minusMinutes(SchedulingRules.BUFFER_MINUTES), rangeEnd.plusMinutes(duration));
+        for(AppointmentSlot slot : booked){
+            occupy(days, slot.getStartTime(), slot.getEndTime().plusMinutes(SchedulingRules.BUFFER_MINUTES));
+        }
+
+        // 최소 예약 가능 시간(현재 + 1시간) 이후, step 단위로 정렬된 첫 후보부터 검사
+        LocalDateTime earliest = LocalDateTime.now().plusMinutes(SchedulingRules.MIN_LEAD_MINUTES);
+        LocalDateTime candidate = alignUp(rangeStart.isAfter(earliest) ? rangeStart : earliest, stepMinutes);
+
+        List<AvailabilitySlotDTO> slots = new ArrayList<>();
+        while(candidate.isBefore(rangeEnd)){
+            LocalDateTime candidateEnd = candidate.plusMinutes(duration);
+            if(isFree(days, candidate, candidateEnd)){
+                slots.add(AvailabilitySlotDTO.builder()
+                        .startTime(candidate)
+                        .endTime(candidateEnd)
+                        .build());
+            }
+            candidate = candidate.plusMinutes(stepMinutes);
+        }
+
+        return Response.<List<AvailabilitySlotDTO>>builder()
+                .statusCode(200)
+                .message("의사의 예약 가능 시간 조회를 성공했습니다.")
+                .data(slots)
+                .build();
+    }
+
+    /**
+     * [start, end) 구간을 날짜별 비트맵에 점유로 표시 (자정을 넘기는 구간은 나누어 표시)
+     */
+    private void occupy(Map<LocalDate, OccupancyBitmap> days, LocalDateTime start, LocalDateTime end) {
+        LocalDate day = start.toLocalDate();
+        while(day.atStartOfDay().isBefore(end)){
+            int from = minuteOfDay(day, start);
+            int to = minuteOfDay(day, end);
+            days.computeIfAbsent(day, d -> new OccupancyBitmap()).occupy(from, to);
+            day = day.plusDays(1);
+        }
+    }
+
+    /**
+     * [start, end) 구간이 날짜별 비트맵에서 모두 비어 있는지 확인
+     */
+    private boolean isFree(Map<LocalDate, OccupancyBitmap> days, LocalDateTime start, LocalDateTime end) {
+        LocalDate day = start.toLocalDate();
+        while(day.atStartOfDay().isBefore(end)){
+            OccupancyBitmap bitmap = days.get(day);
+            if(bitmap != null && !bitmap.isFree(minuteOfDay(day, start), minuteOfDay(day, end))){
+                return false;
+            }
+            day = day.plusDays(1);
+        }
+        return true;
+    }
+
+    /**
+     * 주어진 날짜 기준 분(minute) 오프셋, 하루 범위를 벗어나면 0 또는 1440으로 고정
+     */
+    private int minuteOfDay(LocalDate day, LocalDateTime time) {
+        long minutes = Duration.between(day.atStartOfDay(), time).toMinutes();
+        return (int) Math.max(0, Math.min(OccupancyBitmap.MINUTES_PER_DAY, minutes));
+    }
+
+    /**
+     * 자정 기준 step 분 단위로 올림
+     */
+    private LocalDateTime alignUp(LocalDateTime time, int stepMinutes) {
+        LocalDateTime truncated = time.truncatedTo(ChronoUnit.MINUTES);
+        if(truncated.isBefore(time)){
+            truncated = truncated.plusMinutes(1);
+        }
+        int minuteOfDay = truncated.getHour() * 60 + truncated.getMinute();
+        int remainder = minuteOfDay % stepMinutes;
+        return remainder == 0 ? truncated : truncated.plusMinutes(stepMinutes - remainder);
+    }
 }
@@ -0,0 +1,240 @@
+package kitae.spring.health.doctor.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import kitae.spring.health.doctor.repository.DoctorStatsRepository;
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.support.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 의사별 통계 증감분 기록기
+ * - 예약 상태 변경/상담 기록 시 커밋 이후 메모리의 LongAdder 에 증감분만 누적 (요청 경로에서 통계 행을 잠그지 않음)
+ * - flush-interval 마다 의사별 누적분을 한 트랜잭션에서 UPDATE ... SET x = x + :d 로 반영하고, 실패하면 다시 누적
+ * - 통계 행이 아직 없는 의사(처음 조회 전)의 증감분은 버림 (처음 조회할 때 전체를 다시 집계하므로)
+ * - 처음 조회하여 집계하는 동안에는 집계 직전의 증감분만 꺼내 두고, 이후 증감분은 행이 생길 때까지 보관했다가 반영
+ * - 반영 주기만큼 늦게 보이는 대시보드용 값이며, 비정상 종료 시 반영 전 증감분은 유실될 수 있음
+ */
+@Component
+@Slf4j
+public class DoctorStatsRecorder {
+
+    private static final int UPCOMING_IDX = 0;
+    private static final int COMPLETED_IDX = 1;
+    private static final int CANCELLED_IDX = 2;
+    private static final int NO_SHOW_IDX = 3;
+    private static final int CONSULTATIONS_IDX = 4;
+    private static final int FIELD_COUNT = 5;
+
+    private final DoctorStatsRepository doctorStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, LongAdder[]> pending = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> seeding = new ConcurrentHashMap<>();    // 최초 집계 중인 의사 (동시 집계 수)
+
+    private final Timer flushTimer;
+    private final Counter flushedRows;
+
+    public DoctorStatsRecorder(DoctorStatsRepository doctorStatsRepository,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry) {
+        this.doctorStatsRepository = doctorStatsRepository;
+        this.transactionTemplate = transactionTemplate;
+
+        this.flushTimer = Timer.builder("doctor.stats.flush.duration")
+                .description("의사 통계 증감분 반영 1회 소요 시간")
+                .register(meterRegistry);
+        this.flushedRows = Counter.builder("doctor.stats.flushed")
+                .description("증감분을 반영한 의사 통계 행 누적 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 예약 상태 변경 기록 (트랜잭션 안에서 호출되면 커밋 이후 반영)
+     * @param doctorId
+     * @param from 이전 상태 (새 예약이면 null)
+     * @param to 변경된 상태
+     */
+    public void statusChanged(Long doctorId, AppointmentStatus from, AppointmentStatus to) {
+        if(doctorId == null || from == to){
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            LongAdder[] adders = adders(doctorId);
+            int fromField = field(from);
+            int toField = field(to);
+            if(fromField >= 0){
+                adders[fromField].decrement();
+            }
+            if(toField >= 0){
+                adders[toField].increment();
+            }
+        });
+    }
+
+    /**
+     * 상담 기록 작성 기록 (트랜잭션 안에서 호출되면 커밋 이후 반영)
+     * @param doctorId
+     */
+    public void consultationRecorded(Long doctorId) {
+        if(doctorId == null){
+            return;
+        }
+        TransactionHooks.afterCommit(() -> adders(doctorId)[CONSULTATIONS_IDX].increment());
+    }
+
+    /**
+     * 최초 집계 시작 (집계 쿼리 직전에 호출)
+     * - 지금까지의 증감분은 집계 결과에 포함되므로 꺼내서 돌려줌
+     * - finishSeed 전까지는 통계 행이 없어도 이후 증감분을 버리지 않음
+     * @param doctorId
+     * @return 꺼낸 증감분 (없으면 null)
+     */
+    public long[] beginSeed(Long doctorId) {
+        seeding.merge(doctorId, 1, Integer::sum);
+        LongAdder[] adders = pending.get(doctorId);
+        return adders != null ? drain(adders) : null;
+    }
+
+    /**
+     * 최초 집계 종료
+     * @param doctorId
+     * @param snapshot beginSeed 가 돌려준 증감분
+     * @param seeded 이 요청이 통계 행을 만들었는지 여부 (다른 요청이 먼저 만들었거나 실패했으면 꺼낸 증감분을 되돌림)
+     */
+    public void finishSeed(Long doctorId, long[] snapshot, boolean seeded) {
+        if(!seeded && snapshot != null){
+            restore(doctorId, snapshot);
+        }
+        seeding.computeIfPresent(doctorId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * 누적된 증감분을 통계 테이블에 반영 (이전 실행이 끝난 뒤 flush-interval 만큼 쉬고 다시 실행)
+     * @return 반영한 통계 행 수
+     */
+    @Scheduled(initialDelayString = "${doctor.stats.flush-interval:PT5S}",
+            fixedDelayString = "${doctor.stats.flush-interval:PT5S}")
+    public synchronized int flush() {
+        // 의사 ID 순으로 반영하여 여러 노드가 동시에 반영해도 행 잠금 순서가 같음
+        Map<Long, long[]> drained = new TreeMap<>();
+        for(Map.Entry<Long, LongAdder[]> entry : pending.entrySet()){
+            long[] deltas = drain(entry.getValue());
+            if(deltas != null){
+                drained.put(entry.getKey(), deltas);
+            }
+        }
+        if(drained.isEmpty()){
+            return 0;
+        }
+
+        long begin = System.nanoTime();
+        int applied;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            applied = transactionTemplate.execute(status -> {
+                int rows = 0;
+                List<Long> missing = new ArrayList<>();
+                for(Map.Entry<Long, long[]> entry : drained.entrySet()){
+                    long[] d = entry.getValue();
+                    int updated = doctorStatsRepository.applyDeltas(entry.getKey(),
+                            d[UPCOMING_IDX], d[COMPLETED_IDX], d[CANCELLED_IDX], d[NO_SHOW_IDX], d[CONSULTATIONS_IDX], now);
+                    if(updated == 0){
+                        missing.add(entry.getKey());
+                    }
+                    rows += updated;
+                }
+                for(Long doctorId : missing){
+                    if(seeding.containsKey(doctorId)){
+                        restore(doctorId, drained.get(doctorId));  // 집계 중이면 행이 생긴 뒤 반영
+                    } else {
+                        pending.remove(doctorId);   // 아직 통계 행이 없는 의사는 처음 조회 시 전체 집계
+                    }
+                }
+                return rows;
+            });
+        } catch (RuntimeException e) {
+            // 반영하지 못한 증감분은 다음 실행에서 다시 시도
+            drained.forEach(this::restore);
+            log.warn("의사 통계 반영 실패 ({}명, 다음 실행에서 재시도)", drained.size(), e);
+            return 0;
+        }
+
+        long elapsedNanos = System.nanoTime() - begin;
+        flushTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        flushedRows.increment(applied);
+        log.debug("의사 통계 반영 완료: {}건 ({} ms)", applied, elapsedNanos / 1_000_000);
+        return applied;
+    }
+
+    /**
+     * 종료 전 남은 증감분 반영
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private LongAdder[] adders(Long doctorId) {
+        return pending.computeIfAbsent(doctorId, id -> {
+            LongAdder[] adders = new LongAdder[FIELD_COUNT];
+            for(int i = 0; i < FIELD_COUNT; i++){
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        });
+    }
+
+    private void restore(Long doctorId, long[] deltas) {
+        LongAdder[] adders = adders(doctorId);
+        for(int i = 0; i < FIELD_COUNT; i++){
+            adders[i].add(deltas[i]);
+        }
+    }
+
+    /**
+     * 누적값을 꺼내고 꺼낸 만큼만 빼서 0 으로 만듦 (꺼내는 도중 더해진 값은 다음 실행으로 넘어감)
+     * @param adders
+     * @return 모두 0 이면 null
+     */
+    private long[] drain(LongAdder[] adders) {
+        long[] deltas = new long[FIELD_COUNT];
+        boolean changed = false;
+        for(int i = 0; i < FIELD_COUNT; i++){
+            long value = adders[i].sum();
+            if(value != 0){
+                adders[i].add(-value);
+                deltas[i] = value;
+                changed = true;
+            }
+        }
+        return changed ? deltas : null;
+    }
+
+    private int field(AppointmentStatus status) {
+        if(status == null){
+            return -1;
+        }
+        return switch(status){
+            case SCHEDULED -> UPCOMING_IDX;
+            case COMPLETED -> COMPLETED_IDX;
+            case CANCELLED -> CANCELLED_IDX;
+            case NO_SHOW -> NO_SHOW_IDX;
+            default -> -1;
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package kitae.spring.health.enums;
+
+public enum AppointmentEventType {
+  BOOKED, // 예약 등록 (대기자 배정 포함)
+  CANCELLED, // 예약 취소
+  RANGE_CANCELLED, // 의사가 시간 범위의 예약을 일괄 취소 (환자에게만 알림)
+  RESCHEDULED, // 예약 시간 변경 (이전 시작 시간을 함께 기록)
+  COMPLETED, // 진료 완료
+  NO_SHOW // 예약 시간이 지나 NO_SHOW 처리됨
+}
@@ -0,0 +1,7 @@
+package kitae.spring.health.enums;
+
+public enum AppointmentScope {
+  UPCOMING, // 현재 시각 이후 예약 (시작 시간 오름차순)
+  PAST, // 현재 시각 이전 예약 (시작 시간 내림차순)
+  ALL // 전체 예약 (시작 시간 내림차순)
+}
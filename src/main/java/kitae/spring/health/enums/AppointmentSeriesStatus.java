@@ -0,0 +1,6 @@
+package kitae.spring.health.enums;
+
+public enum AppointmentSeriesStatus {
+  ACTIVE, // 진행 중 (남은 회차가 있음)
+  CANCELLED // 전체 취소됨
+}
@@ -0,0 +1,7 @@
+package kitae.spring.health.enums;
+
+public enum EmailStatus {
+  PENDING, // 발송 대기 (next_attempt_at 이후 발송)
+  SENDING, // 발송기가 가져가서 발송 중 (locked_until 까지 다른 발송기가 가져가지 않음)
+  DEAD // 최대 시도 횟수를 넘겨 발송 포기 (관리자가 재발송 요청 시 PENDING 으로 되돌림)
+}
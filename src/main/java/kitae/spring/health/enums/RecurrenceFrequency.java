@@ -0,0 +1,7 @@
+package kitae.spring.health.enums;
+
+public enum RecurrenceFrequency {
+  DAILY, // 매일
+  WEEKLY, // 매주
+  MONTHLY // 매월 (같은 날짜, 없는 날짜는 그 달의 마지막 날)
+}
@@ -0,0 +1,8 @@
+package kitae.spring.health.enums;
+
+public enum WaitlistStatus {
+  WAITING, // 빈 시간대 대기 중
+  ASSIGNED, // 취소된 시간대에 예약이 배정됨
+  CANCELLED, // 환자가 대기 취소
+  EXPIRED // 희망 시간대가 지남
+}
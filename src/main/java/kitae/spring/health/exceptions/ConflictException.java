@@ -0,0 +1,8 @@
+package kitae.spring.health.exceptions;
+
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,7 @@
 package kitae.spring.health.exceptions;
 
 import kitae.spring.health.response.Response;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -36,4 +37,23 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<Response<?>> handleConflictException(ConflictException ex){
+        Response<?> response = Response.builder()
+                .statusCode(HttpStatus.CONFLICT.value()) //409
+                .message(ex.getMessage())
+                .build();
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    // @Version 충돌 (다른 요청이 먼저 같은 데이터를 변경함)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Response<?>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex){
+        Response<?> response = Response.builder()
+                .statusCode(HttpStatus.CONFLICT.value()) //409
+                .message("다른 요청이 먼저 변경했습니다. 최신 정보를 확인한 뒤 다시 시도해주세요.")
+                .build();
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
 }
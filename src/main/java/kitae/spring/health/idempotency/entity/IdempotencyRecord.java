@@ -0,0 +1,55 @@
+package kitae.spring.health.idempotency.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key 요청의 첫 응답 (사용자 + 키 단위)
+ * - statusCode 가 null 이면 처리 중인 요청 (다른 노드의 중복 요청을 막기 위한 선점 행)
+ * - claimToken 은 선점할 때마다 새로 발급되며, 응답 저장과 선점 해제는 이 토큰을 가진 요청만 할 수 있음
+ * - expiresAt 이 지나면 같은 키로 새 요청을 처리할 수 있음
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "idempotency_records",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_user_key", columnNames = {"user_id", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_expires", columnList = "expires_at"))
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;    // 요청한 사용자 ID
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;  // 클라이언트가 보낸 Idempotency-Key
+
+    @Column(nullable = false, length = 64)
+    private String requestHash; // 요청(메서드 + 경로 + 본문) SHA-256
+
+    @Column(length = 36)
+    private String claimToken;  // 선점 토큰 (다시 선점되면 바뀜)
+
+    private Integer statusCode; // 첫 응답의 HTTP 상태 (처리 중이면 null)
+
+    private String contentType; // 첫 응답의 Content-Type
+
+    @Lob
+    private String responseBody;    // 첫 응답 본문
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;    // 선점(처리 시작) 시각
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;    // 보관 만료 시각
+}
@@ -0,0 +1,240 @@
+package kitae.spring.health.idempotency.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import kitae.spring.health.idempotency.service.IdempotencyStore;
+import kitae.spring.health.idempotency.service.IdempotencyStore.Claim;
+import kitae.spring.health.idempotency.service.IdempotencyStore.StoredResponse;
+import kitae.spring.health.response.Response;
+import kitae.spring.health.security.AuthUser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Idempotency-Key 헤더 처리 필터 (예약 등록, 상담 기록 작성 POST)
+ * - 같은 사용자가 같은 키로 다시 보낸 요청은 컨트롤러/서비스를 거치지 않고 첫 응답을 그대로 재전송 (Idempotent-Replayed: true)
+ * - 첫 요청이 아직 처리 중이거나 같은 키로 내용이 다른 요청을 보내면 409
+ * - 5xx 응답이나 예외는 저장하지 않고 선점을 해제하여 같은 키로 다시 시도할 수 있게 함
+ * - 인증 이후에 실행되어야 하므로 SecurityFilter 에서 AuthFilter 다음에 등록
+ */
+@Component
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    @Value("${idempotency.enabled:true}")
+    private boolean enabled;
+
+    @Value("${idempotency.paths:/api/appointments,/api/consultations}")
+    private List<String> paths;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, ObjectMapper objectMapper) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"POST".equalsIgnoreCase(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !paths.contains(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        Long userId = currentUserId();
+        if(userId == null){
+            // 인증되지 않은 요청은 이후 인가 단계에서 거절됨
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(HEADER).trim();
+        if(!StringUtils.hasText(key) || key.length() > MAX_KEY_LENGTH){
+            writeError(response, HttpStatus.BAD_REQUEST, HEADER + " 헤더는 1자 이상 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String requestHash = hash(request.getMethod(), path(request), cachedRequest.body);
+
+        Claim claim = idempotencyStore.begin(userId, key, requestHash);
+        switch(claim.status()){
+            case REPLAY -> {
+                writeReplay(response, claim.response());
+                return;
+            }
+            case IN_PROGRESS -> {
+                writeError(response, HttpStatus.CONFLICT, "같은 " + HEADER + " 요청이 처리 중입니다. 잠시 후 다시 시도해주세요.");
+                return;
+            }
+            case MISMATCH -> {
+                writeError(response, HttpStatus.CONFLICT, "같은 " + HEADER + " 로 다른 내용의 요청을 보낼 수 없습니다.");
+                return;
+            }
+            case ACQUIRED -> {
+            }
+        }
+
+        ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(cachedRequest, cachedResponse);
+
+            int status = cachedResponse.getStatus();
+            if(status < 500){
+                String body = new String(cachedResponse.getContentAsByteArray(), StandardCharsets.UTF_8);
+                idempotencyStore.complete(userId, key, claim.token(),
+                        idempotencyStore.newResponse(requestHash, status, cachedResponse.getContentType(), body));
+                stored = true;
+            }
+        } finally {
+            if(!stored){
+                idempotencyStore.release(userId, key, claim.token());
+            }
+            cachedResponse.copyBodyToResponse();
+        }
+    }
+
+    private String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if(authentication != null && authentication.getPrincipal() instanceof AuthUser authUser){
+            return authUser.getUser().getId();
+        }
+        return null;
+    }
+
+    private void writeReplay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.statusCode());
+        if(stored.contentType() != null){
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        byte[] body = stored.body() != null ? stored.body().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        Response<?> errorResponse = Response.builder()
+                .statusCode(status.value())
+                .message(message)
+                .build();
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setStatus(status.value());
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+
+    /**
+     * 요청 지문 (메서드 + 경로 + 본문 SHA-256)
+     */
+    private String hash(String method, String path, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((method + " " + path + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 본문을 미리 읽어 두고 다시 읽을 수 있게 하는 요청 래퍼 (지문 계산 후 컨트롤러에서 다시 읽음)
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // 본문은 이미 메모리에 있으므로 리스너를 바로 호출 (비동기 읽기도 그대로 동작)
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if(!isFinished()){
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package kitae.spring.health.idempotency.repository;
+
+import kitae.spring.health.idempotency.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    // 처리 완료 시 응답 저장 (선점한 요청만, 그 사이 다른 요청이 다시 선점했으면 0건)
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r " +
+            "SET r.statusCode = :statusCode, r.contentType = :contentType, r.responseBody = :responseBody " +
+            "WHERE r.userId = :userId AND r.idempotencyKey = :idempotencyKey " +
+            "AND r.claimToken = :claimToken AND r.statusCode IS NULL")
+    int complete(
+            @Param("userId") Long userId,
+            @Param("idempotencyKey") String idempotencyKey,
+            @Param("claimToken") String claimToken,
+            @Param("statusCode") Integer statusCode,
+            @Param("contentType") String contentType,
+            @Param("responseBody") String responseBody
+    );
+
+    // 만료되었거나 처리 중인 채로 방치된(노드 중단 등) 행을 다시 선점
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r " +
+            "SET r.requestHash = :requestHash, r.claimToken = :claimToken, r.statusCode = null, r.contentType = null, r.responseBody = null, " +
+            "r.createdAt = :now, r.expiresAt = :expiresAt " +
+            "WHERE r.id = :id " +
+            "AND (r.expiresAt < :now OR (r.statusCode IS NULL AND r.createdAt < :staleBefore))")
+    int takeOver(
+            @Param("id") Long id,
+            @Param("requestHash") String requestHash,
+            @Param("claimToken") String claimToken,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("staleBefore") LocalDateTime staleBefore
+    );
+
+    // 처리 실패(5xx 등) 시 선점 해제 (선점한 요청만, 다른 요청이 다시 선점한 행은 지우지 않음)
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r " +
+            "WHERE r.userId = :userId AND r.idempotencyKey = :idempotencyKey " +
+            "AND r.claimToken = :claimToken AND r.statusCode IS NULL")
+    int release(@Param("userId") Long userId,
+                @Param("idempotencyKey") String idempotencyKey,
+                @Param("claimToken") String claimToken);
+
+    // 만료된 행 정리 (idx_idempotency_expires 사용)
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,268 @@
+package kitae.spring.health.idempotency.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import kitae.spring.health.idempotency.entity.IdempotencyRecord;
+import kitae.spring.health.idempotency.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Idempotency-Key 응답 저장소
+ * - 완료된 응답은 크기가 제한된 메모리 LRU 에 먼저 두고, 없을 때만 idempotency_records 테이블 조회
+ * - 처리 중인 키는 노드 내부에서는 메모리 집합으로, 노드 간에는 (사용자, 키) 유니크 제약의 선점 행으로 중복 실행을 막음
+ * - 처리 중인 채로 in-flight-timeout 이 지난 행(노드 중단 등)과 ttl 이 지난 행은 새 요청이 다시 선점
+ * - 선점마다 토큰을 새로 발급하므로, 다시 선점된 뒤에 끝난 느린 요청은 새 선점의 응답을 덮어쓰거나 선점을 지우지 못함
+ */
+@Service
+@Slf4j
+public class IdempotencyStore {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter replayedTotal;
+    private final Counter conflictTotal;
+
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+
+    private final Map<CacheKey, StoredResponse> completed;
+    private final Set<CacheKey> inFlight = ConcurrentHashMap.newKeySet();
+
+    public IdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${idempotency.in-flight-timeout:PT1M}") Duration inFlightTimeout,
+                            @Value("${idempotency.cache-size:10000}") int cacheSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+        this.inFlightTimeout = inFlightTimeout;
+
+        // 접근 순서 LinkedHashMap: 가장 오래 사용되지 않은 응답부터 제거
+        this.completed = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+
+        this.replayedTotal = Counter.builder("idempotency.replayed")
+                .description("저장된 응답을 재전송한 중복 요청 누적 수")
+                .register(meterRegistry);
+        this.conflictTotal = Counter.builder("idempotency.conflicts")
+                .description("처리 중이거나 요청 내용이 다른 키로 거절한 요청 누적 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청 처리 시작 (저장된 응답이 있으면 재전송 대상, 없으면 키를 선점)
+     * @param userId
+     * @param key
+     * @param requestHash
+     * @return
+     */
+    public Claim begin(Long userId, String key, String requestHash) {
+        CacheKey cacheKey = new CacheKey(userId, key);
+
+        StoredResponse cached = cached(cacheKey);
+        if(cached != null){
+            return replay(cached, requestHash);
+        }
+
+        if(!inFlight.add(cacheKey)){
+            conflictTotal.increment();
+            return Claim.of(ClaimStatus.IN_PROGRESS);
+        }
+
+        try {
+            Claim claim = claimInDatabase(cacheKey, requestHash);
+            if(claim.status() != ClaimStatus.ACQUIRED){
+                inFlight.remove(cacheKey);
+            }
+            return claim;
+        } catch (RuntimeException e) {
+            inFlight.remove(cacheKey);
+            throw e;
+        }
+    }
+
+    /**
+     * 처리 완료 응답 저장 (선점한 요청만 호출)
+     * - 그 사이 다른 요청이 다시 선점했으면 저장하지 않고 메모리에도 두지 않음
+     * @param userId
+     * @param key
+     * @param token 선점할 때 받은 토큰
+     * @param response
+     * @return 응답을 저장했는지 여부
+     */
+    public boolean complete(Long userId, String key, String token, StoredResponse response) {
+        CacheKey cacheKey = new CacheKey(userId, key);
+        try {
+            Integer updated = transactionTemplate.execute(status -> idempotencyRecordRepository.complete(
+                    userId, key, token, response.statusCode(), response.contentType(), response.body()));
+            if(updated == null || updated == 0){
+                log.warn("Idempotency-Key 선점이 다른 요청으로 넘어가 응답을 저장하지 않았습니다. (사용자 ID: {}, 키: {})", userId, key);
+                return false;
+            }
+            synchronized (completed) {
+                completed.put(cacheKey, response);
+            }
+            return true;
+        } finally {
+            inFlight.remove(cacheKey);
+        }
+    }
+
+    /**
+     * 선점 해제 (서버 오류 등으로 응답을 저장하지 않을 때, 같은 키로 다시 시도할 수 있음)
+     * - 그 사이 다른 요청이 다시 선점했으면 그 선점은 그대로 둠
+     * @param userId
+     * @param key
+     * @param token 선점할 때 받은 토큰
+     */
+    public void release(Long userId, String key, String token) {
+        CacheKey cacheKey = new CacheKey(userId, key);
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.release(userId, key, token));
+        } finally {
+            inFlight.remove(cacheKey);
+        }
+    }
+
+    /**
+     * 만료된 행 정리 (이전 실행이 끝난 뒤 purge-interval 만큼 쉬고 다시 실행)
+     */
+    @Scheduled(initialDelayString = "${idempotency.purge-interval:PT1H}",
+            fixedDelayString = "${idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer deleted = transactionTemplate.execute(status -> idempotencyRecordRepository.deleteExpired(now));
+        synchronized (completed) {
+            completed.values().removeIf(response -> response.expiresAt().isBefore(now));
+        }
+        if(deleted != null && deleted > 0){
+            log.info("만료된 Idempotency-Key 응답 정리: {}건", deleted);
+        }
+    }
+
+    private StoredResponse cached(CacheKey cacheKey) {
+        synchronized (completed) {
+            StoredResponse response = completed.get(cacheKey);
+            if(response != null && response.expiresAt().isBefore(LocalDateTime.now())){
+                completed.remove(cacheKey);
+                return null;
+            }
+            return response;
+        }
+    }
+
+    private Claim replay(StoredResponse response, String requestHash) {
+        if(!response.requestHash().equals(requestHash)){
+            conflictTotal.increment();
+            return Claim.of(ClaimStatus.MISMATCH);
+        }
+        replayedTotal.increment();
+        return new Claim(ClaimStatus.REPLAY, response, null);
+    }
+
+    /**
+     * 선점 행 INSERT, 이미 있으면 기존 행 상태에 따라 재전송/처리 중/재선점
+     */
+    private Claim claimInDatabase(CacheKey cacheKey, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        String token = UUID.randomUUID().toString();
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.saveAndFlush(
+                    IdempotencyRecord.builder()
+                            .userId(cacheKey.userId())
+                            .idempotencyKey(cacheKey.key())
+                            .requestHash(requestHash)
+                            .claimToken(token)
+                            .createdAt(now)
+                            .expiresAt(now.plus(ttl))
+                            .build()));
+            return Claim.acquired(token);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Idempotency-Key 선점 행이 이미 있음 (사용자 ID: {}, 키: {})", cacheKey.userId(), cacheKey.key());
+        }
+
+        return transactionTemplate.execute(status -> {
+            IdempotencyRecord record = idempotencyRecordRepository
+                    .findByUserIdAndIdempotencyKey(cacheKey.userId(), cacheKey.key())
+                    .orElse(null);
+            if(record == null){
+                // 그 사이 선점이 해제됨 - 클라이언트가 다시 시도하도록 처리 중으로 응답
+                conflictTotal.increment();
+                return Claim.of(ClaimStatus.IN_PROGRESS);
+            }
+
+            int taken = idempotencyRecordRepository.takeOver(record.getId(), requestHash, token,
+                    now, now.plus(ttl), now.minus(inFlightTimeout));
+            if(taken > 0){
+                return Claim.acquired(token);
+            }
+
+            if(record.getStatusCode() == null){
+                conflictTotal.increment();
+                return Claim.of(ClaimStatus.IN_PROGRESS);
+            }
+
+            StoredResponse response = new StoredResponse(record.getRequestHash(), record.getStatusCode(),
+                    record.getContentType(), record.getResponseBody(), record.getExpiresAt());
+            synchronized (completed) {
+                completed.put(cacheKey, response);
+            }
+            return replay(response, requestHash);
+        });
+    }
+
+    public StoredResponse newResponse(String requestHash, int statusCode, String contentType, String body) {
+        return new StoredResponse(requestHash, statusCode, contentType, body, LocalDateTime.now().plus(ttl));
+    }
+
+    public enum ClaimStatus {
+        ACQUIRED,   // 선점 성공 - 요청을 처리해야 함
+        REPLAY,     // 저장된 응답 재전송
+        IN_PROGRESS,    // 같은 키 요청이 처리 중
+        MISMATCH    // 같은 키로 다른 요청을 보냄
+    }
+
+    /**
+     * 처리 시작 결과
+     * @param status
+     * @param response 재전송할 응답 (REPLAY 일 때만)
+     * @param token 선점 토큰 (ACQUIRED 일 때만, 응답 저장과 선점 해제에 사용)
+     */
+    public record Claim(ClaimStatus status, StoredResponse response, String token) {
+
+        static Claim of(ClaimStatus status) {
+            return new Claim(status, null, null);
+        }
+
+        static Claim acquired(String token) {
+            return new Claim(ClaimStatus.ACQUIRED, null, token);
+        }
+    }
+
+    public record StoredResponse(String requestHash, int statusCode, String contentType, String body,
+                                 LocalDateTime expiresAt) {
+    }
+
+    private record CacheKey(Long userId, String key) {
+    }
+}
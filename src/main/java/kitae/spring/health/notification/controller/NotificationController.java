@@ -0,0 +1,30 @@
+package kitae.spring.health.notification.controller;
+
+import kitae.spring.health.notification.dto.QueuedEmailDTO;
+import kitae.spring.health.notification.service.NotificationService;
+import kitae.spring.health.response.Response;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/notifications")
+@PreAuthorize("hasAuthority('ADMIN')")
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    @GetMapping("/dead-letters")
+    public ResponseEntity<Response<List<QueuedEmailDTO>>> getDeadLetters(@RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(notificationService.getDeadLetters(size));
+    }
+
+    @PostMapping("/dead-letters/replay")
+    public ResponseEntity<Response<Integer>> replayDeadLetters(@RequestBody(required = false) List<Long> ids) {
+        return ResponseEntity.ok(notificationService.replayDeadLetters(ids));
+    }
+}
@@ -0,0 +1,33 @@
+package kitae.spring.health.notification.dto;
+
+import kitae.spring.health.enums.EmailStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메일 큐 항목 (관리자 조회용, 본문 제외)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QueuedEmailDTO {
+
+    private Long id;    // 아이디
+
+    private String recipient;   // 수신자
+
+    private String subject; // 제목
+
+    private String templateName;    // 사용한 템플릿
+
+    private EmailStatus status; // 발송 상태
+
+    private int attempts;   // 발송 시도 횟수
+
+    private String lastError;   // 마지막 발송 실패 사유
+
+    private LocalDateTime createdAt;    // 등록 시각
+}
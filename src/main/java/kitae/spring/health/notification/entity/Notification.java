@@ -21,8 +21,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Notification extends BaseEntity {
 
+    // 시퀀스(pooled, 50개 단위 할당)로 ID 를 미리 받아 INSERT 를 JDBC 배치로 묶을 수 있도록 함 (IDENTITY 는 배치 불가)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;    // 아이디
 
     private String subject; // 제목
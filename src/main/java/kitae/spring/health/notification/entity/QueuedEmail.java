@@ -0,0 +1,70 @@
+package kitae.spring.health.notification.entity;
+
+import jakarta.persistence.*;
+import kitae.spring.health.enums.EmailStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 발송 대기 이메일 (영속 메일 큐)
+ * - 요청 스레드는 렌더링된 메일을 INSERT 만 하고, 발송기가 묶음 단위로 가져가 발송한 뒤 삭제함
+ * - 프로세스가 중단되어도 발송되지 않은 메일은 테이블에 남아 다음 실행에서 발송됨
+ * - 묶음 발송 대상 메일은 coalesceKey 와 템플릿 변수를 함께 저장하고, 발송기가 같은 키의 대기 메일을 요약 메일 한 통으로 합쳐 보냄
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "email_queue", indexes = {
+        @Index(name = "idx_email_queue_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_email_queue_coalesce_key", columnList = "coalesce_key, status")
+})
+public class QueuedEmail {
+
+    // 알림이 몰릴 때 INSERT 가 배치로 묶이도록 시퀀스 사용
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_queue_seq")
+    @SequenceGenerator(name = "email_queue_seq", sequenceName = "email_queue_seq", allocationSize = 50)
+    private Long id;    // 아이디 (등록 순서)
+
+    @Column(nullable = false)
+    private String recipient;   // 수신자
+
+    private String subject; // 제목
+
+    @Lob
+    private String body;    // 렌더링된 HTML 본문
+
+    private String templateName;    // 사용한 템플릿 (템플릿 없이 보낸 메일이면 null)
+
+    private String coalesceKey; // 묶음 발송 기준 (템플릿:수신자, 묶음 발송 대상이 아니면 null)
+
+    @Lob
+    private String templateVariables;   // 요약 메일 렌더링용 템플릿 변수 (JSON, 묶음 발송 대상만 저장)
+
+    // 사용자는 탈퇴 등으로 삭제될 수 있으므로 외래 키 없이 ID 만 보관
+    private Long userId;    // 관련 사용자 ID
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EmailStatus status; // 발송 상태
+
+    @Column(nullable = false)
+    private int attempts;   // 발송 시도 횟수
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;    // 이 시각 이후 발송
+
+    private LocalDateTime lockedUntil;  // 발송 중(SENDING) 선점 만료 시각
+
+    @Column(length = 500)
+    private String lastError;   // 마지막 발송 실패 사유
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;    // 등록 시각
+}
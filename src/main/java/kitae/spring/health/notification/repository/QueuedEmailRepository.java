@@ -0,0 +1,88 @@
+package kitae.spring.health.notification.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import kitae.spring.health.enums.EmailStatus;
+import kitae.spring.health.notification.dto.QueuedEmailDTO;
+import kitae.spring.health.notification.entity.QueuedEmail;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface QueuedEmailRepository extends JpaRepository<QueuedEmail, Long> {
+
+    // 발송 시각이 된 대기 메일을 등록 순서대로 잠궈 조회, 다른 노드가 잠근 행은 건너뜀 (lock.timeout = -2 -> SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM QueuedEmail e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<QueuedEmail> findDueForUpdate(@Param("status") EmailStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // 같은 묶음 기준의 대기 메일을 등록 순서대로 잠궈 조회 (발송 시각 전이어도 함께 발송), 다른 노드가 잠근 행은 건너뜀
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM QueuedEmail e WHERE e.status = kitae.spring.health.enums.EmailStatus.PENDING " +
+            "AND e.coalesceKey IN :keys ORDER BY e.id")
+    List<QueuedEmail> findCoalescableForUpdate(@Param("keys") Collection<String> keys, Pageable pageable);
+
+    // 발송기가 가져간 메일 선점 (선점 만료 전까지 다른 발송기가 가져가지 않음)
+    @Modifying
+    @Query("UPDATE QueuedEmail e SET e.status = kitae.spring.health.enums.EmailStatus.SENDING, e.lockedUntil = :lockedUntil " +
+            "WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    // 발송 실패한 메일을 다음 시도 시각과 함께 대기 상태로 되돌림
+    @Modifying
+    @Query("UPDATE QueuedEmail e SET e.status = kitae.spring.health.enums.EmailStatus.PENDING, e.attempts = e.attempts + 1, " +
+            "e.nextAttemptAt = :nextAttemptAt, e.lockedUntil = null, e.lastError = :error WHERE e.id IN :ids")
+    int reschedule(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error);
+
+    // 최대 시도 횟수를 넘긴 메일을 발송 포기(DEAD) 상태로 변경
+    @Modifying
+    @Query("UPDATE QueuedEmail e SET e.status = kitae.spring.health.enums.EmailStatus.DEAD, e.attempts = e.attempts + 1, " +
+            "e.lockedUntil = null, e.lastError = :error WHERE e.id IN :ids")
+    int markDead(@Param("ids") Collection<Long> ids, @Param("error") String error);
+
+    // 발송 포기한 메일을 처음부터 다시 시도 (마지막 실패 사유는 남겨둠)
+    @Modifying
+    @Query("UPDATE QueuedEmail e SET e.status = kitae.spring.health.enums.EmailStatus.PENDING, e.attempts = 0, " +
+            "e.nextAttemptAt = :now WHERE e.status = kitae.spring.health.enums.EmailStatus.DEAD AND e.id IN :ids")
+    int replayDead(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE QueuedEmail e SET e.status = kitae.spring.health.enums.EmailStatus.PENDING, e.attempts = 0, " +
+            "e.nextAttemptAt = :now WHERE e.status = kitae.spring.health.enums.EmailStatus.DEAD")
+    int replayAllDead(@Param("now") LocalDateTime now);
+
+    // 상태별 메일 목록 (최근 등록 순, 본문 제외)
+    @Query("SELECT new kitae.spring.health.notification.dto.QueuedEmailDTO(e.id, e.recipient, e.subject, e.templateName, " +
+            "e.status, e.attempts, e.lastError, e.createdAt) FROM QueuedEmail e WHERE e.status = :status ORDER BY e.id DESC")
+    List<QueuedEmailDTO> findSummariesByStatus(@Param("status") EmailStatus status, Pageable pageable);
+
+    // 발송 시작 전에 반납한 메일 (시도 횟수는 그대로)
+    @Modifying
+    @Query("UPDATE QueuedEmail e SET e.status = kitae.spring.health.enums.EmailStatus.PENDING, e.lockedUntil = null " +
+            "WHERE e.id IN :ids")
+    int release(@Param("ids") Collection<Long> ids);
+
+    // 선점한 발송기가 중단되어 만료된 메일을 대기 상태로 되돌림
+    @Modifying
+    @Query("UPDATE QueuedEmail e SET e.status = kitae.spring.health.enums.EmailStatus.PENDING, e.lockedUntil = null " +
+            "WHERE e.status = kitae.spring.health.enums.EmailStatus.SENDING AND e.lockedUntil < :now")
+    int releaseExpired(@Param("now") LocalDateTime now);
+
+    // 발송이 끝난 메일 삭제
+    @Modifying
+    @Query("DELETE FROM QueuedEmail e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    long countByStatus(EmailStatus status);
+}
@@ -0,0 +1,424 @@
+package kitae.spring.health.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import kitae.spring.health.config.NotificationExecutorConfig;
+import kitae.spring.health.enums.EmailStatus;
+import kitae.spring.health.enums.NotificationType;
+import kitae.spring.health.notification.entity.QueuedEmail;
+import kitae.spring.health.notification.service.NotificationHistoryBuffer.PendingNotification;
+import kitae.spring.health.notification.repository.QueuedEmailRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 영속 메일 큐(email_queue) 발송기
+ * - 발송 시각이 된 메일을 batch-size 건씩 잠궈 조회(SKIP LOCKED)한 뒤 SENDING 으로 선점하고 커밋 (SMTP 발송 중에는 잠금을 쥐지 않음)
+ * - 한 묶음은 JavaMailSender.send(MimeMessage...) 한 번으로 보내므로 SMTP 연결/인사/종료가 묶음당 한 번만 일어남
+ * - 묶음은 알림 전용 스레드 풀에서 실행되며, 동시에 발송하는 묶음 수는 그 풀의 스레드 수와 대기 큐 길이로 제한
+ * - 풀이 가득 차서 거절한 묶음은 선점을 풀어 대기 상태로 되돌리고 이번 실행을 멈춤 (스케줄러 스레드에서 직접 발송하지 않음)
+ * - 발송된 메일은 큐에서 삭제하고, notifications 이력은 커밋 이후 지연 저장 버퍼에 넘김 (NotificationHistoryBuffer)
+ * - 실패한 메일은 시도 횟수, 다음 시도 시각, 실패 사유를 행에 기록하고 대기 상태로 되돌림 (발송 스레드는 기다리지 않음)
+ * - 다음 시도까지의 간격은 initial-delay 부터 두 배씩 늘어나고(최대 max-delay), 절반은 무작위로 흔들어 동시 재시도가 몰리지 않게 함
+ * - 실패 상태는 시도 횟수와 실패 사유가 같은 메일끼리 UPDATE 한 번으로 기록 (같이 실패한 메일은 같은 시각에 다시 시도)
+ * - max-attempts 번 실패한 메일은 DEAD 로 바꾸고 더 이상 시도하지 않음 (관리자 재발송 API 로 되살림)
+ * - 묶음 발송 대상 메일은 같은 묶음 키의 대기 메일을 발송 시각 전이어도 함께 선점하여 요약 메일 한 통으로 보냄 (NotificationCoalescer)
+ * - 본문 없이 저장된 메일(렌더링 실패 후 재발송 요청된 메일)은 저장해 둔 템플릿 변수로 다시 렌더링하여 발송
+ * - 발송 중 프로세스가 중단되면 선점(lease)이 만료된 뒤 다른 실행이 다시 가져감 (at-least-once)
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "notification.email-queue.enabled", havingValue = "true", matchIfMissing = true)
+public class EmailQueueDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final QueuedEmailRepository queuedEmailRepository;
+    private final NotificationHistoryBuffer notificationHistoryBuffer;
+    private final NotificationCoalescer notificationCoalescer;
+    private final EmailTemplateRenderer emailTemplateRenderer;
+    private final JavaMailSender mailSender;
+    private final TaskExecutor notificationExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer sendSuccessTimer;
+    private final Timer sendFailureTimer;
+    private final DistributionSummary batchRows;
+    private final Counter sentTotal;
+    private final Counter retriedTotal;
+    private final Counter deadTotal;
+
+    @Value("${notification.email-queue.batch-size:50}")
+    private int batchSize;
+
+    @Value("${notification.email-queue.lease:PT5M}")
+    private Duration lease;
+
+    @Value("${notification.email-queue.retry.initial-delay:PT30S}")
+    private Duration initialRetryDelay;
+
+    @Value("${notification.email-queue.retry.max-delay:PT1H}")
+    private Duration maxRetryDelay;
+
+    @Value("${notification.email-queue.retry.max-attempts:8}")
+    private int maxAttempts;
+
+    public EmailQueueDispatcher(QueuedEmailRepository queuedEmailRepository,
+                                NotificationHistoryBuffer notificationHistoryBuffer,
+                                NotificationCoalescer notificationCoalescer,
+                                EmailTemplateRenderer emailTemplateRenderer,
+                                JavaMailSender mailSender,
+                                @Qualifier(NotificationExecutorConfig.EXECUTOR_NAME) TaskExecutor notificationExecutor,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry) {
+        this.queuedEmailRepository = queuedEmailRepository;
+        this.notificationHistoryBuffer = notificationHistoryBuffer;
+        this.notificationCoalescer = notificationCoalescer;
+        this.emailTemplateRenderer = emailTemplateRenderer;
+        this.mailSender = mailSender;
+        this.notificationExecutor = notificationExecutor;
+        this.transactionTemplate = transactionTemplate;
+
+        this.sendSuccessTimer = Timer.builder("notification.send.duration")
+                .description("이메일 한 묶음 SMTP 발송 소요 시간")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.sendFailureTimer = Timer.builder("notification.send.duration")
+                .description("이메일 한 묶음 SMTP 발송 소요 시간")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        this.batchRows = DistributionSummary.builder("notification.send.batch.size")
+                .description("한 번의 SMTP 연결로 발송한 이메일 수")
+                .register(meterRegistry);
+        this.sentTotal = Counter.builder("notification.email.sent")
+                .description("발송 완료된 이메일 누적 수")
+                .register(meterRegistry);
+        this.retriedTotal = Counter.builder("notification.email.retried")
+                .description("발송 실패하여 재시도 대기로 돌아간 이메일 누적 수")
+                .register(meterRegistry);
+        this.deadTotal = Counter.builder("notification.email.dead")
+                .description("최대 시도 횟수를 넘겨 발송 포기(DEAD)한 이메일 누적 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 발송 시각이 된 메일을 묶음 단위로 발송 요청 (이전 실행이 끝난 뒤 interval 만큼 쉬고 다시 실행)
+     * @return 이번 실행에서 발송 요청한 메일 수
+     */
+    @Scheduled(initialDelayString = "${notification.email-queue.interval:PT1S}",
+            fixedDelayString = "${notification.email-queue.interval:PT1S}")
+    public int dispatch() {
+        int released = transactionTemplate.execute(status -> queuedEmailRepository.releaseExpired(LocalDateTime.now()));
+        if(released > 0){
+            log.warn("선점이 만료된 발송 중 메일 {}건을 대기 상태로 되돌렸습니다.", released);
+        }
+
+        int dispatched = 0;
+        // 알림 스레드 풀이 가득 차서 거절하면 이번 실행은 여기서 멈추고 다음 실행에서 이어서 가져감
+        while(true){
+            List<QueuedEmail> batch = transactionTemplate.execute(status -> claimBatch());
+            if(batch.isEmpty()){
+                break;
+            }
+
+            try {
+                notificationExecutor.execute(() -> sendBatch(batch));
+            } catch (TaskRejectedException e) {
+                // 거절된 묶음은 실행되지 않으므로 선점한 메일을 대기 상태로 되돌림
+                transactionTemplate.executeWithoutResult(status -> queuedEmailRepository.release(ids(batch)));
+                log.warn("알림 발송 스레드 풀이 묶음을 거절하여 메일 {}건을 대기열에 되돌렸습니다. ({})", batch.size(), e.getMessage());
+                break;
+            }
+
+            dispatched += batch.size();
+            // 조회 건수가 batch-size 보다 적으면 남은 메일이 없음 (다른 노드가 잠근 행 제외)
+            if(batch.size() < batchSize){
+                break;
+            }
+        }
+        return dispatched;
+    }
+
+    /**
+     * 한 묶음 선점 (트랜잭션 안에서 호출)
+     * @return
+     */
+    private List<QueuedEmail> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<QueuedEmail> batch = queuedEmailRepository.findDueForUpdate(EmailStatus.PENDING, now, PageRequest.of(0, batchSize));
+        if(batch.isEmpty()){
+            return batch;
+        }
+        batch = withCoalescable(batch);
+        queuedEmailRepository.claim(ids(batch), now.plus(lease));
+        return batch;
+    }
+
+    /**
+     * 발송 시각이 된 묶음 발송 대상 메일에 같은 묶음 키의 대기 메일을 붙임 (키마다 최대 max-items 건, 트랜잭션 안에서 호출)
+     * @param due 발송 시각이 된 메일
+     * @return 함께 선점할 메일 (등록 순서대로)
+     */
+    private List<QueuedEmail> withCoalescable(List<QueuedEmail> due) {
+        Map<String, Integer> counts = new HashMap<>();
+        for(QueuedEmail email : due){
+            if(email.getCoalesceKey() != null){
+                counts.merge(email.getCoalesceKey(), 1, Integer::sum);
+            }
+        }
+        if(counts.isEmpty()){
+            return due;
+        }
+
+        int maxItems = notificationCoalescer.maxItems();
+        Map<Long, QueuedEmail> claimed = new TreeMap<>();
+        due.forEach(email -> claimed.put(email.getId(), email));
+        List<QueuedEmail> pending = queuedEmailRepository.findCoalescableForUpdate(counts.keySet(),
+                PageRequest.of(0, counts.size() * maxItems));
+        for(QueuedEmail email : pending){
+            if(!claimed.containsKey(email.getId()) && counts.get(email.getCoalesceKey()) < maxItems){
+                counts.merge(email.getCoalesceKey(), 1, Integer::sum);
+                claimed.put(email.getId(), email);
+            }
+        }
+        return new ArrayList<>(claimed.values());
+    }
+
+    /**
+     * 한 묶음 발송 (하나의 SMTP 연결 사용) 후 결과 반영
+     * @param batch
+     */
+    private void sendBatch(List<QueuedEmail> batch) {
+        // 메시지 한 통과 그 메시지로 발송되는 메일 (요약 메일이면 여러 건)
+        Map<MimeMessage, List<QueuedEmail>> messages = new IdentityHashMap<>(batch.size());
+        Map<QueuedEmail, String> failed = new IdentityHashMap<>();
+        List<List<QueuedEmail>> digests = new ArrayList<>();
+
+        for(List<QueuedEmail> emails : groupByCoalesceKey(batch)){
+            if(emails.size() > 1){
+                try {
+                    NotificationCoalescer.Digest digest = notificationCoalescer.render(emails);
+                    messages.put(toMimeMessage(emails.get(0).getRecipient(), digest.subject(), digest.body()), emails);
+                    digests.add(emails);
+                    continue;
+                } catch (MessagingException | RuntimeException e) {
+                    log.warn("요약 메일 생성 실패로 {}건을 건별로 발송합니다. (수신자: {})", emails.size(), emails.get(0).getRecipient(), e);
+                }
+            }
+            for(QueuedEmail email : emails){
+                try {
+                    messages.put(toMimeMessage(email.getRecipient(), email.getSubject(), bodyOf(email)), List.of(email));
+                } catch (MessagingException | RuntimeException e) {
+                    failed.put(email, errorMessage(e));
+                }
+            }
+        }
+
+        long begin = System.nanoTime();
+        if(!messages.isEmpty()){
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));   // 메일 전송 (연결 한 번)
+            } catch (MailSendException e) {
+                // 건별 실패 목록이 있으면 해당 메일만 실패, 없으면(연결 실패 등) 전체 실패
+                Map<Object, Exception> failedMessages = e.getFailedMessages();
+                if(failedMessages.isEmpty()){
+                    messages.values().forEach(emails -> emails.forEach(email -> failed.put(email, errorMessage(e))));
+                } else {
+                    failedMessages.forEach((message, cause) -> {
+                        List<QueuedEmail> emails = messages.get(message);
+                        if(emails != null){
+                            emails.forEach(email -> failed.put(email, errorMessage(cause)));
+                        }
+                    });
+                }
+            } catch (MailException e) {
+                messages.values().forEach(emails -> emails.forEach(email -> failed.put(email, errorMessage(e))));
+            }
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        (failed.isEmpty() ? sendSuccessTimer : sendFailureTimer).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        batchRows.record(messages.size());
+
+        List<QueuedEmail> sent = new ArrayList<>(batch.size());
+        for(QueuedEmail email : batch){
+            if(!failed.containsKey(email)){
+                sent.add(email);
+            }
+        }
+
+        int dead = transactionTemplate.execute(status -> {
+            if(!sent.isEmpty()){
+                queuedEmailRepository.deleteByIds(ids(sent));
+            }
+            return recordFailures(failed);
+        });
+        notificationHistoryBuffer.add(sent.stream().map(this::toNotification).toList());  // 전송 이력 저장 (지연 저장)
+
+        sentTotal.increment(sent.size());
+        for(List<QueuedEmail> digest : digests){
+            if(!failed.containsKey(digest.get(0))){
+                notificationCoalescer.merged(digest.size());
+            }
+        }
+        retriedTotal.increment(failed.size() - dead);
+        deadTotal.increment(dead);
+        if(!failed.isEmpty()){
+            log.warn("이메일 발송 실패 {}건 (재시도 대기 {}건, 발송 포기 {}건), 성공 {}건",
+                    failed.size(), failed.size() - dead, dead, sent.size());
+        }
+        log.info("이메일 {}건 발송 완료 ({} ms)", sent.size(), elapsedNanos / 1_000_000);
+    }
+
+    /**
+     * 실패한 메일의 재시도 상태 기록 (트랜잭션 안에서 호출)
+     * - 시도 횟수와 실패 사유가 같은 메일끼리 묶어 UPDATE 한 번으로 반영 (다음 시도 시각은 묶음마다 한 번 계산)
+     * - 연결 실패처럼 묶음 전체가 실패하면 UPDATE 한 번으로 끝남
+     * @param failed 실패한 메일과 실패 사유
+     * @return 발송 포기(DEAD)로 바꾼 메일 수
+     */
+    private int recordFailures(Map<QueuedEmail, String> failed) {
+        Map<FailureGroup, List<QueuedEmail>> groups = new LinkedHashMap<>();
+        failed.forEach((email, error) -> {
+            // 발송 포기 대상은 시도 횟수와 관계없이 실패 사유로만 묶음
+            int attempts = Math.min(email.getAttempts() + 1, maxAttempts);
+            groups.computeIfAbsent(new FailureGroup(attempts, error), group -> new ArrayList<>()).add(email);
+        });
+
+        int dead = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for(Map.Entry<FailureGroup, List<QueuedEmail>> entry : groups.entrySet()){
+            FailureGroup group = entry.getKey();
+            List<Long> ids = ids(entry.getValue());
+            if(group.attempts() >= maxAttempts){
+                queuedEmailRepository.markDead(ids, group.error());
+                log.error("이메일 발송 포기 ({}건, ID: {}, {}회 실패): {}", ids.size(), ids, group.attempts(), group.error());
+                dead += ids.size();
+            } else {
+                queuedEmailRepository.reschedule(ids, now.plus(backoff(group.attempts())), group.error());
+            }
+        }
+        return dead;
+    }
+
+    /**
+     * n 번째 실패 후 다음 시도까지의 간격 (initial-delay * 2^(n-1), 최대 max-delay, 절반은 무작위)
+     * @param attempts 지금까지의 시도 횟수 (1 이상)
+     * @return
+     */
+    private Duration backoff(int attempts) {
+        long initialMillis = initialRetryDelay.toMillis();
+        long maxMillis = maxRetryDelay.toMillis();
+        int shift = Math.min(attempts - 1, 30);
+        long delayMillis = initialMillis > (maxMillis >> shift) ? maxMillis : Math.min(initialMillis << shift, maxMillis);
+        long half = delayMillis / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(delayMillis - half + 1));
+    }
+
+    /**
+     * 같은 묶음 키의 메일끼리 모음 (묶음 키가 없는 메일은 한 건씩, 한 묶음은 최대 max-items 건)
+     * @param batch 등록 순서대로의 메일
+     * @return
+     */
+    private List<List<QueuedEmail>> groupByCoalesceKey(List<QueuedEmail> batch) {
+        int maxItems = notificationCoalescer.maxItems();
+        List<List<QueuedEmail>> groups = new ArrayList<>(batch.size());
+        Map<String, List<QueuedEmail>> open = new HashMap<>();
+        for(QueuedEmail email : batch){
+            String key = email.getCoalesceKey();
+            if(key == null){
+                groups.add(List.of(email));
+                continue;
+            }
+            List<QueuedEmail> group = open.get(key);
+            if(group == null || group.size() >= maxItems){
+                group = new ArrayList<>();
+                open.put(key, group);
+                groups.add(group);
+            }
+            group.add(email);
+        }
+        return groups;
+    }
+
+    /**
+     * 발송할 본문 (본문 없이 저장된 템플릿 메일은 저장해 둔 템플릿 변수로 다시 렌더링)
+     * @param email
+     * @return
+     */
+    private String bodyOf(QueuedEmail email) {
+        if(email.getBody() != null || email.getTemplateName() == null){
+            return email.getBody();
+        }
+        if(email.getTemplateVariables() == null){
+            throw new IllegalStateException("본문을 다시 만들 템플릿 변수가 없습니다.");
+        }
+        return emailTemplateRenderer.render(email.getTemplateName(), notificationCoalescer.readVariables(email.getTemplateVariables()));
+    }
+
+    private MimeMessage toMimeMessage(String recipient, String subject, String body) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();   // 메일 메시지 객체 생성
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, // 메시지 도우미 생성
+                MimeMessageHelper.MULTIPART_MODE_MIXED_RELATED, // 멀티파트 모드 설정
+                StandardCharsets.UTF_8.name()); // 문자 인코딩 설정
+
+        helper.setTo(recipient); // 수신자 설정
+        helper.setSubject(subject); // 제목 설정
+        helper.setText(body != null ? body : "", true); // HTML 콘텐츠 설정
+        return mimeMessage;
+    }
+
+    private PendingNotification toNotification(QueuedEmail email) {
+        return new PendingNotification(
+                email.getSubject(),
+                email.getRecipient(),
+                email.getTemplateName() == null ? email.getBody() : null,
+                NotificationType.EMAIL,
+                email.getUserId());
+    }
+
+    private static List<Long> ids(List<QueuedEmail> emails) {
+        return emails.stream().map(QueuedEmail::getId).toList();
+    }
+
+    private static String errorMessage(Exception e) {
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    /**
+     * 실패 상태를 한 번에 기록할 메일 묶음 기준
+     * @param attempts 이번 실패를 포함한 시도 횟수 (발송 포기 대상은 max-attempts)
+     * @param error 실패 사유
+     */
+    private record FailureGroup(int attempts, String error) {
+    }
+}
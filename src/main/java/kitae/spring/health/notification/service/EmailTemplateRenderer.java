@@ -0,0 +1,136 @@
+package kitae.spring.health.notification.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.ICache;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.exceptions.TemplateInputException;
+import org.thymeleaf.exceptions.TemplateProcessingException;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이메일 템플릿 렌더링
+ * - 애플리케이션 시작 시 templates/ 아래의 모든 템플릿을 한 번씩 렌더링하여 파싱 결과를 캐시에 적재 (배포 직후 첫 메일도 파싱 비용 없음)
+ * - 스레드별 출력 버퍼를 재사용하고, 너무 커진 버퍼는 버림
+ * - 템플릿별 렌더링 시간 히스토그램(notification.template.render.duration)과 캐시 크기(notification.template.cache.size)를 메트릭으로 노출
+ */
+@Component
+@Slf4j
+public class EmailTemplateRenderer {
+
+    private static final String TEMPLATE_LOCATION = "classpath*:templates/*.html";
+    private static final String TEMPLATE_SUFFIX = ".html";
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;   // 이보다 커진 버퍼는 재사용하지 않음
+
+    private final TemplateEngine templateEngine;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> renderTimers = new ConcurrentHashMap<>();
+    private final ThreadLocal<StringWriter> buffers = ThreadLocal.withInitial(() -> new StringWriter(INITIAL_BUFFER_SIZE));
+
+    @Value("${notification.template.warm-up:true}")
+    private boolean warmUp;
+
+    public EmailTemplateRenderer(TemplateEngine templateEngine, MeterRegistry meterRegistry) {
+        this.templateEngine = templateEngine;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("notification.template.cache.size", templateEngine, EmailTemplateRenderer::templateCacheSize)
+                .description("파싱되어 캐시된 이메일 템플릿 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 모든 템플릿을 미리 파싱하여 캐시에 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if(!warmUp){
+            return;
+        }
+        long begin = System.nanoTime();
+        int loaded = 0;
+        try {
+            for(Resource resource : new PathMatchingResourcePatternResolver().getResources(TEMPLATE_LOCATION)){
+                String filename = resource.getFilename();
+                if(filename == null || !filename.endsWith(TEMPLATE_SUFFIX)){
+                    continue;
+                }
+                String templateName = filename.substring(0, filename.length() - TEMPLATE_SUFFIX.length());
+                try {
+                    // 변수 없이 렌더링하여 파싱 결과를 캐시에 적재 (출력은 버림)
+                    templateEngine.process(templateName, new Context(), Writer.nullWriter());
+                } catch (TemplateInputException e) {
+                    log.warn("이메일 템플릿 미리 적재 실패: {}", templateName, e);
+                    continue;
+                } catch (TemplateProcessingException e) {
+                    // 필수 변수가 없어 표현식 평가가 실패해도 파싱 결과는 이미 캐시에 적재됨
+                    log.debug("이메일 템플릿 미리 렌더링 중 표현식 평가 실패 (파싱은 완료): {}", templateName);
+                }
+                timer(templateName);
+                loaded++;
+            }
+        } catch (IOException e) {
+            log.warn("이메일 템플릿 목록 조회 실패", e);
+        }
+        log.info("이메일 템플릿 {}개 미리 적재 완료 (캐시 {}개, {} ms)", loaded, (long) templateCacheSize(templateEngine),
+                (System.nanoTime() - begin) / 1_000_000);
+    }
+
+    /**
+     * 템플릿 렌더링
+     * @param templateName
+     * @param variables
+     * @return
+     */
+    public String render(String templateName, Map<String, Object> variables) {
+        Context context = new Context();
+        context.setVariables(variables);
+
+        StringWriter buffer = buffers.get();
+        buffer.getBuffer().setLength(0);
+        try {
+            return timer(templateName).record(() -> {
+                templateEngine.process(templateName, context, buffer);
+                return buffer.toString();
+            });
+        } finally {
+            if(buffer.getBuffer().capacity() > MAX_RETAINED_BUFFER_SIZE){
+                buffers.remove();
+            } else {
+                buffer.getBuffer().setLength(0);
+            }
+        }
+    }
+
+    private Timer timer(String templateName) {
+        return renderTimers.computeIfAbsent(templateName, name -> Timer.builder("notification.template.render.duration")
+                .description("이메일 템플릿 렌더링 소요 시간")
+                .tag("template", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private static double templateCacheSize(TemplateEngine templateEngine) {
+        if(templateEngine.getCacheManager() == null){
+            return 0;
+        }
+        ICache<?, ?> cache = templateEngine.getCacheManager().getTemplateCache();
+        return cache != null ? cache.keySet().size() : 0;
+    }
+}
@@ -0,0 +1,154 @@
+package kitae.spring.health.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import kitae.spring.health.notification.entity.QueuedEmail;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 수신자별 알림 묶음(coalescing) 규칙
+ * - templates 에 지정한 템플릿의 메일은 영속 메일 큐에 (템플릿, 수신자) 묶음 키와 함께 window 만큼 늦춰 저장 (NotificationService)
+ * - 그 중 가장 먼저 발송 시각이 된 메일을 발송기가 가져갈 때 같은 키의 대기 메일을 최대 max-items 건까지 함께 가져감 (EmailQueueDispatcher)
+ * - 모인 메일이 한 건이면 저장해 둔 본문 그대로, 여러 건이면 "<템플릿>-digest" 템플릿으로 한 번만 렌더링하여 발송
+ * - 큐에 저장된 상태로 기다리므로 프로세스가 중단되어도 유실되지 않음 (템플릿 변수는 JSON 으로 저장하므로 문자열, 숫자, 논리값만 사용)
+ * - 기본값은 묶음 발송 없음 (templates 미지정)
+ */
+@Component
+public class NotificationCoalescer {
+
+    public static final String DIGEST_SUFFIX = "-digest";
+
+    private static final TypeReference<Map<String, Object>> VARIABLES_TYPE = new TypeReference<>() {
+    };
+
+    private final EmailTemplateRenderer emailTemplateRenderer;
+    private final ObjectMapper objectMapper;
+
+    private final Set<String> templates;
+    private final Duration window;
+    private final int maxItems;
+
+    private final DistributionSummary digestSize;
+    private final Counter mergedTotal;
+
+    public NotificationCoalescer(EmailTemplateRenderer emailTemplateRenderer,
+                                 ObjectMapper objectMapper,
+                                 @Value("${notification.coalesce.templates:}") List<String> templates,
+                                 @Value("${notification.coalesce.window:PT2M}") Duration window,
+                                 @Value("${notification.coalesce.max-items:50}") int maxItems,
+                                 MeterRegistry meterRegistry) {
+        this.emailTemplateRenderer = emailTemplateRenderer;
+        this.objectMapper = objectMapper;
+        this.templates = new HashSet<>(templates);
+        this.window = window;
+        this.maxItems = maxItems;
+
+        this.digestSize = DistributionSummary.builder("notification.coalesce.digest.size")
+                .description("요약 메일 한 통으로 합친 알림 수")
+                .register(meterRegistry);
+        this.mergedTotal = Counter.builder("notification.coalesce.merged")
+                .description("묶음 발송으로 줄어든 이메일 누적 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 묶음 발송 대상 템플릿인지 여부
+     * @param templateName
+     * @return
+     */
+    public boolean accepts(String templateName) {
+        return templateName != null && templates.contains(templateName);
+    }
+
+    /**
+     * 같은 요약 메일로 합칠 메일의 기준 키
+     * @param templateName
+     * @param recipient
+     * @return
+     */
+    public String coalesceKey(String templateName, String recipient) {
+        return templateName + ":" + recipient;
+    }
+
+    /**
+     * 묶음 발송 대상 메일을 큐에 저장한 뒤 발송하기까지 기다리는 시간
+     * @return
+     */
+    public Duration window() {
+        return window;
+    }
+
+    /**
+     * 요약 메일 한 통에 합칠 최대 메일 수
+     * @return
+     */
+    public int maxItems() {
+        return maxItems;
+    }
+
+    /**
+     * 템플릿 변수를 큐에 저장할 JSON 으로 변환
+     * @param variables
+     * @return
+     */
+    public String writeVariables(Map<String, Object> variables) {
+        return objectMapper.writeValueAsString(variables != null ? variables : Map.of());
+    }
+
+    /**
+     * 큐에 저장한 템플릿 변수 JSON 을 되돌림
+     * @param templateVariables
+     * @return
+     */
+    public Map<String, Object> readVariables(String templateVariables) {
+        return templateVariables != null ? objectMapper.readValue(templateVariables, VARIABLES_TYPE) : Map.of();
+    }
+
+    /**
+     * 요약 메일 렌더링 (첫 메일의 변수 + items: 메일별 변수 목록, count: 메일 수)
+     * @param emails 같은 묶음 키의 메일 (등록 순서대로, 두 건 이상)
+     * @return
+     */
+    public Digest render(List<QueuedEmail> emails) {
+        List<Map<String, Object>> items = new ArrayList<>(emails.size());
+        for(QueuedEmail email : emails){
+            items.add(readVariables(email.getTemplateVariables()));
+        }
+        Map<String, Object> vars = new HashMap<>(items.get(0));
+        vars.put("items", items);
+        vars.put("count", items.size());
+
+        QueuedEmail first = emails.get(0);
+        String body = emailTemplateRenderer.render(first.getTemplateName() + DIGEST_SUFFIX, vars);
+        digestSize.record(emails.size());
+        return new Digest(first.getSubject() + " (" + emails.size() + "건)", body);
+    }
+
+    /**
+     * 요약 메일 한 통으로 발송한 묶음 기록 (렌더링에 실패하여 건별로 보낸 묶음은 제외)
+     * @param size 합친 메일 수
+     */
+    public void merged(int size) {
+        mergedTotal.increment(size - 1);
+    }
+
+    /**
+     * 렌더링된 요약 메일
+     * @param subject
+     * @param body
+     */
+    public record Digest(String subject, String body) {
+    }
+}
@@ -0,0 +1,291 @@
+package kitae.spring.health.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import kitae.spring.health.enums.NotificationType;
+import kitae.spring.health.notification.entity.Notification;
+import kitae.spring.health.notification.repository.NotificationRepository;
+import kitae.spring.health.users.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 알림 이력(notifications) 지연 저장 버퍼 (write-behind)
+ * - 발송 완료된 알림 이력을 메모리에 모았다가 flush-size 건이 쌓이거나 flush-interval 이 지나면 한 트랜잭션으로 저장
+ * - notifications 는 시퀀스로 ID 를 미리 받으므로 INSERT 가 hibernate.jdbc.batch_size 단위의 JDBC 배치로 묶임
+ * - 버퍼에는 최대 capacity 건까지만 보관하고, 넘치는 이력은 추가할 때나 실패 후 되돌릴 때 버림 (notification.history.dropped)
+ * - 저장에 실패한 이력은 버퍼에 되돌려 다음 실행에서 다시 시도
+ * - 그사이 삭제된 사용자의 이력은 사용자 없이 저장하여 한 건 때문에 묶음 전체가 실패하지 않게 함
+ * - 종료 시 남은 이력을 모두 저장하고, 그 이후에 들어온 이력은 버퍼를 거치지 않고 바로 저장
+ * - 반영 주기만큼 늦게 보이는 이력이며, 비정상 종료 시 저장 전 이력은 유실될 수 있음 (메일 발송 자체에는 영향 없음)
+ */
+@Component
+@Slf4j
+public class NotificationHistoryBuffer {
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Queue<BufferedNotification> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile boolean closed;
+
+    private final Timer flushTimer;
+    private final DistributionSummary flushRows;
+    private final Timer lagTimer;
+    private final Counter droppedTotal;
+
+    @Value("${notification.history.flush-size:500}")
+    private int flushSize;
+
+    @Value("${notification.history.capacity:10000}")
+    private int capacity;
+
+    public NotificationHistoryBuffer(NotificationRepository notificationRepository,
+                                     UserRepository userRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+
+        this.flushTimer = Timer.builder("notification.history.flush.duration")
+                .description("알림 이력 한 묶음 저장 소요 시간")
+                .register(meterRegistry);
+        this.flushRows = DistributionSummary.builder("notification.history.flush.size")
+                .description("한 트랜잭션으로 저장한 알림 이력 수")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("notification.history.lag")
+                .description("알림 이력이 버퍼에 들어온 뒤 저장되기까지 걸린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.droppedTotal = Counter.builder("notification.history.dropped")
+                .description("버퍼가 가득 차서 저장하지 못하고 버린 알림 이력 누적 수")
+                .register(meterRegistry);
+        Gauge.builder("notification.history.buffer.size", size, AtomicInteger::get)
+                .description("저장 대기 중인 알림 이력 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 알림 이력 추가 (flush-size 건 이상 쌓이면 호출한 스레드에서 바로 저장)
+     * @param notifications
+     */
+    public void add(List<PendingNotification> notifications) {
+        if(notifications.isEmpty()){
+            return;
+        }
+        long now = System.nanoTime();
+        if(closed){
+            // 종료 중에 들어온 이력은 버퍼에 남기지 않고 바로 저장
+            persist(notifications.stream().map(n -> new BufferedNotification(n, now)).toList());
+            return;
+        }
+
+        int accepted = reserve(notifications.size());
+        for(PendingNotification notification : notifications.subList(0, accepted)){
+            buffer.add(new BufferedNotification(notification, now));
+        }
+
+        int dropped = notifications.size() - accepted;
+        if(dropped > 0){
+            droppedTotal.increment(dropped);
+            log.error("알림 이력 버퍼가 가득 차서 {}건을 버렸습니다. (대기 {}건)", dropped, size.get());
+        }
+        if(size.get() >= flushSize){
+            flush();
+        }
+    }
+
+    /**
+     * 버퍼에 쌓인 이력을 flush-size 건씩 저장 (이전 실행이 끝난 뒤 flush-interval 만큼 쉬고 다시 실행)
+     * - 다른 스레드가 저장 중이면 기다리지 않고 돌아감 (그 스레드가 이어서 저장)
+     * @return 저장한 이력 수
+     */
+    @Scheduled(initialDelayString = "${notification.history.flush-interval:PT2S}",
+            fixedDelayString = "${notification.history.flush-interval:PT2S}")
+    public int flush() {
+        if(!flushLock.tryLock()){
+            return 0;
+        }
+        try {
+            int flushed = 0;
+            while(true){
+                List<BufferedNotification> chunk = drain();
+                if(chunk.isEmpty()){
+                    break;
+                }
+                if(!persist(chunk)){
+                    requeue(chunk);
+                    break;
+                }
+                flushed += chunk.size();
+            }
+            return flushed;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 종료 전 남은 이력 저장 (이후 들어오는 이력은 바로 저장)
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        closed = true;
+        flushLock.lock();   // 진행 중인 저장이 끝날 때까지 대기
+        try {
+            List<BufferedNotification> chunk;
+            while(!(chunk = drain()).isEmpty()){
+                if(!persist(chunk)){
+                    droppedTotal.increment(chunk.size() + size.get());
+                    log.error("종료 중 알림 이력 저장 실패 ({}건 유실)", chunk.size() + size.get());
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        return size.get();
+    }
+
+    /**
+     * 버퍼에서 최대 flush-size 건 꺼냄
+     * @return
+     */
+    private List<BufferedNotification> drain() {
+        List<BufferedNotification> chunk = new ArrayList<>(Math.min(flushSize, Math.max(size.get(), 1)));
+        BufferedNotification notification;
+        while(chunk.size() < flushSize && (notification = buffer.poll()) != null){
+            chunk.add(notification);
+        }
+        size.addAndGet(-chunk.size());
+        return chunk;
+    }
+
+    /**
+     * 한 묶음 저장 (한 트랜잭션, INSERT 는 JDBC 배치)
+     * @param chunk
+     * @return 저장 성공 여부
+     */
+    private boolean persist(List<BufferedNotification> chunk) {
+        long begin = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Long> existingUserIds = existingUserIds(chunk);
+                notificationRepository.saveAll(chunk.stream()
+                        .map(notification -> toNotification(notification, existingUserIds))
+                        .toList());
+            });
+        } catch (RuntimeException e) {
+            log.warn("알림 이력 저장 실패 ({}건)", chunk.size(), e);
+            return false;
+        }
+
+        long end = System.nanoTime();
+        flushTimer.record(end - begin, TimeUnit.NANOSECONDS);
+        flushRows.record(chunk.size());
+        for(BufferedNotification notification : chunk){
+            lagTimer.record(end - notification.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        }
+        log.debug("알림 이력 저장 완료: {}건 ({} ms)", chunk.size(), (end - begin) / 1_000_000);
+        return true;
+    }
+
+    /**
+     * 저장하지 못한 묶음을 버퍼에 되돌림 (capacity 를 넘는 만큼은 버림)
+     * @param chunk
+     */
+    private void requeue(List<BufferedNotification> chunk) {
+        int kept = reserve(chunk.size());
+        buffer.addAll(chunk.subList(0, kept));
+
+        int dropped = chunk.size() - kept;
+        if(dropped > 0){
+            droppedTotal.increment(dropped);
+            log.error("알림 이력 버퍼가 가득 차서 {}건을 버렸습니다. (대기 {}건)", dropped, size.get());
+        } else {
+            log.warn("알림 이력 {}건을 다음 실행에서 다시 저장합니다.", kept);
+        }
+    }
+
+    /**
+     * 버퍼 자리 확보 (capacity 를 넘지 않는 만큼만)
+     * @param requested 추가하려는 이력 수
+     * @return 확보한 자리 수
+     */
+    private int reserve(int requested) {
+        while(true){
+            int current = size.get();
+            int accepted = Math.min(requested, Math.max(capacity - current, 0));
+            if(size.compareAndSet(current, current + accepted)){
+                return accepted;
+            }
+        }
+    }
+
+    /**
+     * 묶음에 포함된 사용자 ID 중 아직 존재하는 ID (한 번에 조회, 트랜잭션 안에서 호출)
+     * @param chunk
+     * @return
+     */
+    private Set<Long> existingUserIds(List<BufferedNotification> chunk) {
+        Set<Long> userIds = new HashSet<>();
+        for(BufferedNotification buffered : chunk){
+            if(buffered.notification().userId() != null){
+                userIds.add(buffered.notification().userId());
+            }
+        }
+        return userIds.isEmpty() ? userIds : new HashSet<>(userRepository.findExistingIds(userIds));
+    }
+
+    private Notification toNotification(BufferedNotification buffered, Set<Long> existingUserIds) {
+        PendingNotification notification = buffered.notification();
+        Long userId = notification.userId();
+        return Notification.builder()
+                .subject(notification.subject())
+                .recipient(notification.recipient())
+                .message(notification.message())
+                .type(notification.type())
+                // 발송 후 삭제된 사용자는 연결하지 않음 (없는 사용자를 참조하면 외래 키 위반으로 묶음 전체가 실패)
+                .user(userId != null && existingUserIds.contains(userId) ? userRepository.getReferenceById(userId) : null)
+                .build();
+    }
+
+    /**
+     * 저장할 알림 이력
+     * @param subject
+     * @param recipient
+     * @param message
+     * @param type
+     * @param userId 관련 사용자 ID (없으면 null)
+     */
+    public record PendingNotification(String subject, String recipient, String message,
+                                      NotificationType type, Long userId) {
+    }
+
+    private record BufferedNotification(PendingNotification notification, long enqueuedNanos) {
+    }
+}
@@ -1,68 +1,171 @@
 package kitae.spring.health.notification.service;
 
-import jakarta.mail.internet.MimeMessage;
-import kitae.spring.health.enums.NotificationType;
+import kitae.spring.health.enums.EmailStatus;
 import kitae.spring.health.notification.dto.NotificationDTO;
-import kitae.spring.health.notification.entity.Notification;
-import kitae.spring.health.notification.repository.NotificationRepository;
+import kitae.spring.health.notification.dto.QueuedEmailDTO;
+import kitae.spring.health.notification.entity.QueuedEmail;
+import kitae.spring.health.notification.repository.QueuedEmailRepository;
+import kitae.spring.health.response.Response;
 import kitae.spring.health.users.entity.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
 
+/**
+ * 알림 발송
+ * - 이메일은 요청 스레드에서 렌더링한 뒤 영속 메일 큐(email_queue)에 INSERT 만 하고 바로 반환
+ * - 호출한 쪽의 트랜잭션 안에서 호출되면 같은 트랜잭션으로 저장되므로, 롤백되면 메일도 발송되지 않음
+ * - 실제 SMTP 발송은 EmailQueueDispatcher 가 묶음 단위로 처리
+ * - 묶음 발송 대상 템플릿(notification.coalesce.templates)은 window 만큼 늦춰 큐에 넣고,
+ *   발송기가 같은 수신자의 대기 메일을 "<템플릿>-digest" 요약 메일 한 통으로 합쳐 보냄 (NotificationCoalescer)
+ * - 본문 렌더링에 실패한 메일은 실패 사유와 템플릿 변수를 담아 발송 포기(DEAD) 상태로 저장 (재발송하면 발송기가 다시 렌더링)
+ * - 발송 포기(DEAD)한 메일의 조회와 재발송 요청 (관리자용)
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class NotificationService {
 
-    private final NotificationRepository notificationRepository;
-    private final JavaMailSender mailSender;
-    private final TemplateEngine templateEngine;
+    private final QueuedEmailRepository queuedEmailRepository;
+    private final EmailTemplateRenderer emailTemplateRenderer;
+    private final NotificationCoalescer notificationCoalescer;
 
-    @Async
-    public void sendEmail(NotificationDTO notificationDTO, User user) {
-        try{
-            MimeMessage mimeMessage = mailSender.createMimeMessage();   // 메일 메시지 객체 생성
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, // 메시지 도우미 생성
-                    MimeMessageHelper.MULTIPART_MODE_MIXED_RELATED, // 멀티파트 모드 설정
-                    StandardCharsets.UTF_8.name()); // 문자 인코딩 설정
+    private static final int MAX_PAGE_SIZE = 100; // 발송 포기 메일 조회 최대 건수
+    private static final int MAX_ERROR_LENGTH = 500;
 
-            helper.setTo(notificationDTO.getRecipient()); // 수신자 설정
-            helper.setSubject(notificationDTO.getSubject()); // 제목 설정
+    public void sendEmail(NotificationDTO notificationDTO, User user) {
+        enqueue(notificationDTO, user != null ? user.getId() : null);
+    }
 
+    /**
+     * 렌더링 후 영속 메일 큐에 INSERT
+     * - 묶음 발송 대상 템플릿이면 묶음 키와 템플릿 변수를 함께 저장하고 window 만큼 늦춰 발송
+     * @param notificationDTO
+     * @param userId
+     */
+    private void enqueue(NotificationDTO notificationDTO, Long userId) {
+        String body;
+        try{
             // 템플릿 처리
             if(notificationDTO.getTemplateName() != null){
-                Context context = new Context(); // 템플릿 컨텍스트 생성(Thymeleaf)
-                context.setVariables(notificationDTO.getTemplateVariables()); // 변수 설정
-                String htmlContent = templateEngine.process(notificationDTO.getTemplateName(), context); // 템플릿 처리
-                helper.setText(htmlContent, true); // HTML 콘텐츠 설정
+                body = emailTemplateRenderer.render(notificationDTO.getTemplateName(),
+                        notificationDTO.getTemplateVariables()); // 템플릿 처리 (미리 파싱된 캐시 사용)
             } else {
-                helper.setText(notificationDTO.getMessage(), true); // 일반 메시지 설정
+                body = notificationDTO.getMessage(); // 일반 메시지
             }
+        } catch(Exception e){
+            log.error("이메일 본문 생성 실패 (수신자: {}, 템플릿: {})", notificationDTO.getRecipient(), notificationDTO.getTemplateName(), e);
+            enqueueDead(notificationDTO, userId, e);
+            return;
+        }
 
-            mailSender.send(mimeMessage);   // 메일 전송
-            log.info("이메일을 {}에게 전송했습니다.", notificationDTO.getRecipient());
+        String coalesceKey = null;
+        String templateVariables = null;
+        if(notificationCoalescer.accepts(notificationDTO.getTemplateName())){
+            try{
+                templateVariables = notificationCoalescer.writeVariables(notificationDTO.getTemplateVariables());
+                coalesceKey = notificationCoalescer.coalesceKey(notificationDTO.getTemplateName(), notificationDTO.getRecipient());
+            } catch(RuntimeException e){
+                // 변수를 저장할 수 없으면 묶지 않고 렌더링된 본문 그대로 바로 발송
+                log.warn("템플릿 변수를 저장할 수 없어 묶음 없이 발송합니다. (수신자: {}, 템플릿: {})",
+                        notificationDTO.getRecipient(), notificationDTO.getTemplateName(), e);
+            }
+        }
 
-            // 전송 정보 DB 저장
-            Notification notification = Notification.builder()
-                    .subject(notificationDTO.getSubject())
-                    .recipient(notificationDTO.getRecipient())
-                    .message(notificationDTO.getMessage())
-                    .type(NotificationType.EMAIL)
-                    .user(user)
-                    .build();
+        LocalDateTime now = LocalDateTime.now();
+        QueuedEmail queuedEmail = QueuedEmail.builder()
+                .recipient(notificationDTO.getRecipient())
+                .subject(notificationDTO.getSubject())
+                .body(body)
+                .templateName(notificationDTO.getTemplateName())
+                .coalesceKey(coalesceKey)
+                .templateVariables(templateVariables)
+                .userId(userId)
+                .status(EmailStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(coalesceKey != null ? now.plus(notificationCoalescer.window()) : now)
+                .createdAt(now)
+                .build();
 
-            notificationRepository.save(notification);
+        queuedEmailRepository.save(queuedEmail);
+        log.info("이메일을 {}에게 발송 대기열에 추가했습니다.", notificationDTO.getRecipient());
+    }
 
-        } catch(Exception e){
-            log.info(e.getMessage());
+    /**
+     * 렌더링에 실패한 메일을 발송 포기(DEAD) 상태로 저장
+     * - 본문 없이 템플릿 변수를 함께 저장하므로, 템플릿을 고친 뒤 재발송하면 발송기가 다시 렌더링함
+     * @param notificationDTO
+     * @param userId
+     * @param cause 렌더링 실패 사유
+     */
+    private void enqueueDead(NotificationDTO notificationDTO, Long userId, Exception cause) {
+        String templateVariables = null;
+        try{
+            templateVariables = notificationCoalescer.writeVariables(notificationDTO.getTemplateVariables());
+        } catch(RuntimeException e){
+            log.warn("템플릿 변수를 저장할 수 없어 재발송할 수 없습니다. (수신자: {}, 템플릿: {})",
+                    notificationDTO.getRecipient(), notificationDTO.getTemplateName(), e);
         }
+
+        String error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        LocalDateTime now = LocalDateTime.now();
+        QueuedEmail queuedEmail = QueuedEmail.builder()
+                .recipient(notificationDTO.getRecipient())
+                .subject(notificationDTO.getSubject())
+                .templateName(notificationDTO.getTemplateName())
+                .templateVariables(templateVariables)
+                .userId(userId)
+                .status(EmailStatus.DEAD)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .lastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error)
+                .createdAt(now)
+                .build();
+
+        queuedEmailRepository.save(queuedEmail);
+        log.warn("본문을 만들지 못한 이메일을 발송 포기 상태로 저장했습니다. (수신자: {})", notificationDTO.getRecipient());
+    }
+
+    /**
+     * 발송 포기(DEAD)한 메일 목록 (최근 등록 순)
+     * @param size
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public Response<List<QueuedEmailDTO>> getDeadLetters(int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<QueuedEmailDTO> deadLetters = queuedEmailRepository.findSummariesByStatus(EmailStatus.DEAD, PageRequest.of(0, pageSize));
+
+        return Response.<List<QueuedEmailDTO>>builder()
+                .statusCode(200)
+                .message("발송 포기 메일 조회를 성공했습니다.")
+                .data(deadLetters)
+                .build();
+    }
+
+    /**
+     * 발송 포기(DEAD)한 메일 재발송 (시도 횟수를 초기화하고 바로 발송 대기열로 되돌림)
+     * @param ids 재발송할 메일 ID (없으면 발송 포기한 메일 전체)
+     * @return 재발송 대기로 바꾼 메일 수
+     */
+    @Transactional
+    public Response<Integer> replayDeadLetters(List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        int replayed = ids == null || ids.isEmpty()
+                ? queuedEmailRepository.replayAllDead(now)
+                : queuedEmailRepository.replayDead(ids, now);
+
+        log.info("발송 포기 메일 {}건 재발송 요청", replayed);
+
+        return Response.<Integer>builder()
+                .statusCode(200)
+                .message("발송 포기 메일 " + replayed + "건을 다시 발송합니다.")
+                .data(replayed)
+                .build();
     }
 }
@@ -2,11 +2,22 @@ package kitae.spring.health.patient.repository;
 
 import kitae.spring.health.patient.entity.Patient;
 import kitae.spring.health.users.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PatientRepository extends JpaRepository<Patient, Long> {
 
     Optional<Patient> findByUser(User user);
+
+    // DTO 매핑 시 사용자 정보를 함께 조회
+    @EntityGraph(attributePaths = "user")
+    Optional<Patient> findWithUserById(Long id);
+
+    // 일괄 예약 시 환자와 사용자 정보를 한 번에 조회
+    @EntityGraph(attributePaths = "user")
+    List<Patient> findAllWithUserByIdIn(Collection<Long> ids);
 }
@@ -13,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.util.Arrays;
@@ -32,6 +33,7 @@ public class PatientService {
      * 환자 프로필 가져오기
      * @return
      */
+    @Transactional(readOnly = true)
     public Response<PatientDTO> getPatientProfile() {
 
         User user = userService.getCurrentUser();
@@ -51,6 +53,7 @@ public class PatientService {
      * @param patientDTO
      * @return
      */
+    @Transactional
     public Response<?> updatePatientProfile(PatientDTO patientDTO) {
 
         User user = userService.getCurrentUser();
@@ -94,9 +97,10 @@ public class PatientService {
      * @param patientId
      * @return
      */
+    @Transactional(readOnly = true)
     public Response<PatientDTO> getPatientById(Long patientId) {
 
-        Patient patient = patientRepository.findById(patientId)
+        Patient patient = patientRepository.findWithUserById(patientId)
                 .orElseThrow(() -> new NotFoundException("환자를 찾을 수 없습니다. ID: " + patientId));
 
         PatientDTO patientDTO = modelMapper.map(patient, PatientDTO.class);
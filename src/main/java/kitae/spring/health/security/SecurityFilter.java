@@ -2,6 +2,7 @@ package kitae.spring.health.security;
 
 import kitae.spring.health.exceptions.CustomAccessDenialHandler;
 import kitae.spring.health.exceptions.CustomAuthenticationEntryPoint;
+import kitae.spring.health.idempotency.filter.IdempotencyFilter;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
@@ -34,6 +35,9 @@ public class SecurityFilter {
     // JWT 인증 필터 (요청마다 토큰 검사 및 SecurityContext 설정)
     private final AuthFilter authFilter;
 
+    // Idempotency-Key 중복 요청 재전송 필터 (인증된 사용자 기준이므로 AuthFilter 다음에 실행)
+    private final IdempotencyFilter idempotencyFilter;
+
     // 인증 실패 시 응답 처리를 담당하는 엔트리 포인트
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
 
@@ -54,6 +58,7 @@ public class SecurityFilter {
      * - '/api/auth/**' 경로는 인증 불필요하도록 허용, 그 외 경로는 모두 인증 필요
      * - 세션을 사용하지 않는 STATLESS 정책 적용 (JWT 등 토큰 기반 인증에 적합)
      * - 커스텀 AuthFilter를 UsernamePasswordAuthenticationFilter 이전에 배치
+     * - Idempotency-Key 처리 필터를 AuthFilter 다음에 배치
      * @param httpSecurity
      * @return
      */
@@ -71,11 +76,14 @@ public class SecurityFilter {
                 .requestMatchers("/api/auth/**").permitAll()
 //                .requestMatchers("/api/roles/**").permitAll()
                 .requestMatchers(SWAGGER_WHITELIST).permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                 .anyRequest().authenticated()
             )
             .sessionManagement(manager -> manager
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .addFilterBefore(authFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(authFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(idempotencyFilter, AuthFilter.class);
 
         return httpSecurity.build();
     }
@@ -0,0 +1,32 @@
+package kitae.spring.health.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 커밋 이후 실행할 작업 등록
+ * - 트랜잭션 안에서 호출되면 커밋된 뒤에만 실행 (롤백되면 실행하지 않음)
+ * - 트랜잭션 밖에서 호출되면 바로 실행
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /**
+     * 커밋 이후 실행
+     * @param action
+     */
+    public static void afterCommit(Runnable action) {
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
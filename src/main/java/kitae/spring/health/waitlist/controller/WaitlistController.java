@@ -0,0 +1,36 @@
+package kitae.spring.health.waitlist.controller;
+
+import jakarta.validation.Valid;
+import kitae.spring.health.response.Response;
+import kitae.spring.health.waitlist.dto.WaitlistEntryDTO;
+import kitae.spring.health.waitlist.service.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/waitlist")
+@PreAuthorize("hasAuthority('PATIENT')")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @PostMapping
+    public ResponseEntity<Response<WaitlistEntryDTO>> joinWaitlist(@RequestBody @Valid WaitlistEntryDTO waitlistEntryDTO) {
+        return ResponseEntity.ok(waitlistService.joinWaitlist(waitlistEntryDTO));
+    }
+
+    @GetMapping
+    public ResponseEntity<Response<List<WaitlistEntryDTO>>> getMyWaitlist() {
+        return ResponseEntity.ok(waitlistService.getMyWaitlist());
+    }
+
+    @PutMapping("/cancel/{entryId}")
+    public ResponseEntity<Response<?>> leaveWaitlist(@PathVariable("entryId") Long entryId) {
+        return ResponseEntity.ok(waitlistService.leaveWaitlist(entryId));
+    }
+}
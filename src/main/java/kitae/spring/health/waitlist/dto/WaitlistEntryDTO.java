@@ -0,0 +1,48 @@
+package kitae.spring.health.waitlist.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import kitae.spring.health.enums.WaitlistStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class WaitlistEntryDTO {
+
+    private Long id; // 아이디
+
+    @NotNull(message = "Doctor ID는 필수 입력 값입니다.")
+    private Long doctorId; // 의사 ID
+
+    @NotNull(message = "희망 시간대 시작은 필수 입력 값입니다.")
+    private LocalDateTime windowStart;  // 희망 시간대 시작
+
+    @NotNull(message = "희망 시간대 종료는 필수 입력 값입니다.")
+    @Future(message = "희망 시간대 종료는 현재 시간 이후여야 합니다.")
+    private LocalDateTime windowEnd;    // 희망 시간대 종료
+
+    @Min(value = 15, message = "진료 시간은 최소 15분 이상이어야 합니다.")
+    @Max(value = 240, message = "진료 시간은 최대 240분까지 가능합니다.")
+    private Integer durationMinutes; // 진료 시간(분), 생략 시 60분
+
+    private String purposeOfConsultation;   // 상담 목적
+
+    private String initialSymptoms; // 초기 증상 설명
+
+    private WaitlistStatus status; // 대기 상태
+
+    private Long assignedAppointmentId; // 배정된 예약 ID
+}
@@ -0,0 +1,26 @@
+package kitae.spring.health.waitlist.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대기열 적재용 경량 조회 결과 (엔티티를 로딩하지 않음)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WaitlistSlot {
+
+    private Long entryId;   // 대기 ID
+
+    private Long doctorId;  // 의사 ID
+
+    private LocalDateTime windowStart;  // 희망 시간대 시작
+
+    private LocalDateTime windowEnd;    // 희망 시간대 종료
+
+    private Integer durationMinutes;    // 진료 시간(분)
+}
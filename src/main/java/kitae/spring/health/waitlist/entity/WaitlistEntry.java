@@ -0,0 +1,59 @@
+package kitae.spring.health.waitlist.entity;
+
+import jakarta.persistence.*;
+import kitae.spring.health.audit.BaseEntity;
+import kitae.spring.health.doctor.entity.Doctor;
+import kitae.spring.health.enums.WaitlistStatus;
+import kitae.spring.health.patient.entity.Patient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "waitlist_entries", indexes = {
+        @Index(name = "idx_waitlist_doctor_status_end", columnList = "doctor_id, status, window_end"), // 의사별 대기열 적재
+        @Index(name = "idx_waitlist_patient_status", columnList = "patient_id, status")    // 내 대기 목록
+})
+public class WaitlistEntry extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;    // 아이디 (대기 순서)
+
+    @Column(nullable = false)
+    private LocalDateTime windowStart;  // 희망 시간대 시작
+
+    @Column(nullable = false)
+    private LocalDateTime windowEnd;    // 희망 시간대 종료
+
+    @Column(nullable = false)
+    private Integer durationMinutes;    // 진료 시간(분)
+
+    private String purposeOfConsultation; // 상담 목적
+
+    private String initialSymptoms; // 초기 증상
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WaitlistStatus status;  // 대기 상태
+
+    // 예약은 보관 테이블로 이동될 수 있으므로 외래 키 없이 ID 만 보관
+    private Long assignedAppointmentId; // 배정된 예약 ID
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor; // 의사
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "patient_id", nullable = false)
+    private Patient patient; // 환자
+}
@@ -0,0 +1,60 @@
+package kitae.spring.health.waitlist.repository;
+
+import kitae.spring.health.enums.WaitlistStatus;
+import kitae.spring.health.patient.entity.Patient;
+import kitae.spring.health.waitlist.dto.WaitlistSlot;
+import kitae.spring.health.waitlist.entity.WaitlistEntry;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    // 의사의 대기 중인 항목 (대기열 적재용, 대기 순서대로)
+    @Query("SELECT new kitae.spring.health.waitlist.dto.WaitlistSlot(w.id, w.doctor.id, w.windowStart, w.windowEnd, w.durationMinutes) " +
+            "FROM WaitlistEntry w " +
+            "WHERE w.doctor.id = :doctorId " +
+            "AND w.status = 'WAITING' " +
+            "AND w.windowEnd > :now " +
+            "ORDER BY w.id")
+    List<WaitlistSlot> findWaitingSlotsByDoctorId(@Param("doctorId") Long doctorId, @Param("now") LocalDateTime now);
+
+    // 배정 시 환자 정보를 함께 조회 (확인 알림 발송용)
+    @EntityGraph(attributePaths = {"patient", "patient.user"})
+    Optional<WaitlistEntry> findWithPatientById(Long id);
+
+    List<WaitlistEntry> findByPatientOrderByIdDesc(Patient patient);
+
+    long countByPatientAndStatus(Patient patient, WaitlistStatus status);
+
+    // 대기 중인 항목을 배정 중으로 선점 (조건부 UPDATE, 동시에 취소되었거나 다른 취소 건에 배정된 항목이면 0)
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = kitae.spring.health.enums.WaitlistStatus.ASSIGNED " +
+            "WHERE w.id = :id AND w.status = kitae.spring.health.enums.WaitlistStatus.WAITING")
+    int claimWaiting(@Param("id") Long id);
+
+    // 선점한 항목에 배정된 예약 ID 기록
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.assignedAppointmentId = :appointmentId " +
+            "WHERE w.id = :id AND w.status = kitae.spring.health.enums.WaitlistStatus.ASSIGNED")
+    int recordAssignedAppointment(@Param("id") Long id, @Param("appointmentId") Long appointmentId);
+
+    // 대기 중인 항목 취소 (조건부 UPDATE, 이미 배정/취소/만료된 항목이면 0)
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = kitae.spring.health.enums.WaitlistStatus.CANCELLED " +
+            "WHERE w.id = :id AND w.status = kitae.spring.health.enums.WaitlistStatus.WAITING")
+    int cancelWaiting(@Param("id") Long id);
+
+    // 희망 시간대가 지난 환자의 대기 항목 만료 처리
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = kitae.spring.health.enums.WaitlistStatus.EXPIRED " +
+            "WHERE w.patient = :patient AND w.status = kitae.spring.health.enums.WaitlistStatus.WAITING " +
+            "AND w.windowEnd <= :now")
+    int expireWaiting(@Param("patient") Patient patient, @Param("now") LocalDateTime now);
+}
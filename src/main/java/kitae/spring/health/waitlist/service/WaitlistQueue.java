@@ -0,0 +1,130 @@
+package kitae.spring.health.waitlist.service;
+
+import kitae.spring.health.support.TransactionHooks;
+import kitae.spring.health.waitlist.dto.WaitlistSlot;
+import kitae.spring.health.waitlist.entity.WaitlistEntry;
+import kitae.spring.health.waitlist.repository.WaitlistEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 의사별 대기열 (메모리 우선순위 큐)
+ * - 의사 ID 별로 대기 순서(대기 ID 오름차순) 우선순위 큐를 두고, 취소된 시간대에 들어갈 수 있는 첫 대기자를 찾음
+ * - 의사별 큐는 조회 시 DB에서 적재(lazy)하고, 적재 후 ttl 이 지나면 다음 조회 때 다시 적재하며, 희망 시간대가 지난 항목은 조회 중에 제거
+ * - 대기 등록/배정/취소 시 add/remove 로 동기화 (트랜잭션 커밋 이후 반영)
+ * - 큐는 후보를 고르는 용도이며, 실제 배정 전에는 DB의 대기 상태를 다시 확인함
+ * - 노드별로 큐를 유지하므로 여러 노드로 운영하면 다른 노드에서 등록된 대기 항목은 최대 ttl 만큼 늦게 반영됨
+ *   (그동안 취소된 시간대는 이 노드에 적재된 대기자에게만 배정됨)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistQueue {
+
+    private static final Comparator<WaitlistSlot> ORDER = Comparator.comparing(WaitlistSlot::getEntryId);
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+
+    private final Map<Long, DoctorQueue> queues = new ConcurrentHashMap<>();
+
+    @Value("${waitlist.queue.ttl:PT30S}")
+    private Duration ttl;  // 의사별 큐를 DB에서 다시 적재하는 주기
+
+    /**
+     * 시작 시간 start 에 들어갈 수 있는 대기자를 대기 순서대로 반환
+     * - 희망 시간대가 [start, start + 진료 시간)을 포함하는 항목만 반환
+     * @param doctorId
+     * @param start
+     * @return
+     */
+    public List<WaitlistSlot> candidates(Long doctorId, LocalDateTime start) {
+        long now = System.nanoTime();
+        DoctorQueue queue = queues.compute(doctorId, (id, cached) ->
+                cached == null || now - cached.loadedNanos >= ttl.toNanos() ? load(id) : cached);
+        return queue.candidates(start, LocalDateTime.now());
+    }
+
+    /**
+     * 새로 등록된 대기 항목을 큐에 반영 (커밋 이후)
+     * @param entry
+     */
+    public void add(WaitlistEntry entry) {
+        WaitlistSlot slot = new WaitlistSlot(entry.getId(), entry.getDoctor().getId(),
+                entry.getWindowStart(), entry.getWindowEnd(), entry.getDurationMinutes());
+        // 아직 적재되지 않은 의사는 다음 조회 시 DB에서 함께 적재되므로 건너뜀
+        TransactionHooks.afterCommit(() -> queues.computeIfPresent(slot.getDoctorId(), (id, queue) -> {
+            queue.add(slot);
+            return queue;
+        }));
+    }
+
+    /**
+     * 배정/취소 등으로 더 이상 대기 중이 아닌 항목을 큐에서 제거 (커밋 이후)
+     * @param doctorId
+     * @param entryId
+     */
+    public void remove(Long doctorId, Long entryId) {
+        TransactionHooks.afterCommit(() -> queues.computeIfPresent(doctorId, (id, queue) -> {
+            queue.remove(entryId);
+            return queue;
+        }));
+    }
+
+    private DoctorQueue load(Long doctorId) {
+        DoctorQueue queue = new DoctorQueue();
+        List<WaitlistSlot> slots = waitlistEntryRepository.findWaitingSlotsByDoctorId(doctorId, LocalDateTime.now());
+        for(WaitlistSlot slot : slots){
+            queue.add(slot);
+        }
+        log.debug("의사 ID {}의 대기열 적재 완료: {}건", doctorId, slots.size());
+        return queue;
+    }
+
+    /**
+     * 한 의사의 대기 항목 큐 (대기 ID 순)
+     */
+    private static final class DoctorQueue {
+
+        private final PriorityQueue<WaitlistSlot> waiting = new PriorityQueue<>(ORDER);
+        private final long loadedNanos = System.nanoTime();
+
+        synchronized void add(WaitlistSlot slot) {
+            waiting.add(slot);
+        }
+
+        synchronized void remove(Long entryId) {
+            waiting.removeIf(slot -> slot.getEntryId().equals(entryId));
+        }
+
+        synchronized List<WaitlistSlot> candidates(LocalDateTime start, LocalDateTime now) {
+            List<WaitlistSlot> result = new ArrayList<>();
+            Iterator<WaitlistSlot> iterator = waiting.iterator();
+            while(iterator.hasNext()){
+                WaitlistSlot slot = iterator.next();
+                if(!slot.getWindowEnd().isAfter(now)){
+                    iterator.remove();  // 희망 시간대가 지난 항목 정리
+                    continue;
+                }
+                LocalDateTime end = start.plusMinutes(slot.getDurationMinutes());
+                if(!slot.getWindowStart().isAfter(start) && !end.isAfter(slot.getWindowEnd())){
+                    result.add(slot);
+                }
+            }
+            // PriorityQueue 의 반복 순서는 정렬되어 있지 않으므로 후보만 대기 순서로 정렬
+            result.sort(ORDER);
+            return result;
+        }
+    }
+}
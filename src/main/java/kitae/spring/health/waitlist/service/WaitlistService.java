@@ -0,0 +1,256 @@
+package kitae.spring.health.waitlist.service;
+
+import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.appointment.service.AppointmentConflictIndex;
+import kitae.spring.health.appointment.service.AppointmentOutbox;
+import kitae.spring.health.appointment.service.MeetingLinks;
+import kitae.spring.health.appointment.service.SchedulingRules;
+import kitae.spring.health.doctor.entity.Doctor;
+import kitae.spring.health.doctor.repository.DoctorRepository;
+import kitae.spring.health.doctor.service.DoctorStatsRecorder;
+import kitae.spring.health.enums.AppointmentEventType;
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.enums.WaitlistStatus;
+import kitae.spring.health.exceptions.BadRequestException;
+import kitae.spring.health.exceptions.NotFoundException;
+import kitae.spring.health.patient.entity.Patient;
+import kitae.spring.health.patient.repository.PatientRepository;
+import kitae.spring.health.response.Response;
+import kitae.spring.health.users.entity.User;
+import kitae.spring.health.users.service.UserService;
+import kitae.spring.health.waitlist.dto.WaitlistEntryDTO;
+import kitae.spring.health.waitlist.dto.WaitlistSlot;
+import kitae.spring.health.waitlist.entity.WaitlistEntry;
+import kitae.spring.health.waitlist.repository.WaitlistEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final PatientRepository patientRepository;
+    private final DoctorRepository doctorRepository;
+    private final WaitlistQueue waitlistQueue;
+    private final AppointmentConflictIndex appointmentConflictIndex;
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentOutbox appointmentOutbox;
+    private final DoctorStatsRecorder doctorStatsRecorder;
+    private final UserService userService;
+
+    @Value("${waitlist.max-active-per-patient:5}")
+    private int maxActivePerPatient;   // 환자 한 명이 동시에 대기할 수 있는 최대 건수
+
+    @Value("${waitlist.max-window:P30D}")
+    private Duration maxWindow;    // 희망 시간대 최대 길이
+
+    /**
+     * 대기 등록 (의사와 희망 시간대를 지정하면 취소된 시간대가 생길 때 자동 배정)
+     * @param waitlistEntryDTO
+     * @return
+     */
+    @Transactional
+    public Response<WaitlistEntryDTO> joinWaitlist(WaitlistEntryDTO waitlistEntryDTO) {
+
+        User currentUser = userService.getCurrentUser();
+
+        Patient patient = patientRepository.findByUser(currentUser)
+                .orElseThrow(() -> new NotFoundException("해당 환자를 찾을 수 없습니다."));
+
+        Doctor doctor = doctorRepository.findById(waitlistEntryDTO.getDoctorId())
+                .orElseThrow(() -> new NotFoundException("해당 의사를 찾을 수 없습니다."));
+
+        int durationMinutes = SchedulingRules.durationOrDefault(waitlistEntryDTO.getDurationMinutes());
+
+        // 최소 예약 가능 시각 이전 구간은 배정될 수 없으므로 잘라냄
+        LocalDateTime earliest = LocalDateTime.now().plusMinutes(SchedulingRules.MIN_LEAD_MINUTES);
+        LocalDateTime windowStart = waitlistEntryDTO.getWindowStart().isBefore(earliest)
+                ? earliest
+                : waitlistEntryDTO.getWindowStart();
+        LocalDateTime windowEnd = waitlistEntryDTO.getWindowEnd();
+
+        if(windowStart.plusMinutes(durationMinutes).isAfter(windowEnd)){
+            throw new BadRequestException("희망 시간대가 진료 시간보다 짧습니다.");
+        }
+
+        if(Duration.between(windowStart, windowEnd).compareTo(maxWindow) > 0){
+            throw new BadRequestException("희망 시간대는 최대 " + maxWindow.toDays() + "일까지 지정할 수 있습니다.");
+        }
+
+        if(waitlistEntryRepository.countByPatientAndStatus(patient, WaitlistStatus.WAITING) >= maxActivePerPatient){
+            throw new BadRequestException("대기 등록은 최대 " + maxActivePerPatient + "건까지 가능합니다.");
+        }
+
+        WaitlistEntry entry = WaitlistEntry.builder()
+                .windowStart(windowStart)
+                .windowEnd(windowEnd)
+                .durationMinutes(durationMinutes)
+                .purposeOfConsultation(waitlistEntryDTO.getPurposeOfConsultation())
+                .initialSymptoms(waitlistEntryDTO.getInitialSymptoms())
+                .status(WaitlistStatus.WAITING)
+                .doctor(doctor)
+                .patient(patient)
+                .build();
+
+        WaitlistEntry savedEntry = waitlistEntryRepository.save(entry);
+        waitlistQueue.add(savedEntry);  // 커밋 이후 대기열 반영
+
+        return Response.<WaitlistEntryDTO>builder()
+                .statusCode(200)
+                .message("대기 등록이 완료되었습니다. 해당 시간대에 취소가 생기면 자동으로 예약됩니다.")
+                .data(toDTO(savedEntry))
+                .build();
+    }
+
+    /**
+     * 내 대기 목록
+     * @return
+     */
+    @Transactional
+    public Response<List<WaitlistEntryDTO>> getMyWaitlist() {
+
+        User currentUser = userService.getCurrentUser();
+
+        Patient patient = patientRepository.findByUser(currentUser)
+                .orElseThrow(() -> new NotFoundException("해당 환자를 찾을 수 없습니다."));
+
+        // 희망 시간대가 지난 대기 항목은 조회 시점에 만료 처리 (조건부 UPDATE 로 동시에 배정된 항목은 건드리지 않음)
+        waitlistEntryRepository.expireWaiting(patient, LocalDateTime.now());
+        List<WaitlistEntry> entries = waitlistEntryRepository.findByPatientOrderByIdDesc(patient);
+
+        List<WaitlistEntryDTO> entryDTOs = entries.stream()
+                .map(this::toDTO)
+                .toList();
+
+        return Response.<List<WaitlistEntryDTO>>builder()
+                .statusCode(200)
+                .message("대기 목록을 성공적으로 조회했습니다.")
+                .data(entryDTOs)
+                .build();
+    }
+
+    /**
+     * 대기 취소
+     * @param entryId
+     * @return
+     */
+    @Transactional
+    public Response<?> leaveWaitlist(Long entryId) {
+
+        User currentUser = userService.getCurrentUser();
+
+        WaitlistEntry entry = waitlistEntryRepository.findWithPatientById(entryId)
+                .orElseThrow(() -> new NotFoundException("해당 대기 항목을 찾을 수 없습니다."));
+
+        if(!entry.getPatient().getUser().getId().equals(currentUser.getId())){
+            throw new BadRequestException("당신은 이 대기 항목을 취소할 권한이 없습니다.");
+        }
+
+        // 조건부 UPDATE 로 취소 (취소된 시간대 배정과 동시에 실행되면 먼저 커밋한 쪽만 반영)
+        if(entry.getStatus() != WaitlistStatus.WAITING || waitlistEntryRepository.cancelWaiting(entry.getId()) == 0){
+            throw new BadRequestException("대기 중인 항목만 취소할 수 있습니다.");
+        }
+        waitlistQueue.remove(entry.getDoctor().getId(), entry.getId());
+
+        return Response.builder()
+                .statusCode(200)
+                .message("대기가 취소되었습니다.")
+                .build();
+    }
+
+    /**
+     * 취소된 예약의 시간대를 대기열의 첫 대기자에게 배정 (예약 취소 트랜잭션 안에서, 의사 락과 행 잠금을 쥔 상태로 호출)
+     * - 배정된 예약의 충돌 인덱스/리마인더 반영은 호출한 쪽이 커밋 이후 처리
+     * @param cancelled 취소된 예약
+     * @param doctor 행 잠금을 잡은 의사
+     * @return 배정된 예약 (배정할 대기자가 없으면 null)
+     */
+    public Appointment assignCancelledSlot(Appointment cancelled, Doctor doctor) {
+
+        WaitlistEntry entry = findAssignableEntry(cancelled).orElse(null);
+        if(entry == null){
+            return null;
+        }
+
+        LocalDateTime startTime = cancelled.getStartTime();
+        Appointment appointment = Appointment.builder()
+                .startTime(startTime)
+                .endTime(startTime.plusMinutes(entry.getDurationMinutes()))
+                .meetingLink(MeetingLinks.create())
+                .initialSymptoms(entry.getInitialSymptoms())
+                .purposeOfConsultation(entry.getPurposeOfConsultation())
+                .status(AppointmentStatus.SCHEDULED)
+                .doctor(doctor)
+                .patient(entry.getPatient())
+                .build();
+
+        Appointment saved = appointmentRepository.save(appointment);
+        waitlistEntryRepository.recordAssignedAppointment(entry.getId(), saved.getId());
+        waitlistQueue.remove(doctor.getId(), entry.getId());
+        log.info("대기 항목 배정 완료 (대기 ID: {}, 예약 ID: {})", entry.getId(), saved.getId());
+
+        appointmentOutbox.record(saved, AppointmentEventType.BOOKED, null);  // 배정된 환자와 의사에게 예약 확인 알림 전송
+        doctorStatsRecorder.statusChanged(doctor.getId(), null, AppointmentStatus.SCHEDULED);
+        return saved;
+    }
+
+    /**
+     * 취소된 예약의 시간대에 배정할 첫 대기자를 찾아 선점
+     * - 대기 순서대로 희망 시간대에 맞고 다른 예약과 겹치지 않는 첫 항목을 WAITING -> ASSIGNED 조건부 UPDATE 로 선점
+     * - 갱신된 행이 없으면(동시에 대기 취소되었거나 다른 취소 건에 배정됨) 큐에서 빼고 다음 후보로 넘어감
+     * - 선점한 행은 커밋까지 잠겨 있으므로 동시에 들어온 대기 취소는 선점 결과를 보고 실패함
+     * - 대기 항목 엔티티는 수정하지 않음 (더티 체킹으로 읽은 시점의 상태를 덮어쓰지 않도록)
+     * @param cancelled 취소된 예약
+     * @return
+     */
+    private Optional<WaitlistEntry> findAssignableEntry(Appointment cancelled) {
+
+        LocalDateTime startTime = cancelled.getStartTime();
+        if(startTime.isBefore(LocalDateTime.now().plusMinutes(SchedulingRules.MIN_LEAD_MINUTES))){
+            return Optional.empty();    // 최소 예약 가능 시각이 지난 시간대는 배정하지 않음
+        }
+
+        Long doctorId = cancelled.getDoctor().getId();
+        for(WaitlistSlot slot : waitlistQueue.candidates(doctorId, startTime)){
+            LocalDateTime endTime = startTime.plusMinutes(slot.getDurationMinutes());
+            LocalDateTime checkStart = startTime.minusMinutes(SchedulingRules.BUFFER_MINUTES);
+
+            // 취소된 예약은 아직 인덱스에서 제거되기 전이므로 제외하고 검사
+            if(appointmentConflictIndex.hasConflict(doctorId, checkStart, endTime, cancelled.getId())){
+                continue;
+            }
+
+            if(waitlistEntryRepository.claimWaiting(slot.getEntryId()) == 0){
+                waitlistQueue.remove(doctorId, slot.getEntryId());
+                continue;
+            }
+            return waitlistEntryRepository.findWithPatientById(slot.getEntryId());
+        }
+        return Optional.empty();
+    }
+
+    private WaitlistEntryDTO toDTO(WaitlistEntry entry) {
+        return WaitlistEntryDTO.builder()
+                .id(entry.getId())
+                .doctorId(entry.getDoctor().getId())
+                .windowStart(entry.getWindowStart())
+                .windowEnd(entry.getWindowEnd())
+                .durationMinutes(entry.getDurationMinutes())
+                .purposeOfConsultation(entry.getPurposeOfConsultation())
+                .initialSymptoms(entry.getInitialSymptoms())
+                .status(entry.getStatus())
+                .assignedAppointmentId(entry.getAssignedAppointmentId())
+                .build();
+    }
+}
@@ -0,0 +1,198 @@
+package kitae.spring.health.appointment.controller;
+
+import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.doctor.entity.Doctor;
+import kitae.spring.health.doctor.repository.DoctorRepository;
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.enums.Specialization;
+import kitae.spring.health.patient.entity.Patient;
+import kitae.spring.health.patient.repository.PatientRepository;
+import kitae.spring.health.users.entity.User;
+import kitae.spring.health.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 관리자 예약 검색 API 테스트
+ * - 인덱스로 범위를 좁힐 수 없는 조건 조합과 잘못되었거나 다른 조건에서 발급된 커서는 400 으로 거절해야 함
+ * - 전문 분야 검색은 의사 fetch 조인을 재사용하며, 커서로 다음 페이지를 이어서 조회할 수 있어야 함
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:appointment-search;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+@AutoConfigureMockMvc
+class AppointmentSearchControllerTest {
+
+    private static final String SEARCH = "/api/appointments/search";
+    private static final int APPOINTMENTS = 5;
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @MockitoBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        base = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @Test
+    void unsupportedFilterIsRejected() throws Exception {
+        // 조건 없음, 최대 기간을 넘는 전문 분야 검색
+        mockMvc.perform(get(SEARCH).with(admin()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(SEARCH).with(admin())
+                        .param("specialization", Specialization.CARDIOLOGY.name())
+                        .param("from", base.toString())
+                        .param("to", base.plusDays(90).toString()))
+                .andExpect(status().isBadRequest());
+        // 시작이 종료보다 늦은 기간
+        mockMvc.perform(get(SEARCH).with(admin())
+                        .param("from", base.plusDays(1).toString())
+                        .param("to", base.toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void malformedCursorIsRejected() throws Exception {
+        mockMvc.perform(get(SEARCH).with(admin())
+                        .param("status", AppointmentStatus.SCHEDULED.name())
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(SEARCH).with(admin())
+                        .param("status", AppointmentStatus.SCHEDULED.name())
+                        .param("cursor", Base64.getUrlEncoder().encodeToString("v9|x|N|y|z".getBytes())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void specializationSearchPagesWithCursor() throws Exception {
+        Doctor cardiologist = createDoctor(Specialization.CARDIOLOGY);
+        Doctor dermatologist = createDoctor(Specialization.DERMATOLOGY);
+        Patient patient = createPatient();
+        List<Appointment> appointments = new ArrayList<>();
+        for(int i = 0; i < APPOINTMENTS; i++){
+            appointments.add(appointment(cardiologist, patient, base.plusHours(2L * i)));
+            appointments.add(appointment(dermatologist, patient, base.plusHours(2L * i + 1)));
+        }
+        appointmentRepository.saveAll(appointments);
+
+        String from = base.toString();
+        String to = base.plusDays(1).toString();
+        JsonNode first = search(Specialization.CARDIOLOGY, from, to, null);
+        JsonNode second = search(Specialization.CARDIOLOGY, from, to, first.get("nextCursor").asString());
+
+        List<Long> ids = new ArrayList<>();
+        for(JsonNode page : List.of(first, second)){
+            for(JsonNode appointment : page.get("content")){
+                assertThat(appointment.get("doctor").get("id").asLong()).isEqualTo(cardiologist.getId());
+                ids.add(appointment.get("id").asLong());
+            }
+        }
+        assertThat(ids).hasSize(APPOINTMENTS).doesNotHaveDuplicates();
+        assertThat(second.get("hasNext").asBoolean()).isFalse();
+
+        // 다른 조건에서 발급된 커서는 거절
+        mockMvc.perform(get(SEARCH).with(admin())
+                        .param("specialization", Specialization.DERMATOLOGY.name())
+                        .param("from", from)
+                        .param("to", to)
+                        .param("cursor", first.get("nextCursor").asString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode search(Specialization specialization, String from, String to, String cursor) throws Exception {
+        var request = get(SEARCH).with(admin())
+                .param("specialization", specialization.name())
+                .param("from", from)
+                .param("to", to)
+                .param("size", "3");
+        if(cursor != null){
+            request.param("cursor", cursor);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("data");
+    }
+
+    private static RequestPostProcessor admin() {
+        return user("admin@search.test").authorities(new SimpleGrantedAuthority("ADMIN"));
+    }
+
+    private Appointment appointment(Doctor doctor, Patient patient, LocalDateTime startTime) {
+        return Appointment.builder()
+                .startTime(startTime)
+                .endTime(startTime.plusMinutes(60))
+                .status(AppointmentStatus.SCHEDULED)
+                .doctor(doctor)
+                .patient(patient)
+                .build();
+    }
+
+    private Doctor createDoctor(Specialization specialization) {
+        User user = createUser("sd");
+        return doctorRepository.save(Doctor.builder()
+                .firstName("Doctor")
+                .lastName(user.getName())
+                .licenseNumber("LIC-" + user.getId())
+                .specialization(specialization)
+                .user(user)
+                .build());
+    }
+
+    private Patient createPatient() {
+        return patientRepository.save(Patient.builder().user(createUser("sp")).build());
+    }
+
+    private User createUser(String prefix) {
+        int n = SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+                .name(prefix + n)
+                .email(prefix + n + "@search.test")
+                .password("password")
+                .build());
+    }
+}
@@ -0,0 +1,266 @@
+package kitae.spring.health.appointment.service;
+
+import kitae.spring.health.appointment.dto.AppointmentDTO;
+import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.doctor.entity.Doctor;
+import kitae.spring.health.doctor.repository.DoctorRepository;
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.exceptions.BadRequestException;
+import kitae.spring.health.patient.entity.Patient;
+import kitae.spring.health.patient.repository.PatientRepository;
+import kitae.spring.health.users.entity.User;
+import kitae.spring.health.users.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시 예약 경합 테스트
+ * - 한 의사에게 요청을 몰아서 보내는 경우와 여러 의사에게 분산되는 경우의 처리량과 중복 예약 수를 측정
+ */
+@SpringBootTest
+class AppointmentBookingConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentBookingConcurrencyTest.class);
+
+    private static final int THREADS = 16;
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @MockitoBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void sameDoctorSameSlotIsBookedOnlyOnce() throws Exception {
+        Doctor doctor = createDoctor();
+        List<User> patients = createPatients(THREADS);
+        LocalDateTime slot = baseTime();
+
+        Result result = hammer("한 의사/같은 시간", patients, i -> request(doctor, slot));
+
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(THREADS - 1);
+        assertThat(doubleBookings(doctor)).isZero();
+    }
+
+    @Test
+    void sameDoctorOverlappingSlotsNeverDoubleBook() throws Exception {
+        Doctor doctor = createDoctor();
+        List<User> patients = createPatients(THREADS);
+        LocalDateTime base = baseTime();
+
+        // 3분 간격 요청 (모두 1시간 안에서 시작): 어느 두 요청도 진료 시간이 겹치므로 하나만 성공해야 함
+        Result result = hammer("한 의사/겹치는 시간", patients, i -> request(doctor, base.plusMinutes(3L * i)));
+
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(THREADS - 1);
+        assertThat(doubleBookings(doctor)).isZero();
+    }
+
+    @Test
+    void bufferAfterExistingAppointmentIsRespected() throws Exception {
+        Doctor doctor = createDoctor();
+        List<User> patients = createPatients(THREADS + 1);
+        LocalDateTime base = baseTime();
+        book(patients.get(THREADS), request(doctor, base));    // 기존 예약 (base ~ base+1h)
+
+        // 절반은 기존 예약 종료 후 버퍼(1시간) 안에서 시작 -> 모두 거절
+        // 나머지 절반은 버퍼 이후에 서로 겹치게 시작 -> 하나만 성공
+        int half = THREADS / 2;
+        LocalDateTime existingEnd = base.plusMinutes(SchedulingRules.DEFAULT_DURATION_MINUTES);
+        LocalDateTime afterBuffer = existingEnd.plusMinutes(SchedulingRules.BUFFER_MINUTES);
+        Result result = hammer("한 의사/버퍼 구간", patients, i -> i < half
+                ? request(doctor, existingEnd.plusMinutes(5L * i))
+                : request(doctor, afterBuffer.plusMinutes(5L * (i - half))));
+
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(THREADS - 1);
+        assertThat(doubleBookings(doctor)).isZero();
+        assertThat(scheduled(doctor)).extracting(Appointment::getStartTime)
+                .allMatch(start -> start.equals(base) || !start.isBefore(afterBuffer));
+    }
+
+    @Test
+    void manyDoctorsBookInParallel() throws Exception {
+        List<Doctor> doctors = new ArrayList<>();
+        for(int i = 0; i < THREADS; i++){
+            doctors.add(createDoctor());
+        }
+        List<User> patients = createPatients(THREADS);
+        LocalDateTime slot = baseTime();
+
+        Result result = hammer("여러 의사/같은 시간", patients, i -> request(doctors.get(i), slot));
+
+        assertThat(result.succeeded()).isEqualTo(THREADS);
+        for(Doctor doctor : doctors){
+            assertThat(doubleBookings(doctor)).isZero();
+        }
+    }
+
+    private Result hammer(String scenario, List<User> patients, IntFunction<AppointmentDTO> requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for(int i = 0; i < THREADS; i++){
+            int index = i;
+            futures.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(patients.get(index).getEmail(), null, List.of()));
+                try {
+                    ready.countDown();
+                    start.await();
+                    appointmentService.bookAppointment(requests.apply(index));
+                    succeeded.incrementAndGet();
+                } catch (BadRequestException e) {
+                    rejected.incrementAndGet();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            }));
+        }
+
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        for(Future<?> future : futures){
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        executor.shutdown();
+
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        log.info("[예약 경합 벤치마크] {} - 요청 {}건, 성공 {}건, 거절 {}건, {} ms, 처리량 {} req/s",
+                scenario, THREADS, succeeded.get(), rejected.get(),
+                String.format("%.1f", elapsedNanos / 1_000_000.0),
+                String.format("%.1f", THREADS / seconds));
+
+        return new Result(succeeded.get(), rejected.get());
+    }
+
+    /**
+     * 예약 규칙을 어긴 SCHEDULED 예약 쌍의 수
+     * - 나중에 등록된 예약(ID 가 큰 예약)은 먼저 등록된 예약과 [시작 - 버퍼, 종료) 구간이 겹치면 안 됨 (예약 등록 시 검사와 같은 규칙)
+     */
+    private long doubleBookings(Doctor doctor) {
+        List<Appointment> scheduled = scheduled(doctor);
+
+        long count = 0;
+        for(int i = 0; i < scheduled.size(); i++){
+            for(int j = i + 1; j < scheduled.size(); j++){
+                Appointment first = scheduled.get(i);
+                Appointment next = scheduled.get(j);
+                if(first.getStartTime().isBefore(next.getEndTime())
+                        && first.getEndTime().isAfter(next.getStartTime().minusMinutes(SchedulingRules.BUFFER_MINUTES))){
+                    count++;
+                }
+            }
+        }
+        log.info("의사 ID {} - SCHEDULED {}건, 규칙 위반 예약 쌍 {}건", doctor.getId(), scheduled.size(), count);
+        return count;
+    }
+
+    /**
+     * 의사의 SCHEDULED 예약 (등록 순)
+     */
+    private List<Appointment> scheduled(Doctor doctor) {
+        return appointmentRepository.findAll().stream()
+                .filter(a -> a.getStatus() == AppointmentStatus.SCHEDULED)
+                .filter(a -> a.getDoctor().getId().equals(doctor.getId()))
+                .sorted(Comparator.comparing(Appointment::getId))
+                .toList();
+    }
+
+    private void book(User patient, AppointmentDTO request) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(patient.getEmail(), null, List.of()));
+        try {
+            appointmentService.bookAppointment(request);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private AppointmentDTO request(Doctor doctor, LocalDateTime startTime) {
+        return AppointmentDTO.builder()
+                .doctorId(doctor.getId())
+                .startTime(startTime)
+                .purposeOfConsultation("정기 검진")
+                .build();
+    }
+
+    private LocalDateTime baseTime() {
+        return LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private Doctor createDoctor() {
+        User user = createUser("d");
+        return doctorRepository.save(Doctor.builder()
+                .firstName("Doctor")
+                .lastName(user.getName())
+                .licenseNumber("LIC-" + user.getId())
+                .user(user)
+                .build());
+    }
+
+    private List<User> createPatients(int count) {
+        List<User> users = new ArrayList<>();
+        for(int i = 0; i < count; i++){
+            User user = createUser("p");
+            patientRepository.save(Patient.builder().user(user).build());
+            users.add(user);
+        }
+        return users;
+    }
+
+    private User createUser(String prefix) {
+        int n = SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+                .name(prefix + n)
+                .email(prefix + n + "@conc.test")
+                .password("password")
+                .build());
+    }
+
+    private record Result(int succeeded, int rejected) {
+    }
+}
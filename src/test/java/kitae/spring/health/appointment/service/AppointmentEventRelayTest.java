@@ -0,0 +1,184 @@
+package kitae.spring.health.appointment.service;
+
+import kitae.spring.health.appointment.entity.AppointmentEvent;
+import kitae.spring.health.appointment.repository.AppointmentEventRepository;
+import kitae.spring.health.enums.AppointmentEventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 아웃박스 릴레이 재전달 테스트
+ * - 소비자가 실패한 이벤트는 삭제되지 않고 남으며, 다음 전달 때 실패한 소비자에게만 다시 전달되는지 확인
+ * - 스케줄 실행은 멈춰 두고(interval 1시간) relay() 를 직접 호출, 다른 테스트 컨텍스트와 이벤트를 나누지 않도록 별도 메모리 DB 사용
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-relay;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "appointment.outbox.interval=PT1H",
+        "appointment.outbox.retry.initial-delay=PT1H",
+        "appointment.outbox.retry.max-attempts=3",
+        "notification.email-queue.enabled=false"
+})
+class AppointmentEventRelayTest {
+
+    @MockitoBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private AppointmentEventRelay appointmentEventRelay;
+
+    @Autowired
+    private AppointmentEventRepository appointmentEventRepository;
+
+    @Autowired
+    private FlakyConsumer flakyConsumer;
+
+    @Autowired
+    private RecordingConsumer recordingConsumer;
+
+    @BeforeEach
+    void reset() {
+        appointmentEventRepository.deleteAll();
+        flakyConsumer.failing.clear();
+        flakyConsumer.received.clear();
+        recordingConsumer.received.clear();
+    }
+
+    @Test
+    void failedEventsStayInOutbox() {
+        List<AppointmentEvent> events = saveEvents(3);
+        flakyConsumer.failing.add(FlakyConsumer.ALL);
+
+        appointmentEventRelay.relay();
+
+        List<AppointmentEvent> remaining = appointmentEventRepository.findAll();
+        assertThat(remaining).extracting(AppointmentEvent::getId)
+                .containsExactlyInAnyOrderElementsOf(ids(events));
+        assertThat(remaining).allSatisfy(event -> {
+            assertThat(event.getAttempts()).isEqualTo(1);
+            assertThat(event.getPendingConsumers()).isEqualTo(FlakyConsumer.class.getSimpleName());
+            assertThat(event.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        });
+        assertThat(recordingConsumer.received).containsExactlyElementsOf(ids(events));
+
+        // 다음 전달 시각 전에는 다시 가져가지 않음
+        assertThat(appointmentEventRelay.relay()).isZero();
+
+        // 복구 후에는 실패한 소비자에게만 다시 전달하고 삭제
+        flakyConsumer.failing.clear();
+        makeDue();
+        appointmentEventRelay.relay();
+
+        assertThat(appointmentEventRepository.count()).isZero();
+        assertThat(flakyConsumer.received).containsExactlyElementsOf(ids(events));
+        assertThat(recordingConsumer.received).hasSize(events.size());
+    }
+
+    @Test
+    void onlyFailingEventIsKept() {
+        List<AppointmentEvent> events = saveEvents(3);
+        Long poison = events.get(1).getId();
+        flakyConsumer.failing.add(poison);
+
+        appointmentEventRelay.relay();
+
+        assertThat(appointmentEventRepository.findAll()).extracting(AppointmentEvent::getId).containsExactly(poison);
+        assertThat(flakyConsumer.received).containsExactlyInAnyOrder(events.get(0).getId(), events.get(2).getId());
+    }
+
+    @Test
+    void eventIsDroppedAfterMaxAttempts() {
+        Long poison = saveEvents(1).get(0).getId();
+        flakyConsumer.failing.add(poison);
+
+        appointmentEventRelay.relay();
+        makeDue();
+        appointmentEventRelay.relay();
+        assertThat(appointmentEventRepository.findById(poison)).get()
+                .extracting(AppointmentEvent::getAttempts).isEqualTo(2);
+
+        makeDue();
+        appointmentEventRelay.relay();
+        assertThat(appointmentEventRepository.count()).isZero();
+    }
+
+    private List<AppointmentEvent> saveEvents(int count) {
+        List<AppointmentEvent> events = new ArrayList<>();
+        for(int i = 0; i < count; i++){
+            events.add(AppointmentEvent.builder()
+                    .type(AppointmentEventType.NO_SHOW)
+                    .appointmentId(-1L - i)     // 없는 예약 (알림 소비자는 건너뜀)
+                    .doctorId(-1L)
+                    .occurredAt(LocalDateTime.now())
+                    .build());
+        }
+        return appointmentEventRepository.saveAll(events);
+    }
+
+    private void makeDue() {
+        List<AppointmentEvent> events = appointmentEventRepository.findAll();
+        events.forEach(event -> event.setNextAttemptAt(LocalDateTime.now().minusSeconds(1)));
+        appointmentEventRepository.saveAll(events);
+    }
+
+    private static List<Long> ids(List<AppointmentEvent> events) {
+        return events.stream().map(AppointmentEvent::getId).toList();
+    }
+
+    @TestConfiguration
+    static class Consumers {
+
+        @Bean
+        FlakyConsumer flakyConsumer() {
+            return new FlakyConsumer();
+        }
+
+        @Bean
+        RecordingConsumer recordingConsumer() {
+            return new RecordingConsumer();
+        }
+    }
+
+    /**
+     * failing 에 포함된 이벤트가 묶음에 있으면 실패하는 소비자 (ALL 이면 항상 실패)
+     */
+    static class FlakyConsumer implements AppointmentEventConsumer {
+
+        static final Long ALL = 0L;
+
+        final Set<Long> failing = ConcurrentHashMap.newKeySet();
+        final List<Long> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void consume(List<AppointmentEvent> events) {
+            if(failing.contains(ALL) || events.stream().anyMatch(event -> failing.contains(event.getId()))){
+                throw new IllegalStateException("소비자 처리 실패 (테스트)");
+            }
+            events.forEach(event -> received.add(event.getId()));
+        }
+    }
+
+    static class RecordingConsumer implements AppointmentEventConsumer {
+
+        final List<Long> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void consume(List<AppointmentEvent> events) {
+            events.forEach(event -> received.add(event.getId()));
+        }
+    }
+}
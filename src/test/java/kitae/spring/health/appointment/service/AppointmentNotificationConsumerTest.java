@@ -0,0 +1,181 @@
+package kitae.spring.health.appointment.service;
+
+import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.appointment.entity.AppointmentEvent;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.doctor.entity.Doctor;
+import kitae.spring.health.doctor.repository.DoctorRepository;
+import kitae.spring.health.enums.AppointmentEventType;
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.notification.dto.NotificationDTO;
+import kitae.spring.health.notification.service.NotificationService;
+import kitae.spring.health.patient.entity.Patient;
+import kitae.spring.health.patient.repository.PatientRepository;
+import kitae.spring.health.users.entity.User;
+import kitae.spring.health.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 예약 알림 소비자 테스트
+ * - 이벤트 뒤에 예약 시간이 다시 바뀌어도 알림은 이벤트에 저장된 시간과 상태로 렌더링되어야 함
+ * - 이벤트에 시간이 없는 이전 형식의 이벤트는 현재 예약 시간으로 렌더링
+ * - 취소 알림은 템플릿이 사용하는 cancellingPartyName 변수로 취소자 이름을 전달
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notification-consumer;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "appointment.outbox.interval=PT1H"
+})
+class AppointmentNotificationConsumerTest {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss ", Locale.KOREAN);
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @MockitoBean
+    private JavaMailSender javaMailSender;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @Autowired
+    private AppointmentNotificationConsumer appointmentNotificationConsumer;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void reset() {
+        clearInvocations(notificationService);
+    }
+
+    @Test
+    void bookedEventRendersEventTime() {
+        LocalDateTime booked = baseTime();
+        Appointment appointment = createAppointment(booked, AppointmentStatus.SCHEDULED);
+
+        // 이벤트 전달 전에 예약 시간이 다시 바뀜
+        appointment.setStartTime(booked.plusDays(1));
+        appointment.setEndTime(booked.plusDays(1).plusMinutes(30));
+        appointmentRepository.save(appointment);
+
+        appointmentNotificationConsumer.consume(List.of(event(appointment, AppointmentEventType.BOOKED, booked, AppointmentStatus.SCHEDULED, null)));
+
+        assertThat(sent()).hasSize(2).allSatisfy(notification -> {
+            assertThat(notification.getTemplateVariables()).containsEntry("appointmentTime", booked.format(FORMATTER));
+            assertThat(notification.getTemplateVariables()).containsEntry("appointmentStatus", AppointmentStatus.SCHEDULED.name());
+        });
+    }
+
+    @Test
+    void cancelledEventRendersEventTimeAndCancellingParty() {
+        LocalDateTime cancelled = baseTime().plusHours(2);
+        Appointment appointment = createAppointment(cancelled, AppointmentStatus.CANCELLED);
+        User patientUser = appointment.getPatient().getUser();
+
+        appointment.setStartTime(cancelled.plusDays(2));
+        appointmentRepository.save(appointment);
+
+        appointmentNotificationConsumer.consume(List.of(event(appointment, AppointmentEventType.CANCELLED, cancelled, AppointmentStatus.CANCELLED, patientUser)));
+
+        assertThat(sent()).hasSize(2).allSatisfy(notification -> {
+            assertThat(notification.getTemplateVariables()).containsEntry("appointmentTime", cancelled.format(FORMATTER));
+            assertThat(notification.getTemplateVariables()).containsEntry("appointmentStatus", AppointmentStatus.CANCELLED.name());
+            assertThat(notification.getTemplateVariables()).containsEntry("cancellingPartyName", patientUser.getName());
+        });
+    }
+
+    @Test
+    void legacyEventFallsBackToAppointment() {
+        LocalDateTime start = baseTime().plusHours(4);
+        Appointment appointment = createAppointment(start, AppointmentStatus.SCHEDULED);
+
+        appointmentNotificationConsumer.consume(List.of(event(appointment, AppointmentEventType.BOOKED, null, null, null)));
+
+        assertThat(sent()).hasSize(2).allSatisfy(notification ->
+                assertThat(notification.getTemplateVariables()).containsEntry("appointmentTime", start.format(FORMATTER)));
+    }
+
+    private List<NotificationDTO> sent() {
+        ArgumentCaptor<NotificationDTO> captor = ArgumentCaptor.forClass(NotificationDTO.class);
+        verify(notificationService, atLeast(0)).sendEmail(captor.capture(), any());
+        return captor.getAllValues();
+    }
+
+    private AppointmentEvent event(Appointment appointment, AppointmentEventType type,
+                                   LocalDateTime startTime, AppointmentStatus status, User actor) {
+        return AppointmentEvent.builder()
+                .type(type)
+                .appointmentId(appointment.getId())
+                .doctorId(appointment.getDoctor().getId())
+                .actorUserId(actor != null ? actor.getId() : null)
+                .startTime(startTime)
+                .status(status)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private LocalDateTime baseTime() {
+        return LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private Appointment createAppointment(LocalDateTime startTime, AppointmentStatus status) {
+        return appointmentRepository.save(Appointment.builder()
+                .startTime(startTime)
+                .endTime(startTime.plusMinutes(30))
+                .status(status)
+                .purposeOfConsultation("상담")
+                .doctor(createDoctor())
+                .patient(createPatient())
+                .build());
+    }
+
+    private Doctor createDoctor() {
+        User user = createUser("nd");
+        return doctorRepository.save(Doctor.builder()
+                .firstName("Doctor")
+                .lastName(user.getName())
+                .licenseNumber("LIC-" + user.getId())
+                .user(user)
+                .build());
+    }
+
+    private Patient createPatient() {
+        return patientRepository.save(Patient.builder().user(createUser("np")).build());
+    }
+
+    private User createUser(String prefix) {
+        int n = SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+                .name(prefix + n)
+                .email(prefix + n + "@notification.test")
+                .password("password")
+                .build());
+    }
+}
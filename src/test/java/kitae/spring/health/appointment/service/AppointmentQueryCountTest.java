@@ -0,0 +1,202 @@
+package kitae.spring.health.appointment.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import kitae.spring.health.appointment.dto.AppointmentPageDTO;
+import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.doctor.entity.Doctor;
+import kitae.spring.health.doctor.repository.DoctorRepository;
+import kitae.spring.health.enums.AppointmentScope;
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.patient.entity.Patient;
+import kitae.spring.health.patient.repository.PatientRepository;
+import kitae.spring.health.role.entity.Role;
+import kitae.spring.health.role.repository.RoleRepository;
+import kitae.spring.health.users.entity.User;
+import kitae.spring.health.users.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 예약 조회 경로의 SQL 실행 횟수 테스트
+ * - 연관 엔티티(의사/환자/사용자/역할/상담)를 fetch plan 으로 함께 조회하므로 조회 건수와 무관하게 SQL 수가 고정되어야 함
+ * - 통계는 SessionFactory 전체 기준이므로 주기적으로 실행되는 아웃박스 릴레이와 메일 발송기는 끔
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "appointment.outbox.enabled=false",
+        "notification.email-queue.enabled=false"
+})
+class AppointmentQueryCountTest {
+
+    // 사용자, 사용자 역할, 의사/환자 프로필, 예약 페이지(fetch join), 상대방 사용자 역할(batch)
+    private static final long EXPECTED_STATEMENTS = 5;
+    // 이력(ALL/PAST) 조회가 운영 테이블에서 한 페이지를 채우지 못하면 보관 테이블 조회 1회 추가
+    private static final long EXPECTED_HISTORY_STATEMENTS = EXPECTED_STATEMENTS + 1;
+    private static final int APPOINTMENTS = 50;
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @MockitoBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User doctorUser;
+    private User patientUser;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Role doctorRole = role("DOCTOR");
+            Role patientRole = role("PATIENT");
+
+            doctorUser = user("qd", doctorRole);
+            Doctor doctor = doctorRepository.save(Doctor.builder()
+                    .firstName("Doctor")
+                    .lastName(doctorUser.getName())
+                    .licenseNumber("LIC-" + doctorUser.getId())
+                    .user(doctorUser)
+                    .build());
+
+            // 환자마다 다른 사용자를 두어 역할 컬렉션 지연 조회가 N+1 로 이어지는지 확인
+            LocalDateTime base = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.HOURS);
+            List<Appointment> appointments = new ArrayList<>();
+            Patient firstPatient = null;
+            for(int i = 0; i < APPOINTMENTS; i++){
+                User user = user("qp", patientRole);
+                Patient patient = patientRepository.save(Patient.builder().user(user).build());
+                if(firstPatient == null){
+                    firstPatient = patient;
+                    patientUser = user;
+                }
+                LocalDateTime start = base.plusHours(2L * i);
+                appointments.add(Appointment.builder()
+                        .startTime(start)
+                        .endTime(start.plusMinutes(60))
+                        .status(AppointmentStatus.SCHEDULED)
+                        .doctor(doctor)
+                        .patient(i % 5 == 0 ? firstPatient : patient)
+                        .build());
+            }
+            appointmentRepository.saveAll(appointments);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doctorAppointmentPageUsesFixedStatementCount() {
+        authenticate(doctorUser);
+
+        long small = countStatements(() -> appointmentService.getMyAppointments(AppointmentScope.UPCOMING, null, null, 10).getData());
+        long large = countStatements(() -> {
+            AppointmentPageDTO page = appointmentService.getMyAppointments(AppointmentScope.UPCOMING, null, null, APPOINTMENTS).getData();
+            assertThat(page.getContent()).hasSize(APPOINTMENTS);
+            assertThat(page.getContent().get(0).getPatient().getUser().getRoles()).isNotEmpty();
+            return page;
+        });
+
+        assertThat(small).isEqualTo(EXPECTED_STATEMENTS);
+        assertThat(large).isEqualTo(EXPECTED_STATEMENTS);
+    }
+
+    @Test
+    void patientAppointmentPageUsesFixedStatementCount() {
+        authenticate(patientUser);
+
+        long statements = countStatements(() -> {
+            AppointmentPageDTO page = appointmentService.getMyAppointments(AppointmentScope.ALL, null, null, APPOINTMENTS).getData();
+            assertThat(page.getContent()).hasSize(APPOINTMENTS / 5);
+            assertThat(page.getContent().get(0).getDoctor().getUser().getEmail()).isEqualTo(doctorUser.getEmail());
+            return page;
+        });
+
+        assertThat(statements).isEqualTo(EXPECTED_HISTORY_STATEMENTS);
+    }
+
+    @Test
+    void cursorPagingWalksForwardAndBack() {
+        authenticate(doctorUser);
+
+        AppointmentPageDTO first = appointmentService.getMyAppointments(AppointmentScope.UPCOMING, null, null, 20).getData();
+        AppointmentPageDTO second = appointmentService.getMyAppointments(AppointmentScope.UPCOMING, null, first.getNextCursor(), 20).getData();
+        AppointmentPageDTO back = appointmentService.getMyAppointments(AppointmentScope.UPCOMING, null, second.getPrevCursor(), 20).getData();
+
+        assertThat(first.isHasPrevious()).isFalse();
+        assertThat(second.getContent().get(0).getStartTime()).isAfter(first.getContent().get(19).getStartTime());
+        assertThat(back.getContent()).extracting("id").isEqualTo(first.getContent().stream().map(a -> a.getId()).toList());
+    }
+
+    private long countStatements(Supplier<?> action) {
+        statistics.clear();
+        action.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+    }
+
+    private Role role(String name) {
+        return roleRepository.findByName(name)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(name).build()));
+    }
+
+    private User user(String prefix, Role role) {
+        int n = SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+                .name(prefix + n)
+                .email(prefix + n + "@query.test")
+                .password("password")
+                .roles(new ArrayList<>(List.of(role)))
+                .build());
+    }
+}
@@ -0,0 +1,127 @@
+package kitae.spring.health.appointment.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 해시 타이밍 휠 단위 테스트
+ * - 휠 스레드를 띄우지 않고 advance() 로 tick 을 직접 진행하여 시각과 무관하게 확인
+ * - tick 100ms, 버킷 8개 (한 바퀴 800ms), tick 0 은 시각 0 에 시작
+ */
+class HashedTimingWheelTest {
+
+    private static final long TICK = 100;
+    private static final int WHEEL_SIZE = 8;
+
+    private final List<String> fired = new ArrayList<>();
+    private final List<Long> firedDeadlines = new ArrayList<>();
+    private HashedTimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HashedTimingWheel<>(TICK, WHEEL_SIZE, 0, (key, deadline) -> {
+            fired.add(key);
+            firedDeadlines.add(deadline);
+        });
+    }
+
+    @Test
+    void firesInTheTickContainingTheDeadline() {
+        wheel.schedule("a", 350);   // tick 3
+
+        assertThat(advance(3)).isZero();
+        assertThat(wheel.advance()).isEqualTo(1);
+        assertThat(fired).containsExactly("a");
+        assertThat(firedDeadlines).containsExactly(350L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void delayLongerThanOneRevolutionWaitsForItsRound() {
+        wheel.schedule("far", 2_050);   // tick 20 = 두 바퀴 반 (버킷 4)
+        wheel.schedule("near", 450);    // tick 4 = 같은 버킷, 첫 바퀴
+
+        assertThat(advance(4)).isZero();
+        assertThat(wheel.advance()).isEqualTo(1);   // tick 4
+        assertThat(fired).containsExactly("near");
+
+        // tick 12 (같은 버킷, 두 번째 바퀴)에도 아직 만료되지 않음
+        assertThat(advance(15)).isZero();           // tick 5 ~ 19
+        assertThat(wheel.advance()).isEqualTo(1);   // tick 20
+        assertThat(fired).containsExactly("near", "far");
+    }
+
+    @Test
+    void scheduledAfterTicksHaveAdvancedCountsRoundsFromCurrentTick() {
+        advance(5);
+        wheel.schedule("a", 5 * TICK + WHEEL_SIZE * TICK);  // 지금부터 정확히 한 바퀴 뒤 (tick 13, 버킷 5)
+
+        assertThat(advance(WHEEL_SIZE)).isZero();   // tick 5 ~ 12
+        assertThat(wheel.advance()).isEqualTo(1);   // tick 13
+    }
+
+    @Test
+    void cancelBeforeFiring() {
+        wheel.schedule("a", 250);
+        wheel.schedule("b", 250);
+
+        assertThat(wheel.cancel("a")).isTrue();
+        assertThat(wheel.cancel("a")).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        advance(WHEEL_SIZE * 2);
+        assertThat(fired).containsExactly("b");
+        assertThat(wheel.cancel("b")).isFalse();
+    }
+
+    @Test
+    void rescheduleReplacesPreviousTimeout() {
+        wheel.schedule("a", 150);
+        wheel.schedule("a", 650);
+        assertThat(wheel.size()).isEqualTo(1);
+
+        assertThat(advance(6)).isZero();
+        assertThat(wheel.advance()).isEqualTo(1);   // tick 6
+        assertThat(firedDeadlines).containsExactly(650L);
+    }
+
+    @Test
+    void zeroOrNegativeDelayFiresOnNextTick() {
+        advance(5);
+        wheel.schedule("now", 500);     // 현재 tick 의 시작 시각
+        wheel.schedule("past", 100);    // 이미 지난 tick
+        wheel.schedule("before-start", -1_000);   // 휠 시작 전
+
+        assertThat(wheel.advance()).isEqualTo(3);
+        assertThat(fired).containsExactlyInAnyOrder("now", "past", "before-start");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void failingHandlerDoesNotStopOtherTimeouts() {
+        HashedTimingWheel<String> failing = new HashedTimingWheel<>(TICK, WHEEL_SIZE, 0, (key, deadline) -> {
+            if(key.equals("bad")){
+                throw new IllegalStateException("실패");
+            }
+            fired.add(key);
+        });
+        failing.schedule("bad", 50);
+        failing.schedule("good", 50);
+
+        assertThat(failing.advance()).isEqualTo(2);
+        assertThat(fired).containsExactly("good");
+    }
+
+    private int advance(int ticks) {
+        int expired = 0;
+        for(int i = 0; i < ticks; i++){
+            expired += wheel.advance();
+        }
+        return expired;
+    }
+}
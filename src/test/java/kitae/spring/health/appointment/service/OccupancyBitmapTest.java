@@ -0,0 +1,82 @@
+package kitae.spring.health.appointment.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 점유 비트맵 단위 테스트
+ * - 워드(64분) 경계, 하루 끝(1440분) 잘라내기, 예약 버퍼를 포함한 점유 규칙을 확인
+ */
+class OccupancyBitmapTest {
+
+    private static final int BUFFER = SchedulingRules.BUFFER_MINUTES;
+
+    @Test
+    void wordBoundaries() {
+        OccupancyBitmap bitmap = new OccupancyBitmap();
+        bitmap.occupy(63, 65);  // 첫 워드의 마지막 비트 + 둘째 워드의 첫 비트
+
+        assertThat(bitmap.isFree(0, 63)).isTrue();
+        assertThat(bitmap.isFree(62, 64)).isFalse();
+        assertThat(bitmap.isFree(64, 65)).isFalse();
+        assertThat(bitmap.isFree(65, 128)).isTrue();
+        assertThat(bitmap.isFree(0, OccupancyBitmap.MINUTES_PER_DAY)).isFalse();
+    }
+
+    @Test
+    void endOfDayIsClipped() {
+        OccupancyBitmap bitmap = new OccupancyBitmap();
+        bitmap.occupy(23 * 60 + 30, 25 * 60);   // 23:30 ~ 다음 날 01:00 -> 23:30 ~ 24:00 만 표시
+
+        assertThat(bitmap.isFree(23 * 60, 23 * 60 + 30)).isTrue();
+        assertThat(bitmap.isFree(OccupancyBitmap.MINUTES_PER_DAY - 1, OccupancyBitmap.MINUTES_PER_DAY)).isFalse();
+        assertThat(bitmap.isFree(OccupancyBitmap.MINUTES_PER_DAY, 26 * 60)).isTrue();
+        assertThat(bitmap.isFree(-30, 0)).isTrue();
+    }
+
+    @Test
+    void bufferEdgesMatchConflictRule() {
+        // 기존 예약 10:00 ~ 11:00 -> [10:00, 11:00 + 버퍼) 점유
+        int start = 10 * 60;
+        int end = 11 * 60;
+        OccupancyBitmap bitmap = new OccupancyBitmap();
+        bitmap.occupy(start, end + BUFFER);
+
+        assertThat(bitmap.isFree(end + BUFFER, end + BUFFER + 60)).isTrue();       // 버퍼가 끝나는 시각에 시작
+        assertThat(bitmap.isFree(end + BUFFER - 1, end + BUFFER + 59)).isFalse();  // 버퍼 안에서 시작
+        assertThat(bitmap.isFree(start - 60, start)).isTrue();                     // 기존 예약 시작 시각에 끝남
+        assertThat(bitmap.isFree(start - 59, start + 1)).isFalse();                // 기존 예약과 1분 겹침
+    }
+
+    @Test
+    void matchesConflictRuleForRandomAppointments() {
+        Random random = new Random(42);
+        for(int round = 0; round < 200; round++){
+            int count = 1 + random.nextInt(6);
+            int[][] booked = new int[count][];
+            OccupancyBitmap bitmap = new OccupancyBitmap();
+            for(int i = 0; i < count; i++){
+                int s = random.nextInt(OccupancyBitmap.MINUTES_PER_DAY);
+                int e = s + SchedulingRules.MIN_DURATION_MINUTES + random.nextInt(SchedulingRules.MAX_DURATION_MINUTES);
+                booked[i] = new int[]{s, e};
+                bitmap.occupy(s, e + BUFFER);
+            }
+
+            for(int t = 0; t < OccupancyBitmap.MINUTES_PER_DAY; t += 7){
+                int d = SchedulingRules.MIN_DURATION_MINUTES + random.nextInt(120);
+                int newEnd = Math.min(t + d, OccupancyBitmap.MINUTES_PER_DAY);
+                boolean conflict = false;
+                for(int[] b : booked){
+                    // 예약 등록 시 충돌 규칙: 기존 시작 < 새 종료 && 기존 종료 > 새 시작 - 버퍼
+                    if(b[0] < newEnd && b[1] > t - BUFFER){
+                        conflict = true;
+                    }
+                }
+                assertThat(bitmap.isFree(t, newEnd)).as("round %d, [%d, %d)", round, t, newEnd).isEqualTo(!conflict);
+            }
+        }
+    }
+}
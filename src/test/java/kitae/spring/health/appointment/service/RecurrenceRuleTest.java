@@ -0,0 +1,79 @@
+package kitae.spring.health.appointment.service;
+
+import kitae.spring.health.enums.RecurrenceFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 반복 규칙 회차 계산 단위 테스트
+ * - 월말 날짜 보정(없는 날짜는 그 달의 마지막 날), until 경계(until 에 시작하는 회차는 제외), 회차 수와 간격을 확인
+ */
+class RecurrenceRuleTest {
+
+    @Test
+    void monthlyClampsToMonthEndWithoutDrifting() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.MONTHLY, 1, 5, null);
+
+        // 매 회차를 첫 회차 기준으로 계산하므로 2월에 28일로 줄어든 뒤에도 3월은 다시 31일
+        assertThat(occurrences(rule, LocalDateTime.of(2027, 1, 31, 9, 0))).containsExactly(
+                LocalDateTime.of(2027, 1, 31, 9, 0),
+                LocalDateTime.of(2027, 2, 28, 9, 0),
+                LocalDateTime.of(2027, 3, 31, 9, 0),
+                LocalDateTime.of(2027, 4, 30, 9, 0),
+                LocalDateTime.of(2027, 5, 31, 9, 0));
+    }
+
+    @Test
+    void monthlyOnLeapYear() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.MONTHLY, 12, 3, null);
+
+        assertThat(occurrences(rule, LocalDateTime.of(2028, 2, 29, 10, 30))).containsExactly(
+                LocalDateTime.of(2028, 2, 29, 10, 30),
+                LocalDateTime.of(2029, 2, 28, 10, 30),
+                LocalDateTime.of(2030, 2, 28, 10, 30));
+    }
+
+    @Test
+    void untilIsExclusive() {
+        LocalDateTime first = LocalDateTime.of(2027, 3, 1, 14, 0);
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, null, first.plusWeeks(3));
+
+        // until 과 같은 시각에 시작하는 회차는 포함하지 않음
+        assertThat(occurrences(rule, first)).containsExactly(first, first.plusWeeks(1), first.plusWeeks(2));
+
+        RecurrenceRule justAfter = new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, null, first.plusWeeks(3).plusMinutes(1));
+        assertThat(occurrences(justAfter, first)).hasSize(4);
+    }
+
+    @Test
+    void untilBeforeFirstYieldsNothing() {
+        LocalDateTime first = LocalDateTime.of(2027, 3, 1, 14, 0);
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.DAILY, 1, null, first);
+
+        assertThat(occurrences(rule, first)).isEmpty();
+    }
+
+    @Test
+    void countAndIntervalTogetherWithUntil() {
+        LocalDateTime first = LocalDateTime.of(2027, 3, 1, 14, 0);
+
+        // 격일 4회
+        assertThat(occurrences(new RecurrenceRule(RecurrenceFrequency.DAILY, 2, 4, null), first))
+                .containsExactly(first, first.plusDays(2), first.plusDays(4), first.plusDays(6));
+
+        // 회차 수와 until 중 먼저 끝나는 쪽에서 멈춤
+        assertThat(occurrences(new RecurrenceRule(RecurrenceFrequency.DAILY, 2, 10, first.plusDays(5)), first))
+                .containsExactly(first, first.plusDays(2), first.plusDays(4));
+    }
+
+    private static List<LocalDateTime> occurrences(RecurrenceRule rule, LocalDateTime first) {
+        List<LocalDateTime> result = new ArrayList<>();
+        rule.occurrences(first).forEach(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,189 @@
+package kitae.spring.health.doctor.service;
+
+import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.doctor.dto.DoctorStatsDTO;
+import kitae.spring.health.doctor.entity.Doctor;
+import kitae.spring.health.doctor.entity.DoctorStats;
+import kitae.spring.health.doctor.repository.DoctorRepository;
+import kitae.spring.health.doctor.repository.DoctorStatsRepository;
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.patient.entity.Patient;
+import kitae.spring.health.patient.repository.PatientRepository;
+import kitae.spring.health.users.entity.User;
+import kitae.spring.health.users.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 의사 통계 최초 집계 테스트
+ * - 집계 직전까지의 반영 전 증감분은 집계 결과에 포함되므로 다시 더하지 않아야 함
+ * - 집계 중에 들어온 증감분은 통계 행이 없다고 버리지 않고, 행이 생긴 뒤 반영해야 함
+ * - 동시에 처음 조회해도 통계 행은 한 번만 만들어지고 서로 덮어쓰지 않아야 함
+ * - 스케줄 실행과 겹치지 않도록 반영 주기를 길게 두고 flush() 를 직접 호출
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:doctor-stats;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "doctor.stats.flush-interval=PT1H"
+})
+class DoctorStatsTest {
+
+    private static final int READERS = 8;
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @MockitoBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private DoctorStatsRecorder doctorStatsRecorder;
+
+    @Autowired
+    private DoctorStatsRepository doctorStatsRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deltasBeforeSeedAreNotCountedTwice() {
+        Doctor doctor = createDoctorWithAppointments(2);
+        // 이미 DB 에 반영된 예약의 증감분이 아직 통계에 반영되지 않은 상태
+        doctorStatsRecorder.statusChanged(doctor.getId(), null, AppointmentStatus.SCHEDULED);
+        doctorStatsRecorder.statusChanged(doctor.getId(), null, AppointmentStatus.SCHEDULED);
+
+        assertThat(statsOf(doctor).getUpcoming()).isEqualTo(2);
+        doctorStatsRecorder.flush();
+        assertThat(doctorStatsRepository.findById(doctor.getId()).orElseThrow().getUpcoming()).isEqualTo(2);
+
+        // 집계 이후 증감분은 반영
+        doctorStatsRecorder.statusChanged(doctor.getId(), AppointmentStatus.SCHEDULED, AppointmentStatus.CANCELLED);
+        doctorStatsRecorder.flush();
+        DoctorStats stats = doctorStatsRepository.findById(doctor.getId()).orElseThrow();
+        assertThat(stats.getUpcoming()).isEqualTo(1);
+        assertThat(stats.getCancelled()).isEqualTo(1);
+    }
+
+    @Test
+    void deltasDuringSeedAreKeptUntilRowExists() {
+        Doctor doctor = createDoctorWithAppointments(1);
+
+        long[] snapshot = doctorStatsRecorder.beginSeed(doctor.getId());
+        // 집계 중에 들어온 증감분은 행이 없어도 버리지 않음
+        doctorStatsRecorder.statusChanged(doctor.getId(), null, AppointmentStatus.SCHEDULED);
+        assertThat(doctorStatsRecorder.flush()).isZero();
+
+        transactionTemplate.executeWithoutResult(status ->
+                doctorStatsRepository.insertIfAbsent(doctor.getId(), 1, 0, 0, 0, 0, LocalDateTime.now()));
+        doctorStatsRecorder.finishSeed(doctor.getId(), snapshot, true);
+
+        assertThat(doctorStatsRecorder.flush()).isEqualTo(1);
+        assertThat(doctorStatsRepository.findById(doctor.getId()).orElseThrow().getUpcoming()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentFirstViewsSeedOnce() throws Exception {
+        Doctor doctor = createDoctorWithAppointments(3);
+
+        ExecutorService executor = Executors.newFixedThreadPool(READERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<DoctorStatsDTO>> results = new ArrayList<>();
+            for(int i = 0; i < READERS; i++){
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return statsOf(doctor);
+                }));
+            }
+            start.countDown();
+            for(Future<DoctorStatsDTO> result : results){
+                assertThat(result.get().getUpcoming()).isEqualTo(3);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(doctorStatsRepository.findById(doctor.getId()).orElseThrow().getUpcoming()).isEqualTo(3);
+    }
+
+    private DoctorStatsDTO statsOf(Doctor doctor) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(doctor.getUser().getEmail(), null, List.of()));
+        try {
+            return doctorService.getMyStats().getData();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private Doctor createDoctorWithAppointments(int scheduled) {
+        User doctorUser = createUser("td");
+        Doctor doctor = doctorRepository.save(Doctor.builder()
+                .firstName("Doctor")
+                .lastName(doctorUser.getName())
+                .licenseNumber("LIC-" + doctorUser.getId())
+                .user(doctorUser)
+                .build());
+        Patient patient = patientRepository.save(Patient.builder().user(createUser("tp")).build());
+
+        LocalDateTime base = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.HOURS);
+        List<Appointment> appointments = new ArrayList<>();
+        for(int i = 0; i < scheduled; i++){
+            LocalDateTime start = base.plusHours(2L * i);
+            appointments.add(Appointment.builder()
+                    .startTime(start)
+                    .endTime(start.plusMinutes(60))
+                    .status(AppointmentStatus.SCHEDULED)
+                    .doctor(doctor)
+                    .patient(patient)
+                    .build());
+        }
+        appointmentRepository.saveAll(appointments);
+        return doctor;
+    }
+
+    private User createUser(String prefix) {
+        int n = SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+                .name(prefix + n)
+                .email(prefix + n + "@stats.test")
+                .password("password")
+                .build());
+    }
+}
@@ -0,0 +1,222 @@
+package kitae.spring.health.idempotency.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import kitae.spring.health.idempotency.repository.IdempotencyRecordRepository;
+import kitae.spring.health.security.AuthUser;
+import kitae.spring.health.users.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Idempotency-Key 필터 테스트
+ * - 같은 키로 다시 보낸 요청은 다음 필터(컨트롤러)를 거치지 않고 첫 응답을 그대로 재전송해야 함
+ * - 같은 키로 내용이 다른 요청을 보내거나 첫 요청이 아직 처리 중이면 409
+ * - 미리 읽어 둔 본문은 비동기 읽기(ReadListener)로도 읽을 수 있어야 함
+ * - 컨트롤러 대신 호출 수를 세는 FilterChain 을 넘겨 필터만 검증
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency-filter;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+class IdempotencyFilterTest {
+
+    private static final String PATH = "/api/appointments";
+    private static final long TIMEOUT_MILLIS = 10_000;
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @MockitoBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final AtomicInteger chainCalls = new AtomicInteger();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyRecordRepository.deleteAll();
+        user = User.builder().id(1L).email("patient@telemed.test").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void duplicateIsReplayedWithoutReachingController() throws Exception {
+        String key = newKey();
+        FilterChain chain = created("{\"id\":1}");
+
+        MockHttpServletResponse first = post(key, "{\"doctorId\":1}", chain);
+        MockHttpServletResponse second = post(key, "{\"doctorId\":1}", chain);
+
+        assertThat(chainCalls.get()).isEqualTo(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(second.getStatus()).isEqualTo(201);
+        assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+    }
+
+    @Test
+    void sameKeyWithDifferentPayloadIsRejected() throws Exception {
+        String key = newKey();
+        FilterChain chain = created("{\"id\":1}");
+
+        post(key, "{\"doctorId\":1}", chain);
+        MockHttpServletResponse other = post(key, "{\"doctorId\":2}", chain);
+
+        assertThat(chainCalls.get()).isEqualTo(1);
+        assertThat(other.getStatus()).isEqualTo(409);
+        assertThat(other.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void requestWhileFirstIsInFlightIsRejected() throws Exception {
+        String key = newKey();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            chainCalls.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ((HttpServletResponse) response).setStatus(201);
+        };
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> post(key, "{\"doctorId\":1}", slow));
+            assertThat(entered.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+
+            MockHttpServletResponse duplicate = post(key, "{\"doctorId\":1}", slow);
+            assertThat(duplicate.getStatus()).isEqualTo(409);
+
+            release.countDown();
+            assertThat(first.get().getStatus()).isEqualTo(201);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 첫 요청이 끝난 뒤에는 저장된 응답을 재전송
+        MockHttpServletResponse retry = post(key, "{\"doctorId\":1}", slow);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(chainCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void serverErrorReleasesKeyForRetry() throws Exception {
+        String key = newKey();
+        FilterChain failing = (request, response) -> {
+            chainCalls.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        };
+
+        assertThat(post(key, "{\"doctorId\":1}", failing).getStatus()).isEqualTo(503);
+        MockHttpServletResponse retry = post(key, "{\"doctorId\":1}", created("{\"id\":1}"));
+
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(chainCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void cachedBodyCanBeReadWithReadListener() throws Exception {
+        String body = "{\"doctorId\":1}";
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicInteger allDataRead = new AtomicInteger();
+        FilterChain asyncReader = (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[4];
+                    while(in.isReady() && !in.isFinished()){
+                        int n = in.read(buffer);
+                        if(n > 0){
+                            read.write(buffer, 0, n);
+                        }
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    throw new AssertionError(t);
+                }
+            });
+            ((HttpServletResponse) response).setStatus(201);
+        };
+
+        assertThat(post(newKey(), body, asyncReader).getStatus()).isEqualTo(201);
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo(body);
+        assertThat(allDataRead.get()).isEqualTo(1);
+    }
+
+    private MockHttpServletResponse post(String key, String body, FilterChain chain) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                AuthUser.builder().user(user).build(), null, List.of()));
+        try {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+            request.addHeader(IdempotencyFilter.HEADER, key);
+            request.setContentType("application/json");
+            request.setContent(body.getBytes(StandardCharsets.UTF_8));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            idempotencyFilter.doFilter(request, response, chain);
+            return response;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private FilterChain created(String responseBody) {
+        return (request, response) -> {
+            chainCalls.incrementAndGet();
+            request.getInputStream().readAllBytes();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(201);
+            httpResponse.setContentType("application/json");
+            httpResponse.getOutputStream().write(responseBody.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static String newKey() {
+        return "key-" + SEQUENCE.incrementAndGet();
+    }
+}
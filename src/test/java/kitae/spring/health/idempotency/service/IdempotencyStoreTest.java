@@ -0,0 +1,123 @@
+package kitae.spring.health.idempotency.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kitae.spring.health.idempotency.entity.IdempotencyRecord;
+import kitae.spring.health.idempotency.repository.IdempotencyRecordRepository;
+import kitae.spring.health.idempotency.service.IdempotencyStore.Claim;
+import kitae.spring.health.idempotency.service.IdempotencyStore.ClaimStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Idempotency-Key 저장소 재선점 테스트
+ * - 처리 중인 채로 in-flight-timeout 이 지난 키는 다른 노드의 요청이 다시 선점해야 함
+ * - 재선점된 뒤에 끝난 느린 첫 요청은 새 선점의 응답을 덮어쓰거나 선점을 지우지 못하고, 메모리에도 응답을 두지 않아야 함
+ * - 다른 노드는 같은 테이블을 쓰는 저장소 인스턴스를 하나 더 만들어 흉내 냄 (처리 중 집합과 LRU 는 노드마다 따로)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency-store;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "idempotency.in-flight-timeout=PT0.2S"
+})
+class IdempotencyStoreTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String HASH = "hash";
+
+    @MockitoBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private IdempotencyStore otherNode;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyRecordRepository.deleteAll();
+        otherNode = new IdempotencyStore(idempotencyRecordRepository, transactionTemplate, new SimpleMeterRegistry(),
+                Duration.ofHours(24), Duration.ofMillis(200), 100);
+    }
+
+    @Test
+    void staleOwnerCannotOverwriteTakenOverClaim() throws InterruptedException {
+        Claim slow = idempotencyStore.begin(USER_ID, "takeover", HASH);
+        assertThat(slow.status()).isEqualTo(ClaimStatus.ACQUIRED);
+
+        // 처리 중인 동안은 다른 노드도 처리 중으로 거절
+        assertThat(otherNode.begin(USER_ID, "takeover", HASH).status()).isEqualTo(ClaimStatus.IN_PROGRESS);
+
+        Thread.sleep(300);
+        Claim fresh = otherNode.begin(USER_ID, "takeover", HASH);
+        assertThat(fresh.status()).isEqualTo(ClaimStatus.ACQUIRED);
+        assertThat(fresh.token()).isNotEqualTo(slow.token());
+
+        // 느린 첫 요청이 뒤늦게 끝나도 저장되지 않음
+        assertThat(idempotencyStore.complete(USER_ID, "takeover", slow.token(),
+                idempotencyStore.newResponse(HASH, 201, "application/json", "{\"id\":1}"))).isFalse();
+        assertThat(record("takeover").getStatusCode()).isNull();
+
+        assertThat(otherNode.complete(USER_ID, "takeover", fresh.token(),
+                otherNode.newResponse(HASH, 201, "application/json", "{\"id\":2}"))).isTrue();
+
+        // 첫 노드도 메모리가 아닌 테이블의 새 응답을 재전송
+        Claim replay = idempotencyStore.begin(USER_ID, "takeover", HASH);
+        assertThat(replay.status()).isEqualTo(ClaimStatus.REPLAY);
+        assertThat(replay.response().body()).isEqualTo("{\"id\":2}");
+    }
+
+    @Test
+    void staleOwnerCannotReleaseTakenOverClaim() throws InterruptedException {
+        Claim slow = idempotencyStore.begin(USER_ID, "release", HASH);
+        Thread.sleep(300);
+        Claim fresh = otherNode.begin(USER_ID, "release", HASH);
+        assertThat(fresh.status()).isEqualTo(ClaimStatus.ACQUIRED);
+
+        idempotencyStore.release(USER_ID, "release", slow.token());
+        assertThat(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(USER_ID, "release")).isPresent();
+        assertThat(idempotencyStore.begin(USER_ID, "release", HASH).status()).isEqualTo(ClaimStatus.IN_PROGRESS);
+
+        otherNode.release(USER_ID, "release", fresh.token());
+        assertThat(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(USER_ID, "release")).isEmpty();
+    }
+
+    @Test
+    void expiredRecordsArePurged() {
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyRecordRepository.save(IdempotencyRecord.builder()
+                .userId(USER_ID)
+                .idempotencyKey("expired")
+                .requestHash(HASH)
+                .statusCode(201)
+                .createdAt(now.minusDays(2))
+                .expiresAt(now.minusDays(1))
+                .build());
+        Claim live = idempotencyStore.begin(USER_ID, "live", HASH);
+        idempotencyStore.complete(USER_ID, "live", live.token(), idempotencyStore.newResponse(HASH, 201, null, ""));
+
+        idempotencyStore.purgeExpired();
+
+        assertThat(idempotencyRecordRepository.findAll())
+                .extracting(IdempotencyRecord::getIdempotencyKey)
+                .containsExactly("live");
+    }
+
+    private IdempotencyRecord record(String key) {
+        return idempotencyRecordRepository.findByUserIdAndIdempotencyKey(USER_ID, key).orElseThrow();
+    }
+}
@@ -0,0 +1,123 @@
+package kitae.spring.health.notification.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import kitae.spring.health.enums.EmailStatus;
+import kitae.spring.health.notification.entity.QueuedEmail;
+import kitae.spring.health.notification.repository.QueuedEmailRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * 메일 큐 발송기 거절 처리 테스트
+ * - 발송 스레드 풀을 스레드 1개, 대기 큐 0 으로 두고 첫 묶음의 SMTP 발송을 붙잡아 풀을 포화시킴
+ * - 동시에 발송하는 묶음 수는 풀 크기로만 제한되므로, 풀이 거절한 묶음은 선점한 메일을 대기 상태로 되돌려야 함
+ * - 거절된 묶음을 스케줄러(dispatch() 를 호출한) 스레드에서 직접 발송하지 않아야 하며, 반복해서 거절되어도 메일이 유실되지 않아야 함
+ * - 스케줄 실행과 겹치지 않도록 발송 주기를 길게 두고 dispatch() 를 직접 호출
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:email-dispatcher;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "notification.email-queue.interval=PT1H",
+        "notification.email-queue.batch-size=1",
+        "notification.executor.core-size=1",
+        "notification.executor.max-size=1",
+        "notification.executor.queue-capacity=0"
+})
+class EmailQueueDispatcherTest {
+
+    private static final int EMAILS = 3;
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @MockitoBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private EmailQueueDispatcher emailQueueDispatcher;
+
+    @Autowired
+    private QueuedEmailRepository queuedEmailRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final CountDownLatch sendStarted = new CountDownLatch(1);
+    private final CountDownLatch sendReleased = new CountDownLatch(1);
+    private final AtomicInteger sentMessages = new AtomicInteger();
+    private final Set<Thread> sendThreads = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        queuedEmailRepository.deleteAll();
+        when(javaMailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        doAnswer(invocation -> {
+            sendThreads.add(Thread.currentThread());
+            sendStarted.countDown();
+            sendReleased.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            sentMessages.addAndGet(invocation.getArguments().length);
+            return null;
+        }).when(javaMailSender).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    void rejectedBatchReturnsClaimedRows() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        for(int i = 0; i < EMAILS; i++){
+            queuedEmailRepository.save(QueuedEmail.builder()
+                    .recipient("patient" + i + "@telemed.test")
+                    .subject("예약 알림 " + i)
+                    .body("<p>본문 " + i + "</p>")
+                    .status(EmailStatus.PENDING)
+                    .nextAttemptAt(now)
+                    .createdAt(now)
+                    .build());
+        }
+        double rejectedBefore = rejectedCount();
+
+        // 첫 묶음은 풀의 유일한 스레드가 받아 발송 중에 멈추고, 두 번째 묶음은 거절됨
+        assertThat(emailQueueDispatcher.dispatch()).isEqualTo(1);
+        assertThat(sendStarted.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(rejectedCount() - rejectedBefore).isEqualTo(1);
+        assertThat(queuedEmailRepository.countByStatus(EmailStatus.SENDING)).isEqualTo(1);
+        assertThat(queuedEmailRepository.countByStatus(EmailStatus.PENDING)).isEqualTo(EMAILS - 1);
+
+        // 거절된 묶음은 대기 상태로 돌아가므로 다음 실행도 다시 선점해 풀에 넘겨보고 또 거절됨
+        for(int i = 0; i < 3; i++){
+            assertThat(emailQueueDispatcher.dispatch()).isZero();
+        }
+        assertThat(rejectedCount() - rejectedBefore).isEqualTo(4);
+        assertThat(queuedEmailRepository.countByStatus(EmailStatus.SENDING)).isEqualTo(1);
+        assertThat(queuedEmailRepository.countByStatus(EmailStatus.PENDING)).isEqualTo(EMAILS - 1);
+
+        // 붙잡은 발송을 풀면 되돌린 메일까지 모두 발송됨
+        sendReleased.countDown();
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while(queuedEmailRepository.count() > 0 && System.currentTimeMillis() < deadline){
+            emailQueueDispatcher.dispatch();
+            Thread.sleep(50);
+        }
+        assertThat(queuedEmailRepository.count()).isZero();
+        assertThat(sentMessages.get()).isEqualTo(EMAILS);
+        assertThat(sendThreads).doesNotContain(Thread.currentThread());
+    }
+
+    private double rejectedCount() {
+        return meterRegistry.get("notification.executor.rejected").counter().count();
+    }
+}
@@ -0,0 +1,250 @@
+package kitae.spring.health.notification.service;
+
+import jakarta.mail.internet.MimeMessage;
+import kitae.spring.health.notification.dto.NotificationDTO;
+import kitae.spring.health.notification.repository.QueuedEmailRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 영속 메일 큐 발송 처리량 테스트
+ * - 로컬 SMTP 대역(LocalSmtpServer)을 띄우고, 메일 한 건마다 연결하는 방식과 큐 발송기의 묶음 발송을 비교
+ * - 대역 서버는 연결마다 인사(handshake) 지연을 두어 실제 SMTP 연결 비용을 흉내냄
+ * - 다른 테스트 컨텍스트의 발송기가 같은 큐를 가져가지 않도록 별도 메모리 DB 사용
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:email-queue;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.mail.host=localhost",
+        "spring.mail.properties.mail.smtp.from=noreply@telemed.test",
+        "notification.email-queue.interval=PT0.1S",
+        "notification.email-queue.batch-size=50"
+})
+class EmailQueueThroughputTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailQueueThroughputTest.class);
+
+    private static final int EMAILS = 200;
+    private static final int BATCH_SIZE = 50;
+    private static final long HANDSHAKE_DELAY_MILLIS = 10;
+    private static final long TIMEOUT_MILLIS = 60_000;
+
+    private static final LocalSmtpServer SMTP = LocalSmtpServer.start(HANDSHAKE_DELAY_MILLIS);
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", SMTP::port);
+    }
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private QueuedEmailRepository queuedEmailRepository;
+
+    @Autowired
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterAll
+    static void stopServer() {
+        SMTP.stop();
+    }
+
+    @BeforeEach
+    void resetCounters() {
+        SMTP.reset();
+    }
+
+    @Test
+    void queuedEmailsAreSentInBatchesOverSharedConnections() throws Exception {
+        // 한 트랜잭션에서 등록하여 커밋 시점부터 발송 시간을 측정 (등록 시간은 따로 기록)
+        long begin = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            for(int i = 0; i < EMAILS; i++){
+                notificationService.sendEmail(email(i), null);
+            }
+        });
+        long committed = System.nanoTime();
+
+        awaitDelivered(EMAILS);
+        long elapsedNanos = System.nanoTime() - committed;
+
+        report("메일 큐 묶음 발송", elapsedNanos, committed - begin);
+        assertThat(SMTP.messages()).isEqualTo(EMAILS);
+        assertThat(awaitQueueDrained()).isZero();
+        // 묶음마다 연결 한 번 (발송 주기와 등록 시점이 어긋나 묶음이 나뉘는 경우를 감안해 여유를 둠)
+        assertThat(SMTP.connections()).isLessThanOrEqualTo(EMAILS / BATCH_SIZE * 2);
+    }
+
+    @Test
+    void perMessageSendOpensOneConnectionPerEmail() throws Exception {
+        long begin = System.nanoTime();
+        for(int i = 0; i < EMAILS; i++){
+            MimeMessage message = javaMailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
+            helper.setTo(email(i).getRecipient());
+            helper.setSubject(email(i).getSubject());
+            helper.setText(email(i).getMessage(), true);
+            javaMailSender.send(message);
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+
+        report("메일 건별 발송 (기존 방식)", elapsedNanos, 0);
+        assertThat(SMTP.messages()).isEqualTo(EMAILS);
+        assertThat(SMTP.connections()).isEqualTo(EMAILS);
+    }
+
+    private long awaitQueueDrained() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while(queuedEmailRepository.count() > 0 && System.currentTimeMillis() < deadline){
+            Thread.sleep(20);
+        }
+        return queuedEmailRepository.count();
+    }
+
+    private void awaitDelivered(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while(SMTP.messages() < expected && System.currentTimeMillis() < deadline){
+            Thread.sleep(20);
+        }
+    }
+
+    private void report(String scenario, long elapsedNanos, long enqueuedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        log.info("[메일 발송 벤치마크] {} - 메일 {}건, SMTP 연결 {}회, 큐 등록 {} ms, 발송 {} ms, 발송 처리량 {} mail/s",
+                scenario, SMTP.messages(), SMTP.connections(),
+                String.format("%.1f", enqueuedNanos / 1_000_000.0),
+                String.format("%.1f", elapsedNanos / 1_000_000.0),
+                String.format("%.1f", SMTP.messages() / seconds));
+    }
+
+    private NotificationDTO email(int i) {
+        return NotificationDTO.builder()
+                .recipient("patient" + i + "@telemed.test")
+                .subject("TeleMed 헬스케어 - 처리량 테스트 " + i)
+                .message("<p>처리량 테스트 메일 " + i + "</p>")
+                .build();
+    }
+
+    /**
+     * 로컬 SMTP 대역 서버 (연결/메일 수만 세고 내용은 버림)
+     */
+    static final class LocalSmtpServer {
+
+        private final ServerSocket serverSocket;
+        private final long handshakeDelayMillis;
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger messages = new AtomicInteger();
+
+        private LocalSmtpServer(ServerSocket serverSocket, long handshakeDelayMillis) {
+            this.serverSocket = serverSocket;
+            this.handshakeDelayMillis = handshakeDelayMillis;
+        }
+
+        static LocalSmtpServer start(long handshakeDelayMillis) {
+            try {
+                LocalSmtpServer server = new LocalSmtpServer(new ServerSocket(0), handshakeDelayMillis);
+                Thread acceptor = new Thread(server::acceptLoop, "local-smtp");
+                acceptor.setDaemon(true);
+                acceptor.start();
+                return server;
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        int port() {
+            return serverSocket.getLocalPort();
+        }
+
+        int connections() {
+            return connections.get();
+        }
+
+        int messages() {
+            return messages.get();
+        }
+
+        void reset() {
+            connections.set(0);
+            messages.set(0);
+        }
+
+        void stop() {
+            try {
+                serverSocket.close();
+            } catch (IOException ignored) {
+            }
+        }
+
+        private void acceptLoop() {
+            while(!serverSocket.isClosed()){
+                try {
+                    Socket socket = serverSocket.accept();
+                    Thread.ofVirtual().start(() -> session(socket));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void session(Socket socket) {
+            connections.incrementAndGet();
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                 OutputStream out = socket.getOutputStream()) {
+                Thread.sleep(handshakeDelayMillis);
+                reply(out, "220 localhost ESMTP");
+                String line;
+                while((line = in.readLine()) != null){
+                    String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                    switch(command){
+                        case "EHLO", "HELO" -> reply(out, "250 localhost");
+                        case "DATA" -> {
+                            reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                            while((line = in.readLine()) != null && !line.equals(".")){
+                                // 본문은 버림
+                            }
+                            messages.incrementAndGet();
+                            reply(out, "250 OK");
+                        }
+                        case "QUIT" -> {
+                            reply(out, "221 Bye");
+                            return;
+                        }
+                        default -> reply(out, "250 OK");  // MAIL, RCPT, RSET, NOOP
+                    }
+                }
+            } catch (IOException | InterruptedException ignored) {
+            }
+        }
+
+        private static void reply(OutputStream out, String line) throws IOException {
+            out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package kitae.spring.health.notification.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import kitae.spring.health.enums.EmailStatus;
+import kitae.spring.health.notification.dto.NotificationDTO;
+import kitae.spring.health.notification.entity.QueuedEmail;
+import kitae.spring.health.notification.repository.QueuedEmailRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * 알림 묶음 발송 테스트
+ * - 묶음 발송 대상 메일은 바로 발송되지 않고 묶음 키와 함께 영속 메일 큐에 대기 상태로 저장되어야 함 (프로세스가 중단되어도 남음)
+ * - 그 중 한 건의 발송 시각이 되면 같은 수신자의 대기 메일을 함께 가져가 요약 메일 한 통으로 보내야 함
+ * - 스케줄 실행과 겹치지 않도록 발송 주기를 길게 두고 dispatch() 를 직접 호출
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:email-coalesce;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "notification.email-queue.interval=PT1H",
+        "notification.coalesce.templates=doctor-appointment",
+        "notification.coalesce.window=PT1H"
+})
+class NotificationCoalescingTest {
+
+    private static final String DOCTOR = "doctor@telemed.test";
+    private static final String OTHER_DOCTOR = "other-doctor@telemed.test";
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @MockitoBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private EmailQueueDispatcher emailQueueDispatcher;
+
+    @Autowired
+    private QueuedEmailRepository queuedEmailRepository;
+
+    private final List<MimeMessage> sentMessages = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        queuedEmailRepository.deleteAll();
+        when(javaMailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        doAnswer(invocation -> {
+            for(Object message : invocation.getArguments()){
+                sentMessages.add((MimeMessage) message);
+            }
+            return null;
+        }).when(javaMailSender).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    void coalescedMailsWaitInQueueAndAreSentAsOneDigest() throws InterruptedException, MessagingException {
+        for(int i = 0; i < 3; i++){
+            notificationService.sendEmail(doctorNotification(DOCTOR, "환자" + i), null);
+        }
+        notificationService.sendEmail(doctorNotification(OTHER_DOCTOR, "환자9"), null);
+
+        // 발송 시각 전에는 큐에 대기 상태로만 남음
+        List<QueuedEmail> queued = queuedEmailRepository.findAll();
+        assertThat(queued).hasSize(4)
+                .allSatisfy(email -> {
+                    assertThat(email.getStatus()).isEqualTo(EmailStatus.PENDING);
+                    assertThat(email.getCoalesceKey()).isNotNull();
+                    assertThat(email.getNextAttemptAt()).isAfter(LocalDateTime.now().plusMinutes(30));
+                });
+        assertThat(emailQueueDispatcher.dispatch()).isZero();
+
+        // 첫 메일의 발송 시각이 되면 같은 수신자의 나머지 메일도 함께 가져감
+        QueuedEmail first = queued.stream()
+                .filter(email -> email.getRecipient().equals(DOCTOR))
+                .findFirst()
+                .orElseThrow();
+        first.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        queuedEmailRepository.save(first);
+
+        assertThat(emailQueueDispatcher.dispatch()).isEqualTo(3);
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while(queuedEmailRepository.count() > 1 && System.currentTimeMillis() < deadline){
+            Thread.sleep(50);
+        }
+
+        assertThat(sentMessages).hasSize(1);
+        MimeMessage digest = sentMessages.get(0);
+        assertThat(digest.getAllRecipients()[0].toString()).isEqualTo(DOCTOR);
+        assertThat(digest.getSubject()).endsWith("(3건)");
+
+        // 다른 수신자의 메일은 그대로 대기
+        assertThat(queuedEmailRepository.findAll())
+                .singleElement()
+                .satisfies(email -> {
+                    assertThat(email.getRecipient()).isEqualTo(OTHER_DOCTOR);
+                    assertThat(email.getStatus()).isEqualTo(EmailStatus.PENDING);
+                });
+    }
+
+    private static NotificationDTO doctorNotification(String recipient, String patientName) {
+        return NotificationDTO.builder()
+                .recipient(recipient)
+                .subject("TeleMed 헬스케어 - 새로운 예약 알림")
+                .templateName("doctor-appointment")
+                .templateVariables(Map.of(
+                        "doctorName", "김의사",
+                        "patientFullName", patientName,
+                        "appointmentTime", "2027년 3월 1일 10:00",
+                        "isVirtual", true,
+                        "meetingLink", "https://meet.jit.si/test",
+                        "initialSymptoms", "두통",
+                        "purposeOfConsultation", "상담"))
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package kitae.spring.health.notification.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Multipart;
+import jakarta.mail.Part;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import kitae.spring.health.enums.EmailStatus;
+import kitae.spring.health.notification.dto.NotificationDTO;
+import kitae.spring.health.notification.entity.QueuedEmail;
+import kitae.spring.health.notification.repository.QueuedEmailRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * 렌더링 실패 메일 보존 테스트
+ * - 본문 렌더링에 실패한 메일은 버려지지 않고 실패 사유와 템플릿 변수를 담아 발송 포기(DEAD) 상태로 남아야 함
+ * - 템플릿을 고친 뒤 재발송하면 발송기가 저장된 템플릿 변수로 다시 렌더링하여 보내야 함
+ * - 스케줄 실행과 겹치지 않도록 발송 주기를 길게 두고 dispatch() 를 직접 호출
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notification-service;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "notification.email-queue.interval=PT1H"
+})
+class NotificationServiceTest {
+
+    private static final String RECIPIENT = "patient@telemed.test";
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @MockitoBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private EmailQueueDispatcher emailQueueDispatcher;
+
+    @Autowired
+    private QueuedEmailRepository queuedEmailRepository;
+
+    private final List<MimeMessage> sentMessages = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        queuedEmailRepository.deleteAll();
+        when(javaMailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        doAnswer(invocation -> {
+            for(Object message : invocation.getArguments()){
+                sentMessages.add((MimeMessage) message);
+            }
+            return null;
+        }).when(javaMailSender).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    void renderFailureIsKeptAsDeadLetterAndReRenderedOnReplay() throws InterruptedException, MessagingException, IOException {
+        notificationService.sendEmail(NotificationDTO.builder()
+                .recipient(RECIPIENT)
+                .subject("가입을 환영합니다")
+                .templateName("missing-template")
+                .templateVariables(Map.of("name", "홍길동", "loginLink", "https://telemed.test/login"))
+                .build(), null);
+
+        QueuedEmail dead = queuedEmailRepository.findAll().stream().findFirst().orElseThrow();
+        assertThat(dead.getStatus()).isEqualTo(EmailStatus.DEAD);
+        assertThat(dead.getBody()).isNull();
+        assertThat(dead.getLastError()).contains("missing-template");
+        assertThat(dead.getTemplateVariables()).contains("홍길동");
+        assertThat(notificationService.getDeadLetters(10).getData()).hasSize(1);
+
+        // 발송 포기 상태이므로 발송기는 가져가지 않음
+        assertThat(emailQueueDispatcher.dispatch()).isZero();
+
+        // 템플릿을 고친 뒤(여기서는 있는 템플릿으로 바꿈) 재발송하면 저장된 변수로 다시 렌더링하여 발송
+        dead.setTemplateName("welcome");
+        queuedEmailRepository.save(dead);
+        assertThat(notificationService.replayDeadLetters(List.of(dead.getId())).getData()).isEqualTo(1);
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while(queuedEmailRepository.count() > 0 && System.currentTimeMillis() < deadline){
+            emailQueueDispatcher.dispatch();
+            Thread.sleep(50);
+        }
+        assertThat(queuedEmailRepository.count()).isZero();
+        assertThat(sentMessages).hasSize(1);
+        assertThat(sentMessages.get(0).getSubject()).isEqualTo("가입을 환영합니다");
+        assertThat(textOf(sentMessages.get(0))).contains("홍길동");
+    }
+
+    private static String textOf(Part part) throws MessagingException, IOException {
+        Object content = part.getContent();
+        if(content instanceof Multipart multipart){
+            StringBuilder text = new StringBuilder();
+            for(int i = 0; i < multipart.getCount(); i++){
+                text.append(textOf(multipart.getBodyPart(i)));
+            }
+            return text.toString();
+        }
+        return content.toString();
+    }
+}
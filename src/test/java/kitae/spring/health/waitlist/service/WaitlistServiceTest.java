@@ -0,0 +1,295 @@
+package kitae.spring.health.waitlist.service;
+
+import kitae.spring.health.appointment.dto.AppointmentDTO;
+import kitae.spring.health.appointment.entity.Appointment;
+import kitae.spring.health.appointment.repository.AppointmentRepository;
+import kitae.spring.health.appointment.service.AppointmentService;
+import kitae.spring.health.doctor.entity.Doctor;
+import kitae.spring.health.doctor.repository.DoctorRepository;
+import kitae.spring.health.enums.AppointmentStatus;
+import kitae.spring.health.enums.WaitlistStatus;
+import kitae.spring.health.exceptions.BadRequestException;
+import kitae.spring.health.patient.entity.Patient;
+import kitae.spring.health.patient.repository.PatientRepository;
+import kitae.spring.health.users.entity.User;
+import kitae.spring.health.users.repository.UserRepository;
+import kitae.spring.health.waitlist.dto.WaitlistEntryDTO;
+import kitae.spring.health.waitlist.entity.WaitlistEntry;
+import kitae.spring.health.waitlist.repository.WaitlistEntryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 대기열 배정/취소 테스트
+ * - 예약이 취소되면 희망 시간대가 맞는 첫 대기자에게 그 시간대가 배정되어야 함
+ * - 대기 취소와 시간대 배정이 동시에 일어나도 둘 중 하나만 반영되어야 함 (취소한 대기자에게 예약이 생기지 않음)
+ * - 한 대기 항목은 동시에 취소된 두 예약 중 하나에만 배정되어야 함
+ */
+@SpringBootTest
+class WaitlistServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistServiceTest.class);
+
+    private static final int RACE_ROUNDS = 10;
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @MockitoBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cancelledSlotIsAssignedToWaiter() {
+        Doctor doctor = createDoctor();
+        User booked = createPatient();
+        User waiter = createPatient();
+        LocalDateTime slot = baseTime();
+
+        Long appointmentId = book(booked, doctor, slot);
+        Long entryId = join(waiter, doctor, slot);
+
+        as(booked, () -> appointmentService.cancelAppointment(appointmentId));
+
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId).orElseThrow();
+        assertThat(entry.getStatus()).isEqualTo(WaitlistStatus.ASSIGNED);
+        assertThat(scheduledFor(waiter, doctor))
+                .singleElement()
+                .satisfies(appointment -> {
+                    assertThat(appointment.getId()).isEqualTo(entry.getAssignedAppointmentId());
+                    assertThat(appointment.getStartTime()).isEqualTo(slot);
+                });
+
+        // 배정된 항목은 더 이상 대기 취소할 수 없음
+        assertThatThrownBy(() -> as(waiter, () -> waitlistService.leaveWaitlist(entryId)))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(waitlistEntryRepository.findById(entryId).orElseThrow().getStatus()).isEqualTo(WaitlistStatus.ASSIGNED);
+    }
+
+    @Test
+    void leftEntryIsNotAssigned() {
+        Doctor doctor = createDoctor();
+        User booked = createPatient();
+        User waiter = createPatient();
+        LocalDateTime slot = baseTime();
+
+        Long appointmentId = book(booked, doctor, slot);
+        Long entryId = join(waiter, doctor, slot);
+
+        as(waiter, () -> waitlistService.leaveWaitlist(entryId));
+        assertThat(waitlistEntryRepository.findById(entryId).orElseThrow().getStatus()).isEqualTo(WaitlistStatus.CANCELLED);
+        assertThatThrownBy(() -> as(waiter, () -> waitlistService.leaveWaitlist(entryId)))
+                .isInstanceOf(BadRequestException.class);
+
+        as(booked, () -> appointmentService.cancelAppointment(appointmentId));
+
+        assertThat(scheduledFor(waiter, doctor)).isEmpty();
+        assertThat(waitlistEntryRepository.findById(entryId).orElseThrow().getStatus()).isEqualTo(WaitlistStatus.CANCELLED);
+    }
+
+    @Test
+    void leaveAndAssignRaceHasOneWinner() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        int assigned = 0;
+        try {
+            for(int round = 0; round < RACE_ROUNDS; round++){
+                Doctor doctor = createDoctor();
+                User booked = createPatient();
+                User waiter = createPatient();
+                LocalDateTime slot = baseTime();
+
+                Long appointmentId = book(booked, doctor, slot);
+                Long entryId = join(waiter, doctor, slot);
+
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> cancel = executor.submit(() -> {
+                    start.await();
+                    return as(booked, () -> appointmentService.cancelAppointment(appointmentId));
+                });
+                long leaveDelay = round % 5 * 10L;
+                Future<Boolean> leave = executor.submit(() -> {
+                    start.await();
+                    // 라운드마다 대기 취소 시점을 조금씩 늦춰 배정이 먼저 끝나는 경우도 만들어 냄
+                    Thread.sleep(leaveDelay);
+                    try {
+                        as(waiter, () -> waitlistService.leaveWaitlist(entryId));
+                        return true;
+                    } catch (BadRequestException e) {
+                        return false;
+                    }
+                });
+                start.countDown();
+                cancel.get();
+                boolean left = leave.get();
+
+                WaitlistEntry entry = waitlistEntryRepository.findById(entryId).orElseThrow();
+                List<Appointment> waiterAppointments = scheduledFor(waiter, doctor);
+                if(left){
+                    assertThat(entry.getStatus()).isEqualTo(WaitlistStatus.CANCELLED);
+                    assertThat(waiterAppointments).isEmpty();
+                } else {
+                    assigned++;
+                    assertThat(entry.getStatus()).isEqualTo(WaitlistStatus.ASSIGNED);
+                    assertThat(waiterAppointments).singleElement()
+                            .extracting(Appointment::getId)
+                            .isEqualTo(entry.getAssignedAppointmentId());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("대기 취소/배정 경합 {}회 중 배정 {}회, 대기 취소 {}회", RACE_ROUNDS, assigned, RACE_ROUNDS - assigned);
+    }
+
+    @Test
+    void entryIsAssignedToOnlyOneOfTwoCancellations() throws Exception {
+        Doctor doctor = createDoctor();
+        User first = createPatient();
+        User second = createPatient();
+        User waiter = createPatient();
+        LocalDateTime slot = baseTime();
+
+        // 진료 시간 + 버퍼보다 멀리 떨어진 두 예약, 대기자의 희망 시간대는 둘 다 포함
+        Long firstId = book(first, doctor, slot);
+        Long secondId = book(second, doctor, slot.plusHours(4));
+        Long entryId = join(waiter, doctor, slot);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?> cancelFirst = executor.submit(() -> {
+                start.await();
+                return as(first, () -> appointmentService.cancelAppointment(firstId));
+            });
+            Future<?> cancelSecond = executor.submit(() -> {
+                start.await();
+                return as(second, () -> appointmentService.cancelAppointment(secondId));
+            });
+            start.countDown();
+            cancelFirst.get();
+            cancelSecond.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId).orElseThrow();
+        assertThat(entry.getStatus()).isEqualTo(WaitlistStatus.ASSIGNED);
+        assertThat(scheduledFor(waiter, doctor)).singleElement()
+                .extracting(Appointment::getId)
+                .isEqualTo(entry.getAssignedAppointmentId());
+    }
+
+    private Long book(User patient, Doctor doctor, LocalDateTime startTime) {
+        as(patient, () -> appointmentService.bookAppointment(AppointmentDTO.builder()
+                .doctorId(doctor.getId())
+                .startTime(startTime)
+                .purposeOfConsultation("정기 검진")
+                .build()));
+        return appointmentRepository.findAll().stream()
+                .filter(a -> a.getDoctor().getId().equals(doctor.getId()) && a.getStartTime().equals(startTime))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+    }
+
+    private Long join(User patient, Doctor doctor, LocalDateTime slot) {
+        return as(patient, () -> waitlistService.joinWaitlist(WaitlistEntryDTO.builder()
+                .doctorId(doctor.getId())
+                .windowStart(slot.minusHours(1))
+                .windowEnd(slot.plusHours(6))
+                .purposeOfConsultation("대기 등록")
+                .build())).getData().getId();
+    }
+
+    private List<Appointment> scheduledFor(User patient, Doctor doctor) {
+        Long patientId = patientRepository.findByUser(patient).orElseThrow().getId();
+        return appointmentRepository.findAll().stream()
+                .filter(a -> a.getStatus() == AppointmentStatus.SCHEDULED)
+                .filter(a -> a.getDoctor().getId().equals(doctor.getId()))
+                .filter(a -> a.getPatient().getId().equals(patientId))
+                .toList();
+    }
+
+    private static <T> T as(User user, Supplier<T> action) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+        try {
+            return action.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private LocalDateTime baseTime() {
+        return LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private Doctor createDoctor() {
+        User user = createUser("wd");
+        return doctorRepository.save(Doctor.builder()
+                .firstName("Doctor")
+                .lastName(user.getName())
+                .licenseNumber("LIC-" + user.getId())
+                .user(user)
+                .build());
+    }
+
+    private User createPatient() {
+        User user = createUser("wp");
+        patientRepository.save(Patient.builder().user(user).build());
+        return user;
+    }
+
+    private User createUser(String prefix) {
+        int n = SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+                .name(prefix + n)
+                .email(prefix + n + "@waitlist.test")
+                .password("password")
+                .build());
+    }
+}